@@ -0,0 +1,248 @@
+import java.util.Objects;
+
+/**
+ *  Batch Validation Utility Class
+ * <p>
+ * Branch-free pre-validation of whole arrays against the preconditions of {@link Logarithm}.
+ * Each method checks a range and returns the number of invalid elements, so that a result of 0
+ * lets a fully valid batch go straight to an unchecked kernel, and optionally writes the invalid
+ * positions into a {@code long[]} bitset, so that only the flagged elements need special handling:
+ * <pre>
+ *     long[] invalid = new long[BatchValidation.wordCount(length)];
+ *     if(BatchValidation.invalidValues(values, offset, length, invalid) == 0) ...
+ * </pre>
+ * Position {@code k} of the range, standing for {@code values[offset + k]}, is bit {@code k & 63}
+ * of {@code invalid[k >>> 6]}: the layout of {@link java.util.BitSet#valueOf(long[])}.
+ * <p>
+ * This class is <b>non-instantiable</b>.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * The elements are checked 64 at a time, and each word of the bitset is accumulated in a register
+ * before being stored. With {@code jdk.incubator.vector}, a word is built from the lane masks of
+ * vector compares, one {@code toLong()} per vector; otherwise each precondition is evaluated on the
+ * raw bits of the element with integer arithmetic. A value is strictly positive if and only if its
+ * bits minus one fall in {@code [0, bits(+Infinity))}, so
+ * <pre>
+ *     u = bits - 1
+ *     invalid = (u | (bits(+Infinity) - 1 - u)) &gt;&gt;&gt; 63
+ * </pre>
+ * rejects zeros, negative numbers and every {@code NaN} without a compare. Neither path has a
+ * data-dependent branch, so dirty data does not cause mispredictions.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * The methods throw {@link IndexOutOfBoundsException} if the range falls outside a source array,
+ * or if {@code invalid} holds fewer than {@link #wordCount(int)} words. The words of {@code invalid}
+ * covering the range are overwritten, the others are left untouched.
+ *
+ * @author owl
+ */
+public final class BatchValidation {
+
+    /** Bits of {@code +Infinity} minus one: a value is strictly positive if its bits minus one are in {@code [0, this]} */
+    private static final long MAX_POSITIVE_BITS = 0x7FEFFFFFFFFFFFFFL;
+
+    private static final long ONE_BITS = Double.doubleToRawLongBits(1);
+
+    private static final boolean VECTORIZED = VectorizedLogarithm.isVectorized();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private BatchValidation(){}
+
+    /**
+     * Returns the number of words of a bitset covering {@code length} positions
+     *
+     * @param length number of positions (must be ≥ 0)
+     *
+     * @return {@code ceil(length / 64)}
+     *
+     * @throws IllegalArgumentException if {@code length} &lt; 0
+     */
+    public static int wordCount(int length){
+        Logarithm.checkArgument(length >= 0, "length must be >= 0: ", length);
+        return (length + 63) >>> 6;
+    }
+
+    /**
+     * Finds the values that are not strictly positive, as required by
+     * {@link Logarithm#logInBase(double, double)}
+     *
+     * @param values the values to check
+     * @param offset index of the first element read from {@code values}
+     * @param length number of elements to check
+     * @param invalid the bitset receiving the invalid positions, or {@code null} to only count them
+     *
+     * @return the number of values ≤ 0 or {@code NaN}, 0 if every value is valid
+     *
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    public static int invalidValues(double[] values, int offset, int length, long[] invalid){
+        checkRanges(values, offset, length, invalid);
+        if(VECTORIZED) return LogarithmVectorKernels.invalidValues(values, offset, length, invalid);
+        return scan(values, values, offset, length, invalid, (value, same) -> notPositive(value));
+    }
+
+    /**
+     * Finds the bases that are not strictly positive or are equal to 1, as required by
+     * {@link Logarithm#logInBase(double, double)}
+     *
+     * @param bases the bases to check
+     * @param offset index of the first element read from {@code bases}
+     * @param length number of elements to check
+     * @param invalid the bitset receiving the invalid positions, or {@code null} to only count them
+     *
+     * @return the number of bases ≤ 0, = 1 or {@code NaN}, 0 if every base is valid
+     *
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    public static int invalidBases(double[] bases, int offset, int length, long[] invalid){
+        checkRanges(bases, offset, length, invalid);
+        if(VECTORIZED) return LogarithmVectorKernels.invalidBases(bases, offset, length, invalid);
+        return scan(bases, bases, offset, length, invalid, (base, same) -> notBase(base));
+    }
+
+    /**
+     * Finds the powers equal to 1, which {@link Logarithm#logWithPoweredBase(double, double, double)} rejects
+     *
+     * @param powers the powers to check
+     * @param offset index of the first element read from {@code powers}
+     * @param length number of elements to check
+     * @param invalid the bitset receiving the invalid positions, or {@code null} to only count them
+     *
+     * @return the number of powers = 1, 0 if every power is valid
+     *
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    public static int invalidPowers(double[] powers, int offset, int length, long[] invalid){
+        checkRanges(powers, offset, length, invalid);
+        if(VECTORIZED) return LogarithmVectorKernels.invalidPowers(powers, offset, length, invalid);
+        return scan(powers, powers, offset, length, invalid,
+                (power, same) -> isZero(Double.doubleToRawLongBits(power) ^ ONE_BITS));
+    }
+
+    /**
+     * Finds the value quotients {@code numerators[i] / denominators[i]} with a zero denominator or
+     * that are not strictly positive, as required by {@link Logarithm#logOfQuotient(double, double, double)}
+     *
+     * @param numerators numerators of the quotients
+     * @param denominators denominators of the quotients
+     * @param offset index of the first element read from both source arrays
+     * @param length number of elements to check
+     * @param invalid the bitset receiving the invalid positions, or {@code null} to only count them
+     *
+     * @return the number of invalid quotients, 0 if every quotient is valid
+     *
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    public static int invalidQuotients(double[] numerators, double[] denominators, int offset, int length, long[] invalid){
+        Objects.checkFromIndexSize(offset, length, numerators.length);
+        checkRanges(denominators, offset, length, invalid);
+        if(VECTORIZED) return LogarithmVectorKernels.invalidQuotients(numerators, denominators, offset, length, invalid);
+        return scan(numerators, denominators, offset, length, invalid,
+                (numerator, denominator) -> isZeroValue(denominator) | notPositive(numerator / denominator));
+    }
+
+    /**
+     * Finds the base quotients {@code numerators[i] / denominators[i]} with a zero denominator or
+     * that are not valid bases, as required by {@link Logarithm#logWithBaseQuotient(double, double, double)}
+     *
+     * @param numerators numerators of the base quotients
+     * @param denominators denominators of the base quotients
+     * @param offset index of the first element read from both source arrays
+     * @param length number of elements to check
+     * @param invalid the bitset receiving the invalid positions, or {@code null} to only count them
+     *
+     * @return the number of invalid base quotients, 0 if every base quotient is valid
+     *
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    public static int invalidBaseQuotients(double[] numerators, double[] denominators, int offset, int length, long[] invalid){
+        Objects.checkFromIndexSize(offset, length, numerators.length);
+        checkRanges(denominators, offset, length, invalid);
+        if(VECTORIZED) return LogarithmVectorKernels.invalidBaseQuotients(numerators, denominators, offset, length, invalid);
+        return scan(numerators, denominators, offset, length, invalid,
+                (numerator, denominator) -> isZeroValue(denominator) | notBase(numerator / denominator));
+    }
+
+    /**
+     * Precondition of one element, or of one pair of elements of two arrays
+     */
+    @FunctionalInterface
+    private interface Check {
+
+        /**
+         * Returns 1 if the element is invalid, 0 otherwise; {@code second} repeats {@code first} when there is a single array
+         */
+        long invalid(double first, double second);
+    }
+
+    /**
+     * Writes the bitset 64 positions at a time, each word accumulated in a register before being stored,
+     * and returns the number of invalid positions
+     * <p>
+     * {@code check} is a non-capturing lambda, so the call allocates nothing, and the JIT inlines it
+     * once this method is inlined into its caller.
+     */
+    private static int scan(double[] first, double[] second, int offset, int length, long[] invalid, Check check){
+        int count = 0;
+        for(int word = 0, from = 0; from < length; word++, from += 64){
+            long bits = 0;
+            for(int k = 0, size = Math.min(64, length - from); k < size; k++){
+                int i = offset + from + k;
+                bits |= check.invalid(first[i], second[i]) << k;
+            }
+            count += store(invalid, word, bits);
+        }
+        return count;
+    }
+
+    /**
+     * 1 if {@code value} is ≤ 0 or {@code NaN}, 0 otherwise
+     */
+    private static long notPositive(double value){
+        long u = Double.doubleToRawLongBits(value) - 1;
+        return (u | (MAX_POSITIVE_BITS - u)) >>> 63;
+    }
+
+    /**
+     * 1 if {@code base} is ≤ 0, = 1 or {@code NaN}, 0 otherwise
+     */
+    private static long notBase(double base){
+        return notPositive(base) | isZero(Double.doubleToRawLongBits(base) ^ ONE_BITS);
+    }
+
+    /**
+     * 1 if {@code value} is 0 or -0, 0 otherwise
+     */
+    private static long isZeroValue(double value){
+        return isZero(Double.doubleToRawLongBits(value) << 1);
+    }
+
+    /**
+     * 1 if {@code bits} = 0, 0 otherwise
+     */
+    private static long isZero(long bits){
+        return ((bits - 1) & ~bits) >>> 63;
+    }
+
+    /**
+     * Stores a word of the bitset, if any, and returns its number of invalid positions
+     */
+    private static int store(long[] invalid, int word, long bits){
+        if(invalid != null) invalid[word] = bits;
+        return Long.bitCount(bits);
+    }
+
+    /**
+     * Validates the range of a source array and the size of the bitset, if any
+     */
+    private static void checkRanges(double[] values, int offset, int length, long[] invalid){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        if(invalid != null) Objects.checkFromIndexSize(0, (length + 63) >>> 6, invalid.length);
+    }
+}
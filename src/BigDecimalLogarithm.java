@@ -0,0 +1,458 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ *  Arbitrary-Precision Logarithm Utility Class
+ * <p>
+ * {@link BigDecimal} counterparts of the methods of {@link Logarithm}, computed to the precision
+ * of a caller-supplied {@link MathContext}: 50 or 200 significant digits cost a few milliseconds
+ * at most, without any external library.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * The value is split into a power of ten, a power of two and a factor {@code y ∈ [0.7, 1.42)}:
+ * <pre>
+ *     value = 10<sup>E</sup> * 2<sup>k</sup> * y
+ *     ln(value) = E * ln(10) + k * ln(2) + ln(y)
+ * </pre>
+ * Values in {@code [0.5, 2]} skip this step so that no cancellation occurs near 1. Square roots then
+ * bring {@code y} closer to 1, and {@code ln(y)} is summed from the series
+ * <pre>
+ *     ln(y) = 2 * atanh(z) = 2 * (z + z<sup>3</sup>/3 + z<sup>5</sup>/5 + ...),   z = (y - 1) / (y + 1)
+ * </pre>
+ * which converges by at least two digits per term once {@code |z| ≤ 10<sup>-1</sup>}. Higher precisions
+ * take more square roots, to shorten the series further.
+ * <hr>
+ *
+ * <h3>⚡ Caching</h3>
+ * <p>
+ * {@code ln(2)} and {@code ln(10)} are kept at the highest precision requested so far, and rounded
+ * down to serve any lower precision. The logarithms of the {@value #BASE_CACHE_SIZE} most recently
+ * used bases are cached per precision, so repeated calls with the same base and {@link MathContext}
+ * compute a single logarithm. All caches are thread-safe.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * The methods validate their arguments like {@link Logarithm} and throw {@link IllegalArgumentException}
+ * if a precondition is violated, or if the {@link MathContext} has an unlimited precision.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * Intermediate results carry {@value #GUARD_DIGITS} guard digits beyond the requested precision,
+ * plus the digits lost to the magnitude of the decimal exponent. Results are rounded once, with the
+ * rounding mode of the {@link MathContext}, and are accurate to within one unit in the last place.
+ * Quotients are never rounded before their logarithm is taken.
+ *
+ * @author owl
+ */
+public final class BigDecimalLogarithm {
+
+    /** Extra digits carried by intermediate results */
+    static final int GUARD_DIGITS = 10;
+
+    /** Number of base logarithms kept in the cache */
+    static final int BASE_CACHE_SIZE = 64;
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+
+    /**
+     * Working digits per additional digit of square-root reduction: a square root costs as much as
+     * about twenty multiplications, and only pays off once the series is long enough
+     */
+    private static final int DIGITS_PER_REDUCTION_DIGIT = 400;
+
+    private static volatile BigDecimal ln2 = BigDecimal.ZERO;
+    private static volatile BigDecimal ln10 = BigDecimal.ZERO;
+
+    private static final Map<BaseKey, BigDecimal> BASE_CACHE = new LruCache<>(BASE_CACHE_SIZE);
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private BigDecimalLogarithm(){}
+
+    /**
+     * Computes the natural logarithm of {@code value}
+     *
+     * @param value the value (must be &gt; 0)
+     * @param mc the precision and rounding mode of the result (must have a finite precision)
+     *
+     * @return {@code ln(value)} rounded according to {@code mc}
+     *
+     * @throws IllegalArgumentException if a precondition is violated
+     */
+    public static BigDecimal ln(BigDecimal value, MathContext mc){
+        int precision = workingPrecision(mc);
+        checkValue(value);
+
+        return ln(value, precision).round(mc);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} with a specified {@code base}
+     * <p>
+     * Formula:
+     * <pre>
+     *     log<sub>base</sub>(value) = ln(value) / ln(base)
+     * </pre>
+     *
+     * @param value the value to compute the logarithm for (must be &gt; 0)
+     * @param base the base of the logarithm (must be &gt; 0 and not equal to 1)
+     * @param mc the precision and rounding mode of the result (must have a finite precision)
+     *
+     * @return the logarithm of {@code value} in base {@code base}, rounded according to {@code mc}
+     *
+     * @throws IllegalArgumentException if a precondition is violated
+     *
+     * @see Logarithm#logInBase(double, double)
+     */
+    public static BigDecimal logInBase(BigDecimal value, BigDecimal base, MathContext mc){
+        int precision = workingPrecision(mc);
+        checkBase(base);
+        checkValue(value);
+
+        MathContext working = new MathContext(precision);
+        return ln(value, precision).divide(lnOfBase(base, precision), working).round(mc);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} to the power of {@code power} with base {@code base}
+     * <p>
+     * Formula:
+     * <pre>
+     *     log<sub>base</sub>(value<sup>power</sup>) = power * log<sub>base</sub>(value)
+     * </pre>
+     *
+     * @param value the value to compute the logarithm for (must be &gt; 0)
+     * @param power the power applied to the value
+     * @param base the base of the logarithm (must be &gt; 0 and not equal to 1)
+     * @param mc the precision and rounding mode of the result (must have a finite precision)
+     *
+     * @return the logarithm of {@code value^power} in base {@code base}, rounded according to {@code mc}
+     *
+     * @throws IllegalArgumentException if a precondition is violated
+     *
+     * @see Logarithm#logWithPoweredValue(double, double, double)
+     */
+    public static BigDecimal logWithPoweredValue(BigDecimal value, BigDecimal power, BigDecimal base, MathContext mc){
+        Objects.requireNonNull(power, "power");
+        int precision = workingPrecision(mc);
+        checkBase(base);
+        checkValue(value);
+
+        MathContext working = new MathContext(precision);
+        return power.multiply(ln(value, precision), working).divide(lnOfBase(base, precision), working).round(mc);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} with the base to the power {@code power}
+     * <p>
+     * Formula:
+     * <pre>
+     *     log<sub>(base<sup>power</sup>)</sub>(value) = log<sub>base</sub>(value) / power
+     * </pre>
+     *
+     * @param value the value to compute the logarithm for (must be &gt; 0)
+     * @param base the base of the logarithm (must be &gt; 0 and not equal to 1)
+     * @param power the power applied to the base (must be different from 0 and 1)
+     * @param mc the precision and rounding mode of the result (must have a finite precision)
+     *
+     * @return the logarithm of {@code value} in base {@code base^power}, rounded according to {@code mc}
+     *
+     * @throws IllegalArgumentException if a precondition is violated
+     *
+     * @see Logarithm#logWithPoweredBase(double, double, double)
+     */
+    public static BigDecimal logWithPoweredBase(BigDecimal value, BigDecimal base, BigDecimal power, MathContext mc){
+        Logarithm.checkArgument(power.compareTo(BigDecimal.ONE) != 0, "power must not be 1");
+        Logarithm.checkArgument(power.signum() != 0, "power must not be 0");
+        int precision = workingPrecision(mc);
+        checkBase(base);
+        checkValue(value);
+
+        MathContext working = new MathContext(precision);
+        return ln(value, precision).divide(power.multiply(lnOfBase(base, precision), working), working).round(mc);
+    }
+
+    /**
+     * Computes the logarithm of the quotient {@code valueNumerator / valueDenominator} with the base {@code base}
+     * <p>
+     * The quotient is not rounded: near 1, its logarithm is computed from the exact difference
+     * {@code valueNumerator - valueDenominator}.
+     *
+     * @param valueNumerator the numerator of the value
+     * @param valueDenominator the denominator of the value (must not be 0)
+     * @param base the base of the logarithm (must be &gt; 0 and not equal to 1)
+     * @param mc the precision and rounding mode of the result (must have a finite precision)
+     *
+     * @return the logarithm of the quotient in base {@code base}, rounded according to {@code mc}
+     *
+     * @throws IllegalArgumentException if a precondition is violated, or if the quotient is not strictly positive
+     *
+     * @see Logarithm#logOfQuotient(double, double, double)
+     */
+    public static BigDecimal logOfQuotient(BigDecimal valueNumerator, BigDecimal valueDenominator, BigDecimal base,
+                                           MathContext mc){
+        int precision = workingPrecision(mc);
+        Logarithm.checkArgument(valueDenominator.signum() != 0, "valueDenominator must not be zero");
+        checkBase(base);
+        checkQuotient(valueNumerator, valueDenominator, "value");
+
+        MathContext working = new MathContext(precision);
+        return lnOfQuotient(valueNumerator, valueDenominator, precision).divide(lnOfBase(base, precision), working).round(mc);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} with the base defined as the quotient
+     * {@code baseNumerator / baseDenominator}
+     *
+     * @param value the value to compute the logarithm for (must be &gt; 0)
+     * @param baseNumerator the numerator of the base
+     * @param baseDenominator the denominator of the base (must not be 0)
+     * @param mc the precision and rounding mode of the result (must have a finite precision)
+     *
+     * @return the logarithm of {@code value} in the quotient base, rounded according to {@code mc}
+     *
+     * @throws IllegalArgumentException if a precondition is violated, or if the quotient is
+     *                                  not strictly positive or is equal to 1
+     *
+     * @see Logarithm#logWithBaseQuotient(double, double, double)
+     */
+    public static BigDecimal logWithBaseQuotient(BigDecimal value, BigDecimal baseNumerator, BigDecimal baseDenominator,
+                                                 MathContext mc){
+        int precision = workingPrecision(mc);
+        Logarithm.checkArgument(baseDenominator.signum() != 0, "baseDenominator is zero");
+        checkBaseQuotient(baseNumerator, baseDenominator);
+        checkValue(value);
+
+        MathContext working = new MathContext(precision);
+        return ln(value, precision).divide(lnOfQuotient(baseNumerator, baseDenominator, precision), working).round(mc);
+    }
+
+    /**
+     * Computes the logarithm of the quotient {@code valueNumerator / valueDenominator}
+     * with the base defined as the quotient {@code baseNumerator / baseDenominator}
+     *
+     * @param valueNumerator the numerator of the value
+     * @param valueDenominator the denominator of the value (must not be 0)
+     * @param baseNumerator the numerator of the base
+     * @param baseDenominator the denominator of the base (must not be 0)
+     * @param mc the precision and rounding mode of the result (must have a finite precision)
+     *
+     * @return the logarithm of the value quotient in the base quotient, rounded according to {@code mc}
+     *
+     * @throws IllegalArgumentException if a precondition is violated
+     *
+     * @see Logarithm#logOfQuotientAndBaseQuotient(double, double, double, double)
+     */
+    public static BigDecimal logOfQuotientAndBaseQuotient(BigDecimal valueNumerator, BigDecimal valueDenominator,
+                                                          BigDecimal baseNumerator, BigDecimal baseDenominator,
+                                                          MathContext mc){
+        int precision = workingPrecision(mc);
+        Logarithm.checkArgument(valueDenominator.signum() != 0, "Illegal given valueDenominator value");
+        Logarithm.checkArgument(baseDenominator.signum() != 0, "baseDenominator must not be zero");
+        checkBaseQuotient(baseNumerator, baseDenominator);
+        checkQuotient(valueNumerator, valueDenominator, "value");
+
+        MathContext working = new MathContext(precision);
+        return lnOfQuotient(valueNumerator, valueDenominator, precision)
+                .divide(lnOfQuotient(baseNumerator, baseDenominator, precision), working).round(mc);
+    }
+
+    /**
+     * Natural logarithm of a positive value, with a relative error of about {@code 10^-precision}
+     */
+    static BigDecimal ln(BigDecimal value, int precision){
+        if(value.compareTo(HALF) >= 0 && value.compareTo(TWO) <= 0) return lnNearOne(value, precision);
+
+        int exponent = value.precision() - value.scale() - 1;
+        BigDecimal mantissa = value.scaleByPowerOfTen(-exponent);
+        int twos = mantissa.compareTo(BigDecimal.valueOf(1.42)) < 0 ? 0
+                : mantissa.compareTo(BigDecimal.valueOf(2.84)) < 0 ? 1
+                : mantissa.compareTo(BigDecimal.valueOf(5.68)) < 0 ? 2 : 3;
+        BigDecimal reduced = mantissa.multiply(HALF.pow(twos));
+
+        int extended = precision + digits(exponent);
+        MathContext working = new MathContext(extended);
+        BigDecimal result = lnNearOne(reduced, extended);
+        if(twos != 0) result = result.add(ln2(extended).multiply(BigDecimal.valueOf(twos)), working);
+        if(exponent != 0) result = result.add(ln10(extended).multiply(BigDecimal.valueOf(exponent)), working);
+        return result;
+    }
+
+    /**
+     * Natural logarithm of a positive {@code numerator / denominator}, without rounding the quotient
+     */
+    static BigDecimal lnOfQuotient(BigDecimal numerator, BigDecimal denominator, int precision){
+        numerator = numerator.abs();
+        denominator = denominator.abs();
+        int reduction = reductionDigits(precision);
+        MathContext working = new MathContext(precision + reduction + 2);
+        if(numerator.compareTo(denominator.multiply(HALF)) >= 0 && numerator.compareTo(denominator.multiply(TWO)) <= 0){
+            BigDecimal z = numerator.subtract(denominator).divide(numerator.add(denominator), working);
+            if(z.abs().compareTo(BigDecimal.ONE.movePointLeft(reduction)) <= 0) return atanh(z, working).multiply(TWO);
+        }
+        return ln(numerator.divide(denominator, working), precision);
+    }
+
+    /**
+     * Natural logarithm of a value in {@code [0.5, 2]}, by square-root reduction and the atanh series
+     * <p>
+     * Square roots are taken until {@code |z| ≤ 10^-reduction}; each of them rounds {@code y}, which costs
+     * about {@code reduction} digits of {@code z}, so that many extra digits are carried.
+     */
+    private static BigDecimal lnNearOne(BigDecimal y, int precision){
+        int reduction = reductionDigits(precision);
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(reduction);
+        MathContext working = new MathContext(precision + reduction + 2);
+        int squareRoots = 0;
+        BigDecimal z = y.subtract(BigDecimal.ONE).divide(y.add(BigDecimal.ONE), working);
+        while(z.abs().compareTo(threshold) > 0){
+            y = y.sqrt(working);
+            squareRoots++;
+            z = y.subtract(BigDecimal.ONE).divide(y.add(BigDecimal.ONE), working);
+        }
+        return atanh(z, working).multiply(TWO.pow(squareRoots + 1));
+    }
+
+    /**
+     * Sums the series {@code z + z^3/3 + z^5/5 + ...} until the terms fall below the precision
+     */
+    private static BigDecimal atanh(BigDecimal z, MathContext working){
+        if(z.signum() == 0) return BigDecimal.ZERO;
+        BigDecimal z2 = z.multiply(z, working);
+        BigDecimal power = z;
+        BigDecimal sum = z;
+        BigDecimal negligible = z.abs().movePointLeft(working.getPrecision() + 1);
+        for(long n = 3; ; n += 2){
+            power = power.multiply(z2, working);
+            BigDecimal term = power.divide(BigDecimal.valueOf(n), working);
+            if(term.abs().compareTo(negligible) < 0) return sum.round(working);
+            sum = sum.add(term);
+        }
+    }
+
+    /**
+     * {@code ln(2) = 2 * atanh(1/3)}, cached at the highest precision computed so far
+     */
+    static BigDecimal ln2(int precision){
+        BigDecimal cached = ln2;
+        if(cached.precision() >= precision) return cached.round(new MathContext(precision));
+
+        MathContext working = new MathContext(precision + GUARD_DIGITS);
+        BigDecimal value = atanh(BigDecimal.ONE.divide(BigDecimal.valueOf(3), working), working).multiply(TWO);
+        synchronized(BigDecimalLogarithm.class){
+            if(value.precision() > ln2.precision()) ln2 = value;
+        }
+        return value.round(new MathContext(precision));
+    }
+
+    /**
+     * {@code ln(10) = 3 * ln(2) + 2 * atanh(1/9)}, cached at the highest precision computed so far
+     */
+    static BigDecimal ln10(int precision){
+        BigDecimal cached = ln10;
+        if(cached.precision() >= precision) return cached.round(new MathContext(precision));
+
+        MathContext working = new MathContext(precision + GUARD_DIGITS);
+        BigDecimal value = ln2(working.getPrecision()).multiply(BigDecimal.valueOf(3))
+                .add(atanh(BigDecimal.ONE.divide(BigDecimal.valueOf(9), working), working).multiply(TWO), working);
+        synchronized(BigDecimalLogarithm.class){
+            if(value.precision() > ln10.precision()) ln10 = value;
+        }
+        return value.round(new MathContext(precision));
+    }
+
+    /**
+     * Natural logarithm of a base, served from the cache of recently used bases
+     */
+    private static BigDecimal lnOfBase(BigDecimal base, int precision){
+        BaseKey key = new BaseKey(base.stripTrailingZeros(), precision);
+        BigDecimal cached;
+        synchronized(BASE_CACHE){
+            cached = BASE_CACHE.get(key);
+        }
+        if(cached != null) return cached;
+
+        BigDecimal value = ln(base, precision);
+        synchronized(BASE_CACHE){
+            BASE_CACHE.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Number of leading zeros of the reduced atanh argument, growing with the precision
+     */
+    private static int reductionDigits(int precision){
+        return 1 + precision / DIGITS_PER_REDUCTION_DIGIT;
+    }
+
+    /**
+     * Working precision for a {@link MathContext}: its precision plus guard digits
+     */
+    private static int workingPrecision(MathContext mc){
+        Logarithm.checkArgument(mc.getPrecision() > 0, "mc must have a finite precision");
+        return mc.getPrecision() + GUARD_DIGITS;
+    }
+
+    /**
+     * Number of decimal digits of {@code |exponent|}, lost when multiplying {@code ln(10)} by it
+     */
+    private static int digits(int exponent){
+        return exponent == 0 ? 0 : IntegerLogarithm.floorLog10(Math.abs((long) exponent)) + 1;
+    }
+
+    private static void checkValue(BigDecimal value){
+        Logarithm.checkArgument(value.signum() > 0, "value must be > 0: ", value);
+    }
+
+    private static void checkBase(BigDecimal base){
+        Logarithm.checkArgument(base.signum() > 0, "base must be > 0: ", base);
+        Logarithm.checkArgument(base.compareTo(BigDecimal.ONE) != 0, "base must not be equal to 1");
+    }
+
+    private static void checkQuotient(BigDecimal numerator, BigDecimal denominator, String name){
+        if(numerator.signum() * denominator.signum() <= 0){
+            throw new IllegalArgumentException(name + " must be > 0: " + numerator + " / " + denominator);
+        }
+    }
+
+    private static void checkBaseQuotient(BigDecimal numerator, BigDecimal denominator){
+        checkQuotient(numerator, denominator, "base");
+        Logarithm.checkArgument(numerator.abs().compareTo(denominator.abs()) != 0, "base must not be equal to 1");
+    }
+
+    /**
+     * Cache key of a base logarithm: the base without trailing zeros, so that {@code 2.0} and {@code 2}
+     * share an entry, and the working precision
+     */
+    private record BaseKey(BigDecimal base, int precision) {}
+
+    /**
+     * Map evicting its least recently accessed entry beyond a fixed capacity
+     */
+    private static final class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        LruCache(int capacity){
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest){
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+import java.nio.Buffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.Objects;
+
+/**
+ *  Buffer Logarithm Utility Class
+ * <p>
+ * Bulk logarithms reading from and writing to {@code java.nio} buffers, heap or direct,
+ * without copying their content into Java arrays.
+ * <hr>
+ *
+ * <h3>⚙️ Layout</h3>
+ * <p>
+ * Elements are addressed with absolute indices, so buffer positions and limits are never
+ * modified. Each buffer is read or written from its own offset with its own stride, both
+ * expressed in elements: a stride of 1 processes contiguous elements, a stride of {@code n}
+ * processes one column of a row-major table with {@code n} columns.
+ * <p>
+ * The byte order is that of the buffer itself, and is chosen when the view is created:
+ * <pre>
+ *     DoubleBuffer values = byteBuffer.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+ * </pre>
+ * This class is <b>non-instantiable</b>.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * The base is validated once when the {@link LogBase} is created, and ranges are checked
+ * before any element is read. Values are validated as they are read, in a single pass, so
+ * elements preceding an invalid value may already have been written when the
+ * {@link IllegalArgumentException} is thrown.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * Double precision results are computed with the same expression as the bulk overloads of
+ * {@link Logarithm}, {@code ln(value) / ln(base)}. Single precision results are computed in
+ * double precision and rounded to {@code float} once.
+ *
+ * @author owl
+ */
+public final class BufferLogarithm {
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private BufferLogarithm(){}
+
+    /**
+     * Computes the logarithm of {@code count} elements of {@code values} in {@code base}
+     * <p>
+     * Formula, for each {@code i} in {@code [0, count)}:
+     * <pre>
+     *     destination[destinationOffset + i * destinationStride] = log<sub>base</sub>(values[offset + i * stride])
+     * </pre>
+     *
+     * @param values the buffer holding the values (each must be &gt; 0)
+     * @param offset index of the first element read from {@code values}
+     * @param stride distance between two consecutive values, in elements (must be &gt; 0)
+     * @param destination the buffer receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param destinationStride distance between two consecutive results, in elements (must be &gt; 0)
+     * @param count number of elements to process
+     * @param base the pre-validated base of the logarithm
+     *
+     * @throws IllegalArgumentException if a value ≤ 0 or a stride ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its buffer's limit
+     * @throws java.nio.ReadOnlyBufferException if {@code destination} is read-only
+     */
+    public static void logInBase(DoubleBuffer values, int offset, int stride,
+                                 DoubleBuffer destination, int destinationOffset, int destinationStride,
+                                 int count, LogBase base){
+        logWithPoweredValue(values, offset, stride, destination, destinationOffset, destinationStride, count, 1, base);
+    }
+
+    /**
+     * Computes {@code power} times the logarithm of {@code count} elements of {@code values} in {@code base}
+     *
+     * @param power the multiplier applied to the logarithm
+     *
+     * @see #logInBase(DoubleBuffer, int, int, DoubleBuffer, int, int, int, LogBase)
+     */
+    public static void logWithPoweredValue(DoubleBuffer values, int offset, int stride,
+                                           DoubleBuffer destination, int destinationOffset, int destinationStride,
+                                           int count, double power, LogBase base){
+        checkRange(values, offset, stride, count);
+        checkRange(destination, destinationOffset, destinationStride, count);
+        double lnBase = base.lnBase();
+
+        for(int i = 0; i < count; i++){
+            double value = values.get(offset + i * stride);
+            if(!(value > 0)) throw invalidValue(offset + i * stride, value);
+            destination.put(destinationOffset + i * destinationStride, power * (Math.log(value) / lnBase));
+        }
+    }
+
+    /**
+     * Computes the logarithm of {@code count} quotients {@code valueNumerators[i] / valueDenominators[i]} in {@code base}
+     * <p>
+     * Numerators and denominators share the same offset and stride.
+     *
+     * @param valueNumerators the buffer holding the numerators
+     * @param valueDenominators the buffer holding the denominators (each must not be 0)
+     *
+     * @throws IllegalArgumentException if a denominator = 0, a quotient ≤ 0 or a stride ≤ 0
+     *
+     * @see #logInBase(DoubleBuffer, int, int, DoubleBuffer, int, int, int, LogBase)
+     */
+    public static void logOfQuotient(DoubleBuffer valueNumerators, DoubleBuffer valueDenominators, int offset, int stride,
+                                     DoubleBuffer destination, int destinationOffset, int destinationStride,
+                                     int count, LogBase base){
+        checkRange(valueNumerators, offset, stride, count);
+        checkRange(valueDenominators, offset, stride, count);
+        checkRange(destination, destinationOffset, destinationStride, count);
+        double lnBase = base.lnBase();
+
+        for(int i = 0; i < count; i++){
+            int index = offset + i * stride;
+            double denominator = valueDenominators.get(index);
+            if(denominator == 0) throw new IllegalArgumentException("valueDenominators[" + index + "] must not be zero");
+            double quotient = valueNumerators.get(index) / denominator;
+            if(!(quotient > 0)) throw invalidValue(index, quotient);
+            destination.put(destinationOffset + i * destinationStride, Math.log(quotient) / lnBase);
+        }
+    }
+
+    /**
+     * Single precision counterpart of {@link #logInBase(DoubleBuffer, int, int, DoubleBuffer, int, int, int, LogBase)}
+     */
+    public static void logInBase(FloatBuffer values, int offset, int stride,
+                                 FloatBuffer destination, int destinationOffset, int destinationStride,
+                                 int count, LogBase base){
+        logWithPoweredValue(values, offset, stride, destination, destinationOffset, destinationStride, count, 1, base);
+    }
+
+    /**
+     * Single precision counterpart of
+     * {@link #logWithPoweredValue(DoubleBuffer, int, int, DoubleBuffer, int, int, int, double, LogBase)}
+     */
+    public static void logWithPoweredValue(FloatBuffer values, int offset, int stride,
+                                           FloatBuffer destination, int destinationOffset, int destinationStride,
+                                           int count, double power, LogBase base){
+        checkRange(values, offset, stride, count);
+        checkRange(destination, destinationOffset, destinationStride, count);
+        double lnBase = base.lnBase();
+
+        for(int i = 0; i < count; i++){
+            float value = values.get(offset + i * stride);
+            if(!(value > 0)) throw invalidValue(offset + i * stride, value);
+            destination.put(destinationOffset + i * destinationStride, (float) (power * (Math.log(value) / lnBase)));
+        }
+    }
+
+    /**
+     * Single precision counterpart of
+     * {@link #logOfQuotient(DoubleBuffer, DoubleBuffer, int, int, DoubleBuffer, int, int, int, LogBase)}
+     */
+    public static void logOfQuotient(FloatBuffer valueNumerators, FloatBuffer valueDenominators, int offset, int stride,
+                                     FloatBuffer destination, int destinationOffset, int destinationStride,
+                                     int count, LogBase base){
+        checkRange(valueNumerators, offset, stride, count);
+        checkRange(valueDenominators, offset, stride, count);
+        checkRange(destination, destinationOffset, destinationStride, count);
+        double lnBase = base.lnBase();
+
+        for(int i = 0; i < count; i++){
+            int index = offset + i * stride;
+            float denominator = valueDenominators.get(index);
+            if(denominator == 0) throw new IllegalArgumentException("valueDenominators[" + index + "] must not be zero");
+            double quotient = (double) valueNumerators.get(index) / denominator;
+            if(!(quotient > 0)) throw invalidValue(index, quotient);
+            destination.put(destinationOffset + i * destinationStride, (float) (Math.log(quotient) / lnBase));
+        }
+    }
+
+    /**
+     * Ensures {@code count} elements spaced by {@code stride} from {@code offset} fit below the buffer's limit
+     *
+     * @throws IllegalArgumentException if {@code stride} ≤ 0
+     * @throws IndexOutOfBoundsException if the strided range falls outside the buffer
+     */
+    private static void checkRange(Buffer buffer, int offset, int stride, int count){
+        Logarithm.checkArgument(stride > 0, "stride must be > 0: ", stride);
+        long span = count == 0 ? 0 : (count - 1L) * stride + 1;
+        Objects.checkFromIndexSize(offset, span, buffer.limit());
+    }
+
+    /**
+     * Builds the exception reporting an invalid value at {@code index}
+     */
+    private static IllegalArgumentException invalidValue(int index, double value){
+        return new IllegalArgumentException("value at index " + index + " must be > 0: " + value);
+    }
+}
@@ -0,0 +1,187 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ *  Correctly Rounded Logarithm Engine
+ * <p>
+ * Natural logarithm rounded to the nearest {@code double}, ties to even, for every input. The result
+ * is therefore the same on every JVM and platform, without the cost of {@link StrictMath#log} on the
+ * platforms where {@link Math#log} is an intrinsic, and it is never further than half an ulp from the
+ * exact value.
+ * <p>
+ * The six methods of {@link Logarithm} derived through {@link LogarithmEngine} divide two correctly
+ * rounded logarithms: they are reproducible, but not correctly rounded themselves.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * Ziv's strategy: each step evaluates the logarithm with a known error bound, and the result is
+ * returned as soon as both ends of the error interval round to the same {@code double}.
+ * <ul style="margin-left: 15px;">
+ *   <li>📌 Fast path: the table reduction of {@link TableLogarithm} with 256 entries, where the
+ *   reduced argument {@code r = z * (1/c) - 1} is kept exact as a pair of {@code double}s and
+ *   {@code ln(c)} is tabulated in double-double. The sum is carried with a trailing component,
+ *   for a relative error below 2<sup>-66</sup>.</li>
+ *   <li>📌 Slow path: {@link DoubleDoubleLogarithm}, relative error below 2<sup>-100</sup>.</li>
+ *   <li>📌 Last resort: {@link BigDecimalLogarithm} with doubling precision, for the few hard-to-round
+ *   cases whose logarithm falls within 2<sup>-100</sup> of a rounding boundary.</li>
+ * </ul>
+ * The fast path settles all but a fraction of a percent of the inputs, so the average cost stays close
+ * to the fast path alone, under twice the cost of {@link Math#log}. Since {@code ln(value)} is transcendental for every {@code value ≠ 1}, the
+ * last resort always terminates.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * {@link #ln(double)} is correctly rounded. Special values follow {@link Math#log}.
+ *
+ * @author owl
+ */
+public enum CorrectlyRoundedLogarithm implements LogarithmEngine {
+
+    /** The engine */
+    INSTANCE;
+
+    /** Number of mantissa bits used as table index */
+    private static final int TABLE_BITS = 8;
+
+    private static final int INDEX_SHIFT = 52 - TABLE_BITS;
+    private static final int INDEX_MASK = (1 << TABLE_BITS) - 1;
+
+    /** Bits of √½, subtracting them splits the bits into an exponent and a mantissa in [√½, √2) */
+    private static final long SQRT_HALF_BITS = 0x3FE6A09E667F3BCDL;
+
+    private static final long EXPONENT_MASK = 0xFFF0000000000000L;
+
+    /** 2<sup>54</sup>, scales subnormals into the normal range */
+    private static final double TWO_54 = 0x1.0p54;
+
+    private static final double LN_2_HIGH = DoubleDoubleLogarithm.LN_2.high();
+    private static final double LN_2_LOW = DoubleDoubleLogarithm.LN_2.low();
+
+    /** Relative error bound of the fast path, with a margin over the 2^-66 of the analysis */
+    private static final double FAST_PATH_ERROR = 0x1.0p-63;
+
+    /** Relative error bound of {@link DoubleDoubleLogarithm} */
+    private static final double DOUBLE_DOUBLE_ERROR = 0x1.0p-100;
+
+    /** Initial precision of the last resort, in decimal digits, doubled until the result rounds */
+    private static final int INITIAL_PRECISION = 40;
+
+    /** Interleaved {@code 1/c} and {@code ln(c)} high and low, so an entry fits in one cache line */
+    private static final double[] TABLE = buildTable();
+
+    /** Taylor coefficients of {@code log1p(r)} from {@code r³} to {@code r¹¹}, enough for {@code |r| ≤ 2^-7} */
+    private static final double C3 = 1.0 / 3;
+    private static final double C4 = -1.0 / 4;
+    private static final double C5 = 1.0 / 5;
+    private static final double C6 = -1.0 / 6;
+    private static final double C7 = 1.0 / 7;
+    private static final double C8 = -1.0 / 8;
+    private static final double C9 = 1.0 / 9;
+    private static final double C10 = -1.0 / 10;
+    private static final double C11 = 1.0 / 11;
+
+    @Override
+    public double ln(double value){
+        double scaled = value;
+        int exponent = 0;
+        if(!(value >= Double.MIN_NORMAL)){
+            if(!(value > 0)) return Math.log(value);
+            scaled *= TWO_54;
+            exponent = -54;
+        }
+        if(value == Double.POSITIVE_INFINITY) return value;
+
+        long bits = Double.doubleToRawLongBits(scaled);
+        long shifted = bits - SQRT_HALF_BITS;
+        exponent += (int) (shifted >> 52);
+        int index = ((int) (shifted >>> INDEX_SHIFT) & INDEX_MASK) * 3;
+        double z = Double.longBitsToDouble(bits - (shifted & EXPONENT_MASK));
+
+        // r = z * (1/c) - 1 exactly: p - 1 is exact since p ∈ [½, 2], and the fma recovers the rounding of p
+        double p = z * TABLE[index];
+        double rHigh = p - 1;
+        double rLow = Math.fma(z, TABLE[index], -p);
+        double r = rHigh + rLow;
+        rLow -= r - rHigh;
+
+        // r²/2, with the leading product kept exact
+        double r2 = r * r;
+        double halfSquare = 0.5 * r2;
+        double halfSquareLow = Math.fma(0.5 * r, r, -halfSquare) + r * rLow;
+
+        // Estrin's scheme, shorter dependency chains than Horner's
+        double r4 = r2 * r2;
+        double polynomial = (C3 + r * C4) + r2 * (C5 + r * C6)
+                + r4 * ((C7 + r * C8) + r2 * (C9 + r * C10) + r4 * C11);
+
+        // exponent * ln(2) + ln(c) + r - r²/2, each term smaller than the partial sum it is added to
+        // (|ln(c)| < ln(2)/2, |r| ≤ |ln(c)| unless c = 1, |r²/2| < |r|), so fast two-sums are error-free
+        double high = exponent * LN_2_HIGH;
+        double low = Math.fma(exponent, LN_2_HIGH, -high) + exponent * LN_2_LOW + TABLE[index + 2];
+
+        double sum = high + TABLE[index + 1];
+        double error = TABLE[index + 1] - (sum - high);
+
+        high = sum + r;
+        error += r - (high - sum);
+
+        sum = high - halfSquare;
+        error -= halfSquare + (sum - high);
+
+        // the trailing terms are summed apart, so they do not wait for the leading chain
+        low += rLow - halfSquareLow + r2 * r * polynomial;
+        low += error;
+
+        high = sum + low;
+        low -= high - sum;
+
+        double bound = FAST_PATH_ERROR * Math.abs(high);
+        double result = high + (low + bound);
+        if(result == high + (low - bound)) return result;
+
+        return slowPath(value);
+    }
+
+    /**
+     * Rounds {@code ln(value)} with the double-double engine, and with {@link BigDecimal}s if even that
+     * is too close to a rounding boundary
+     */
+    private static double slowPath(double value){
+        DoubleDouble ln = DoubleDoubleLogarithm.lnUnchecked(value);
+
+        double bound = DOUBLE_DOUBLE_ERROR * Math.abs(ln.high());
+        double result = ln.high() + (ln.low() + bound);
+        if(result == ln.high() + (ln.low() - bound)) return result;
+
+        BigDecimal exact = new BigDecimal(value);
+        for(int precision = INITIAL_PRECISION; ; precision *= 2){
+            BigDecimal bigLn = BigDecimalLogarithm.ln(exact, new MathContext(precision, RoundingMode.HALF_EVEN));
+            BigDecimal error = bigLn.ulp().scaleByPowerOfTen(1);
+            result = bigLn.add(error).doubleValue();
+            if(result == bigLn.subtract(error).doubleValue()) return result;
+        }
+    }
+
+    /**
+     * Builds the interleaved {@code 1/c}, {@code ln(c)} table, with {@code c} the center of each subinterval
+     * of {@code [√½, √2)}; the entry containing 1 and its two neighbors use {@code c = 1} exactly
+     */
+    private static double[] buildTable(){
+        int size = 1 << TABLE_BITS;
+        int one = (int) ((Double.doubleToRawLongBits(1.0) - SQRT_HALF_BITS) >>> INDEX_SHIFT);
+        double[] table = new double[3 * size];
+        for(int i = 0; i < size; i++){
+            double low = Double.longBitsToDouble(SQRT_HALF_BITS + ((long) i << INDEX_SHIFT));
+            double high = Double.longBitsToDouble(SQRT_HALF_BITS + ((long) (i + 1) << INDEX_SHIFT));
+            double inverseCenter = Math.abs(i - one) <= 1 ? 1 : 2 / (low + high);
+            DoubleDouble lnOfCenter = DoubleDoubleLogarithm.lnUnchecked(inverseCenter).negate();
+            table[3 * i] = inverseCenter;
+            table[3 * i + 1] = lnOfCenter.high();
+            table[3 * i + 2] = lnOfCenter.low();
+        }
+        return table;
+    }
+}
@@ -0,0 +1,300 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ *  Double-Double Value
+ * <p>
+ * An unevaluated sum {@code high + low} of two {@code double}s, with {@code |low| ≤ ulp(high) / 2},
+ * giving about 106 bits (32 decimal digits) of precision with the exponent range of a {@code double}.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * Operations are built on the error-free transformations
+ * <pre>
+ *     a + b = s + e   (two-sum, 6 additions)
+ *     a * b = p + e   (two-product, one fused multiply-add)
+ * </pre>
+ * and renormalize their result, so every operation costs a small constant number of {@code double}
+ * operations and no allocation beyond the result itself, which escape analysis usually removes.
+ * <p>
+ * Instances are immutable and thread-safe.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * Additions and multiplications have a relative error of a few units of 2<sup>-106</sup>, divisions
+ * of about ten. Overflow, underflow and special values follow the {@code high} component; the low
+ * component is meaningless once {@code high} is infinite or {@code NaN}.
+ *
+ * @author owl
+ */
+public final class DoubleDouble implements Comparable<DoubleDouble> {
+
+    /** 0 */
+    public static final DoubleDouble ZERO = new DoubleDouble(0, 0);
+
+    /** 1 */
+    public static final DoubleDouble ONE = new DoubleDouble(1, 0);
+
+    private final double high;
+    private final double low;
+
+    /**
+     * Private constructor, the components must already be normalized
+     */
+    private DoubleDouble(double high, double low){
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Returns the double-double equal to {@code value}
+     *
+     * @param value the value
+     *
+     * @return {@code value} with a zero low component
+     */
+    public static DoubleDouble of(double value){
+        return new DoubleDouble(value, 0);
+    }
+
+    /**
+     * Returns the double-double equal to the exact sum {@code high + low}
+     *
+     * @param high the leading component
+     * @param low the trailing component
+     *
+     * @return the normalized sum
+     */
+    public static DoubleDouble of(double high, double low){
+        return sum(high, low);
+    }
+
+    /**
+     * Returns the exact sum of two {@code double}s
+     *
+     * @param a the first term
+     * @param b the second term
+     *
+     * @return {@code a + b} without rounding error
+     */
+    public static DoubleDouble sum(double a, double b){
+        double s = a + b;
+        if(!Double.isFinite(s)) return new DoubleDouble(s, 0);
+        double virtual = s - a;
+        return new DoubleDouble(s, (a - (s - virtual)) + (b - virtual));
+    }
+
+    /**
+     * Returns the exact product of two {@code double}s
+     *
+     * @param a the first factor
+     * @param b the second factor
+     *
+     * @return {@code a * b} without rounding error, unless it underflows
+     */
+    public static DoubleDouble product(double a, double b){
+        double p = a * b;
+        if(!Double.isFinite(p)) return new DoubleDouble(p, 0);
+        return new DoubleDouble(p, Math.fma(a, b, -p));
+    }
+
+    /**
+     * Returns the leading component
+     *
+     * @return the {@code double} nearest to this value
+     */
+    public double high(){
+        return high;
+    }
+
+    /**
+     * Returns the trailing component
+     *
+     * @return the rounding error of {@link #high()}
+     */
+    public double low(){
+        return low;
+    }
+
+    /**
+     * Returns this value rounded to a {@code double}
+     *
+     * @return the {@code double} nearest to this value
+     */
+    public double doubleValue(){
+        return high + low;
+    }
+
+    /**
+     * Returns the exact decimal expansion of this value
+     *
+     * @return {@code high + low} as a {@link BigDecimal}
+     *
+     * @throws NumberFormatException if this value is infinite or {@code NaN}
+     */
+    public BigDecimal toBigDecimal(){
+        return new BigDecimal(high).add(new BigDecimal(low));
+    }
+
+    /**
+     * Returns the sum of this value and {@code other}
+     *
+     * @param other the term to add
+     *
+     * @return {@code this + other}
+     */
+    public DoubleDouble add(DoubleDouble other){
+        double s = high + other.high;
+        if(!Double.isFinite(s)) return new DoubleDouble(s, 0);
+        double virtual = s - high;
+        double e = (high - (s - virtual)) + (other.high - virtual);
+        double t = low + other.low;
+        virtual = t - low;
+        double f = (low - (t - virtual)) + (other.low - virtual);
+        e += t;
+        double h = s + e;
+        e = e - (h - s);
+        e += f;
+        s = h + e;
+        return new DoubleDouble(s, e - (s - h));
+    }
+
+    /**
+     * Returns the sum of this value and {@code other}
+     *
+     * @param other the term to add
+     *
+     * @return {@code this + other}
+     */
+    public DoubleDouble add(double other){
+        double s = high + other;
+        if(!Double.isFinite(s)) return new DoubleDouble(s, 0);
+        double virtual = s - high;
+        double e = (high - (s - virtual)) + (other - virtual) + low;
+        double h = s + e;
+        return new DoubleDouble(h, e - (h - s));
+    }
+
+    /**
+     * Returns the difference of this value and {@code other}
+     *
+     * @param other the term to subtract
+     *
+     * @return {@code this - other}
+     */
+    public DoubleDouble subtract(DoubleDouble other){
+        return add(other.negate());
+    }
+
+    /**
+     * Returns the product of this value and {@code other}
+     *
+     * @param other the factor
+     *
+     * @return {@code this * other}
+     */
+    public DoubleDouble multiply(DoubleDouble other){
+        double p = high * other.high;
+        if(!Double.isFinite(p)) return new DoubleDouble(p, 0);
+        double e = Math.fma(high, other.high, -p) + (high * other.low + low * other.high);
+        double s = p + e;
+        return new DoubleDouble(s, e - (s - p));
+    }
+
+    /**
+     * Returns the product of this value and {@code other}
+     *
+     * @param other the factor
+     *
+     * @return {@code this * other}
+     */
+    public DoubleDouble multiply(double other){
+        double p = high * other;
+        if(!Double.isFinite(p)) return new DoubleDouble(p, 0);
+        double e = Math.fma(high, other, -p) + low * other;
+        double s = p + e;
+        return new DoubleDouble(s, e - (s - p));
+    }
+
+    /**
+     * Returns the quotient of this value by {@code other}
+     * <p>
+     * Three {@code double} quotients are refined against the exact remainder, in the manner of long division.
+     *
+     * @param other the divisor
+     *
+     * @return {@code this / other}
+     */
+    public DoubleDouble divide(DoubleDouble other){
+        double q1 = high / other.high;
+        if(!Double.isFinite(q1) || q1 == 0) return new DoubleDouble(q1, 0);
+        DoubleDouble remainder = subtract(other.multiply(q1));
+        double q2 = remainder.high / other.high;
+        remainder = remainder.subtract(other.multiply(q2));
+        double q3 = remainder.high / other.high;
+        double s = q1 + q2;
+        return new DoubleDouble(s, q2 - (s - q1)).add(q3);
+    }
+
+    /**
+     * Returns the quotient of this value by {@code other}
+     *
+     * @param other the divisor
+     *
+     * @return {@code this / other}
+     */
+    public DoubleDouble divide(double other){
+        double q1 = high / other;
+        if(!Double.isFinite(q1) || q1 == 0) return new DoubleDouble(q1, 0);
+        DoubleDouble remainder = subtract(product(other, q1));
+        double q2 = remainder.high / other;
+        double s = q1 + q2;
+        return new DoubleDouble(s, q2 - (s - q1));
+    }
+
+    /**
+     * Returns the opposite of this value
+     *
+     * @return {@code -this}
+     */
+    public DoubleDouble negate(){
+        return new DoubleDouble(-high, -low);
+    }
+
+    /**
+     * Returns the signum of this value
+     *
+     * @return -1, 0 or 1 as this value is negative, zero or positive
+     */
+    public int signum(){
+        return high > 0 ? 1 : high < 0 ? -1 : 0;
+    }
+
+    @Override
+    public int compareTo(DoubleDouble other){
+        int comparison = Double.compare(high, other.high);
+        return comparison != 0 ? comparison : Double.compare(low, other.low);
+    }
+
+    @Override
+    public boolean equals(Object other){
+        return other instanceof DoubleDouble that
+                && Double.compare(high, that.high) == 0 && Double.compare(low, that.low) == 0;
+    }
+
+    @Override
+    public int hashCode(){
+        return 31 * Double.hashCode(high) + Double.hashCode(low);
+    }
+
+    /**
+     * Returns the value with 32 significant digits, or the special value of {@link #high()}
+     */
+    @Override
+    public String toString(){
+        if(!Double.isFinite(high)) return Double.toString(high);
+        return toBigDecimal().round(new MathContext(32)).toString();
+    }
+}
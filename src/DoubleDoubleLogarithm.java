@@ -0,0 +1,310 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ *  Double-Double Logarithm Utility Class
+ * <p>
+ * Extended precision counterparts of the methods of {@link Logarithm}, returning a {@link DoubleDouble}
+ * with about 30 correct digits. Meant for ill-conditioned cases, such as bases close to 1 or quotient
+ * bases whose numerator is close to their denominator, where the {@code double} results lose most of
+ * their digits and {@link BigDecimalLogarithm} would be two orders of magnitude slower.
+ * <p>
+ * This class is <b>non-instantiable</b>.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * The value is split into {@code 2<sup>e</sup> * m} with {@code m ∈ [√½, √2)}, and {@code m} is divided
+ * by the nearest {@code c = i / }{@value #TABLE_STEPS}, whose logarithm is tabulated in double-double:
+ * <pre>
+ *     ln(value) = e * ln(2) + ln(c) + 2 * atanh(s),   s = (m - c) / (m + c)
+ * </pre>
+ * Since {@code |s| < 2<sup>-7</sup>}, eight terms of the atanh series reach 2<sup>-106</sup>.
+ * <p>
+ * Quotients close to 1 never go through their rounded value: {@code s = (n - d) / (n + d)} is formed
+ * from the exact difference and sum of the {@code double} operands, and their logarithm is summed
+ * directly from the series, like {@code log1p}.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * The methods validate their arguments exactly like {@link Logarithm} and throw
+ * {@link IllegalArgumentException} if a precondition is violated.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * Natural logarithms of values and of quotients have a relative error below 2<sup>-101</sup>, whatever
+ * the magnitude of the operands; logarithms in another base add the error of the base logarithm and
+ * of one double-double division. The arguments themselves
+ * are taken as exact: a base of {@code 1.1} is the {@code double} nearest to 1.1, while a base quotient
+ * {@code 11 / 10} is exactly 1.1.
+ *
+ * @author owl
+ */
+public final class DoubleDoubleLogarithm {
+
+    /** Denominator of the table points {@code c = i / TABLE_STEPS} */
+    static final int TABLE_STEPS = 64;
+
+    /** ln(2) in double-double */
+    static final DoubleDouble LN_2 = DoubleDouble.of(0x1.62e42fefa39efp-1, 0x1.abc9e3b39803fp-56);
+
+    /** First and last table indices, covering {@code [√½, √2)} */
+    private static final int FIRST_INDEX = 45;
+    private static final int LAST_INDEX = 91;
+
+    /** Terms of the atanh series after table reduction, {@code |s| < 2^-7} */
+    private static final int TABLE_TERMS = 8;
+
+    /** Quotients whose {@code |s|} is below this bound skip the table, see {@link #QUOTIENT_TERMS} */
+    private static final double NEAR_ONE = 0x1.0p-6;
+
+    /** Terms of the atanh series for quotients close to 1, {@code |s| ≤ 2^-6} */
+    private static final int QUOTIENT_TERMS = 10;
+
+    private static final double SQRT_2 = 1.4142135623730951;
+
+    /** 2<sup>54</sup>, scales subnormals into the normal range */
+    private static final double TWO_54 = 0x1.0p54;
+
+    /** {@code ln(i / TABLE_STEPS)}, high and low components */
+    private static final double[] TABLE_HIGH = new double[LAST_INDEX + 1];
+    private static final double[] TABLE_LOW = new double[LAST_INDEX + 1];
+
+    /** {@code 2 / (2k + 1)}, the coefficients of {@code 2 * atanh(s) / s} in powers of {@code s²} */
+    private static final double[] SERIES_HIGH = new double[QUOTIENT_TERMS];
+    private static final double[] SERIES_LOW = new double[QUOTIENT_TERMS];
+
+    static {
+        MathContext mc = new MathContext(40);
+        for(int i = FIRST_INDEX; i <= LAST_INDEX; i++){
+            BigDecimal ln = BigDecimalLogarithm.ln(BigDecimal.valueOf(i).divide(BigDecimal.valueOf(TABLE_STEPS)), mc);
+            TABLE_HIGH[i] = ln.doubleValue();
+            TABLE_LOW[i] = ln.subtract(new BigDecimal(TABLE_HIGH[i])).doubleValue();
+        }
+        for(int k = 0; k < QUOTIENT_TERMS; k++){
+            DoubleDouble coefficient = DoubleDouble.of(2).divide(2 * k + 1);
+            SERIES_HIGH[k] = coefficient.high();
+            SERIES_LOW[k] = coefficient.low();
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private DoubleDoubleLogarithm(){}
+
+    /**
+     * Computes the natural logarithm of {@code value} in double-double
+     *
+     * @param value the value (must be &gt; 0)
+     *
+     * @return {@code ln(value)}
+     *
+     * @throws IllegalArgumentException if {@code value} ≤ 0
+     */
+    public static DoubleDouble ln(double value){
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+        return lnUnchecked(value);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} with a specified {@code base} in double-double
+     *
+     * @param value the value to compute the logarithm for (must be &gt; 0)
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     *
+     * @return the logarithm of {@code value} with base {@code base}
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0, {@code base} = 1, or {@code value} ≤ 0
+     *
+     * @see Logarithm#logInBase(double, double)
+     */
+    public static DoubleDouble logInBase(double value, double base){
+        Logarithm.checkArgument(base > 0, "base must be > 0: ", base);
+        Logarithm.checkArgument(base != 1, "base must not be equal to 1");
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+
+        return lnUnchecked(value).divide(lnUnchecked(base));
+    }
+
+    /**
+     * Computes the logarithm of {@code value} to the power of {@code power} with base {@code base} in double-double
+     *
+     * @see Logarithm#logWithPoweredValue(double, double, double)
+     */
+    public static DoubleDouble logWithPoweredValue(double value, double power, double base){
+        return logInBase(value, base).multiply(power);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} with the base to the power {@code power} in double-double
+     * <p>
+     * The result is divided by {@code power} rather than multiplied by a rounded {@code 1 / power}.
+     *
+     * @see Logarithm#logWithPoweredBase(double, double, double)
+     */
+    public static DoubleDouble logWithPoweredBase(double value, double base, double power){
+        Logarithm.checkArgument(power != 1, "power must not be 1");
+        return logInBase(value, base).divide(power);
+    }
+
+    /**
+     * Computes the logarithm of the quotient {@code valueNumerator / valueDenominator} with the base {@code base}
+     * in double-double, without rounding the quotient
+     *
+     * @see Logarithm#logOfQuotient(double, double, double)
+     */
+    public static DoubleDouble logOfQuotient(double valueNumerator, double valueDenominator, double base){
+        Logarithm.checkArgument(valueDenominator != 0, "valueDenominator must not be zero");
+        Logarithm.checkArgument(base > 0, "base must be > 0: ", base);
+        Logarithm.checkArgument(base != 1, "base must not be equal to 1");
+        checkQuotient(valueNumerator, valueDenominator, "value");
+
+        return lnOfQuotientUnchecked(valueNumerator, valueDenominator).divide(lnUnchecked(base));
+    }
+
+    /**
+     * Computes the logarithm of {@code value} with the base defined as the quotient
+     * {@code baseNumerator / baseDenominator} in double-double, without rounding the base
+     * <p>
+     * This is where the extended mode matters most: with a base such as {@code 1000001 / 1000000},
+     * the {@code double} path loses about six digits to the rounding of the base alone.
+     *
+     * @see Logarithm#logWithBaseQuotient(double, double, double)
+     */
+    public static DoubleDouble logWithBaseQuotient(double value, double baseNumerator, double baseDenominator){
+        Logarithm.checkArgument(baseDenominator != 0, "baseDenominator is zero");
+        checkQuotient(baseNumerator, baseDenominator, "base");
+        Logarithm.checkArgument(Math.abs(baseNumerator) != Math.abs(baseDenominator), "base must not be equal to 1");
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+
+        return lnUnchecked(value).divide(lnOfQuotientUnchecked(baseNumerator, baseDenominator));
+    }
+
+    /**
+     * Computes the logarithm of the quotient {@code valueNumerator / valueDenominator} with the base
+     * defined as the quotient {@code baseNumerator / baseDenominator} in double-double, without
+     * rounding either quotient
+     *
+     * @see Logarithm#logOfQuotientAndBaseQuotient(double, double, double, double)
+     */
+    public static DoubleDouble logOfQuotientAndBaseQuotient(double valueNumerator, double valueDenominator,
+                                                            double baseNumerator, double baseDenominator){
+        Logarithm.checkArgument(valueDenominator != 0, "Illegal given valueDenominator value");
+        Logarithm.checkArgument(baseDenominator != 0, "baseDenominator must not be zero");
+        checkQuotient(baseNumerator, baseDenominator, "base");
+        Logarithm.checkArgument(Math.abs(baseNumerator) != Math.abs(baseDenominator), "base must not be equal to 1");
+        checkQuotient(valueNumerator, valueDenominator, "value");
+
+        return lnOfQuotientUnchecked(valueNumerator, valueDenominator)
+                .divide(lnOfQuotientUnchecked(baseNumerator, baseDenominator));
+    }
+
+    /**
+     * Natural logarithm of a positive {@code value} in double-double, without validation
+     * <p>
+     * Works on primitive components throughout and only allocates the result.
+     */
+    static DoubleDouble lnUnchecked(double value){
+        int exponent = 0;
+        if(value < Double.MIN_NORMAL){
+            value *= TWO_54;
+            exponent = -54;
+        }
+        if(value == Double.POSITIVE_INFINITY) return DoubleDouble.of(value);
+
+        int binaryExponent = Math.getExponent(value);
+        double m = Math.scalb(value, -binaryExponent);
+        if(m >= SQRT_2){
+            m *= 0.5;
+            binaryExponent++;
+        }
+        exponent += binaryExponent;
+
+        int index = (int) Math.rint(m * TABLE_STEPS);
+        double c = (double) index / TABLE_STEPS;
+
+        // s = (m - c) / (m + c): the difference is exact, the sum is a two-sum, the quotient is refined once
+        double difference = m - c;
+        double sumHigh = m + c;
+        double virtual = sumHigh - m;
+        double sumLow = (m - (sumHigh - virtual)) + (c - virtual);
+        double sHigh = difference / sumHigh;
+        double sLow = (Math.fma(-sHigh, sumHigh, difference) - sHigh * sumLow) / sumHigh;
+
+        // offset = exponent * ln(2) + ln(c)
+        double offsetHigh = exponent * LN_2.high();
+        double offsetLow = Math.fma(exponent, LN_2.high(), -offsetHigh) + exponent * LN_2.low();
+        double tableHigh = TABLE_HIGH[index];
+        double offsetSum = offsetHigh + tableHigh;
+        virtual = offsetSum - offsetHigh;
+        offsetLow += (offsetHigh - (offsetSum - virtual)) + (tableHigh - virtual) + TABLE_LOW[index];
+
+        return series(sHigh, sLow, TABLE_TERMS, offsetSum, offsetLow);
+    }
+
+    /**
+     * Natural logarithm of a positive {@code numerator / denominator} in double-double, without
+     * rounding the quotient and without validation
+     */
+    static DoubleDouble lnOfQuotientUnchecked(double numerator, double denominator){
+        numerator = Math.abs(numerator);
+        denominator = Math.abs(denominator);
+        // n + d overflows from 2^1023 on; a quarter of both is exact unless the smaller one is subnormal,
+        // and then the quotient is far from 1 and s is not used. Below 2^-900, the low parts of the
+        // division fall into the subnormals, and scaling both up is always exact
+        double larger = Math.max(numerator, denominator);
+        double scale = larger >= 0x1p1022 ? 0.25 : larger < 0x1p-900 ? 0x1p600 : 1;
+        double n = numerator * scale;
+        double d = denominator * scale;
+        DoubleDouble s = DoubleDouble.sum(n, -d).divide(DoubleDouble.sum(n, d));
+        if(Math.abs(s.high()) <= NEAR_ONE) return series(s.high(), s.low(), QUOTIENT_TERMS, 0, 0);
+
+        DoubleDouble quotient = scale > 1 ? DoubleDouble.of(n).divide(d) : DoubleDouble.of(numerator).divide(denominator);
+        if(!(quotient.high() >= Double.MIN_NORMAL && quotient.high() < Double.POSITIVE_INFINITY)){
+            return lnUnchecked(numerator).subtract(lnUnchecked(denominator));
+        }
+        // ln(h + l) = ln(h) + ε - ε²/2 with ε = l / h ≤ 2^-53; ε and its rounding error are kept, since
+        // either one alone is about 2^-106 and the result can be as small as 2^-5
+        double epsilon = quotient.low() / quotient.high();
+        double epsilonLow = Math.fma(-epsilon, quotient.high(), quotient.low()) / quotient.high() - 0.5 * epsilon * epsilon;
+        return lnUnchecked(quotient.high()).add(DoubleDouble.of(epsilon, epsilonLow));
+    }
+
+    /**
+     * {@code offset + 2 * atanh(s)}, with {@code 2 * atanh(s) = s * (2 + 2s²/3 + 2s⁴/5 + ...)} summed
+     * over {@code terms} terms by Horner's scheme in {@code s²}, all in double-double
+     */
+    private static DoubleDouble series(double sHigh, double sLow, int terms, double offsetHigh, double offsetLow){
+        double zHigh = sHigh * sHigh;
+        double zLow = Math.fma(sHigh, sHigh, -zHigh) + 2 * sHigh * sLow;
+
+        double pHigh = SERIES_HIGH[terms - 1];
+        double pLow = SERIES_LOW[terms - 1];
+        for(int k = terms - 2; k >= 0; k--){
+            double productHigh = zHigh * pHigh;
+            double productLow = Math.fma(zHigh, pHigh, -productHigh) + (zHigh * pLow + zLow * pHigh);
+            // |z * p| < |2 / (2k + 1)|, so a fast two-sum is enough
+            double sum = SERIES_HIGH[k] + productHigh;
+            double error = (SERIES_HIGH[k] - sum) + productHigh + (SERIES_LOW[k] + productLow);
+            pHigh = sum + error;
+            pLow = error - (pHigh - sum);
+        }
+
+        double resultHigh = sHigh * pHigh;
+        double resultLow = Math.fma(sHigh, pHigh, -resultHigh) + (sHigh * pLow + sLow * pHigh);
+
+        double sum = offsetHigh + resultHigh;
+        double virtual = sum - offsetHigh;
+        double error = (offsetHigh - (sum - virtual)) + (resultHigh - virtual) + (offsetLow + resultLow);
+        return DoubleDouble.of(sum, error);
+    }
+
+    private static void checkQuotient(double numerator, double denominator, String name){
+        if(!((numerator > 0 && denominator > 0) || (numerator < 0 && denominator < 0))){
+            throw new IllegalArgumentException(name + " must be > 0: " + numerator + " / " + denominator);
+        }
+    }
+}
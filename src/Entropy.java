@@ -0,0 +1,766 @@
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ *  Entropy Utility Class
+ * <p>
+ * Bulk kernels for Shannon entropy, cross-entropy, Kullback-Leibler divergence and Jensen-Shannon
+ * divergence, over {@code double[]} and {@code float[]} distributions and over {@code long[]} and
+ * {@code int[]} histograms of raw counts, in any base.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * Inputs need not be normalized. With {@code P = Σ p<sub>i</sub>} and {@code Q = Σ q<sub>i</sub>},
+ * the normalization is folded into the formulas. Every kernel makes a normalization pass for the totals,
+ * then sums terms that are all non-negative, so that no two large terms cancel out. Entropy, the
+ * cross-entropy of a distribution with itself, and cross-entropy sum:
+ * <pre>
+ *     H(p)        = (Σ p<sub>i</sub> ln(P / p<sub>i</sub>)) / P
+ *     H(p, q)     = (Σ p<sub>i</sub> ln(Q / q<sub>i</sub>)) / P
+ * </pre>
+ * The totals are accumulated with Neumaier compensation, and each {@code ln(P / p<sub>i</sub>)} is taken
+ * as {@code log1p((P - p<sub>i</sub>) / p<sub>i</sub>)} from the compensated total, so skewed histograms
+ * such as {@code [10<sup>16</sup>, 1]}, where {@code ln(P)} and {@code Σ p̂ ln(p<sub>i</sub>)} would cancel
+ * out completely, keep full relative precision. With {@code p̂ = p / P}, {@code q̂ = q / Q} and
+ * {@code g(x) = (1 + x) ln(1 + x) - x ≥ 0}, adding {@code Σ (q̂<sub>i</sub> - p̂<sub>i</sub>) = 0} turns
+ * the divergences into sums of non-negative terms:
+ * <pre>
+ *     KL(p || q)  = Σ q̂<sub>i</sub> g(p̂<sub>i</sub> / q̂<sub>i</sub> - 1)
+ *     JS(p, q)    = ½ KL(p || m) + ½ KL(q || m) = ¼ Σ (p̂<sub>i</sub> + q̂<sub>i</sub>) (g(x<sub>i</sub>) + g(-x<sub>i</sub>))
+ * </pre>
+ * with the mixture {@code m = (p̂ + q̂) / 2} and {@code x<sub>i</sub> = (p̂<sub>i</sub> - q̂<sub>i</sub>) / (p̂<sub>i</sub> + q̂<sub>i</sub>)}.
+ * The differences {@code p̂<sub>i</sub> - q̂<sub>i</sub>} are computed with fused multiply-adds on weights
+ * scaled by the binary exponents of the totals, and {@code g} is evaluated without cancellation near 0,
+ * so distributions that differ by {@code 10<sup>-10</sup>} in every bin keep their divergence of about
+ * {@code 10<sup>-20</sup>}, whatever the scale of their weights.
+ * <p>
+ * The four element types share a single accumulator holding these formulas: their loops only widen
+ * each weight to {@code double}. Zero bins contribute nothing ({@code 0 ln 0 = 0}), and a bin where
+ * {@code p<sub>i</sub> &gt; 0} but {@code q<sub>i</sub> = 0} makes the cross-entropy and the KL divergence
+ * {@code Infinity}. Everything is computed in natural logarithms, and the base conversion is a single
+ * multiplication at the end.
+ * <hr>
+ *
+ * <h3>⚙️ Batches</h3>
+ * <p>
+ * The batch methods take histograms of equal size laid out contiguously, histogram {@code h}
+ * occupying {@code [offset + h * bins, offset + (h + 1) * bins)}, and spread them over a
+ * {@link ForkJoinPool} with the chunking of {@link ParallelLogarithm}.
+ * <p>
+ * This class is <b>non-instantiable</b>.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * Methods throw {@link IllegalArgumentException} if an element is negative, infinite or {@code NaN},
+ * or if a distribution has a zero total, and {@link IndexOutOfBoundsException} if a range falls outside
+ * its array. Batches validate every histogram before writing any result.
+ *
+ * @author owl
+ */
+public final class Entropy {
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private Entropy(){}
+
+    /**
+     * Computes the Shannon entropy of a distribution in {@code base}
+     *
+     * @param p the weights of the distribution (each must be ≥ 0 and finite, not all zero)
+     * @param offset index of the first element read from {@code p}
+     * @param length number of bins
+     * @param base the base of the logarithm, {@link LogBase#TWO} for bits
+     *
+     * @return {@code H(p) = -Σ p̂ log(p̂)} with {@code p̂ = p / Σ p}
+     *
+     * @throws IllegalArgumentException if an element is negative, infinite or {@code NaN}, or all are zero
+     * @throws IndexOutOfBoundsException if the range falls outside {@code p}
+     */
+    public static double entropy(double[] p, int offset, int length, LogBase base){
+        Objects.checkFromIndexSize(offset, length, p.length);
+        return ln(Measure.ENTROPY, p, p, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the cross-entropy of two distributions in {@code base}
+     *
+     * @param p the weights of the true distribution (each must be ≥ 0 and finite, not all zero)
+     * @param q the weights of the model distribution (each must be ≥ 0 and finite, not all zero)
+     * @param offset index of the first element read from both arrays
+     * @param length number of bins
+     * @param base the base of the logarithm
+     *
+     * @return {@code H(p, q) = -Σ p̂ log(q̂)}, {@code Infinity} if {@code q̂} is zero where {@code p̂} is not
+     *
+     * @throws IllegalArgumentException if an element is negative, infinite or {@code NaN}, or a distribution is all zero
+     * @throws IndexOutOfBoundsException if the range falls outside an array
+     */
+    public static double crossEntropy(double[] p, double[] q, int offset, int length, LogBase base){
+        checkRanges(p.length, q.length, offset, length);
+        return ln(Measure.CROSS_ENTROPY, p, q, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the Kullback-Leibler divergence of two distributions in {@code base}
+     *
+     * @param p the weights of the true distribution (each must be ≥ 0 and finite, not all zero)
+     * @param q the weights of the model distribution (each must be ≥ 0 and finite, not all zero)
+     * @param offset index of the first element read from both arrays
+     * @param length number of bins
+     * @param base the base of the logarithm
+     *
+     * @return {@code KL(p || q) = Σ p̂ log(p̂ / q̂)}, {@code Infinity} if {@code q̂} is zero where {@code p̂} is not
+     *
+     * @throws IllegalArgumentException if an element is negative, infinite or {@code NaN}, or a distribution is all zero
+     * @throws IndexOutOfBoundsException if the range falls outside an array
+     */
+    public static double klDivergence(double[] p, double[] q, int offset, int length, LogBase base){
+        checkRanges(p.length, q.length, offset, length);
+        return ln(Measure.KL_DIVERGENCE, p, q, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the Jensen-Shannon divergence of two distributions in {@code base}
+     *
+     * @param p the weights of the first distribution (each must be ≥ 0 and finite, not all zero)
+     * @param q the weights of the second distribution (each must be ≥ 0 and finite, not all zero)
+     * @param offset index of the first element read from both arrays
+     * @param length number of bins
+     * @param base the base of the logarithm
+     *
+     * @return {@code JS(p, q)}, between 0 and {@code log(2)}
+     *
+     * @throws IllegalArgumentException if an element is negative, infinite or {@code NaN}, or a distribution is all zero
+     * @throws IndexOutOfBoundsException if the range falls outside an array
+     */
+    public static double jensenShannon(double[] p, double[] q, int offset, int length, LogBase base){
+        checkRanges(p.length, q.length, offset, length);
+        return ln(Measure.JENSEN_SHANNON, p, q, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the Shannon entropy of a single precision distribution in {@code base}
+     *
+     * @see #entropy(double[], int, int, LogBase)
+     */
+    public static double entropy(float[] p, int offset, int length, LogBase base){
+        Objects.checkFromIndexSize(offset, length, p.length);
+        return ln(Measure.ENTROPY, p, p, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the cross-entropy of two single precision distributions in {@code base}
+     *
+     * @see #crossEntropy(double[], double[], int, int, LogBase)
+     */
+    public static double crossEntropy(float[] p, float[] q, int offset, int length, LogBase base){
+        checkRanges(p.length, q.length, offset, length);
+        return ln(Measure.CROSS_ENTROPY, p, q, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the Kullback-Leibler divergence of two single precision distributions in {@code base}
+     *
+     * @see #klDivergence(double[], double[], int, int, LogBase)
+     */
+    public static double klDivergence(float[] p, float[] q, int offset, int length, LogBase base){
+        checkRanges(p.length, q.length, offset, length);
+        return ln(Measure.KL_DIVERGENCE, p, q, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the Jensen-Shannon divergence of two single precision distributions in {@code base}
+     *
+     * @see #jensenShannon(double[], double[], int, int, LogBase)
+     */
+    public static double jensenShannon(float[] p, float[] q, int offset, int length, LogBase base){
+        checkRanges(p.length, q.length, offset, length);
+        return ln(Measure.JENSEN_SHANNON, p, q, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the Shannon entropy of a long histogram of counts in {@code base}
+     *
+     * @see #entropy(double[], int, int, LogBase)
+     */
+    public static double entropy(long[] p, int offset, int length, LogBase base){
+        Objects.checkFromIndexSize(offset, length, p.length);
+        return ln(Measure.ENTROPY, p, p, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the cross-entropy of two long histograms of counts in {@code base}
+     *
+     * @see #crossEntropy(double[], double[], int, int, LogBase)
+     */
+    public static double crossEntropy(long[] p, long[] q, int offset, int length, LogBase base){
+        checkRanges(p.length, q.length, offset, length);
+        return ln(Measure.CROSS_ENTROPY, p, q, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the Kullback-Leibler divergence of two long histograms of counts in {@code base}
+     *
+     * @see #klDivergence(double[], double[], int, int, LogBase)
+     */
+    public static double klDivergence(long[] p, long[] q, int offset, int length, LogBase base){
+        checkRanges(p.length, q.length, offset, length);
+        return ln(Measure.KL_DIVERGENCE, p, q, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the Jensen-Shannon divergence of two long histograms of counts in {@code base}
+     *
+     * @see #jensenShannon(double[], double[], int, int, LogBase)
+     */
+    public static double jensenShannon(long[] p, long[] q, int offset, int length, LogBase base){
+        checkRanges(p.length, q.length, offset, length);
+        return ln(Measure.JENSEN_SHANNON, p, q, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the Shannon entropy of a int histogram of counts in {@code base}
+     *
+     * @see #entropy(double[], int, int, LogBase)
+     */
+    public static double entropy(int[] p, int offset, int length, LogBase base){
+        Objects.checkFromIndexSize(offset, length, p.length);
+        return ln(Measure.ENTROPY, p, p, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the cross-entropy of two int histograms of counts in {@code base}
+     *
+     * @see #crossEntropy(double[], double[], int, int, LogBase)
+     */
+    public static double crossEntropy(int[] p, int[] q, int offset, int length, LogBase base){
+        checkRanges(p.length, q.length, offset, length);
+        return ln(Measure.CROSS_ENTROPY, p, q, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the Kullback-Leibler divergence of two int histograms of counts in {@code base}
+     *
+     * @see #klDivergence(double[], double[], int, int, LogBase)
+     */
+    public static double klDivergence(int[] p, int[] q, int offset, int length, LogBase base){
+        checkRanges(p.length, q.length, offset, length);
+        return ln(Measure.KL_DIVERGENCE, p, q, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the Jensen-Shannon divergence of two int histograms of counts in {@code base}
+     *
+     * @see #jensenShannon(double[], double[], int, int, LogBase)
+     */
+    public static double jensenShannon(int[] p, int[] q, int offset, int length, LogBase base){
+        checkRanges(p.length, q.length, offset, length);
+        return ln(Measure.JENSEN_SHANNON, p, q, offset, length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the Shannon entropies of a batch of histograms in {@code base} on the common pool
+     *
+     * @see #entropies(double[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     */
+    public static void entropies(double[] histograms, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset){
+        entropies(histograms, offset, bins, count, base, destination, destinationOffset, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the Shannon entropies of a batch of histograms in {@code base} on the given pool
+     * <p>
+     * Formula, for each {@code h} in {@code [0, count)}:
+     * <pre>
+     *     destination[destinationOffset + h] = H(histograms[offset + h * bins, offset + (h + 1) * bins))
+     * </pre>
+     *
+     * @param histograms the histograms, stored contiguously
+     * @param offset index of the first element of the first histogram
+     * @param bins number of bins of every histogram (must be &gt; 0)
+     * @param count number of histograms
+     * @param base the base of the logarithm
+     * @param destination the array receiving one result per histogram
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param pool the pool running the chunks
+     *
+     * @throws IllegalArgumentException if {@code bins} ≤ 0, or a histogram has an invalid element or a zero total
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see #entropy(double[], int, int, LogBase)
+     */
+    public static void entropies(double[] histograms, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset, ForkJoinPool pool){
+        batch(Measure.ENTROPY, histograms, histograms, offset, bins, count, base, destination, destinationOffset, pool);
+    }
+
+    /**
+     * Computes the cross-entropies of a batch of pairs of histograms in {@code base} on the common pool
+     *
+     * @see #crossEntropies(double[], double[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     */
+    public static void crossEntropies(double[] p, double[] q, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset){
+        crossEntropies(p, q, offset, bins, count, base, destination, destinationOffset, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the cross-entropies of a batch of pairs of histograms, laid out identically in both arrays, in {@code base} on the given pool
+     *
+     * @see #entropies(double[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     * @see #crossEntropy(double[], double[], int, int, LogBase)
+     */
+    public static void crossEntropies(double[] p, double[] q, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset, ForkJoinPool pool){
+        batch(Measure.CROSS_ENTROPY, p, q, offset, bins, count, base, destination, destinationOffset, pool);
+    }
+
+    /**
+     * Computes the Kullback-Leibler divergences of a batch of pairs of histograms in {@code base} on the common pool
+     *
+     * @see #klDivergences(double[], double[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     */
+    public static void klDivergences(double[] p, double[] q, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset){
+        klDivergences(p, q, offset, bins, count, base, destination, destinationOffset, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the Kullback-Leibler divergences of a batch of pairs of histograms, laid out identically in both arrays, in {@code base} on the given pool
+     *
+     * @see #entropies(double[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     * @see #klDivergence(double[], double[], int, int, LogBase)
+     */
+    public static void klDivergences(double[] p, double[] q, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset, ForkJoinPool pool){
+        batch(Measure.KL_DIVERGENCE, p, q, offset, bins, count, base, destination, destinationOffset, pool);
+    }
+
+    /**
+     * Computes the Jensen-Shannon divergences of a batch of pairs of histograms in {@code base} on the common pool
+     *
+     * @see #jensenShannonDivergences(double[], double[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     */
+    public static void jensenShannonDivergences(double[] p, double[] q, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset){
+        jensenShannonDivergences(p, q, offset, bins, count, base, destination, destinationOffset, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the Jensen-Shannon divergences of a batch of pairs of histograms, laid out identically in both arrays, in {@code base} on the given pool
+     *
+     * @see #entropies(double[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     * @see #jensenShannon(double[], double[], int, int, LogBase)
+     */
+    public static void jensenShannonDivergences(double[] p, double[] q, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset, ForkJoinPool pool){
+        batch(Measure.JENSEN_SHANNON, p, q, offset, bins, count, base, destination, destinationOffset, pool);
+    }
+
+    /**
+     * Computes the Shannon entropies of a batch of histograms in {@code base} on the common pool
+     *
+     * @see #entropies(long[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     */
+    public static void entropies(long[] histograms, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset){
+        entropies(histograms, offset, bins, count, base, destination, destinationOffset, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the Shannon entropies of a batch of histograms in {@code base} on the given pool
+     *
+     * @see #entropies(double[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     * @see #entropy(long[], int, int, LogBase)
+     */
+    public static void entropies(long[] histograms, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset, ForkJoinPool pool){
+        batch(Measure.ENTROPY, histograms, histograms, offset, bins, count, base, destination, destinationOffset, pool);
+    }
+
+    /**
+     * Computes the cross-entropies of a batch of pairs of histograms in {@code base} on the common pool
+     *
+     * @see #crossEntropies(long[], long[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     */
+    public static void crossEntropies(long[] p, long[] q, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset){
+        crossEntropies(p, q, offset, bins, count, base, destination, destinationOffset, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the cross-entropies of a batch of pairs of histograms, laid out identically in both arrays, in {@code base} on the given pool
+     *
+     * @see #entropies(double[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     * @see #crossEntropy(long[], long[], int, int, LogBase)
+     */
+    public static void crossEntropies(long[] p, long[] q, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset, ForkJoinPool pool){
+        batch(Measure.CROSS_ENTROPY, p, q, offset, bins, count, base, destination, destinationOffset, pool);
+    }
+
+    /**
+     * Computes the Kullback-Leibler divergences of a batch of pairs of histograms in {@code base} on the common pool
+     *
+     * @see #klDivergences(long[], long[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     */
+    public static void klDivergences(long[] p, long[] q, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset){
+        klDivergences(p, q, offset, bins, count, base, destination, destinationOffset, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the Kullback-Leibler divergences of a batch of pairs of histograms, laid out identically in both arrays, in {@code base} on the given pool
+     *
+     * @see #entropies(double[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     * @see #klDivergence(long[], long[], int, int, LogBase)
+     */
+    public static void klDivergences(long[] p, long[] q, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset, ForkJoinPool pool){
+        batch(Measure.KL_DIVERGENCE, p, q, offset, bins, count, base, destination, destinationOffset, pool);
+    }
+
+    /**
+     * Computes the Jensen-Shannon divergences of a batch of pairs of histograms in {@code base} on the common pool
+     *
+     * @see #jensenShannonDivergences(long[], long[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     */
+    public static void jensenShannonDivergences(long[] p, long[] q, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset){
+        jensenShannonDivergences(p, q, offset, bins, count, base, destination, destinationOffset, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the Jensen-Shannon divergences of a batch of pairs of histograms, laid out identically in both arrays, in {@code base} on the given pool
+     *
+     * @see #entropies(double[], int, int, int, LogBase, double[], int, ForkJoinPool)
+     * @see #jensenShannon(long[], long[], int, int, LogBase)
+     */
+    public static void jensenShannonDivergences(long[] p, long[] q, int offset, int bins, int count, LogBase base,
+                                 double[] destination, int destinationOffset, ForkJoinPool pool){
+        batch(Measure.JENSEN_SHANNON, p, q, offset, bins, count, base, destination, destinationOffset, pool);
+    }
+
+    /**
+     * Runs a batch of double histograms: validates every histogram, then computes one measure per histogram
+     */
+    private static void batch(Measure measure, double[] p, double[] q, int offset, int bins, int count, LogBase base,
+                              double[] destination, int destinationOffset, ForkJoinPool pool){
+        checkBatch(p.length, q.length, offset, bins, count, destination.length, destinationOffset);
+        double scale = base.inverseLnBase();
+        ParallelLogarithm.run(pool, count, batchChunk(bins),
+                (from, histogramCount) -> {
+                    for(int h = from; h < from + histogramCount; h++){
+                        checkHistogram(p, offset + h * bins, bins);
+                        if(q != p) checkHistogram(q, offset + h * bins, bins);
+                    }
+                },
+                (from, histogramCount) -> {
+                    for(int h = from; h < from + histogramCount; h++){
+                        destination[destinationOffset + h] = ln(measure, p, q, offset + h * bins, bins) * scale;
+                    }
+                });
+    }
+
+    /**
+     * Runs a batch of long histograms: validates every histogram, then computes one measure per histogram
+     */
+    private static void batch(Measure measure, long[] p, long[] q, int offset, int bins, int count, LogBase base,
+                              double[] destination, int destinationOffset, ForkJoinPool pool){
+        checkBatch(p.length, q.length, offset, bins, count, destination.length, destinationOffset);
+        double scale = base.inverseLnBase();
+        ParallelLogarithm.run(pool, count, batchChunk(bins),
+                (from, histogramCount) -> {
+                    for(int h = from; h < from + histogramCount; h++){
+                        checkHistogram(p, offset + h * bins, bins);
+                        if(q != p) checkHistogram(q, offset + h * bins, bins);
+                    }
+                },
+                (from, histogramCount) -> {
+                    for(int h = from; h < from + histogramCount; h++){
+                        destination[destinationOffset + h] = ln(measure, p, q, offset + h * bins, bins) * scale;
+                    }
+                });
+    }
+
+    /**
+     * Unchecked-range kernel: natural {@code measure} of two double distributions, {@code q = p} for the entropy
+     */
+    static double ln(Measure measure, double[] p, double[] q, int offset, int length){
+        Accumulator accumulator = new Accumulator(measure);
+        for(int i = 0; i < length; i++) accumulator.total(offset + i, p[offset + i], q[offset + i]);
+        accumulator.normalize();
+        double sum = 0;
+        for(int i = 0; i < length; i++) sum += accumulator.term(p[offset + i], q[offset + i]);
+        return accumulator.result(sum);
+    }
+
+    /**
+     * Unchecked-range kernel: natural {@code measure} of two float distributions, {@code q = p} for the entropy
+     */
+    static double ln(Measure measure, float[] p, float[] q, int offset, int length){
+        Accumulator accumulator = new Accumulator(measure);
+        for(int i = 0; i < length; i++) accumulator.total(offset + i, p[offset + i], q[offset + i]);
+        accumulator.normalize();
+        double sum = 0;
+        for(int i = 0; i < length; i++) sum += accumulator.term(p[offset + i], q[offset + i]);
+        return accumulator.result(sum);
+    }
+
+    /**
+     * Unchecked-range kernel: natural {@code measure} of two long histograms, {@code q = p} for the entropy
+     */
+    static double ln(Measure measure, long[] p, long[] q, int offset, int length){
+        Accumulator accumulator = new Accumulator(measure);
+        for(int i = 0; i < length; i++) accumulator.total(offset + i, p[offset + i], q[offset + i]);
+        accumulator.normalize();
+        double sum = 0;
+        for(int i = 0; i < length; i++) sum += accumulator.term(p[offset + i], q[offset + i]);
+        return accumulator.result(sum);
+    }
+
+    /**
+     * Unchecked-range kernel: natural {@code measure} of two int histograms, {@code q = p} for the entropy
+     */
+    static double ln(Measure measure, int[] p, int[] q, int offset, int length){
+        Accumulator accumulator = new Accumulator(measure);
+        for(int i = 0; i < length; i++) accumulator.total(offset + i, p[offset + i], q[offset + i]);
+        accumulator.normalize();
+        double sum = 0;
+        for(int i = 0; i < length; i++) sum += accumulator.term(p[offset + i], q[offset + i]);
+        return accumulator.result(sum);
+    }
+
+    /**
+     * Information measures computed by the kernels
+     */
+    enum Measure {
+        ENTROPY,
+        CROSS_ENTROPY,
+        KL_DIVERGENCE,
+        JENSEN_SHANNON
+    }
+
+    /**
+     * State of a kernel, shared by every element type: the loops of the {@code ln} kernels only widen
+     * each pair of weights to {@code double}, so each formula is written once, here
+     * <p>
+     * {@link #total(int, double, double)} validates the weights and accumulates the compensated totals,
+     * {@link #normalize()} checks them, then the kernel sums the non-negative {@link #term(double, double)}
+     * of each bin, and {@link #result(double)} scales the sum.
+     */
+    private static final class Accumulator {
+
+        private final Measure measure;
+
+        private double pTotal;
+        private double pCompensation;
+        private double qTotal;
+        private double qCompensation;
+
+        /** Powers of two taking the binary exponents of the totals out of every weight */
+        private double pFactor;
+        private double qFactor;
+
+        /** Totals scaled into {@code [1, 2)} by their binary exponents */
+        private double pScaled;
+        private double qScaled;
+
+        /** {@code ln(Q / P)}, only for the rare divergence terms that leave the exact path */
+        private double lnTotalRatio;
+
+        Accumulator(Measure measure){
+            this.measure = measure;
+        }
+
+        /**
+         * Validates the weights of bin {@code index} and adds them to the totals
+         */
+        void total(int index, double u, double v){
+            if(!(u >= 0 && u < Double.POSITIVE_INFINITY)) throw invalidElement("p", index, u);
+            if(!(v >= 0 && v < Double.POSITIVE_INFINITY)) throw invalidElement("q", index, v);
+            double p = pTotal + u;
+            pCompensation += pTotal >= u ? (pTotal - p) + u : (u - p) + pTotal;
+            pTotal = p;
+            double q = qTotal + v;
+            qCompensation += qTotal >= v ? (qTotal - q) + v : (v - q) + qTotal;
+            qTotal = q;
+        }
+
+        /**
+         * Checks the totals and derives the normalization of the divergences
+         */
+        void normalize(){
+            checkTotal("p", pTotal);
+            checkTotal("q", qTotal);
+            pFactor = Math.scalb(1.0, -Math.getExponent(pTotal));
+            qFactor = Math.scalb(1.0, -Math.getExponent(qTotal));
+            pScaled = pTotal * pFactor;
+            qScaled = qTotal * qFactor;
+            lnTotalRatio = Math.log(qTotal) - Math.log(pTotal);
+        }
+
+        /**
+         * Returns the non-negative term of a bin
+         */
+        double term(double u, double v){
+            if(!(u > 0 || v > 0)) return 0;
+            return switch(measure){
+                case ENTROPY, CROSS_ENTROPY -> u > 0 ? u * lnOfTotalOver(qTotal, qCompensation, v) : 0;
+                case KL_DIVERGENCE -> klTerm(u, v);
+                case JENSEN_SHANNON -> jensenShannonTerm(u, v);
+            };
+        }
+
+        /**
+         * Returns the natural measure of the distributions from the sum of the terms
+         */
+        double result(double sum){
+            return switch(measure){
+                case ENTROPY, CROSS_ENTROPY -> sum / pTotal;
+                case KL_DIVERGENCE -> sum / qScaled;
+                case JENSEN_SHANNON -> sum / (4 * pScaled * qScaled);
+            };
+        }
+
+        /**
+         * Term {@code b g(x)} of the KL divergence, with {@code a} and {@code b} the weights scaled like the
+         * totals and {@code x = p̂ / q̂ - 1}; terms that overflow the ratio are taken from logarithms
+         */
+        private double klTerm(double u, double v){
+            double a = u * pFactor;
+            double b = v * qFactor;
+            double product = b * pScaled;
+            double x = difference(a, b, product) / product;
+            if(x <= 0x1p52) return b * relativeEntropy(x);
+            if(u == 0) return b;
+            if(v == 0) return Double.POSITIVE_INFINITY;
+            double w = a * qScaled / pScaled;
+            return w * (Math.log(u) - Math.log(v) + lnTotalRatio) - w + b;
+        }
+
+        /**
+         * Term {@code s (g(x) + g(-x))} of the Jensen-Shannon divergence, with {@code s = 2 m̂} up to the
+         * scaling of the totals and {@code x = (p̂ - q̂) / (p̂ + q̂)}
+         */
+        private double jensenShannonTerm(double u, double v){
+            double a = u * pFactor;
+            double b = v * qFactor;
+            double product = b * pScaled;
+            double s = a * qScaled + product;
+            if(s == 0) return 0;
+            double x = Math.max(-1, Math.min(1, difference(a, b, product) / s));
+            return s * (relativeEntropy(x) + relativeEntropy(-x));
+        }
+
+        /**
+         * {@code a Q' - b P'} with a single rounding, {@code product} being {@code b P'} rounded
+         */
+        private double difference(double a, double b, double product){
+            return Math.fma(a, qScaled, -product) - Math.fma(b, pScaled, -product);
+        }
+    }
+
+    /**
+     * {@code g(x) = (1 + x) ln(1 + x) - x}, non-negative for {@code x ≥ -1}, without cancellation near 0
+     * <p>
+     * From {@code |x| = 1/4}, {@code 1 + x} is far enough from 1 for {@code Math.log} to take it. Nearer 0,
+     * {@code ln(1 + x) - x} is evaluated from {@code t = x / (2 + x)} as {@code t (2t² (1/3 + t²/5 + t⁴/7 + ...) - x)},
+     * so that {@code g(x) ≈ x²/2} keeps full relative precision.
+     */
+    static double relativeEntropy(double x){
+        if(Math.abs(x) >= 0.25) return x == -1 ? 1 : (1 + x) * Math.log(1 + x) - x;
+        double t = x / (2 + x);
+        double t2 = t * t;
+        double series = 1.0 / 3 + t2 * (1.0 / 5 + t2 * (1.0 / 7 + t2 * (1.0 / 9 + t2 * (1.0 / 11 + t2 * (1.0 / 13
+                + t2 * (1.0 / 15 + t2 * (1.0 / 17 + t2 * (1.0 / 19 + t2 * (1.0 / 21 + t2 / 23)))))))));
+        double lnMinusX = t * (2 * t2 * series - x);
+        return x * (x + lnMinusX) + lnMinusX;
+    }
+
+    /**
+     * {@code ln(total / v)} for {@code 0 ≤ v ≤ total}, as {@code log1p} of the rest of the compensated
+     * total over {@code v}, or as a difference of logarithms when that quotient overflows
+     */
+    private static double lnOfTotalOver(double total, double compensation, double v){
+        double ratio = ((total - v) + compensation) / v;
+        return ratio < Double.POSITIVE_INFINITY ? Math.log1p(ratio) : Math.log(total) - Math.log(v);
+    }
+
+    /**
+     * Validates a double histogram of a batch without computing anything
+     */
+    private static void checkHistogram(double[] histogram, int offset, int bins){
+        double total = 0;
+        for(int i = 0; i < bins; i++){
+            double v = histogram[offset + i];
+            if(!(v >= 0 && v < Double.POSITIVE_INFINITY)) throw invalidElement("histograms", offset + i, v);
+            total += v;
+        }
+        if(!(total > 0 && total < Double.POSITIVE_INFINITY)){
+            throw new IllegalArgumentException("histogram at " + offset + " must have a positive finite total: " + total);
+        }
+    }
+
+    /**
+     * Validates a long histogram of a batch without computing anything
+     */
+    private static void checkHistogram(long[] histogram, int offset, int bins){
+        double total = 0;
+        for(int i = 0; i < bins; i++){
+            double v = histogram[offset + i];
+            if(v < 0) throw invalidElement("histograms", offset + i, v);
+            total += v;
+        }
+        if(!(total > 0 && total < Double.POSITIVE_INFINITY)){
+            throw new IllegalArgumentException("histogram at " + offset + " must have a positive finite total: " + total);
+        }
+    }
+
+    /**
+     * Chunk of histograms handed to a worker, about {@link ParallelLogarithm#MIN_CHUNK} elements
+     */
+    private static int batchChunk(int bins){
+        return Math.max(1, ParallelLogarithm.MIN_CHUNK / bins);
+    }
+
+    /**
+     * Validates the ranges of a call on two distributions
+     */
+    private static void checkRanges(int pLength, int qLength, int offset, int length){
+        Objects.checkFromIndexSize(offset, length, pLength);
+        Objects.checkFromIndexSize(offset, length, qLength);
+    }
+
+    /**
+     * Validates the ranges of a batch call, on the calling thread
+     */
+    private static void checkBatch(int pLength, int qLength, int offset, int bins, int count,
+                                   int destinationLength, int destinationOffset){
+        Logarithm.checkArgument(bins > 0, "bins must be > 0");
+        long elements = (long) bins * count;
+        Objects.checkFromIndexSize(offset, elements, pLength);
+        Objects.checkFromIndexSize(offset, elements, qLength);
+        Objects.checkFromIndexSize(destinationOffset, count, destinationLength);
+    }
+
+    /**
+     * Ensures the total of a distribution is positive and finite
+     */
+    private static void checkTotal(String name, double total){
+        if(!(total > 0 && total < Double.POSITIVE_INFINITY)){
+            throw new IllegalArgumentException(name + " must have a positive finite total: " + total);
+        }
+    }
+
+    /**
+     * Builds the exception reporting an invalid element
+     */
+    private static IllegalArgumentException invalidElement(String name, int index, double value){
+        return new IllegalArgumentException(name + "[" + index + "] must be >= 0 and finite: " + value);
+    }
+}
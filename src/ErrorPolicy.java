@@ -0,0 +1,36 @@
+/**
+ *  Error Policy
+ * <p>
+ * What a {@link TolerantLogarithm} does with a value outside the domain of the logarithm:
+ * a value ≤ 0 or {@code NaN}, or a quotient with a zero denominator.
+ * <hr>
+ *
+ * <h3> Scope</h3>
+ * <p>
+ * A policy only applies to the <b>values</b>, which are data and may be dirty element by element.
+ * Bases, base quotients and powers are parameters of the whole call: an invalid one is a
+ * programming error and always throws {@link IllegalArgumentException}, whatever the policy.
+ *
+ * @author owl
+ */
+public enum ErrorPolicy {
+
+    /** Throws {@link IllegalArgumentException} on the first invalid value, like {@link Logarithm} */
+    THROW,
+
+    /** Returns {@code NaN} for an invalid value */
+    RETURN_NAN,
+
+    /**
+     * Replaces a value ≤ 0 by {@link Double#MIN_VALUE}, the smallest positive {@code double}, whose
+     * natural logarithm is about -744.44. A {@code NaN} value or a zero denominator has no nearest
+     * positive value, and yields {@code NaN}
+     */
+    CLAMP_TO_MIN_POSITIVE,
+
+    /**
+     * Leaves the destination untouched at an invalid value and records its position in a
+     * {@link ValidationReport}. Scalar methods have nothing to skip, and return {@code NaN}
+     */
+    SKIP_AND_REPORT
+}
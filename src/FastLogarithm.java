@@ -0,0 +1,148 @@
+/**
+ *  Fast Approximate Logarithm Engines
+ * <p>
+ * Tiered approximations of the natural logarithm, trading accuracy for speed with a
+ * documented worst-case error. Each tier exposes the six methods of {@link Logarithm}
+ * through {@link LogarithmEngine}.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * The exponent and mantissa are extracted from the IEEE 754 bits with integer arithmetic,
+ * so that
+ * <pre>
+ *     value = 2<sup>e</sup> * m,   m ∈ [√½, √2)
+ *     ln(value) = e * ln(2) + ln(m)
+ * </pre>
+ * and {@code ln(m)} is evaluated by a polynomial fitted on the reduced range (Chebyshev
+ * interpolation, which is within a small factor of the minimax polynomial).
+ * <ul style="margin-left: 15px;">
+ *   <li>📌 {@link #COARSE} : degree 4 polynomial in {@code f = m - 1}, no division</li>
+ *   <li>📌 {@link #FINE} : degree 5 odd polynomial in {@code s = (m - 1) / (m + 1)}, one division</li>
+ *   <li>📌 {@link #FULL} : {@link Math#log}</li>
+ * </ul>
+ * The fast path, taken by every normal finite value, is branch-free. Two predictable branches
+ * guard it: subnormals are first scaled by 2<sup>54</sup>, and zero, negative, infinite or
+ * {@code NaN} values are answered like {@link Math#log}.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * Bounds on {@link #ln(double)} over all positive finite doubles, subnormals included:
+ * <table>
+ *   <tr><th>Tier</th><th>Max absolute error</th><th>Max relative error</th></tr>
+ *   <tr><td>{@link #COARSE}</td><td>1.4e-4</td><td>4.0e-4</td></tr>
+ *   <tr><td>{@link #FINE}</td><td>4.2e-8</td><td>1.2e-7</td></tr>
+ *   <tr><td>{@link #FULL}</td><td>1 ulp</td><td>1 ulp</td></tr>
+ * </table>
+ * The relative bound holds near {@code value = 1} as well, since the polynomials are exact at
+ * {@code m = 1}. The methods taking a base divide two approximations, so their relative error
+ * is bounded by twice the tier's relative error.
+ *
+ * @author owl
+ */
+public enum FastLogarithm implements LogarithmEngine {
+
+    /** About 1e-3 accuracy */
+    COARSE(1.4e-4, 4.0e-4) {
+        @Override
+        double lnOfMantissa(double m){
+            double f = m - 1;
+            return f * (COARSE_0 + f * (COARSE_1 + f * (COARSE_2 + f * COARSE_3)));
+        }
+    },
+
+    /** About 1e-7 accuracy */
+    FINE(4.2e-8, 1.2e-7) {
+        @Override
+        double lnOfMantissa(double m){
+            double s = (m - 1) / (m + 1);
+            double s2 = s * s;
+            return s * (FINE_0 + s2 * (FINE_1 + s2 * FINE_2));
+        }
+    },
+
+    /** Full double precision, delegating to {@link Math#log} */
+    FULL(Math.ulp(Math.log(Double.MAX_VALUE)), Math.ulp(1.0)) {
+        @Override
+        public double ln(double value){
+            return Math.log(value);
+        }
+
+        @Override
+        double lnOfMantissa(double m){
+            return Math.log(m);
+        }
+    };
+
+    private static final double COARSE_0 = 0.9997310678973621;
+    private static final double COARSE_1 = -0.5023236559476033;
+    private static final double COARSE_2 = 0.35363207245300565;
+    private static final double COARSE_3 = -0.2236256323361653;
+
+    private static final double FINE_0 = 2.000000235797515;
+    private static final double FINE_1 = 0.6665226672586526;
+    private static final double FINE_2 = 0.41294909181299855;
+
+    private static final double LN_2 = 0.6931471805599453;
+
+    /** Bits of √½, subtracting them splits the bits into an exponent and a mantissa in [√½, √2) */
+    private static final long SQRT_HALF_BITS = 0x3FE6A09E667F3BCDL;
+
+    private static final long EXPONENT_MASK = 0xFFF0000000000000L;
+
+    /** 2<sup>54</sup>, scales subnormals into the normal range */
+    private static final double TWO_54 = 0x1.0p54;
+
+    private final double maxAbsoluteError;
+    private final double maxRelativeError;
+
+    FastLogarithm(double maxAbsoluteError, double maxRelativeError){
+        this.maxAbsoluteError = maxAbsoluteError;
+        this.maxRelativeError = maxRelativeError;
+    }
+
+    /**
+     * Returns the maximum absolute error of {@link #ln(double)} for this tier
+     *
+     * @return the bound on {@code |ln~(value) - ln(value)|}
+     */
+    public double maxAbsoluteError(){
+        return maxAbsoluteError;
+    }
+
+    /**
+     * Returns the maximum relative error of {@link #ln(double)} for this tier
+     *
+     * @return the bound on {@code |ln~(value) - ln(value)| / |ln(value)|}
+     */
+    public double maxRelativeError(){
+        return maxRelativeError;
+    }
+
+    /**
+     * Computes the natural logarithm of a mantissa in {@code [√½, √2)}
+     */
+    abstract double lnOfMantissa(double m);
+
+    /**
+     * Computes an approximation of the natural logarithm of {@code value}, within this tier's error bounds
+     */
+    @Override
+    public double ln(double value){
+        int exponent = 0;
+        if(!(value >= Double.MIN_NORMAL)){
+            if(!(value > 0)) return Math.log(value);
+            value *= TWO_54;
+            exponent = -54;
+        }
+        if(value == Double.POSITIVE_INFINITY) return value;
+
+        long bits = Double.doubleToRawLongBits(value);
+        long shifted = bits - SQRT_HALF_BITS;
+        exponent += (int) (shifted >> 52);
+        double m = Double.longBitsToDouble(bits - (shifted & EXPONENT_MASK));
+
+        return exponent * LN_2 + lnOfMantissa(m);
+    }
+}
@@ -0,0 +1,723 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ *  Integer Logarithm Utility Class
+ * <p>
+ * Exact floor and ceiling logarithms in base 2 and 10 of {@code int}, {@code long} and
+ * {@link BigInteger} values. Results are computed with leading-zero counts and tables of
+ * powers of ten, without any floating-point arithmetic, and are therefore exact: unlike
+ * {@code Math.log(1000) / Math.log(10)}, {@code floorLog10(1000)} is exactly 3.
+ * <p>
+ * Floor and ceiling logarithms of {@code double} values in arbitrary bases are exact as well:
+ * a floating-point estimate is corrected, only when it lies close to an integer, by an exact
+ * comparison with the power of the base.
+ * <hr>
+ *
+ * <h3>⚙️ Capabilities</h3>
+ * <ul style="margin-left: 15px;">
+ *   <li>📌 {@code floorLog2}, {@code ceilLog2}, {@code floorLog10} and {@code ceilLog10}</li>
+ *   <li>📌 Scalar overloads for {@code int}, {@code long} and {@link BigInteger}</li>
+ *   <li>📌 Bulk overloads for {@code int[]}, {@code long[]} and {@code BigInteger[]}</li>
+ *   <li>📌 {@code floorLogInBase} and {@code ceilLogInBase} of {@code double} values, with the
+ *       base given directly or as a quotient, in scalar and bulk forms</li>
+ * </ul>
+ * This class is <b>non-instantiable</b>.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * All methods throw {@link IllegalArgumentException} if a value is not strictly positive,
+ * or if a {@code double} value or base is not finite.
+ * Bulk methods validate every value before anything is written to the destination.
+ *
+ * @author owl
+ */
+public final class IntegerLogarithm {
+
+    /** {@code 10^i} for every {@code int} power of ten */
+    private static final int[] INT_POWERS_OF_10 = new int[10];
+
+    /** Largest possible {@code floorLog10} of an {@code int} with {@code i} leading zeros */
+    private static final byte[] INT_MAX_LOG10_FOR_LEADING_ZEROS = new byte[33];
+
+    /** {@code 10^i} for every {@code long} power of ten */
+    private static final long[] LONG_POWERS_OF_10 = new long[19];
+
+    /** Largest possible {@code floorLog10} of a {@code long} with {@code i} leading zeros */
+    private static final byte[] LONG_MAX_LOG10_FOR_LEADING_ZEROS = new byte[65];
+
+    /** {@code 78913 / 2^18} is just below {@code log10(2)}, so the estimate never overshoots */
+    private static final long LOG10_2_NUMERATOR = 78913;
+    private static final int LOG10_2_SHIFT = 18;
+
+    /** Bound on the relative error of the {@code double} estimate of a logarithm in an arbitrary base */
+    private static final double ESTIMATE_TOLERANCE = 0x1.0p-40;
+
+    /** Initial number of decimal digits of the exact comparisons, doubled until they are conclusive */
+    private static final int INITIAL_PRECISION = 34;
+
+    static {
+        long power = 1;
+        for(int i = 0; i < LONG_POWERS_OF_10.length; i++){
+            LONG_POWERS_OF_10[i] = power;
+            if(i < INT_POWERS_OF_10.length) INT_POWERS_OF_10[i] = (int) power;
+            power *= 10;
+        }
+        for(int zeros = 0; zeros <= 32; zeros++){
+            long largest = zeros == 32 ? 0 : (1L << (32 - zeros)) - 1;
+            INT_MAX_LOG10_FOR_LEADING_ZEROS[zeros] = (byte) digitsMinusOne(largest);
+        }
+        for(int zeros = 0; zeros <= 64; zeros++){
+            long largest = zeros == 0 ? Long.MAX_VALUE : zeros == 64 ? 0 : (1L << (64 - zeros)) - 1;
+            LONG_MAX_LOG10_FOR_LEADING_ZEROS[zeros] = (byte) digitsMinusOne(largest);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private IntegerLogarithm(){}
+
+    /**
+     * Computes {@code ⌊log2(value)⌋} exactly
+     *
+     * @param value the value (must be &gt; 0)
+     *
+     * @return the largest {@code k} such that {@code 2^k ≤ value}
+     *
+     * @throws IllegalArgumentException if {@code value} ≤ 0
+     */
+    public static int floorLog2(int value){
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * Computes {@code ⌈log2(value)⌉} exactly
+     *
+     * @param value the value (must be &gt; 0)
+     *
+     * @return the smallest {@code k} such that {@code value ≤ 2^k}
+     *
+     * @throws IllegalArgumentException if {@code value} ≤ 0
+     */
+    public static int ceilLog2(int value){
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+        return Integer.SIZE - Integer.numberOfLeadingZeros(value - 1);
+    }
+
+    /**
+     * Computes {@code ⌊log10(value)⌋} exactly, that is the number of decimal digits minus one
+     *
+     * @param value the value (must be &gt; 0)
+     *
+     * @return the largest {@code k} such that {@code 10^k ≤ value}
+     *
+     * @throws IllegalArgumentException if {@code value} ≤ 0
+     */
+    public static int floorLog10(int value){
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+        return floorLog10Unchecked(value);
+    }
+
+    /**
+     * Computes {@code ⌈log10(value)⌉} exactly
+     *
+     * @param value the value (must be &gt; 0)
+     *
+     * @return the smallest {@code k} such that {@code value ≤ 10^k}
+     *
+     * @throws IllegalArgumentException if {@code value} ≤ 0
+     */
+    public static int ceilLog10(int value){
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+        int floor = floorLog10Unchecked(value);
+        return floor + ((INT_POWERS_OF_10[floor] - value) >>> 31);
+    }
+
+    /**
+     * Computes {@code ⌊log2(value)⌋} exactly
+     *
+     * @see #floorLog2(int)
+     */
+    public static int floorLog2(long value){
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+        return Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * Computes {@code ⌈log2(value)⌉} exactly
+     *
+     * @see #ceilLog2(int)
+     */
+    public static int ceilLog2(long value){
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+        return Long.SIZE - Long.numberOfLeadingZeros(value - 1);
+    }
+
+    /**
+     * Computes {@code ⌊log10(value)⌋} exactly
+     *
+     * @see #floorLog10(int)
+     */
+    public static int floorLog10(long value){
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+        return floorLog10Unchecked(value);
+    }
+
+    /**
+     * Computes {@code ⌈log10(value)⌉} exactly
+     *
+     * @see #ceilLog10(int)
+     */
+    public static int ceilLog10(long value){
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+        int floor = floorLog10Unchecked(value);
+        return floor + (int) ((LONG_POWERS_OF_10[floor] - value) >>> 63);
+    }
+
+    /**
+     * Computes {@code ⌊log2(value)⌋} exactly
+     *
+     * @see #floorLog2(int)
+     */
+    public static int floorLog2(BigInteger value){
+        Logarithm.checkArgument(value.signum() > 0, "value must be > 0: ", value);
+        return value.bitLength() - 1;
+    }
+
+    /**
+     * Computes {@code ⌈log2(value)⌉} exactly
+     *
+     * @see #ceilLog2(int)
+     */
+    public static int ceilLog2(BigInteger value){
+        Logarithm.checkArgument(value.signum() > 0, "value must be > 0: ", value);
+        int floor = value.bitLength() - 1;
+        return value.getLowestSetBit() == floor ? floor : floor + 1;
+    }
+
+    /**
+     * Computes {@code ⌊log10(value)⌋} exactly
+     * <p>
+     * Values fitting in a {@code long} use the table-based path. Larger values start from an
+     * integer estimate derived from the bit length, which is at most a couple of units too
+     * small, and correct it by comparing against powers of ten.
+     *
+     * @see #floorLog10(int)
+     */
+    public static int floorLog10(BigInteger value){
+        Logarithm.checkArgument(value.signum() > 0, "value must be > 0: ", value);
+        return floorLog10Unchecked(value);
+    }
+
+    /**
+     * Computes {@code ⌈log10(value)⌉} exactly
+     *
+     * @see #ceilLog10(int)
+     */
+    public static int ceilLog10(BigInteger value){
+        Logarithm.checkArgument(value.signum() > 0, "value must be > 0: ", value);
+        if(value.bitLength() < Long.SIZE) return ceilLog10(value.longValue());
+        int floor = floorLog10Unchecked(value);
+        return BigInteger.TEN.pow(floor).equals(value) ? floor : floor + 1;
+    }
+
+    /**
+     * Computes {@code ⌊log2⌋} of each element of {@code values}
+     *
+     * @param values the values (each must be &gt; 0)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if any value ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    public static void floorLog2(int[] values, int offset, int[] destination, int destinationOffset, int length){
+        checkValues(values, offset, length, destination, destinationOffset);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(values[offset + i]);
+        }
+    }
+
+    /**
+     * Computes {@code ⌈log2⌉} of each element of {@code values}
+     *
+     * @see #floorLog2(int[], int, int[], int, int)
+     */
+    public static void ceilLog2(int[] values, int offset, int[] destination, int destinationOffset, int length){
+        checkValues(values, offset, length, destination, destinationOffset);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = Integer.SIZE - Integer.numberOfLeadingZeros(values[offset + i] - 1);
+        }
+    }
+
+    /**
+     * Computes {@code ⌊log10⌋} of each element of {@code values}
+     *
+     * @see #floorLog2(int[], int, int[], int, int)
+     */
+    public static void floorLog10(int[] values, int offset, int[] destination, int destinationOffset, int length){
+        checkValues(values, offset, length, destination, destinationOffset);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = floorLog10Unchecked(values[offset + i]);
+        }
+    }
+
+    /**
+     * Computes {@code ⌈log10⌉} of each element of {@code values}
+     *
+     * @see #floorLog2(int[], int, int[], int, int)
+     */
+    public static void ceilLog10(int[] values, int offset, int[] destination, int destinationOffset, int length){
+        checkValues(values, offset, length, destination, destinationOffset);
+        for(int i = 0; i < length; i++){
+            int value = values[offset + i];
+            int floor = floorLog10Unchecked(value);
+            destination[destinationOffset + i] = floor + ((INT_POWERS_OF_10[floor] - value) >>> 31);
+        }
+    }
+
+    /**
+     * Computes {@code ⌊log2⌋} of each element of {@code values}
+     *
+     * @see #floorLog2(int[], int, int[], int, int)
+     */
+    public static void floorLog2(long[] values, int offset, int[] destination, int destinationOffset, int length){
+        checkValues(values, offset, length, destination, destinationOffset);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = Long.SIZE - 1 - Long.numberOfLeadingZeros(values[offset + i]);
+        }
+    }
+
+    /**
+     * Computes {@code ⌈log2⌉} of each element of {@code values}
+     *
+     * @see #floorLog2(int[], int, int[], int, int)
+     */
+    public static void ceilLog2(long[] values, int offset, int[] destination, int destinationOffset, int length){
+        checkValues(values, offset, length, destination, destinationOffset);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = Long.SIZE - Long.numberOfLeadingZeros(values[offset + i] - 1);
+        }
+    }
+
+    /**
+     * Computes {@code ⌊log10⌋} of each element of {@code values}
+     *
+     * @see #floorLog2(int[], int, int[], int, int)
+     */
+    public static void floorLog10(long[] values, int offset, int[] destination, int destinationOffset, int length){
+        checkValues(values, offset, length, destination, destinationOffset);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = floorLog10Unchecked(values[offset + i]);
+        }
+    }
+
+    /**
+     * Computes {@code ⌈log10⌉} of each element of {@code values}
+     *
+     * @see #floorLog2(int[], int, int[], int, int)
+     */
+    public static void ceilLog10(long[] values, int offset, int[] destination, int destinationOffset, int length){
+        checkValues(values, offset, length, destination, destinationOffset);
+        for(int i = 0; i < length; i++){
+            long value = values[offset + i];
+            int floor = floorLog10Unchecked(value);
+            destination[destinationOffset + i] = floor + (int) ((LONG_POWERS_OF_10[floor] - value) >>> 63);
+        }
+    }
+
+    /**
+     * Computes {@code ⌊log2⌋} of each element of {@code values}
+     *
+     * @see #floorLog2(int[], int, int[], int, int)
+     */
+    public static void floorLog2(BigInteger[] values, int offset, int[] destination, int destinationOffset, int length){
+        checkValues(values, offset, length, destination, destinationOffset);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = values[offset + i].bitLength() - 1;
+        }
+    }
+
+    /**
+     * Computes {@code ⌈log2⌉} of each element of {@code values}
+     *
+     * @see #floorLog2(int[], int, int[], int, int)
+     */
+    public static void ceilLog2(BigInteger[] values, int offset, int[] destination, int destinationOffset, int length){
+        checkValues(values, offset, length, destination, destinationOffset);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = ceilLog2(values[offset + i]);
+        }
+    }
+
+    /**
+     * Computes {@code ⌊log10⌋} of each element of {@code values}
+     *
+     * @see #floorLog2(int[], int, int[], int, int)
+     */
+    public static void floorLog10(BigInteger[] values, int offset, int[] destination, int destinationOffset, int length){
+        checkValues(values, offset, length, destination, destinationOffset);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = floorLog10Unchecked(values[offset + i]);
+        }
+    }
+
+    /**
+     * Computes {@code ⌈log10⌉} of each element of {@code values}
+     *
+     * @see #floorLog2(int[], int, int[], int, int)
+     */
+    public static void ceilLog10(BigInteger[] values, int offset, int[] destination, int destinationOffset, int length){
+        checkValues(values, offset, length, destination, destinationOffset);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = ceilLog10(values[offset + i]);
+        }
+    }
+
+    /**
+     * Computes {@code ⌊log_base(value)⌋} exactly, for a {@code double} value and an arbitrary base
+     * <p>
+     * Unlike {@code Math.floor(Logarithm.logInBase(value, base))}, the result is never off by one
+     * near exact powers: {@code floorLogInBase(1000, 10)} is 3, although {@code Math.log(1000) / Math.log(10)}
+     * evaluates to {@code 2.9999999999999996}.
+     * <p>
+     * A rounded estimate {@code ln(value) / ln(base)} settles the result whenever it is not within its
+     * error bound of an integer. Otherwise the candidate is confirmed by comparing {@code value} with
+     * the power of the base, using exact rational arithmetic on the binary values of the arguments.
+     *
+     * @param value the value (must be &gt; 0 and finite)
+     * @param base the base (must be &gt; 0, finite and not equal to 1)
+     *
+     * @return the largest {@code k} such that {@code k ≤ log_base(value)}
+     *
+     * @throws IllegalArgumentException if a precondition is violated
+     */
+    public static long floorLogInBase(double value, double base){
+        checkBase(base, 1);
+        checkValue(value);
+        return floorLog(value, base, 1, Math.log(base));
+    }
+
+    /**
+     * Computes {@code ⌈log_base(value)⌉} exactly, for a {@code double} value and an arbitrary base
+     *
+     * @return the smallest {@code k} such that {@code log_base(value) ≤ k}
+     *
+     * @see #floorLogInBase(double, double)
+     */
+    public static long ceilLogInBase(double value, double base){
+        checkBase(base, 1);
+        checkValue(value);
+        return -floorLog(value, 1, base, -Math.log(base));
+    }
+
+    /**
+     * Computes {@code ⌊log(value)⌋} exactly, with the base defined as the quotient
+     * {@code baseNumerator / baseDenominator}
+     * <p>
+     * The quotient is never rounded: the comparison uses the exact rational base, so a base such as
+     * {@code 1 / 3} behaves as one third and not as its nearest {@code double}.
+     *
+     * @param value the value (must be &gt; 0 and finite)
+     * @param baseNumerator the numerator of the base (must be finite and non-zero)
+     * @param baseDenominator the denominator of the base (must be finite and non-zero)
+     *
+     * @return the largest {@code k} such that {@code k ≤ log_base(value)}
+     *
+     * @throws IllegalArgumentException if a precondition is violated, or if the quotient
+     *                                  is not strictly positive or is equal to 1
+     *
+     * @see #floorLogInBase(double, double)
+     */
+    public static long floorLogWithBaseQuotient(double value, double baseNumerator, double baseDenominator){
+        checkBase(baseNumerator, baseDenominator);
+        checkValue(value);
+        double numerator = Math.abs(baseNumerator), denominator = Math.abs(baseDenominator);
+        return floorLog(value, numerator, denominator, lnOfQuotient(numerator, denominator));
+    }
+
+    /**
+     * Computes {@code ⌈log(value)⌉} exactly, with the base defined as the quotient
+     * {@code baseNumerator / baseDenominator}
+     *
+     * @return the smallest {@code k} such that {@code log_base(value) ≤ k}
+     *
+     * @see #floorLogWithBaseQuotient(double, double, double)
+     */
+    public static long ceilLogWithBaseQuotient(double value, double baseNumerator, double baseDenominator){
+        checkBase(baseNumerator, baseDenominator);
+        checkValue(value);
+        double numerator = Math.abs(baseNumerator), denominator = Math.abs(baseDenominator);
+        return -floorLog(value, denominator, numerator, lnOfQuotient(denominator, numerator));
+    }
+
+    /**
+     * Computes {@code ⌊log_base⌋} of each element of {@code values}
+     * <p>
+     * The base is validated and its logarithm computed once for the whole range.
+     *
+     * @param values the values (each must be &gt; 0 and finite)
+     * @param base the base (must be &gt; 0, finite and not equal to 1)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if a precondition is violated
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see #floorLogInBase(double, double)
+     */
+    public static void floorLogInBase(double[] values, double base, int offset, long[] destination, int destinationOffset, int length){
+        checkBase(base, 1);
+        checkValues(values, offset, length, destination, destinationOffset);
+        double lnBase = Math.log(base);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = floorLog(values[offset + i], base, 1, lnBase);
+        }
+    }
+
+    /**
+     * Computes {@code ⌈log_base⌉} of each element of {@code values}
+     *
+     * @see #floorLogInBase(double[], double, int, long[], int, int)
+     */
+    public static void ceilLogInBase(double[] values, double base, int offset, long[] destination, int destinationOffset, int length){
+        checkBase(base, 1);
+        checkValues(values, offset, length, destination, destinationOffset);
+        double lnInverseBase = -Math.log(base);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = -floorLog(values[offset + i], 1, base, lnInverseBase);
+        }
+    }
+
+    /**
+     * Computes {@code ⌊log⌋} of each element of {@code values}, with the base defined as the quotient
+     * {@code baseNumerator / baseDenominator}
+     *
+     * @see #floorLogInBase(double[], double, int, long[], int, int)
+     * @see #floorLogWithBaseQuotient(double, double, double)
+     */
+    public static void floorLogWithBaseQuotient(double[] values, double baseNumerator, double baseDenominator,
+                                                int offset, long[] destination, int destinationOffset, int length){
+        checkBase(baseNumerator, baseDenominator);
+        checkValues(values, offset, length, destination, destinationOffset);
+        double numerator = Math.abs(baseNumerator), denominator = Math.abs(baseDenominator);
+        double lnBase = lnOfQuotient(numerator, denominator);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = floorLog(values[offset + i], numerator, denominator, lnBase);
+        }
+    }
+
+    /**
+     * Computes {@code ⌈log⌉} of each element of {@code values}, with the base defined as the quotient
+     * {@code baseNumerator / baseDenominator}
+     *
+     * @see #floorLogInBase(double[], double, int, long[], int, int)
+     * @see #floorLogWithBaseQuotient(double, double, double)
+     */
+    public static void ceilLogWithBaseQuotient(double[] values, double baseNumerator, double baseDenominator,
+                                               int offset, long[] destination, int destinationOffset, int length){
+        checkBase(baseNumerator, baseDenominator);
+        checkValues(values, offset, length, destination, destinationOffset);
+        double numerator = Math.abs(baseNumerator), denominator = Math.abs(baseDenominator);
+        double lnInverseBase = lnOfQuotient(denominator, numerator);
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = -floorLog(values[offset + i], denominator, numerator, lnInverseBase);
+        }
+    }
+
+    /**
+     * Table-based {@code ⌊log10⌋}: the leading-zero count bounds the result to two candidates,
+     * and a branch-free comparison with a power of ten picks one
+     */
+    static int floorLog10Unchecked(int value){
+        int candidate = INT_MAX_LOG10_FOR_LEADING_ZEROS[Integer.numberOfLeadingZeros(value)];
+        return candidate - ((value - INT_POWERS_OF_10[candidate]) >>> 31);
+    }
+
+    /**
+     * Table-based {@code ⌊log10⌋} of a positive {@code long}
+     *
+     * @see #floorLog10Unchecked(int)
+     */
+    static int floorLog10Unchecked(long value){
+        int candidate = LONG_MAX_LOG10_FOR_LEADING_ZEROS[Long.numberOfLeadingZeros(value)];
+        return candidate - (int) ((value - LONG_POWERS_OF_10[candidate]) >>> 63);
+    }
+
+    /**
+     * {@code ⌊log10⌋} of a positive {@link BigInteger}, estimated from the bit length then corrected
+     */
+    static int floorLog10Unchecked(BigInteger value){
+        if(value.bitLength() < Long.SIZE) return floorLog10Unchecked(value.longValue());
+
+        int estimate = (int) (((value.bitLength() - 1L) * LOG10_2_NUMERATOR) >>> LOG10_2_SHIFT);
+        BigInteger next = BigInteger.TEN.pow(estimate + 1);
+        while(next.compareTo(value) <= 0){
+            estimate++;
+            next = next.multiply(BigInteger.TEN);
+        }
+        return estimate;
+    }
+
+    /**
+     * {@code ⌊log(value)⌋} in the base {@code numerator / denominator}, both positive and finite
+     * <p>
+     * The estimate has a relative error below 2<sup>-40</sup>, so the result lies in a narrow
+     * range of candidates; a binary search over that range, usually of one or two candidates,
+     * settles it with exact comparisons.
+     */
+    private static long floorLog(double value, double numerator, double denominator, double lnBase){
+        double estimate = Math.log(value) / lnBase;
+        double tolerance = ESTIMATE_TOLERANCE * Math.max(1, Math.abs(estimate));
+        long low = (long) Math.floor(estimate - tolerance);
+        long high = (long) Math.floor(estimate + tolerance);
+        boolean increasing = lnBase > 0;
+        while(low < high){
+            long middle = low + (high - low + 1) / 2;
+            int comparison = compareToPower(value, numerator, denominator, middle);
+            if(increasing ? comparison >= 0 : comparison <= 0) low = middle;
+            else high = middle - 1;
+        }
+        return low;
+    }
+
+    /**
+     * Natural logarithm of {@code numerator / denominator} with a small relative error, even for
+     * a quotient close to 1
+     */
+    private static double lnOfQuotient(double numerator, double denominator){
+        if(numerator >= denominator / 2 && numerator <= denominator * 2){
+            return Math.log1p((numerator - denominator) / denominator);
+        }
+        return Math.log(numerator) - Math.log(denominator);
+    }
+
+    /**
+     * Exactly compares {@code value} with {@code (numerator / denominator)^exponent}
+     * <p>
+     * Cross-multiplying gives {@code value * a^m} against {@code c^m} with {@code m = |exponent|}.
+     * Both sides are bracketed by powers rounded down and up at a given precision, which is
+     * doubled until the brackets separate or both become exact.
+     *
+     * @return the sign of {@code value - (numerator / denominator)^exponent}
+     */
+    private static int compareToPower(double value, double numerator, double denominator, long exponent){
+        BigDecimal left = new BigDecimal(value);
+        BigDecimal a = new BigDecimal(exponent >= 0 ? denominator : numerator);
+        BigDecimal c = new BigDecimal(exponent >= 0 ? numerator : denominator);
+        long m = Math.abs(exponent);
+        for(int precision = INITIAL_PRECISION; ; precision *= 2){
+            MathContext down = new MathContext(precision, RoundingMode.DOWN);
+            MathContext up = new MathContext(precision, RoundingMode.UP);
+            BigDecimal leftLow = left.multiply(pow(a, m, down), down);
+            BigDecimal leftHigh = left.multiply(pow(a, m, up), up);
+            BigDecimal rightLow = pow(c, m, down);
+            BigDecimal rightHigh = pow(c, m, up);
+            if(leftLow.compareTo(rightHigh) > 0) return 1;
+            if(leftHigh.compareTo(rightLow) < 0) return -1;
+            if(leftLow.compareTo(leftHigh) == 0 && rightLow.compareTo(rightHigh) == 0) return leftLow.compareTo(rightLow);
+        }
+    }
+
+    /**
+     * {@code base^exponent} by squaring, every product rounded in the direction of {@code context};
+     * for a positive base, rounding all products down (up) yields a lower (upper) bound
+     */
+    private static BigDecimal pow(BigDecimal base, long exponent, MathContext context){
+        BigDecimal result = BigDecimal.ONE;
+        while(exponent != 0){
+            if((exponent & 1) != 0) result = result.multiply(base, context);
+            exponent >>>= 1;
+            if(exponent != 0) base = base.multiply(base, context);
+        }
+        return result;
+    }
+
+    /**
+     * Validates a base given as {@code numerator / denominator}: finite, strictly positive and not equal to 1
+     */
+    private static void checkBase(double numerator, double denominator){
+        Logarithm.checkArgument(Double.isFinite(numerator), "base must be finite: ", numerator);
+        Logarithm.checkArgument(Double.isFinite(denominator), "baseDenominator must be finite: ", denominator);
+        Logarithm.checkArgument(denominator != 0, "baseDenominator must not be zero");
+        if(numerator == 0 || (numerator > 0) != (denominator > 0)){
+            throw new IllegalArgumentException("base must be > 0: " + numerator + (denominator == 1 ? "" : " / " + denominator));
+        }
+        Logarithm.checkArgument(Math.abs(numerator) != Math.abs(denominator), "base must not be equal to 1");
+    }
+
+    /**
+     * Validates a value: finite and strictly positive
+     */
+    private static void checkValue(double value){
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+        Logarithm.checkArgument(value != Double.POSITIVE_INFINITY, "value must be finite");
+    }
+
+    /**
+     * Number of decimal digits of a non-negative {@code long}, minus one; 0 for 0
+     */
+    private static int digitsMinusOne(long value){
+        int digits = 0;
+        while(value >= 10){
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Validates the ranges of a bulk call and ensures every value in range is strictly positive
+     */
+    private static void checkValues(int[] values, int offset, int length, int[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(values[i] <= 0) throw new IllegalArgumentException("values[" + i + "] must be > 0: " + values[i]);
+        }
+    }
+
+    /**
+     * Validates the ranges of a bulk call and ensures every value in range is strictly positive
+     */
+    private static void checkValues(long[] values, int offset, int length, int[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(values[i] <= 0) throw new IllegalArgumentException("values[" + i + "] must be > 0: " + values[i]);
+        }
+    }
+
+    /**
+     * Validates the ranges of a bulk call and ensures every value in range is strictly positive and finite
+     */
+    private static void checkValues(double[] values, int offset, int length, long[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(!(values[i] > 0)) throw new IllegalArgumentException("values[" + i + "] must be > 0: " + values[i]);
+            if(values[i] == Double.POSITIVE_INFINITY) throw new IllegalArgumentException("values[" + i + "] must be finite");
+        }
+    }
+
+    /**
+     * Validates the ranges of a bulk call and ensures every value in range is strictly positive
+     */
+    private static void checkValues(BigInteger[] values, int offset, int length, int[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(values[i].signum() <= 0) throw new IllegalArgumentException("values[" + i + "] must be > 0: " + values[i]);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ *  Precomputed Logarithm Base
+ * <p>
+ * Immutable, pre-validated handle on a logarithm base. The base is checked once
+ * at construction time and the reciprocal of its natural logarithm is cached, so
+ * every subsequent evaluation costs a single {@link Math#log} and a multiplication.
+ * <hr>
+ *
+ * <h3>⚙️ Construction</h3>
+ * <ul style="margin-left: 15px;">
+ *   <li>📌 {@link #of(double)} : a plain base, as in {@link Logarithm#logInBase}</li>
+ *   <li>📌 {@link #ofPower(double, double)} : a powered base, as in {@link Logarithm#logWithPoweredBase}</li>
+ *   <li>📌 {@link #ofQuotient(double, double)} : a quotient base, as in {@link Logarithm#logWithBaseQuotient}</li>
+ * </ul>
+ * Instances are thread-safe and may be shared freely, typically as {@code static final} constants.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * Results are computed as {@code ln(value) * (1 / ln(base))} rather than
+ * {@code ln(value) / ln(base)}, and may therefore differ from the static
+ * {@link Logarithm} methods by one ulp.
+ *
+ * @author owl
+ */
+public final class LogBase {
+
+    /** The binary base */
+    public static final LogBase TWO = of(2);
+
+    /** The decimal base */
+    public static final LogBase TEN = of(10);
+
+    /** Euler's number, the base of the natural logarithm */
+    public static final LogBase E = of(Math.E);
+
+    private final double base;
+    private final double lnBase;
+    private final double inverseLnBase;
+
+    /**
+     * Private constructor, use the static factories
+     *
+     * @param base the effective base
+     * @param lnBase the natural logarithm of the effective base
+     */
+    private LogBase(double base, double lnBase){
+        this.base = base;
+        this.lnBase = lnBase;
+        this.inverseLnBase = 1 / lnBase;
+    }
+
+    /**
+     * Creates a handle on the base {@code base}
+     *
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     *
+     * @return a pre-validated handle on {@code base}
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0 or {@code base} = 1
+     */
+    public static LogBase of(double base){
+        return new LogBase(base, Logarithm.lnOfBase(base));
+    }
+
+    /**
+     * Creates a handle on the base {@code base} to the power {@code power}
+     * <p>
+     * Uses the identity:
+     * <pre>
+     *     ln(base<sup>power</sup>) = power * ln(base)
+     * </pre>
+     *
+     * @param base the base before exponentiation (must be &gt; 0 and ≠ 1)
+     * @param power the exponent applied to the base (must be finite and ≠ 0)
+     *
+     * @return a pre-validated handle on {@code base^power}
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0, {@code base} = 1,
+     *                                  {@code power} = 0 or {@code power} is not finite
+     */
+    public static LogBase ofPower(double base, double power){
+        Logarithm.checkArgument(base > 0, "base must be > 0: ", base);
+        Logarithm.checkArgument(base != 1, "base must not be equal to 1");
+        Logarithm.checkArgument(power != 0, "power must not be 0");
+        Logarithm.checkArgument(Double.isFinite(power), "power must be finite: ", power);
+
+        return new LogBase(Math.pow(base, power), power * Math.log(base));
+    }
+
+    /**
+     * Creates a handle on the base defined as the quotient {@code baseNumerator / baseDenominator}
+     *
+     * @param baseNumerator numerator of the base quotient
+     * @param baseDenominator denominator of the base quotient (must not be 0)
+     *
+     * @return a pre-validated handle on {@code baseNumerator / baseDenominator}
+     *
+     * @throws IllegalArgumentException if {@code baseDenominator} = 0 or
+     *                                  if the resulting base violates {@link #of} preconditions
+     */
+    public static LogBase ofQuotient(double baseNumerator, double baseDenominator){
+        Logarithm.checkArgument(baseDenominator != 0, "baseDenominator must not be zero");
+        return of(baseNumerator/baseDenominator);
+    }
+
+    /**
+     * Returns the effective base of this handle
+     *
+     * @return the base, after applying any power or quotient
+     */
+    public double base(){
+        return base;
+    }
+
+    /**
+     * Returns the cached natural logarithm of the base
+     *
+     * @return {@code ln(base)}
+     */
+    double lnBase(){
+        return lnBase;
+    }
+
+    /**
+     * Returns the cached reciprocal of the natural logarithm of the base
+     *
+     * @return {@code 1 / ln(base)}
+     */
+    double inverseLnBase(){
+        return inverseLnBase;
+    }
+
+    /**
+     * Computes the logarithm of {@code value} in this base
+     * <p>
+     * Formula:
+     * <pre>
+     *     log<sub>base</sub>(value) = ln(value) * (1 / ln(base))
+     * </pre>
+     *
+     * @param value the value to compute the logarithm for (must be &gt; 0)
+     *
+     * @return the logarithm of {@code value} in this base
+     *
+     * @throws IllegalArgumentException if {@code value} ≤ 0
+     */
+    public double log(double value){
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+        return Math.log(value) * inverseLnBase;
+    }
+
+    /**
+     * Computes the logarithm of {@code value} to the power of {@code power} in this base
+     * <p>
+     * Formula:
+     * <pre>
+     *     log<sub>base</sub>(value<sup>power</sup>) = power * log<sub>base</sub>(value)
+     * </pre>
+     *
+     * @param value the value inside the logarithm (must be &gt; 0)
+     * @param power the multiplier applied to the logarithm
+     *
+     * @return {@code power} times the logarithm of {@code value} in this base
+     *
+     * @throws IllegalArgumentException if {@code value} ≤ 0
+     */
+    public double logOfPower(double value, double power){
+        return power * log(value);
+    }
+
+    /**
+     * Computes the logarithm of the quotient {@code valueNumerator / valueDenominator} in this base
+     *
+     * @param valueNumerator numerator of the value quotient
+     * @param valueDenominator denominator of the value quotient (must not be 0)
+     *
+     * @return the logarithm of {@code valueNumerator / valueDenominator} in this base
+     *
+     * @throws IllegalArgumentException if {@code valueDenominator} = 0 or the quotient is ≤ 0
+     */
+    public double logOfQuotient(double valueNumerator, double valueDenominator){
+        Logarithm.checkArgument(valueDenominator != 0, "valueDenominator must not be zero");
+        return log(valueNumerator/valueDenominator);
+    }
+
+    @Override
+    public String toString(){
+        return "LogBase[" + base + "]";
+    }
+}
@@ -0,0 +1,329 @@
+import java.util.Objects;
+
+/**
+ *  Logarithmic Index Mapping
+ * <p>
+ * Maps a positive {@code double} to the index of its bucket on a logarithmic scale, and an index back
+ * to the range of values it covers, with a relative accuracy guarantee {@code α}: the buckets are
+ * narrow enough that {@link #value(int)} is within a factor {@code 1 ± α} of every value in the bucket.
+ * This is the primitive behind {@link QuantileSketch}, reusable for any log-scale histogram.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * Bucket {@code i} covers {@code (lowerBound(i), upperBound(i)]}, and the index of a value is
+ * <pre>
+ *     i = ⌈f(value) * multiplier⌉
+ * </pre>
+ * where {@code f} is a logarithm or an approximation of it, and {@code multiplier} is chosen so that
+ * the ratio of the bounds of every bucket is at most {@code γ = (1 + α) / (1 - α)}. With
+ * {@code value = 2<sup>e</sup> (1 + s)}, {@code s ∈ [0, 1)} read from the IEEE 754 bits:
+ * <ul style="margin-left: 15px;">
+ *   <li>📌 {@link Interpolation#EXACT} : {@code f = ln(value)}, {@code multiplier = 1 / ln(γ)}; the fewest
+ *   buckets, one {@link Math#log} per value</li>
+ *   <li>📌 {@link Interpolation#LINEAR} : {@code f = e + s}, a piecewise linear {@code log2}; no
+ *   transcendental function, about 44 % more buckets than {@code EXACT}</li>
+ *   <li>📌 {@link Interpolation#CUBIC} : {@code f = e + (6/35)s³ - (3/5)s² + (10/7)s}, a cubic through
+ *   the same points whose slope follows {@code log2} closely; no transcendental function, about 1 %
+ *   more buckets than {@code EXACT}</li>
+ * </ul>
+ * The multiplier of an approximation is {@code c / ln(γ)}, with {@code c} the largest value of
+ * {@code d ln(value) / d f} over a binade: 1 for {@code LINEAR}, 7/10 for {@code CUBIC}. Every bucket is
+ * then at most {@code ln(γ)} wide in natural logarithm, so the guarantee is the same in all modes;
+ * only the number of buckets differs. The inverse mappings are only used by the queries, and may call
+ * {@link Math#exp} or {@link Math#cbrt}.
+ * <p>
+ * Instances are immutable and thread-safe.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * Methods throw {@link IllegalArgumentException} for a relative accuracy outside {@code [1e-6, 1)}, or
+ * for a value outside {@code [Double.MIN_NORMAL, Double.MAX_VALUE]}; bulk methods validate every value
+ * before writing any index.
+ *
+ * @author owl
+ */
+public final class LogIndexMapping {
+
+    /**
+     * Approximations of the logarithm used to compute the indices
+     */
+    public enum Interpolation {
+
+        /** {@link Math#log}, the fewest buckets */
+        EXACT(1),
+
+        /** Linear interpolation of {@code log2} between powers of 2, about 44 % more buckets */
+        LINEAR(1),
+
+        /** Cubic interpolation of {@code log2} between powers of 2, about 1 % more buckets */
+        CUBIC(0.7);
+
+        /** Largest {@code d ln(value) / d f} over a binade */
+        private final double correctingFactor;
+
+        Interpolation(double correctingFactor){
+            this.correctingFactor = correctingFactor;
+        }
+    }
+
+    /** Smallest relative accuracy, whose bucket indices still fit comfortably in an {@code int} */
+    private static final double MIN_RELATIVE_ACCURACY = 1e-6;
+
+    private static final long EXPONENT_MASK = 0x7FF0000000000000L;
+    private static final long MANTISSA_MASK = 0x000FFFFFFFFFFFFFL;
+    private static final long ONE_BITS = 0x3FF0000000000000L;
+    private static final int EXPONENT_BIAS = 1023;
+
+    /** Coefficients of the cubic {@code A s³ + B s² + C s}, which maps [0, 1] onto [0, 1] */
+    private static final double A = 6.0 / 35;
+    private static final double B = -3.0 / 5;
+    private static final double C = 10.0 / 7;
+
+    private final double relativeAccuracy;
+    private final Interpolation interpolation;
+    private final double multiplier;
+    private final double inverseMultiplier;
+    private final int minIndex;
+    private final int maxIndex;
+
+    /**
+     * Private constructor, use the static factory
+     */
+    private LogIndexMapping(double relativeAccuracy, Interpolation interpolation){
+        this.relativeAccuracy = relativeAccuracy;
+        this.interpolation = interpolation;
+        this.multiplier = interpolation.correctingFactor / Math.log1p(2 * relativeAccuracy / (1 - relativeAccuracy));
+        this.inverseMultiplier = 1 / multiplier;
+        this.minIndex = index(Double.MIN_NORMAL);
+        this.maxIndex = index(Double.MAX_VALUE);
+    }
+
+    /**
+     * Creates a mapping with relative accuracy {@code relativeAccuracy}
+     *
+     * @param relativeAccuracy the relative accuracy α (must be in [1e-6, 1))
+     * @param interpolation the approximation of the logarithm
+     *
+     * @return a mapping whose buckets are at most {@code (1 + α) / (1 - α)} wide
+     *
+     * @throws IllegalArgumentException if {@code relativeAccuracy} is outside [1e-6, 1)
+     */
+    public static LogIndexMapping of(double relativeAccuracy, Interpolation interpolation){
+        Objects.requireNonNull(interpolation, "interpolation");
+        Logarithm.checkArgument(relativeAccuracy >= MIN_RELATIVE_ACCURACY && relativeAccuracy < 1,
+                "relativeAccuracy must be in [1e-6, 1): ", relativeAccuracy);
+        return new LogIndexMapping(relativeAccuracy, interpolation);
+    }
+
+    /**
+     * Returns the relative accuracy of this mapping
+     *
+     * @return α
+     */
+    public double relativeAccuracy(){
+        return relativeAccuracy;
+    }
+
+    /**
+     * Returns the approximation of the logarithm used by this mapping
+     *
+     * @return the interpolation mode
+     */
+    public Interpolation interpolation(){
+        return interpolation;
+    }
+
+    /**
+     * Returns the index of the bucket of {@link Double#MIN_NORMAL}, the smallest mapped value
+     *
+     * @return the smallest index
+     */
+    public int minIndex(){
+        return minIndex;
+    }
+
+    /**
+     * Returns the index of the bucket of {@link Double#MAX_VALUE}, the largest mapped value
+     *
+     * @return the largest index
+     */
+    public int maxIndex(){
+        return maxIndex;
+    }
+
+    /**
+     * Returns the index of the bucket holding {@code value}
+     *
+     * @param value the value (must be in [{@link Double#MIN_NORMAL}, {@link Double#MAX_VALUE}])
+     *
+     * @return the index, between {@link #minIndex()} and {@link #maxIndex()}
+     *
+     * @throws IllegalArgumentException if {@code value} is outside the mapped range or {@code NaN}
+     */
+    public int index(double value){
+        if(!(value >= Double.MIN_NORMAL && value <= Double.MAX_VALUE)){
+            throw new IllegalArgumentException("value must be in [MIN_NORMAL, MAX_VALUE]: " + value);
+        }
+        return indexOfMagnitude(value);
+    }
+
+    /**
+     * Computes the bucket index of each value of a range and stores it in {@code destination}
+     *
+     * @param values the values (each must be in [{@link Double#MIN_NORMAL}, {@link Double#MAX_VALUE}])
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the indices
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if a value is outside the mapped range or {@code NaN}
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    public void index(double[] values, int offset, int[] destination, int destinationOffset, int length){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(!(values[i] >= Double.MIN_NORMAL && values[i] <= Double.MAX_VALUE)){
+                throw new IllegalArgumentException("values[" + i + "] must be in [MIN_NORMAL, MAX_VALUE]: " + values[i]);
+            }
+        }
+        indicesOfMagnitudes(values, offset, destination, destinationOffset, length);
+    }
+
+    /**
+     * Returns the exclusive lower bound of bucket {@code index}
+     *
+     * @param index the bucket index
+     *
+     * @return the largest value of bucket {@code index - 1}
+     */
+    public double lowerBound(int index){
+        return upperBound(index - 1);
+    }
+
+    /**
+     * Returns the inclusive upper bound of bucket {@code index}
+     *
+     * @param index the bucket index
+     *
+     * @return the largest value mapped to {@code index}, {@code Infinity} past {@link Double#MAX_VALUE}
+     */
+    public double upperBound(int index){
+        double y = index * inverseMultiplier;
+        return switch(interpolation){
+            case EXACT -> Math.exp(y);
+            case LINEAR -> {
+                double exponent = Math.floor(y);
+                yield Math.scalb(1 + (y - exponent), (int) exponent);
+            }
+            case CUBIC -> {
+                double exponent = Math.floor(y);
+                yield Math.scalb(1 + inverseCubic(y - exponent), (int) exponent);
+            }
+        };
+    }
+
+    /**
+     * Returns the representative of bucket {@code index}
+     *
+     * @param index the bucket index
+     *
+     * @return the harmonic mean of the bounds, within a factor {@code 1 ± α} of every value of the
+     *         bucket, capped at {@link Double#MAX_VALUE}
+     */
+    public double value(int index){
+        double lower = lowerBound(index);
+        double upper = upperBound(index);
+        return Math.min(2 / (1 / lower + 1 / upper), Double.MAX_VALUE);
+    }
+
+    @Override
+    public boolean equals(Object other){
+        return other instanceof LogIndexMapping that
+                && Double.compare(relativeAccuracy, that.relativeAccuracy) == 0
+                && interpolation == that.interpolation;
+    }
+
+    @Override
+    public int hashCode(){
+        return 31 * Double.hashCode(relativeAccuracy) + interpolation.hashCode();
+    }
+
+    @Override
+    public String toString(){
+        return "LogIndexMapping[relativeAccuracy=" + relativeAccuracy + ", interpolation=" + interpolation + "]";
+    }
+
+    /**
+     * Unchecked index of a value in [{@link Double#MIN_NORMAL}, {@link Double#MAX_VALUE}]
+     */
+    int indexOfMagnitude(double value){
+        return switch(interpolation){
+            case EXACT -> (int) Math.ceil(Math.log(value) * multiplier);
+            case LINEAR -> (int) Math.ceil(linearLog2(value) * multiplier);
+            case CUBIC -> (int) Math.ceil(cubicLog2(value) * multiplier);
+        };
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = index(|values[o + i]|)}, the mode being dispatched
+     * once per call; the indices of magnitudes below {@link Double#MIN_NORMAL} are meaningless
+     */
+    void indicesOfMagnitudes(double[] values, int offset, int[] destination, int destinationOffset, int length){
+        double multiplier = this.multiplier;
+        switch(interpolation){
+            case EXACT -> {
+                for(int i = 0; i < length; i++){
+                    destination[destinationOffset + i] = (int) Math.ceil(Math.log(Math.abs(values[offset + i])) * multiplier);
+                }
+            }
+            case LINEAR -> {
+                for(int i = 0; i < length; i++){
+                    destination[destinationOffset + i] = (int) Math.ceil(linearLog2(values[offset + i]) * multiplier);
+                }
+            }
+            case CUBIC -> {
+                for(int i = 0; i < length; i++){
+                    destination[destinationOffset + i] = (int) Math.ceil(cubicLog2(values[offset + i]) * multiplier);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@code e + s} for {@code |value| = 2^e (1 + s)}, exact at powers of 2
+     */
+    private static double linearLog2(double value){
+        long bits = Double.doubleToRawLongBits(value);
+        double s = Double.longBitsToDouble(bits & MANTISSA_MASK | ONE_BITS) - 1;
+        return exponent(bits) + s;
+    }
+
+    /**
+     * {@code e + A s³ + B s² + C s} for {@code |value| = 2^e (1 + s)}, exact at powers of 2
+     */
+    private static double cubicLog2(double value){
+        long bits = Double.doubleToRawLongBits(value);
+        double s = Double.longBitsToDouble(bits & MANTISSA_MASK | ONE_BITS) - 1;
+        return exponent(bits) + ((A * s + B) * s + C) * s;
+    }
+
+    /**
+     * Unbiased exponent of a normal {@code double}, the sign bit ignored
+     */
+    private static int exponent(long bits){
+        return (int) ((bits & EXPONENT_MASK) >>> 52) - EXPONENT_BIAS;
+    }
+
+    /**
+     * Solves {@code A s³ + B s² + C s = t} for {@code s ∈ [0, 1]}, {@code t ∈ [0, 1]}, with Cardano's formula
+     */
+    private static double inverseCubic(double t){
+        double d0 = B * B - 3 * A * C;
+        double d1 = 2 * B * B * B - 9 * A * B * C - 27 * A * A * t;
+        double p = Math.cbrt((d1 - Math.sqrt(d1 * d1 - 4 * d0 * d0 * d0)) / 2);
+        return -(B + p + d0 / p) / (3 * A);
+    }
+}
@@ -0,0 +1,262 @@
+/**
+ *  Log-Domain Number
+ * <p>
+ * Immutable non-negative number stored as its natural logarithm, so that long products of small
+ * probabilities neither underflow nor lose precision. A probability of 10<sup>-400 000</sup> is just
+ * {@code ln = -921 034}.
+ * <hr>
+ *
+ * <h3>⚙️ Arithmetic</h3>
+ * <p>
+ * Products, quotients and powers are additions and multiplications of the stored logarithms, with
+ * the identities behind {@link Logarithm#logOfQuotient} and {@link Logarithm#logWithPoweredValue}:
+ * <pre>
+ *     ln(a * b) = ln(a) + ln(b)
+ *     ln(a / b) = ln(a) - ln(b)
+ *     ln(a<sup>p</sup>)   = p * ln(a)
+ * </pre>
+ * Sums and differences use the log-sum-exp rearrangements, which never exponentiate a large value:
+ * <pre>
+ *     ln(a + b) = max + log1p(e<sup>min - max</sup>)
+ *     ln(a - b) = ln(a) + ln(1 - e<sup>ln(b) - ln(a)</sup>)
+ * </pre>
+ * Zero is {@code ln = -Infinity} and is handled by every operation.
+ * <p>
+ * Instances are immutable, thread-safe and hold a single {@code double}, so that short-lived
+ * intermediates are usually scalar-replaced by escape analysis. Hot loops over many numbers should
+ * prefer the allocation-free {@link LogNumberArray}.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * Numbers are finite and non-negative. Methods throw {@link IllegalArgumentException} if a result
+ * would be negative, infinite or undefined: negative, infinite or {@code NaN} values, division by
+ * zero, zero to a negative power, or a difference whose subtrahend is larger. A product, quotient or
+ * power of valid numbers whose logarithm overflows, such as {@code ofLn(1e308).multiply(ofLn(1e308))},
+ * throws {@link ArithmeticException}; one whose logarithm underflows to {@code -Infinity} is zero.
+ *
+ * @author owl
+ */
+public final class LogNumber implements Comparable<LogNumber> {
+
+    /** 0, whose logarithm is {@code -Infinity} */
+    public static final LogNumber ZERO = new LogNumber(Double.NEGATIVE_INFINITY);
+
+    /** 1, whose logarithm is 0 */
+    public static final LogNumber ONE = new LogNumber(0);
+
+    /** Below {@code -ln(2)}, {@code ln(1 - e^x)} is more accurate as {@code log1p(-e^x)} than as {@code ln(-expm1(x))} */
+    private static final double MINUS_LN_2 = -0.6931471805599453;
+
+    private final double ln;
+
+    /**
+     * Private constructor, use the static factories
+     */
+    private LogNumber(double ln){
+        this.ln = ln;
+    }
+
+    /**
+     * Returns the log-domain number equal to {@code value}
+     *
+     * @param value the value (must be ≥ 0 and finite)
+     *
+     * @return the number whose natural logarithm is {@code ln(value)}
+     *
+     * @throws IllegalArgumentException if {@code value} &lt; 0, is infinite or {@code NaN}
+     */
+    public static LogNumber of(double value){
+        Logarithm.checkArgument(value >= 0 && value < Double.POSITIVE_INFINITY, "value must be >= 0 and finite: ", value);
+        return new LogNumber(Math.log(value));
+    }
+
+    /**
+     * Returns the log-domain number whose natural logarithm is {@code ln}
+     *
+     * @param ln the natural logarithm ({@code -Infinity} for zero)
+     *
+     * @return the number {@code e^ln}
+     *
+     * @throws IllegalArgumentException if {@code ln} is {@code +Infinity} or {@code NaN}
+     */
+    public static LogNumber ofLn(double ln){
+        Logarithm.checkArgument(ln < Double.POSITIVE_INFINITY, "ln must be < Infinity: ", ln);
+        return new LogNumber(ln);
+    }
+
+    /**
+     * Returns the log-domain number whose logarithm in {@code base} is {@code log}
+     *
+     * @param log the logarithm in {@code base}
+     * @param base the base of {@code log}
+     *
+     * @return the number {@code base^log}
+     *
+     * @throws IllegalArgumentException if {@code base^log} is infinite or {@code NaN}
+     */
+    public static LogNumber ofLog(double log, LogBase base){
+        return ofLn(log * base.lnBase());
+    }
+
+    /**
+     * Returns the natural logarithm of this number
+     *
+     * @return {@code ln(this)}, {@code -Infinity} for zero
+     */
+    public double ln(){
+        return ln;
+    }
+
+    /**
+     * Returns the logarithm of this number in {@code base}
+     *
+     * @param base the base of the logarithm
+     *
+     * @return {@code log_base(this)}
+     */
+    public double log(LogBase base){
+        return ln * base.inverseLnBase();
+    }
+
+    /**
+     * Returns the logarithm of this number in {@code base}
+     *
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     *
+     * @return {@code log_base(this)}
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0 or {@code base} = 1
+     */
+    public double logInBase(double base){
+        return ln / Logarithm.lnOfBase(base);
+    }
+
+    /**
+     * Returns this number in the linear domain
+     *
+     * @return {@code e^ln}, which underflows to 0 below about 10<sup>-324</sup>
+     */
+    public double doubleValue(){
+        return Math.exp(ln);
+    }
+
+    /**
+     * Returns the product of this number and {@code other}
+     *
+     * @param other the factor
+     *
+     * @return {@code this * other}
+     *
+     * @throws ArithmeticException if the logarithm of the product overflows
+     */
+    public LogNumber multiply(LogNumber other){
+        return new LogNumber(checkResult(ln + other.ln));
+    }
+
+    /**
+     * Returns the quotient of this number by {@code other}
+     *
+     * @param other the divisor (must not be zero)
+     *
+     * @return {@code this / other}
+     *
+     * @throws IllegalArgumentException if {@code other} is zero
+     * @throws ArithmeticException if the logarithm of the quotient overflows
+     */
+    public LogNumber divide(LogNumber other){
+        Logarithm.checkArgument(other.ln != Double.NEGATIVE_INFINITY, "divisor must not be zero");
+        return new LogNumber(checkResult(ln - other.ln));
+    }
+
+    /**
+     * Returns this number to the power {@code power}
+     *
+     * @param power the exponent
+     *
+     * @return {@code this^power}, 1 if {@code power} = 0
+     *
+     * @throws IllegalArgumentException if {@code power} is infinite or {@code NaN}, or if this number
+     *                                  is zero and {@code power} &lt; 0
+     * @throws ArithmeticException if the logarithm of the power overflows
+     */
+    public LogNumber pow(double power){
+        Logarithm.checkArgument(Double.isFinite(power), "power must be finite: ", power);
+        if(power == 0) return ONE;
+        Logarithm.checkArgument(power > 0 || ln != Double.NEGATIVE_INFINITY, "zero must not be raised to a negative power");
+        return new LogNumber(checkResult(power * ln));
+    }
+
+    /**
+     * Returns the sum of this number and {@code other}, computed with log-sum-exp
+     *
+     * @param other the term to add
+     *
+     * @return {@code this + other}
+     */
+    public LogNumber add(LogNumber other){
+        return new LogNumber(lnOfSum(ln, other.ln));
+    }
+
+    /**
+     * Returns the difference of this number and {@code other}
+     *
+     * @param other the term to subtract (must not be larger than this number)
+     *
+     * @return {@code this - other}
+     *
+     * @throws IllegalArgumentException if {@code other} &gt; {@code this}
+     */
+    public LogNumber subtract(LogNumber other){
+        Logarithm.checkArgument(other.ln <= ln, "difference must be >= 0");
+        return new LogNumber(lnOfDifference(ln, other.ln));
+    }
+
+    /**
+     * Returns the logarithm {@code ln} of a product, quotient or power
+     *
+     * @throws ArithmeticException if {@code ln} overflowed to {@code +Infinity}
+     */
+    static double checkResult(double ln){
+        if(!(ln < Double.POSITIVE_INFINITY)) throw new ArithmeticException("result overflows: ln = " + ln);
+        return ln;
+    }
+
+    /**
+     * {@code ln(e^a + e^b)}, exact when a term is zero
+     */
+    static double lnOfSum(double a, double b){
+        double max = Math.max(a, b);
+        if(max == Double.NEGATIVE_INFINITY) return max;
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    /**
+     * {@code ln(e^a - e^b)} for {@code b ≤ a}
+     */
+    static double lnOfDifference(double a, double b){
+        if(b == Double.NEGATIVE_INFINITY) return a;
+        double x = b - a;
+        return a + (x > MINUS_LN_2 ? Math.log(-Math.expm1(x)) : Math.log1p(-Math.exp(x)));
+    }
+
+    @Override
+    public int compareTo(LogNumber other){
+        return Double.compare(ln, other.ln);
+    }
+
+    @Override
+    public boolean equals(Object other){
+        return other instanceof LogNumber that && Double.compare(ln, that.ln) == 0;
+    }
+
+    @Override
+    public int hashCode(){
+        return Double.hashCode(ln);
+    }
+
+    @Override
+    public String toString(){
+        return "LogNumber[ln=" + ln + "]";
+    }
+}
@@ -0,0 +1,398 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ *  Log-Domain Number Array
+ * <p>
+ * Mutable, fixed-length array of non-negative numbers stored as their natural logarithms in a
+ * primitive {@code double[]}. This is the allocation-free companion of {@link LogNumber}: every
+ * element-wise operation updates the array in place, so hot loops such as
+ * <pre>
+ *     for(...) likelihoods.multiply(state, transition[previous][state]);
+ * </pre>
+ * never create objects. Only the methods returning a {@link LogNumber} allocate, once per call.
+ * <hr>
+ *
+ * <h3>⚙️ Arithmetic</h3>
+ * <p>
+ * The operations follow {@link LogNumber}: products, quotients and powers add or scale the stored
+ * logarithms, sums use log-sum-exp. {@link #sum()} runs the two-pass kernel of {@link LogSumExp},
+ * so that no element overflows or underflows {@code exp} as a whole.
+ * <p>
+ * Instances are <b>not</b> thread-safe.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * Methods throw {@link IllegalArgumentException} and {@link ArithmeticException} under the same
+ * conditions as {@link LogNumber}, {@link IndexOutOfBoundsException} for an index outside the array,
+ * and validate a whole source array, and check that no result overflows, before modifying anything.
+ * Multiplying by a finite {@code double} never overflows: its logarithm is below 710.
+ *
+ * @author owl
+ */
+public final class LogNumberArray {
+
+    private final double[] lns;
+
+    /**
+     * Private constructor, use the static factories
+     */
+    private LogNumberArray(double[] lns){
+        this.lns = lns;
+    }
+
+    /**
+     * Creates an array of {@code length} ones, the identity of products
+     *
+     * @param length the number of elements
+     *
+     * @return a new array of ones
+     *
+     * @throws NegativeArraySizeException if {@code length} &lt; 0
+     */
+    public static LogNumberArray ones(int length){
+        return new LogNumberArray(new double[length]);
+    }
+
+    /**
+     * Creates an array of {@code length} zeros, the identity of sums
+     *
+     * @param length the number of elements
+     *
+     * @return a new array of zeros
+     *
+     * @throws NegativeArraySizeException if {@code length} &lt; 0
+     */
+    public static LogNumberArray zeros(int length){
+        double[] lns = new double[length];
+        Arrays.fill(lns, Double.NEGATIVE_INFINITY);
+        return new LogNumberArray(lns);
+    }
+
+    /**
+     * Creates an array holding {@code values}
+     *
+     * @param values the values (each must be ≥ 0 and finite)
+     *
+     * @return a new array whose elements have the natural logarithms of {@code values}
+     *
+     * @throws IllegalArgumentException if a value &lt; 0, is infinite or {@code NaN}
+     */
+    public static LogNumberArray of(double[] values){
+        checkValues(values);
+        double[] lns = new double[values.length];
+        for(int i = 0; i < lns.length; i++){
+            lns[i] = Math.log(values[i]);
+        }
+        return new LogNumberArray(lns);
+    }
+
+    /**
+     * Creates an array whose elements have the natural logarithms {@code lns}
+     *
+     * @param lns the natural logarithms ({@code -Infinity} for zero), copied
+     *
+     * @return a new array
+     *
+     * @throws IllegalArgumentException if a logarithm is {@code +Infinity} or {@code NaN}
+     */
+    public static LogNumberArray ofLns(double[] lns){
+        for(int i = 0; i < lns.length; i++){
+            if(!(lns[i] < Double.POSITIVE_INFINITY)) throw new IllegalArgumentException("lns[" + i + "] must be < Infinity: " + lns[i]);
+        }
+        return new LogNumberArray(lns.clone());
+    }
+
+    /**
+     * Returns the number of elements
+     *
+     * @return the length of this array
+     */
+    public int length(){
+        return lns.length;
+    }
+
+    /**
+     * Returns the natural logarithm of the element at {@code index}
+     *
+     * @param index the index of the element
+     *
+     * @return the natural logarithm, {@code -Infinity} for zero
+     */
+    public double ln(int index){
+        return lns[index];
+    }
+
+    /**
+     * Returns the logarithm in {@code base} of the element at {@code index}
+     *
+     * @param index the index of the element
+     * @param base the base of the logarithm
+     *
+     * @return the logarithm in {@code base}
+     */
+    public double log(int index, LogBase base){
+        return lns[index] * base.inverseLnBase();
+    }
+
+    /**
+     * Returns the element at {@code index}
+     *
+     * @param index the index of the element
+     *
+     * @return the element as a {@link LogNumber}
+     */
+    public LogNumber get(int index){
+        return LogNumber.ofLn(lns[index]);
+    }
+
+    /**
+     * Replaces the element at {@code index}
+     *
+     * @param index the index of the element
+     * @param number the new element
+     */
+    public void set(int index, LogNumber number){
+        lns[index] = number.ln();
+    }
+
+    /**
+     * Replaces the element at {@code index} by {@code value}
+     *
+     * @param index the index of the element
+     * @param value the new value (must be ≥ 0 and finite)
+     *
+     * @throws IllegalArgumentException if {@code value} &lt; 0, is infinite or {@code NaN}
+     */
+    public void setValue(int index, double value){
+        checkValue(value);
+        lns[index] = Math.log(value);
+    }
+
+    /**
+     * Multiplies the element at {@code index} by {@code factor}
+     *
+     * @param index the index of the element
+     * @param factor the factor
+     *
+     * @throws ArithmeticException if the logarithm of the product overflows
+     */
+    public void multiply(int index, LogNumber factor){
+        lns[index] = LogNumber.checkResult(lns[index] + factor.ln());
+    }
+
+    /**
+     * Multiplies the element at {@code index} by {@code value}
+     *
+     * @param index the index of the element
+     * @param value the factor (must be ≥ 0 and finite)
+     *
+     * @throws IllegalArgumentException if {@code value} &lt; 0, is infinite or {@code NaN}
+     */
+    public void multiply(int index, double value){
+        checkValue(value);
+        lns[index] += Math.log(value);
+    }
+
+    /**
+     * Adds {@code term} to the element at {@code index}, with log-sum-exp
+     *
+     * @param index the index of the element
+     * @param term the term to add
+     */
+    public void add(int index, LogNumber term){
+        lns[index] = LogNumber.lnOfSum(lns[index], term.ln());
+    }
+
+    /**
+     * Adds {@code value} to the element at {@code index}, with log-sum-exp
+     *
+     * @param index the index of the element
+     * @param value the term to add (must be ≥ 0 and finite)
+     *
+     * @throws IllegalArgumentException if {@code value} &lt; 0, is infinite or {@code NaN}
+     */
+    public void add(int index, double value){
+        checkValue(value);
+        lns[index] = LogNumber.lnOfSum(lns[index], Math.log(value));
+    }
+
+    /**
+     * Multiplies every element by the element of {@code values} at the same index
+     *
+     * @param values the factors (each must be ≥ 0 and finite)
+     *
+     * @throws IllegalArgumentException if the lengths differ, or a value &lt; 0, is infinite or {@code NaN}
+     */
+    public void multiply(double[] values){
+        checkLength(values.length);
+        checkValues(values);
+        for(int i = 0; i < lns.length; i++){
+            lns[i] += Math.log(values[i]);
+        }
+    }
+
+    /**
+     * Multiplies every element by the element of {@code other} at the same index
+     *
+     * @param other the factors
+     *
+     * @throws IllegalArgumentException if the lengths differ
+     * @throws ArithmeticException if the logarithm of a product overflows
+     */
+    public void multiply(LogNumberArray other){
+        checkLength(other.lns.length);
+        for(int i = 0; i < lns.length; i++){
+            if(!(lns[i] + other.lns[i] < Double.POSITIVE_INFINITY)) throw overflow(i);
+        }
+        for(int i = 0; i < lns.length; i++){
+            lns[i] += other.lns[i];
+        }
+    }
+
+    /**
+     * Divides every element by the element of {@code other} at the same index
+     *
+     * @param other the divisors (none may be zero)
+     *
+     * @throws IllegalArgumentException if the lengths differ or a divisor is zero
+     * @throws ArithmeticException if the logarithm of a quotient overflows
+     */
+    public void divide(LogNumberArray other){
+        checkLength(other.lns.length);
+        for(int i = 0; i < lns.length; i++){
+            if(other.lns[i] == Double.NEGATIVE_INFINITY) throw new IllegalArgumentException("divisor at index " + i + " must not be zero");
+            if(!(lns[i] - other.lns[i] < Double.POSITIVE_INFINITY)) throw overflow(i);
+        }
+        for(int i = 0; i < lns.length; i++){
+            lns[i] -= other.lns[i];
+        }
+    }
+
+    /**
+     * Adds to every element the element of {@code other} at the same index, with log-sum-exp
+     *
+     * @param other the terms
+     *
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public void add(LogNumberArray other){
+        checkLength(other.lns.length);
+        for(int i = 0; i < lns.length; i++){
+            lns[i] = LogNumber.lnOfSum(lns[i], other.lns[i]);
+        }
+    }
+
+    /**
+     * Raises every element to the power {@code power}
+     *
+     * @param power the exponent
+     *
+     * @throws IllegalArgumentException if {@code power} is infinite or {@code NaN}, or if an element
+     *                                  is zero and {@code power} &lt; 0
+     * @throws ArithmeticException if the logarithm of a power overflows
+     */
+    public void pow(double power){
+        Logarithm.checkArgument(Double.isFinite(power), "power must be finite: ", power);
+        if(power == 0){
+            Arrays.fill(lns, 0);
+            return;
+        }
+        for(int i = 0; i < lns.length; i++){
+            if(power < 0 && lns[i] == Double.NEGATIVE_INFINITY) throw new IllegalArgumentException("zero at index " + i + " must not be raised to a negative power");
+            if(!(lns[i] * power < Double.POSITIVE_INFINITY)) throw overflow(i);
+        }
+        for(int i = 0; i < lns.length; i++){
+            lns[i] *= power;
+        }
+    }
+
+    /**
+     * Returns the product of all elements
+     *
+     * @return the product, 1 for an empty array
+     *
+     * @throws ArithmeticException if the logarithm of the product overflows
+     */
+    public LogNumber product(){
+        double sum = 0;
+        for(double ln : lns){
+            sum += ln;
+        }
+        return LogNumber.ofLn(LogNumber.checkResult(sum));
+    }
+
+    /**
+     * Returns the sum of all elements, computed with a two-pass log-sum-exp
+     *
+     * @return the sum, 0 for an empty array
+     */
+    public LogNumber sum(){
+        return LogNumber.ofLn(LogSumExp.lnSumExp(lns, 0, 1, lns.length));
+    }
+
+    /**
+     * Copies the logarithms in {@code base} of all elements into {@code destination}
+     *
+     * @param base the base of the logarithms
+     * @param destination the array receiving the logarithms
+     * @param destinationOffset index of the first element written to {@code destination}
+     *
+     * @throws IndexOutOfBoundsException if the range falls outside {@code destination}
+     */
+    public void toLogs(LogBase base, double[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(destinationOffset, lns.length, destination.length);
+        double inverseLnBase = base.inverseLnBase();
+        for(int i = 0; i < lns.length; i++){
+            destination[destinationOffset + i] = lns[i] * inverseLnBase;
+        }
+    }
+
+    /**
+     * Copies all elements, converted to the linear domain, into {@code destination}
+     *
+     * @param destination the array receiving the values, which underflow to 0 below about 10<sup>-324</sup>
+     * @param destinationOffset index of the first element written to {@code destination}
+     *
+     * @throws IndexOutOfBoundsException if the range falls outside {@code destination}
+     */
+    public void toDoubles(double[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(destinationOffset, lns.length, destination.length);
+        for(int i = 0; i < lns.length; i++){
+            destination[destinationOffset + i] = Math.exp(lns[i]);
+        }
+    }
+
+    /**
+     * Ensures {@code length} matches the length of this array
+     */
+    private void checkLength(int length){
+        if(length != lns.length) throw new IllegalArgumentException("length must be " + lns.length + ": " + length);
+    }
+
+    /**
+     * Builds the exception thrown when the result at {@code index} overflows
+     */
+    private static ArithmeticException overflow(int index){
+        return new ArithmeticException("result at index " + index + " overflows");
+    }
+
+    /**
+     * Ensures a value is non-negative and finite
+     */
+    private static void checkValue(double value){
+        if(!(value >= 0 && value < Double.POSITIVE_INFINITY)) throw new IllegalArgumentException("value must be >= 0 and finite: " + value);
+    }
+
+    /**
+     * Ensures every value is non-negative and finite
+     */
+    private static void checkValues(double[] values){
+        for(int i = 0; i < values.length; i++){
+            if(!(values[i] >= 0 && values[i] < Double.POSITIVE_INFINITY)){
+                throw new IllegalArgumentException("values[" + i + "] must be >= 0 and finite: " + values[i]);
+            }
+        }
+    }
+}
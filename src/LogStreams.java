@@ -0,0 +1,319 @@
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ *  Logarithm Stream Utility Class
+ * <p>
+ * Integration of the toolkit with {@code java.util.stream}: log-transformed streams backed by
+ * the bulk kernels of {@link Logarithm}, and reductions over logarithms.
+ * <hr>
+ *
+ * <h3>⚙️ Capabilities</h3>
+ * <ul style="margin-left: 15px;">
+ *   <li>📌 Streams of logarithms over arrays, computed {@value #CHUNK} elements at a time
+ *       and splitting on chunk boundaries for parallel streams</li>
+ *   <li>📌 Log transforms of arbitrary {@link DoubleStream}s sharing a single base validation</li>
+ *   <li>📌 Sum of logarithms, geometric mean and log-sum-exp, both as {@link Collector}s
+ *       and as terminal operations on {@link DoubleStream}s</li>
+ * </ul>
+ * This class is <b>non-instantiable</b>.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * The base is validated once, when the {@link LogBase} is created. Streams are lazy, so
+ * values are validated as they are consumed and an invalid value surfaces as an
+ * {@link IllegalArgumentException} thrown by the terminal operation.
+ *
+ * @author owl
+ */
+public final class LogStreams {
+
+    /** Number of elements transformed at once by array-backed streams */
+    static final int CHUNK = 512;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LogStreams(){}
+
+    /**
+     * Returns a sequential stream of the logarithms in {@code base} of {@code values}
+     *
+     * @see #logInBase(double[], int, int, LogBase)
+     */
+    public static DoubleStream logInBase(double[] values, LogBase base){
+        return logInBase(values, 0, values.length, base);
+    }
+
+    /**
+     * Returns a sequential stream of the logarithms in {@code base} of a range of {@code values}
+     * <p>
+     * Elements are computed by the bulk kernel of {@link Logarithm} in chunks of {@value #CHUNK},
+     * and are bit-for-bit identical to {@link Logarithm#logInBase(double[], double, int, double[], int, int)}.
+     * The stream splits on chunk boundaries, so {@link DoubleStream#parallel()} spreads whole chunks
+     * across workers.
+     *
+     * @param values the values to compute the logarithm for (each must be &gt; 0)
+     * @param offset index of the first element read from {@code values}
+     * @param length number of elements in the stream
+     * @param base the pre-validated base of the logarithm
+     *
+     * @return a stream of {@code length} logarithms
+     *
+     * @throws IndexOutOfBoundsException if the range falls outside {@code values}
+     */
+    public static DoubleStream logInBase(double[] values, int offset, int length, LogBase base){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        return StreamSupport.doubleStream(new LogSpliterator(values, offset, offset + length, base.lnBase()), false);
+    }
+
+    /**
+     * Returns a stream of the logarithms in {@code base} of the elements of {@code values}
+     *
+     * @param values the values to compute the logarithm for (each must be &gt; 0)
+     * @param base the pre-validated base of the logarithm
+     *
+     * @return the mapped stream, sequential or parallel like {@code values}
+     */
+    public static DoubleStream logInBase(DoubleStream values, LogBase base){
+        Objects.requireNonNull(base, "base");
+        return values.map(base::log);
+    }
+
+    /**
+     * Computes the sum of the logarithms in {@code base} of the elements of {@code values}
+     * <p>
+     * Formula:
+     * <pre>
+     *     Σ log<sub>base</sub>(value<sub>i</sub>) = (Σ ln(value<sub>i</sub>)) / ln(base)
+     * </pre>
+     * The base conversion is applied once to the compensated sum of natural logarithms.
+     *
+     * @param values the values (each must be &gt; 0)
+     * @param base the pre-validated base of the logarithm
+     *
+     * @return the sum of the logarithms, 0 for an empty stream
+     *
+     * @throws IllegalArgumentException if a value ≤ 0
+     */
+    public static double sumOfLogs(DoubleStream values, LogBase base){
+        return values.collect(LogSum::new, LogSum::accept, LogSum::combine).sum() * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the geometric mean of the elements of {@code values}
+     * <p>
+     * Formula:
+     * <pre>
+     *     (Π value<sub>i</sub>)<sup>1/n</sup> = exp((Σ ln(value<sub>i</sub>)) / n)
+     * </pre>
+     *
+     * @param values the values (each must be &gt; 0)
+     *
+     * @return the geometric mean, {@code NaN} for an empty stream
+     *
+     * @throws IllegalArgumentException if a value ≤ 0
+     */
+    public static double geometricMean(DoubleStream values){
+        return values.collect(LogSum::new, LogSum::accept, LogSum::combine).geometricMean();
+    }
+
+    /**
+     * Computes the natural log-sum-exp of the elements of {@code values}
+     * <p>
+     * Formula:
+     * <pre>
+     *     ln(Σ e<sup>x<sub>i</sub></sup>) = max + ln(Σ e<sup>x<sub>i</sub> - max</sup>)
+     * </pre>
+     * The running maximum is tracked online, so no element ever overflows {@code exp}.
+     *
+     * @param values the exponents
+     *
+     * @return the log-sum-exp, {@code -Infinity} for an empty stream
+     */
+    public static double logSumExp(DoubleStream values){
+        return values.collect(LogSumExp::new, LogSumExp::accept, LogSumExp::combine).result();
+    }
+
+    /**
+     * Returns a collector summing the logarithms in {@code base} of the mapped elements
+     *
+     * @param mapper function extracting the value of an element (each value must be &gt; 0)
+     * @param base the pre-validated base of the logarithm
+     * @param <T> the type of the input elements
+     *
+     * @return a collector producing the sum of the logarithms
+     *
+     * @see #sumOfLogs(DoubleStream, LogBase)
+     */
+    public static <T> Collector<T, ?, Double> summingLogs(ToDoubleFunction<? super T> mapper, LogBase base){
+        Objects.requireNonNull(mapper, "mapper");
+        double inverseLnBase = base.inverseLnBase();
+        return Collector.of(LogSum::new,
+                (sum, element) -> sum.accept(mapper.applyAsDouble(element)),
+                LogSum::combine,
+                sum -> sum.sum() * inverseLnBase);
+    }
+
+    /**
+     * Returns a collector computing the geometric mean of the mapped elements
+     *
+     * @param mapper function extracting the value of an element (each value must be &gt; 0)
+     * @param <T> the type of the input elements
+     *
+     * @return a collector producing the geometric mean
+     *
+     * @see #geometricMean(DoubleStream)
+     */
+    public static <T> Collector<T, ?, Double> geometricMean(ToDoubleFunction<? super T> mapper){
+        Objects.requireNonNull(mapper, "mapper");
+        return Collector.of(LogSum::new,
+                (sum, element) -> sum.accept(mapper.applyAsDouble(element)),
+                LogSum::combine,
+                LogSum::geometricMean);
+    }
+
+    /**
+     * Returns a collector computing the natural log-sum-exp of the mapped elements
+     *
+     * @param mapper function extracting the exponent of an element
+     * @param <T> the type of the input elements
+     *
+     * @return a collector producing the log-sum-exp
+     *
+     * @see #logSumExp(DoubleStream)
+     */
+    public static <T> Collector<T, ?, Double> logSumExp(ToDoubleFunction<? super T> mapper){
+        Objects.requireNonNull(mapper, "mapper");
+        return Collector.of(LogSumExp::new,
+                (lse, element) -> lse.accept(mapper.applyAsDouble(element)),
+                LogSumExp::combine,
+                LogSumExp::result);
+    }
+
+    /**
+     * Spliterator computing logarithms over an array range, one chunk at a time
+     */
+    static final class LogSpliterator implements Spliterator.OfDouble {
+
+        private final double[] values;
+        private final double lnBase;
+        private int index;
+        private final int fence;
+
+        private double[] buffer;
+        private int bufferPosition;
+        private int bufferEnd;
+
+        LogSpliterator(double[] values, int index, int fence, double lnBase){
+            this.values = values;
+            this.index = index;
+            this.fence = fence;
+            this.lnBase = lnBase;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action){
+            Objects.requireNonNull(action, "action");
+            if(bufferPosition == bufferEnd && !fill()) return false;
+            action.accept(buffer[bufferPosition++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action){
+            Objects.requireNonNull(action, "action");
+            do {
+                double[] chunk = buffer;
+                for(int i = bufferPosition, end = bufferEnd; i < end; i++){
+                    action.accept(chunk[i]);
+                }
+                bufferPosition = bufferEnd;
+            } while(fill());
+        }
+
+        /**
+         * Computes the next chunk into the buffer
+         *
+         * @return {@code false} if the range is exhausted
+         */
+        private boolean fill(){
+            if(index >= fence) return false;
+            if(buffer == null) buffer = new double[CHUNK];
+            int length = Math.min(CHUNK, fence - index);
+            Logarithm.checkValues(values, index, length, buffer, 0);
+            Logarithm.logScaled(values, index, lnBase, 1, buffer, 0, length);
+            index += length;
+            bufferPosition = 0;
+            bufferEnd = length;
+            return true;
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit(){
+            if(bufferPosition != bufferEnd) return null;
+            int middle = index + ((fence - index) / 2 / CHUNK) * CHUNK;
+            if(middle <= index) return null;
+            LogSpliterator prefix = new LogSpliterator(values, index, middle, lnBase);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize(){
+            return (long) (fence - index) + (bufferEnd - bufferPosition);
+        }
+
+        @Override
+        public int characteristics(){
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+    /**
+     * Mutable container accumulating a compensated sum of natural logarithms
+     */
+    static final class LogSum implements DoubleConsumer {
+
+        private double sum;
+        private double compensation;
+        private long count;
+
+        @Override
+        public void accept(double value){
+            Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+            add(Math.log(value));
+            count++;
+        }
+
+        /**
+         * Neumaier summation step, which stays compensated when the term outweighs the running sum
+         */
+        private void add(double term){
+            double next = sum + term;
+            compensation += Math.abs(sum) >= Math.abs(term) ? (sum - next) + term : (term - next) + sum;
+            sum = next;
+        }
+
+        LogSum combine(LogSum other){
+            add(other.sum);
+            compensation += other.compensation;
+            count += other.count;
+            return this;
+        }
+
+        double sum(){
+            return sum + compensation;
+        }
+
+        double geometricMean(){
+            return count == 0 ? Double.NaN : Math.exp(sum() / count);
+        }
+    }
+}
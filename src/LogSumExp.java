@@ -0,0 +1,252 @@
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ *  Log-Sum-Exp
+ * <p>
+ * Numerically stable log-sum-exp and log-softmax, as bulk kernels over arrays and as a streaming,
+ * mergeable accumulator.
+ * <pre>
+ *     LSE(x)          = ln(Σ e<sup>x<sub>i</sub></sup>) = max + ln(Σ e<sup>x<sub>i</sub> - max</sup>)
+ *     logSoftmax(x)<sub>i</sub> = x<sub>i</sub> - LSE(x)
+ * </pre>
+ * Shifting by the maximum keeps every exponential in {@code (0, 1]}, so no element overflows and
+ * the largest one never underflows.
+ * <hr>
+ *
+ * <h3>⚙️ Capabilities</h3>
+ * <ul style="margin-left: 15px;">
+ *   <li>📌 Bulk kernels: a pass for the maximum and a pass for the shifted sum, no allocation</li>
+ *   <li>📌 Streaming accumulator: one pass with an online maximum, mergeable for parallel reductions,
+ *       usable as a {@link DoubleConsumer}</li>
+ *   <li>📌 Any base through a {@link LogBase}: the inputs and the result are logarithms in that base,
+ *   <pre>
+ *     log<sub>b</sub>(Σ b<sup>x<sub>i</sub></sup>) = LSE(x * ln(b)) / ln(b)
+ *   </pre></li>
+ * </ul>
+ * The SIMD counterparts of the bulk kernels are in {@link VectorizedLogarithm}.
+ * <p>
+ * Accumulators are <b>not</b> thread-safe; parallel reductions give each thread its own and
+ * {@link #combine(LogSumExp) combine} them.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * The error is a few ulps of the result plus the rounding of the shifted sum, whose terms are all
+ * positive. {@code NaN} inputs give {@code NaN}; an empty input or inputs all equal to {@code -Infinity}
+ * give {@code -Infinity}.
+ *
+ * @author owl
+ */
+public final class LogSumExp implements DoubleConsumer {
+
+    private final double lnBase;
+    private final double inverseLnBase;
+
+    private double max = Double.NEGATIVE_INFINITY;
+    private double scaledSum;
+
+    /**
+     * Creates an empty accumulator of natural exponents
+     */
+    public LogSumExp(){
+        this.lnBase = 1;
+        this.inverseLnBase = 1;
+    }
+
+    /**
+     * Creates an empty accumulator of exponents in {@code base}
+     *
+     * @param base the base of the exponents and of the result
+     */
+    public LogSumExp(LogBase base){
+        this.lnBase = base.lnBase();
+        this.inverseLnBase = base.inverseLnBase();
+    }
+
+    /**
+     * Computes the natural log-sum-exp of a range of {@code values}
+     *
+     * @param values the exponents
+     * @param offset index of the first element read from {@code values}
+     * @param length number of elements to process
+     *
+     * @return {@code ln(Σ e^values[i])}, {@code -Infinity} if {@code length} = 0
+     *
+     * @throws IndexOutOfBoundsException if the range falls outside {@code values}
+     */
+    public static double logSumExp(double[] values, int offset, int length){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        return lnSumExp(values, offset, 1, length);
+    }
+
+    /**
+     * Computes the log-sum-exp in {@code base} of a range of {@code values}
+     *
+     * @param values the exponents, as logarithms in {@code base}
+     * @param offset index of the first element read from {@code values}
+     * @param length number of elements to process
+     * @param base the base of the exponents and of the result
+     *
+     * @return {@code log_base(Σ base^values[i])}, {@code -Infinity} if {@code length} = 0
+     *
+     * @throws IndexOutOfBoundsException if the range falls outside {@code values}
+     */
+    public static double logSumExp(double[] values, int offset, int length, LogBase base){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        return lnSumExp(values, offset, base.lnBase(), length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the natural log-softmax of a range of {@code values} and stores it in {@code destination}
+     * <p>
+     * {@code destination} may be {@code values} itself, for an in-place transform.
+     *
+     * @param values the exponents
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving {@code values[i] - LSE(values)}
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    public static void logSoftmax(double[] values, int offset, double[] destination, int destinationOffset, int length){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        shift(values, offset, lnSumExp(values, offset, 1, length), destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the log-softmax in {@code base} of a range of {@code values} and stores it in {@code destination}
+     *
+     * @param base the base of the exponents and of the results
+     *
+     * @see #logSoftmax(double[], int, double[], int, int)
+     */
+    public static void logSoftmax(double[] values, int offset, double[] destination, int destinationOffset, int length,
+                                  LogBase base){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        double logSumExp = lnSumExp(values, offset, base.lnBase(), length) * base.inverseLnBase();
+        shift(values, offset, logSumExp, destination, destinationOffset, length);
+    }
+
+    /**
+     * Adds {@code exponent} to the accumulated sum
+     *
+     * @param exponent the exponent, in the base of this accumulator
+     */
+    @Override
+    public void accept(double exponent){
+        double scaled = exponent * lnBase;
+        if(scaled > max){
+            scaledSum = scaledSum * Math.exp(max - scaled) + 1;
+            max = scaled;
+        } else if(scaled == max){
+            scaledSum += 1;
+        } else if(scaled < max){
+            scaledSum += Math.exp(scaled - max);
+        } else {
+            max = Double.NaN;
+        }
+    }
+
+    /**
+     * Adds a range of {@code values} to the accumulated sum, with the two-pass bulk kernel
+     *
+     * @param values the exponents, in the base of this accumulator
+     * @param offset index of the first element read from {@code values}
+     * @param length number of elements to process
+     *
+     * @throws IndexOutOfBoundsException if the range falls outside {@code values}
+     */
+    public void accept(double[] values, int offset, int length){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        double rangeMax = max(values, offset, lnBase, length);
+        if(rangeMax == Double.NEGATIVE_INFINITY) return;
+        double rangeSum = Double.isFinite(rangeMax) ? shiftedSum(values, offset, lnBase, rangeMax, length) : 1;
+        merge(rangeMax, rangeSum);
+    }
+
+    /**
+     * Merges the sum accumulated by {@code other} into this accumulator
+     *
+     * @param other an accumulator in the same base
+     *
+     * @return this accumulator
+     *
+     * @throws IllegalArgumentException if the bases differ
+     */
+    public LogSumExp combine(LogSumExp other){
+        Logarithm.checkArgument(other.lnBase == lnBase, "accumulators must share the same base");
+        if(other.scaledSum == 0 && !Double.isNaN(other.max)) return this;
+        merge(other.max, other.scaledSum);
+        return this;
+    }
+
+    /**
+     * Returns the log-sum-exp of the accepted exponents
+     *
+     * @return the log-sum-exp in the base of this accumulator, {@code -Infinity} if nothing was accepted
+     */
+    public double result(){
+        if(Double.isNaN(max)) return Double.NaN;
+        return scaledSum == 0 ? Double.NEGATIVE_INFINITY : (max + Math.log(scaledSum)) * inverseLnBase;
+    }
+
+    /**
+     * Merges a partial sum {@code e^otherMax * otherScaledSum}
+     */
+    private void merge(double otherMax, double otherScaledSum){
+        if(otherMax > max){
+            scaledSum = scaledSum * Math.exp(max - otherMax) + otherScaledSum;
+            max = otherMax;
+        } else if(otherMax == max){
+            scaledSum += otherScaledSum;
+        } else if(otherMax < max){
+            scaledSum += otherScaledSum * Math.exp(otherMax - max);
+        } else {
+            max = Double.NaN;
+        }
+    }
+
+    /**
+     * Unchecked kernel: {@code ln(Σ e^(scale * values[o + i]))}
+     */
+    static double lnSumExp(double[] values, int offset, double scale, int length){
+        double max = max(values, offset, scale, length);
+        if(!Double.isFinite(max)) return max;
+        return max + Math.log(shiftedSum(values, offset, scale, max, length));
+    }
+
+    /**
+     * Unchecked kernel: {@code max(scale * values[o + i])}, {@code NaN} if any element is {@code NaN}
+     */
+    static double max(double[] values, int offset, double scale, int length){
+        double max = Double.NEGATIVE_INFINITY;
+        for(int i = 0; i < length; i++){
+            max = Math.max(max, scale * values[offset + i]);
+        }
+        return max;
+    }
+
+    /**
+     * Unchecked kernel: {@code Σ e^(scale * values[o + i] - max)}
+     */
+    static double shiftedSum(double[] values, int offset, double scale, double max, int length){
+        double sum = 0;
+        for(int i = 0; i < length; i++){
+            sum += Math.exp(scale * values[offset + i] - max);
+        }
+        return sum;
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = values[o + i] - shift}
+     */
+    static void shift(double[] values, int offset, double shift, double[] destination, int destinationOffset, int length){
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = values[offset + i] - shift;
+        }
+    }
+}
@@ -1,3 +1,8 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Objects;
+
 /**
  *  Logarithm Utility Class
  * <p>
@@ -11,7 +16,11 @@
  *   <li>📌 Calculating the logarithm of a value in an arbitrary base</li>
  *   <li>📌 Applying powers to the value or the base</li>
  *   <li>📌 Handling quotients as values or bases</li>
+ *   <li>📌 Processing whole arrays at once through the bulk overloads</li>
+ *   <li>📌 Taking {@link BigInteger} and {@link BigDecimal} values beyond the {@code double} range</li>
+ *   <li>📌 Taking quotients of {@code long} counters without rounding the quotient</li>
  * </ul>
+ * Callers that repeatedly use the same base should prefer a pre-validated {@link LogBase}.
  * <p>
  * This class is <b>non-instantiable</b>.
  * <hr>
@@ -25,6 +34,13 @@
  *   <li> Values must be strictly positive</li>
  * </ul>
  * In some cases, exceptions may be thrown directly by {@link Math Math}'s internal logic.
+ * <p>
+ * Validation never allocates on valid arguments: each check is a couple of compares, and the
+ * exception message, with the offending value, is only built once a check has failed. This holds
+ * for every method taking {@code double} or {@code long} arguments, scalar and bulk alike: bulk
+ * methods validate the base into a plain {@code double} rather than a {@link LogBase}.
+ * Batch jobs that must not abort on one invalid value should use {@link TolerantLogarithm},
+ * which returns {@code NaN}, clamps, or skips and reports such values under an {@link ErrorPolicy}.
  * <hr>
  *
  * <h3> Numerical Precision</h3>
@@ -36,7 +52,8 @@
  *   <li>🔸 Precision loss for values near 0 or large magnitudes</li>
  *   <li>🔸 Instability for bases close to 1</li>
  * </ul>
- * For high-precision or scientific needs, external libraries may be required.
+ * For high-precision needs, {@link BigDecimalLogarithm} computes the same logarithms to any
+ * number of significant digits.
  * <hr>
  *
  * @implNote Passing {@code NaN}, infinity, or {@code null} (via autoboxing) may propagate
@@ -47,6 +64,20 @@
 public final class Logarithm {
 
 
+    /** ln(2) and ln(10) split into a {@code double} and a correction, for products by large exponents */
+    private static final double LN_2_HIGH = 0x1.62e42fefa39efp-1;
+    private static final double LN_2_LOW = 0x1.abc9e3b39803fp-56;
+    private static final double LN_10_HIGH = 0x1.26bb1bbb55516p1;
+    private static final double LN_10_LOW = -0x1.f48ad494ea3e9p-53;
+
+    private static final double SQRT_2 = 1.4142135623730951;
+
+    /** Below this magnitude, the logarithm of a quotient is recomputed from the exact difference */
+    private static final double NEAR_ONE = 0.5;
+
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
     /**
      * Private constructor to prevent instantiation
      */
@@ -71,9 +102,9 @@ public final class Logarithm {
      *          exceptions or return special IEEE 754 values depending on {@link Math#log}.
      */
     public static double logInBase(double value, double base){
-        checkArgument(base > 0, "base must be > 0: " + base);
+        checkArgument(base > 0, "base must be > 0: ", base);
         checkArgument(base != 1, "base must not be equal to 1");
-        checkArgument(value > 0, "value must be > 0: " + value);
+        checkArgument(value > 0, "value must be > 0: ", value);
 
         return Math.log(value) / Math.log(base);
     }
@@ -189,6 +220,1131 @@ public final class Logarithm {
         return logInBase(valueNumerator/valueDenominator, baseNumerator/baseDenominator);
     }
 
+    /**
+     * Computes the logarithm of each element of {@code values} with a specified {@code base}
+     * and stores the results in {@code destination}
+     * <p>
+     * Formula, for each {@code i} in {@code [0, length)}:
+     * <pre>
+     *     destination[destinationOffset + i] = log<sub>base</sub>(values[offset + i])
+     * </pre>
+     *
+     * The base is validated once, then every value is validated before anything is written,
+     * so {@code destination} is left untouched if an argument is rejected.
+     *
+     * @param values the values to compute the logarithm for (each must be &gt; 0)
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0, {@code base} = 1, or any value ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @implNote Each element is bit-for-bit identical to {@link #logInBase(double, double)};
+     *          only the per-call work (base validation and {@code ln(base)}) is hoisted out of the loop.
+     */
+    public static void logInBase(double[] values, double base,
+                                 int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBase(base);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} to the power of {@code power}
+     * with base {@code base} and stores the results in {@code destination}
+     * <p>
+     * Formula, for each {@code i} in {@code [0, length)}:
+     * <pre>
+     *     destination[destinationOffset + i] = power * log<sub>base</sub>(values[offset + i])
+     * </pre>
+     *
+     * @param values the values inside the logarithm (each must be &gt; 0)
+     * @param power the multiplier applied to the logarithm
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0, {@code base} = 1, or any value ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see #logInBase(double[], double, int, double[], int, int)
+     */
+    public static void logWithPoweredValue(double[] values, double power, double base,
+                                           int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBase(base);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, power, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with the base
+     * to the power {@code power} and stores the results in {@code destination}
+     * <p>
+     * Formula, for each {@code i} in {@code [0, length)}:
+     * <pre>
+     *     destination[destinationOffset + i] = (1 / power) * log<sub>base</sub>(values[offset + i])
+     * </pre>
+     *
+     * @param values the values inside the logarithm (each must be &gt; 0)
+     * @param base the base of the logarithm before exponentiation (must be &gt; 0 and ≠ 1)
+     * @param power the exponent applied to the base (must not be 1)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0, {@code base} = 1,
+     *                                  any value ≤ 0, or {@code power} = 1
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see #logInBase(double[], double, int, double[], int, int)
+     */
+    public static void logWithPoweredBase(double[] values, double base, double power,
+                                          int offset, double[] destination, int destinationOffset, int length){
+        checkArgument(power != 1, "power must not be 1");
+        double lnBase = lnOfBase(base);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, 1/power, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base {@code base} and stores the results in {@code destination}
+     * <p>
+     * Formula, for each {@code i} in {@code [0, length)}:
+     * <pre>
+     *     destination[destinationOffset + i] = log<sub>base</sub>(valueNumerators[offset + i] / valueDenominators[offset + i])
+     * </pre>
+     *
+     * @param valueNumerators numerators of the value quotients
+     * @param valueDenominators denominators of the value quotients (each must not be 0)
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     * @param offset index of the first element read from both source arrays
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if any denominator = 0, or if
+     *                                  a quotient or the base violate {@link #logInBase} preconditions
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see #logInBase(double[], double, int, double[], int, int)
+     */
+    public static void logOfQuotient(double[] valueNumerators, double[] valueDenominators, double base,
+                                     int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBase(base);
+        checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, lnBase, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with the base
+     * defined as the quotient {@code baseNumerator / baseDenominator}
+     * and stores the results in {@code destination}
+     * <p>
+     * Formula, for each {@code i} in {@code [0, length)}:
+     * <pre>
+     *     destination[destinationOffset + i] = log<sub>baseNumerator / baseDenominator</sub>(values[offset + i])
+     * </pre>
+     *
+     * @param values the values inside the logarithm (each must be &gt; 0)
+     * @param baseNumerator numerator of the base quotient
+     * @param baseDenominator denominator of the base quotient (must not be 0)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if {@code baseDenominator} = 0 or
+     *                                  if the resulting base or a value violate {@link #logInBase} preconditions
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see #logInBase(double[], double, int, double[], int, int)
+     */
+    public static void logWithBaseQuotient(double[] values, double baseNumerator, double baseDenominator,
+                                           int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBaseQuotient(baseNumerator, baseDenominator);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base defined as the quotient {@code baseNumerator / baseDenominator}
+     * and stores the results in {@code destination}
+     * <p>
+     * Formula, for each {@code i} in {@code [0, length)}:
+     * <pre>
+     *     destination[destinationOffset + i] = log<sub>baseNumerator / baseDenominator</sub>(valueNumerators[offset + i] / valueDenominators[offset + i])
+     * </pre>
+     *
+     * @param valueNumerators numerators of the value quotients
+     * @param valueDenominators denominators of the value quotients (each must not be 0)
+     * @param baseNumerator numerator of the base quotient
+     * @param baseDenominator denominator of the base quotient (must not be 0)
+     * @param offset index of the first element read from both source arrays
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if any value denominator = 0,
+     *                                  {@code baseDenominator} = 0,
+     *                                  or if resulting values violate {@link #logInBase} preconditions
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see #logInBase(double[], double, int, double[], int, int)
+     */
+    public static void logOfQuotientAndBaseQuotient(double[] valueNumerators, double[] valueDenominators,
+                                                    double baseNumerator, double baseDenominator,
+                                                    int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBaseQuotient(baseNumerator, baseDenominator);
+        checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, lnBase, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of a {@link BigInteger} {@code value} with a specified {@code base}
+     * <p>
+     * The value is never converted as a whole: its natural logarithm is derived from its bit length
+     * and its leading 63 bits,
+     * <pre>
+     *     ln(value) = shift * ln(2) + ln(value &gt;&gt; shift)
+     * </pre>
+     * so values far beyond {@link Double#MAX_VALUE}, such as 4096-bit integers or large factorials,
+     * have a finite logarithm accurate to a few ulps.
+     *
+     * @param value the value to compute the logarithm for (must be &gt; 0)
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     *
+     * @return the logarithm of {@code value} with base {@code base}
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0, {@code base} = 1, or {@code value} ≤ 0
+     *
+     * @see #logInBase(double, double)
+     */
+    public static double logInBase(BigInteger value, double base){
+        checkArgument(base > 0, "base must be > 0: ", base);
+        checkArgument(base != 1, "base must not be equal to 1");
+        checkValue(value);
+
+        return ln(value) / Math.log(base);
+    }
+
+    /**
+     * Computes the logarithm of a {@link BigInteger} {@code value} to the power of {@code power} with base {@code base}
+     *
+     * @see #logWithPoweredValue(double, double, double)
+     * @see #logInBase(BigInteger, double)
+     */
+    public static double logWithPoweredValue(BigInteger value, double power, double base){
+        return power * logInBase(value, base);
+    }
+
+    /**
+     * Computes the logarithm of a {@link BigInteger} {@code value} with the base to the power {@code power}
+     *
+     * @see #logWithPoweredBase(double, double, double)
+     * @see #logInBase(BigInteger, double)
+     */
+    public static double logWithPoweredBase(BigInteger value, double base, double power){
+        checkArgument(power != 1, "power must not be 1");
+        return (1/power) * logInBase(value, base);
+    }
+
+    /**
+     * Computes the logarithm of the {@link BigInteger} quotient {@code valueNumerator / valueDenominator}
+     * with the base {@code base}
+     * <p>
+     * The quotient is never rounded: when it is close to 1, its logarithm is computed from the
+     * exact difference {@code valueNumerator - valueDenominator}.
+     *
+     * @see #logOfQuotient(double, double, double)
+     * @see #logInBase(BigInteger, double)
+     */
+    public static double logOfQuotient(BigInteger valueNumerator, BigInteger valueDenominator, double base){
+        checkArgument(valueDenominator.signum() != 0, "valueDenominator must not be zero");
+        checkArgument(base > 0, "base must be > 0: ", base);
+        checkArgument(base != 1, "base must not be equal to 1");
+        checkQuotient(valueNumerator, valueDenominator);
+
+        return lnOfQuotient(valueNumerator, valueDenominator) / Math.log(base);
+    }
+
+    /**
+     * Computes the logarithm of a {@link BigInteger} {@code value} with the base
+     * defined as the quotient {@code baseNumerator / baseDenominator}
+     *
+     * @see #logWithBaseQuotient(double, double, double)
+     * @see #logInBase(BigInteger, double)
+     */
+    public static double logWithBaseQuotient(BigInteger value, double baseNumerator, double baseDenominator){
+        checkArgument(baseDenominator != 0, "baseDenominator is zero");
+        return logInBase(value, baseNumerator/baseDenominator);
+    }
+
+    /**
+     * Computes the logarithm of the {@link BigInteger} quotient {@code valueNumerator / valueDenominator}
+     * with the base defined as the quotient {@code baseNumerator / baseDenominator}
+     *
+     * @see #logOfQuotientAndBaseQuotient(double, double, double, double)
+     * @see #logOfQuotient(BigInteger, BigInteger, double)
+     */
+    public static double logOfQuotientAndBaseQuotient(BigInteger valueNumerator, BigInteger valueDenominator,
+                                                      double baseNumerator, double baseDenominator){
+        checkArgument(valueDenominator.signum() != 0, "Illegal given valueDenominator value");
+        checkArgument(baseDenominator != 0, "baseDenominator must not be zero");
+        return logOfQuotient(valueNumerator, valueDenominator, baseNumerator/baseDenominator);
+    }
+
+    /**
+     * Computes the logarithm of a {@link BigDecimal} {@code value} with a specified {@code base}
+     * <p>
+     * The natural logarithm is derived from the scale, the bit length of the unscaled value and its
+     * leading 63 bits, so values beyond the {@code double} range in either direction are supported.
+     * Values in {@code [0.5, 2]} go through {@code log1p} of their exact distance to 1 instead, so that
+     * {@code 1.000…0001} with a hundred zeros still has an accurate logarithm.
+     *
+     * @param value the value to compute the logarithm for (must be &gt; 0)
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     *
+     * @return the logarithm of {@code value} with base {@code base}
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0, {@code base} = 1, or {@code value} ≤ 0
+     *
+     * @see #logInBase(double, double)
+     * @see BigDecimalLogarithm for results with more than double precision
+     */
+    public static double logInBase(BigDecimal value, double base){
+        checkArgument(base > 0, "base must be > 0: ", base);
+        checkArgument(base != 1, "base must not be equal to 1");
+        checkValue(value);
+
+        return ln(value) / Math.log(base);
+    }
+
+    /**
+     * Computes the logarithm of a {@link BigDecimal} {@code value} to the power of {@code power} with base {@code base}
+     *
+     * @see #logWithPoweredValue(double, double, double)
+     * @see #logInBase(BigDecimal, double)
+     */
+    public static double logWithPoweredValue(BigDecimal value, double power, double base){
+        return power * logInBase(value, base);
+    }
+
+    /**
+     * Computes the logarithm of a {@link BigDecimal} {@code value} with the base to the power {@code power}
+     *
+     * @see #logWithPoweredBase(double, double, double)
+     * @see #logInBase(BigDecimal, double)
+     */
+    public static double logWithPoweredBase(BigDecimal value, double base, double power){
+        checkArgument(power != 1, "power must not be 1");
+        return (1/power) * logInBase(value, base);
+    }
+
+    /**
+     * Computes the logarithm of the {@link BigDecimal} quotient {@code valueNumerator / valueDenominator}
+     * with the base {@code base}
+     * <p>
+     * The quotient is never rounded: when it is close to 1, its logarithm is computed from the
+     * exact difference {@code valueNumerator - valueDenominator}.
+     *
+     * @see #logOfQuotient(double, double, double)
+     * @see #logInBase(BigDecimal, double)
+     */
+    public static double logOfQuotient(BigDecimal valueNumerator, BigDecimal valueDenominator, double base){
+        checkArgument(valueDenominator.signum() != 0, "valueDenominator must not be zero");
+        checkArgument(base > 0, "base must be > 0: ", base);
+        checkArgument(base != 1, "base must not be equal to 1");
+        checkQuotient(valueNumerator, valueDenominator);
+
+        return lnOfQuotient(valueNumerator, valueDenominator) / Math.log(base);
+    }
+
+    /**
+     * Computes the logarithm of a {@link BigDecimal} {@code value} with the base
+     * defined as the quotient {@code baseNumerator / baseDenominator}
+     *
+     * @see #logWithBaseQuotient(double, double, double)
+     * @see #logInBase(BigDecimal, double)
+     */
+    public static double logWithBaseQuotient(BigDecimal value, double baseNumerator, double baseDenominator){
+        checkArgument(baseDenominator != 0, "baseDenominator is zero");
+        return logInBase(value, baseNumerator/baseDenominator);
+    }
+
+    /**
+     * Computes the logarithm of the {@link BigDecimal} quotient {@code valueNumerator / valueDenominator}
+     * with the base defined as the quotient {@code baseNumerator / baseDenominator}
+     *
+     * @see #logOfQuotientAndBaseQuotient(double, double, double, double)
+     * @see #logOfQuotient(BigDecimal, BigDecimal, double)
+     */
+    public static double logOfQuotientAndBaseQuotient(BigDecimal valueNumerator, BigDecimal valueDenominator,
+                                                      double baseNumerator, double baseDenominator){
+        checkArgument(valueDenominator.signum() != 0, "Illegal given valueDenominator value");
+        checkArgument(baseDenominator != 0, "baseDenominator must not be zero");
+        return logOfQuotient(valueNumerator, valueDenominator, baseNumerator/baseDenominator);
+    }
+
+    /**
+     * Computes the logarithm of each {@link BigInteger} of {@code values} with a specified {@code base}
+     * and stores the results in {@code destination}
+     * <p>
+     * The base is validated once, then every value is validated before anything is written.
+     *
+     * @param values the values to compute the logarithm for (each must be &gt; 0)
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0, {@code base} = 1, or any value ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see #logInBase(BigInteger, double)
+     */
+    public static void logInBase(BigInteger[] values, double base,
+                                 int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBase(base);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each {@link BigInteger} of {@code values} to the power of {@code power}
+     * with base {@code base} and stores the results in {@code destination}
+     *
+     * @see #logInBase(BigInteger[], double, int, double[], int, int)
+     */
+    public static void logWithPoweredValue(BigInteger[] values, double power, double base,
+                                           int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBase(base);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, power, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each {@link BigInteger} of {@code values} with the base
+     * to the power {@code power} and stores the results in {@code destination}
+     *
+     * @see #logInBase(BigInteger[], double, int, double[], int, int)
+     */
+    public static void logWithPoweredBase(BigInteger[] values, double base, double power,
+                                          int offset, double[] destination, int destinationOffset, int length){
+        checkArgument(power != 1, "power must not be 1");
+        double lnBase = lnOfBase(base);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, 1/power, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each {@link BigInteger} quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base {@code base} and stores the results in {@code destination}
+     *
+     * @see #logInBase(BigInteger[], double, int, double[], int, int)
+     * @see #logOfQuotient(BigInteger, BigInteger, double)
+     */
+    public static void logOfQuotient(BigInteger[] valueNumerators, BigInteger[] valueDenominators, double base,
+                                     int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBase(base);
+        checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, lnBase, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each {@link BigInteger} of {@code values} with the base
+     * defined as the quotient {@code baseNumerator / baseDenominator} and stores the results in {@code destination}
+     *
+     * @see #logInBase(BigInteger[], double, int, double[], int, int)
+     */
+    public static void logWithBaseQuotient(BigInteger[] values, double baseNumerator, double baseDenominator,
+                                           int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBaseQuotient(baseNumerator, baseDenominator);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each {@link BigInteger} quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base defined as the quotient {@code baseNumerator / baseDenominator}
+     * and stores the results in {@code destination}
+     *
+     * @see #logInBase(BigInteger[], double, int, double[], int, int)
+     * @see #logOfQuotient(BigInteger, BigInteger, double)
+     */
+    public static void logOfQuotientAndBaseQuotient(BigInteger[] valueNumerators, BigInteger[] valueDenominators,
+                                                    double baseNumerator, double baseDenominator,
+                                                    int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBaseQuotient(baseNumerator, baseDenominator);
+        checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, lnBase, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each {@link BigDecimal} of {@code values} with a specified {@code base}
+     * and stores the results in {@code destination}
+     *
+     * @see #logInBase(BigInteger[], double, int, double[], int, int)
+     * @see #logInBase(BigDecimal, double)
+     */
+    public static void logInBase(BigDecimal[] values, double base,
+                                 int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBase(base);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each {@link BigDecimal} of {@code values} to the power of {@code power}
+     * with base {@code base} and stores the results in {@code destination}
+     *
+     * @see #logInBase(BigDecimal[], double, int, double[], int, int)
+     */
+    public static void logWithPoweredValue(BigDecimal[] values, double power, double base,
+                                           int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBase(base);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, power, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each {@link BigDecimal} of {@code values} with the base
+     * to the power {@code power} and stores the results in {@code destination}
+     *
+     * @see #logInBase(BigDecimal[], double, int, double[], int, int)
+     */
+    public static void logWithPoweredBase(BigDecimal[] values, double base, double power,
+                                          int offset, double[] destination, int destinationOffset, int length){
+        checkArgument(power != 1, "power must not be 1");
+        double lnBase = lnOfBase(base);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, 1/power, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each {@link BigDecimal} quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base {@code base} and stores the results in {@code destination}
+     *
+     * @see #logInBase(BigDecimal[], double, int, double[], int, int)
+     * @see #logOfQuotient(BigDecimal, BigDecimal, double)
+     */
+    public static void logOfQuotient(BigDecimal[] valueNumerators, BigDecimal[] valueDenominators, double base,
+                                     int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBase(base);
+        checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, lnBase, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each {@link BigDecimal} of {@code values} with the base
+     * defined as the quotient {@code baseNumerator / baseDenominator} and stores the results in {@code destination}
+     *
+     * @see #logInBase(BigDecimal[], double, int, double[], int, int)
+     */
+    public static void logWithBaseQuotient(BigDecimal[] values, double baseNumerator, double baseDenominator,
+                                           int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBaseQuotient(baseNumerator, baseDenominator);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each {@link BigDecimal} quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base defined as the quotient {@code baseNumerator / baseDenominator}
+     * and stores the results in {@code destination}
+     *
+     * @see #logInBase(BigDecimal[], double, int, double[], int, int)
+     * @see #logOfQuotient(BigDecimal, BigDecimal, double)
+     */
+    public static void logOfQuotientAndBaseQuotient(BigDecimal[] valueNumerators, BigDecimal[] valueDenominators,
+                                                    double baseNumerator, double baseDenominator,
+                                                    int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBaseQuotient(baseNumerator, baseDenominator);
+        checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, lnBase, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of the {@code long} quotient {@code valueNumerator / valueDenominator}
+     * with the base {@code base}
+     * <p>
+     * Meant for counters, such as {@code log(hits / total)}: the operands are never divided as
+     * {@code double}s before the logarithm. When the quotient is in {@code [¾, 3/2)}, its logarithm is computed as
+     * <pre>
+     *     ln(valueNumerator / valueDenominator) = log1p((valueNumerator - valueDenominator) / valueDenominator)
+     * </pre>
+     * from the exact difference of the counters, so ratios of large counters that differ in their last
+     * digits keep full precision. Every quotient is divided in double-double, and the result stays
+     * within about 1 ulp. {@code int} counters widen to this overload.
+     *
+     * @param valueNumerator numerator of the value quotient
+     * @param valueDenominator denominator of the value quotient (must not be 0)
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     *
+     * @return the logarithm of {@code valueNumerator / valueDenominator} in base {@code base}
+     *
+     * @throws IllegalArgumentException if {@code valueDenominator} = 0, the quotient ≤ 0,
+     *                                  {@code base} ≤ 0, or {@code base} = 1
+     *
+     * @see #logOfQuotient(double, double, double)
+     */
+    public static double logOfQuotient(long valueNumerator, long valueDenominator, double base){
+        checkArgument(valueDenominator != 0, "valueDenominator must not be zero");
+        checkArgument(base > 0, "base must be > 0: ", base);
+        checkArgument(base != 1, "base must not be equal to 1");
+        checkQuotient(valueNumerator, valueDenominator);
+
+        return lnOfQuotient(valueNumerator, valueDenominator) / Math.log(base);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} with the base defined as the {@code long} quotient
+     * {@code baseNumerator / baseDenominator}
+     * <p>
+     * The base quotient is never rounded, see {@link #logOfQuotient(long, long, double)}.
+     *
+     * @param value the value inside the logarithm (must be &gt; 0)
+     * @param baseNumerator numerator of the base quotient
+     * @param baseDenominator denominator of the base quotient (must not be 0)
+     *
+     * @return the logarithm of {@code value} in base {@code baseNumerator / baseDenominator}
+     *
+     * @throws IllegalArgumentException if {@code baseDenominator} = 0, the base ≤ 0, the base = 1,
+     *                                  or {@code value} ≤ 0
+     *
+     * @see #logWithBaseQuotient(double, double, double)
+     */
+    public static double logWithBaseQuotient(double value, long baseNumerator, long baseDenominator){
+        double lnBase = lnOfBaseQuotient(baseNumerator, baseDenominator);
+        checkArgument(value > 0, "value must be > 0: ", value);
+
+        return Math.log(value) / lnBase;
+    }
+
+    /**
+     * Computes the logarithm of the {@code long} quotient {@code valueNumerator / valueDenominator}
+     * with the base defined as the {@code long} quotient {@code baseNumerator / baseDenominator}
+     * <p>
+     * Neither quotient is rounded, see {@link #logOfQuotient(long, long, double)}.
+     *
+     * @param valueNumerator numerator of the value quotient
+     * @param valueDenominator denominator of the value quotient (must not be 0)
+     * @param baseNumerator numerator of the base quotient
+     * @param baseDenominator denominator of the base quotient (must not be 0)
+     *
+     * @return the logarithm of {@code valueNumerator / valueDenominator} in base {@code baseNumerator / baseDenominator}
+     *
+     * @throws IllegalArgumentException if a denominator = 0, the value quotient ≤ 0, the base ≤ 0, or the base = 1
+     *
+     * @see #logOfQuotientAndBaseQuotient(double, double, double, double)
+     */
+    public static double logOfQuotientAndBaseQuotient(long valueNumerator, long valueDenominator,
+                                                      long baseNumerator, long baseDenominator){
+        checkArgument(valueDenominator != 0, "Illegal given valueDenominator value");
+        double lnBase = lnOfBaseQuotient(baseNumerator, baseDenominator);
+        checkQuotient(valueNumerator, valueDenominator);
+
+        return lnOfQuotient(valueNumerator, valueDenominator) / lnBase;
+    }
+
+    /**
+     * Computes the logarithm of each {@code long} quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base {@code base} and stores the results in {@code destination}
+     * <p>
+     * The base is validated once, then every quotient is validated before anything is written.
+     *
+     * @param valueNumerators numerators of the value quotients
+     * @param valueDenominators denominators of the value quotients (each must not be 0)
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     * @param offset index of the first element read from both source arrays
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0, {@code base} = 1,
+     *                                  or any value denominator = 0 or quotient ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see #logOfQuotient(long, long, double)
+     */
+    public static void logOfQuotient(long[] valueNumerators, long[] valueDenominators, double base,
+                                     int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBase(base);
+        checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, lnBase, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with the base defined as the {@code long}
+     * quotient {@code baseNumerator / baseDenominator} and stores the results in {@code destination}
+     *
+     * @see #logWithBaseQuotient(double, long, long)
+     * @see #logWithBaseQuotient(double[], double, double, int, double[], int, int)
+     */
+    public static void logWithBaseQuotient(double[] values, long baseNumerator, long baseDenominator,
+                                           int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBaseQuotient(baseNumerator, baseDenominator);
+        checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, lnBase, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each {@code long} quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base defined as the {@code long} quotient {@code baseNumerator / baseDenominator}
+     * and stores the results in {@code destination}
+     *
+     * @see #logOfQuotientAndBaseQuotient(long, long, long, long)
+     * @see #logOfQuotient(long[], long[], double, int, double[], int, int)
+     */
+    public static void logOfQuotientAndBaseQuotient(long[] valueNumerators, long[] valueDenominators,
+                                                    long baseNumerator, long baseDenominator,
+                                                    int offset, double[] destination, int destinationOffset, int length){
+        double lnBase = lnOfBaseQuotient(baseNumerator, baseDenominator);
+        checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, lnBase, destination, destinationOffset, length);
+    }
+
+    /**
+     * Validates the ranges of a bulk call and ensures every value in range is strictly positive
+     * <p>
+     * A branch-free {@link BatchValidation} pass clears the common, fully valid case; the values are
+     * only scanned again to locate the first invalid one and report it.
+     *
+     * @throws IllegalArgumentException if a value ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    static void checkValues(double[] values, int offset, int length, double[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        if(BatchValidation.invalidValues(values, offset, length, null) == 0) return;
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(!(values[i] > 0)) throw new IllegalArgumentException("values[" + i + "] must be > 0: " + values[i]);
+        }
+    }
+
+    /**
+     * Validates the ranges of a bulk call and ensures every quotient in range is strictly positive
+     *
+     * @throws IllegalArgumentException if a denominator = 0 or a quotient ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    static void checkQuotients(double[] valueNumerators, double[] valueDenominators, int offset, int length,
+                               double[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, valueNumerators.length);
+        Objects.checkFromIndexSize(offset, length, valueDenominators.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        if(BatchValidation.invalidQuotients(valueNumerators, valueDenominators, offset, length, null) == 0) return;
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(valueDenominators[i] == 0) throw new IllegalArgumentException("valueDenominators[" + i + "] must not be zero");
+            if(!(valueNumerators[i] / valueDenominators[i] > 0)){
+                throw new IllegalArgumentException("quotient at index " + i + " must be > 0: "
+                        + valueNumerators[i] + " / " + valueDenominators[i]);
+            }
+        }
+    }
+
+    /**
+     * Single precision counterpart of {@link #checkValues(double[], int, int, double[], int)}
+     */
+    static void checkValues(float[] values, int offset, int length, float[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(!(values[i] > 0)) throw new IllegalArgumentException("values[" + i + "] must be > 0: " + values[i]);
+        }
+    }
+
+    /**
+     * Single precision counterpart of {@link #checkQuotients(double[], double[], int, int, double[], int)}
+     */
+    static void checkQuotients(float[] valueNumerators, float[] valueDenominators, int offset, int length,
+                               float[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, valueNumerators.length);
+        Objects.checkFromIndexSize(offset, length, valueDenominators.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(valueDenominators[i] == 0) throw new IllegalArgumentException("valueDenominators[" + i + "] must not be zero");
+            if(!(valueNumerators[i] / valueDenominators[i] > 0)){
+                throw new IllegalArgumentException("quotient at index " + i + " must be > 0: "
+                        + valueNumerators[i] + " / " + valueDenominators[i]);
+            }
+        }
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = factor * (ln(values[o + i]) / lnBase)}
+     * <p>
+     * Kept branch-free and allocation-free so C2 can unroll it. A {@code factor} of 1
+     * reproduces {@link #logInBase(double, double)} bit-for-bit.
+     */
+    static void logScaled(double[] values, int offset, double lnBase, double factor,
+                          double[] destination, int destinationOffset, int length){
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = factor * (Math.log(values[offset + i]) / lnBase);
+        }
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = factor * (ln(valueNumerators[o + i] / valueDenominators[o + i]) / lnBase)}
+     * <p>
+     * Kept branch-free and allocation-free so C2 can unroll it.
+     */
+    static void logOfQuotientScaled(double[] valueNumerators, double[] valueDenominators, int offset,
+                                    double lnBase, double factor,
+                                    double[] destination, int destinationOffset, int length){
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = factor * (Math.log(valueNumerators[offset + i] / valueDenominators[offset + i]) / lnBase);
+        }
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = factor * (ln(values[o + i]) / lnBase)} for {@link BigInteger}s
+     */
+    static void logScaled(BigInteger[] values, int offset, double lnBase, double factor,
+                          double[] destination, int destinationOffset, int length){
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = factor * (ln(values[offset + i]) / lnBase);
+        }
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = factor * (ln(values[o + i]) / lnBase)} for {@link BigDecimal}s
+     */
+    static void logScaled(BigDecimal[] values, int offset, double lnBase, double factor,
+                          double[] destination, int destinationOffset, int length){
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = factor * (ln(values[offset + i]) / lnBase);
+        }
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = ln(valueNumerators[o + i] / valueDenominators[o + i]) / lnBase}
+     * for {@link BigInteger}s
+     */
+    static void logOfQuotientScaled(BigInteger[] valueNumerators, BigInteger[] valueDenominators, int offset,
+                                    double lnBase, double[] destination, int destinationOffset, int length){
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = lnOfQuotient(valueNumerators[offset + i], valueDenominators[offset + i]) / lnBase;
+        }
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = ln(valueNumerators[o + i] / valueDenominators[o + i]) / lnBase}
+     * for {@link BigDecimal}s
+     */
+    static void logOfQuotientScaled(BigDecimal[] valueNumerators, BigDecimal[] valueDenominators, int offset,
+                                    double lnBase, double[] destination, int destinationOffset, int length){
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = lnOfQuotient(valueNumerators[offset + i], valueDenominators[offset + i]) / lnBase;
+        }
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = ln(valueNumerators[o + i] / valueDenominators[o + i]) / lnBase}
+     * for {@code long}s
+     */
+    static void logOfQuotientScaled(long[] valueNumerators, long[] valueDenominators, int offset,
+                                    double lnBase, double[] destination, int destinationOffset, int length){
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = lnOfQuotient(valueNumerators[offset + i], valueDenominators[offset + i]) / lnBase;
+        }
+    }
+
+    /**
+     * Natural logarithm of a positive {@link BigInteger}, from its bit length and its leading 63 bits
+     */
+    static double ln(BigInteger value){
+        int bitLength = value.bitLength();
+        if(bitLength < Long.SIZE) return Math.log(value.longValue());
+        int shift = bitLength - (Long.SIZE - 1);
+        return lnOfScaled(value.shiftRight(shift).longValue(), shift, 0);
+    }
+
+    /**
+     * Natural logarithm of a positive {@link BigDecimal}, from its scale, the bit length of its
+     * unscaled value and the leading 63 bits of it
+     */
+    static double ln(BigDecimal value){
+        if(value.compareTo(HALF) >= 0 && value.compareTo(TWO) <= 0){
+            return Math.log1p(value.subtract(BigDecimal.ONE).doubleValue());
+        }
+        BigInteger unscaled = value.unscaledValue();
+        int shift = Math.max(0, unscaled.bitLength() - (Long.SIZE - 1));
+        return lnOfScaled(unscaled.shiftRight(shift).longValue(), shift, -(long) value.scale());
+    }
+
+    /**
+     * Natural logarithm of a positive {@link BigInteger} quotient, never rounding the quotient itself
+     */
+    static double lnOfQuotient(BigInteger numerator, BigInteger denominator){
+        numerator = numerator.abs();
+        denominator = denominator.abs();
+        int numeratorShift = Math.max(0, numerator.bitLength() - (Long.SIZE - 1));
+        int denominatorShift = Math.max(0, denominator.bitLength() - (Long.SIZE - 1));
+        double significand = (double) numerator.shiftRight(numeratorShift).longValue()
+                / denominator.shiftRight(denominatorShift).longValue();
+        double estimate = lnOfScaled(significand, (long) numeratorShift - denominatorShift, 0);
+        if(Math.abs(estimate) >= NEAR_ONE) return estimate;
+
+        return Math.log1p(new BigDecimal(numerator.subtract(denominator))
+                .divide(new BigDecimal(denominator), MathContext.DECIMAL128).doubleValue());
+    }
+
+    /**
+     * Natural logarithm of a positive {@link BigDecimal} quotient, never rounding the quotient itself
+     */
+    static double lnOfQuotient(BigDecimal numerator, BigDecimal denominator){
+        numerator = numerator.abs();
+        denominator = denominator.abs();
+        BigInteger numeratorUnscaled = numerator.unscaledValue(), denominatorUnscaled = denominator.unscaledValue();
+        int numeratorShift = Math.max(0, numeratorUnscaled.bitLength() - (Long.SIZE - 1));
+        int denominatorShift = Math.max(0, denominatorUnscaled.bitLength() - (Long.SIZE - 1));
+        double significand = (double) numeratorUnscaled.shiftRight(numeratorShift).longValue()
+                / denominatorUnscaled.shiftRight(denominatorShift).longValue();
+        double estimate = lnOfScaled(significand, (long) numeratorShift - denominatorShift,
+                (long) denominator.scale() - numerator.scale());
+        if(Math.abs(estimate) >= NEAR_ONE) return estimate;
+
+        return Math.log1p(numerator.subtract(denominator).divide(denominator, MathContext.DECIMAL128).doubleValue());
+    }
+
+    /**
+     * Natural logarithm of a positive {@code long} quotient, never rounding the quotient before the logarithm
+     * <p>
+     * Both operands are split exactly into double-doubles and divided in double-double, so the quotient
+     * carries a relative error near 2<sup>-104</sup>. Quotients in {@code [¾, 3/2)} take {@code log1p} of
+     * the exact difference {@code numerator - denominator} over the denominator, which cannot overflow
+     * since both operands have the same sign; the others take {@code log} of the leading part of the
+     * quotient. Either way the trailing part is added as a first-order correction, so the result is
+     * within about 1 ulp.
+     */
+    static double lnOfQuotient(long numerator, long denominator){
+        double quotient = (double) numerator / denominator;
+        if(quotient >= 0.75 && quotient < 1.5) return lnOfOnePlusQuotient(numerator - denominator, denominator);
+
+        double numeratorHigh = highPart(numerator), numeratorLow = lowPart(numerator, numeratorHigh);
+        double denominatorHigh = highPart(denominator), denominatorLow = lowPart(denominator, denominatorHigh);
+        double quotientHigh = numeratorHigh / denominatorHigh;
+        double quotientLow = (Math.fma(-quotientHigh, denominatorHigh, numeratorHigh) + numeratorLow
+                - quotientHigh * denominatorLow) / denominatorHigh;
+        return Math.log(quotientHigh) + quotientLow / quotientHigh;
+    }
+
+    /**
+     * {@code log1p(difference / denominator)} with the quotient divided in double-double
+     */
+    private static double lnOfOnePlusQuotient(long difference, long denominator){
+        double differenceHigh = highPart(difference), differenceLow = lowPart(difference, differenceHigh);
+        double denominatorHigh = highPart(denominator), denominatorLow = lowPart(denominator, denominatorHigh);
+        double tHigh = differenceHigh / denominatorHigh;
+        double tLow = (Math.fma(-tHigh, denominatorHigh, differenceHigh) + differenceLow
+                - tHigh * denominatorLow) / denominatorHigh;
+        return Math.log1p(tHigh) + tLow / (1 + tHigh);
+    }
+
+    /**
+     * Leading part of {@code value}: the rounded sum of its upper 32 bits and its lower 32 bits, both exact
+     */
+    private static double highPart(long value){
+        return (double) (value & 0xFFFFFFFF00000000L) + (double) (value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Trailing part of {@code value}, so that {@code high + low = value} exactly (fast two-sum)
+     */
+    private static double lowPart(long value, double high){
+        double upper = value & 0xFFFFFFFF00000000L;
+        return (value & 0xFFFFFFFFL) - (high - upper);
+    }
+
+    /**
+     * Validates a base and returns its natural logarithm, the allocation-free counterpart of
+     * {@code LogBase.of(base).lnBase()} for the bulk methods
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0 or {@code base} = 1
+     */
+    static double lnOfBase(double base){
+        checkArgument(base > 0, "base must be > 0: ", base);
+        checkArgument(base != 1, "base must not be equal to 1");
+        return Math.log(base);
+    }
+
+    /**
+     * Validates a base quotient and returns its natural logarithm, the allocation-free counterpart of
+     * {@code LogBase.ofQuotient(baseNumerator, baseDenominator).lnBase()} for the bulk methods
+     *
+     * @throws IllegalArgumentException if {@code baseDenominator} = 0, the base ≤ 0, or the base = 1
+     */
+    static double lnOfBaseQuotient(double baseNumerator, double baseDenominator){
+        checkArgument(baseDenominator != 0, "baseDenominator must not be zero");
+        return lnOfBase(baseNumerator/baseDenominator);
+    }
+
+    /**
+     * Validates a {@code long} base quotient and returns its natural logarithm
+     *
+     * @throws IllegalArgumentException if {@code baseDenominator} = 0, the base ≤ 0, or the base = 1
+     */
+    static double lnOfBaseQuotient(long baseNumerator, long baseDenominator){
+        checkArgument(baseDenominator != 0, "baseDenominator must not be zero");
+        if(Long.signum(baseNumerator) != Long.signum(baseDenominator)){
+            throw new IllegalArgumentException("base must be > 0: " + baseNumerator + " / " + baseDenominator);
+        }
+        checkArgument(baseNumerator != baseDenominator, "base must not be equal to 1");
+        return lnOfQuotient(baseNumerator, baseDenominator);
+    }
+
+    /**
+     * Natural logarithm of {@code significand * 2^twos * 10^tens}, for a positive finite {@code significand}
+     * <p>
+     * The significand is renormalized into {@code [√½, √2)} and the products of the exponents by
+     * {@code ln(2)} and {@code ln(10)} are carried in double-double, so the result keeps a relative
+     * error of a few ulps even when the exponent terms nearly cancel out.
+     */
+    static double lnOfScaled(double significand, long twos, long tens){
+        int exponent = Math.getExponent(significand);
+        double mantissa = Math.scalb(significand, -exponent);
+        if(mantissa > SQRT_2){
+            mantissa *= 0.5;
+            exponent++;
+        }
+        double t = twos + exponent;
+        double u = tens;
+
+        double high2 = t * LN_2_HIGH;
+        double low2 = Math.fma(t, LN_2_HIGH, -high2) + t * LN_2_LOW;
+        double high10 = u * LN_10_HIGH;
+        double low10 = Math.fma(u, LN_10_HIGH, -high10) + u * LN_10_LOW;
+
+        double sum = high2 + high10;
+        double virtual = sum - high2;
+        double sumError = (high2 - (sum - virtual)) + (high10 - virtual);
+
+        return sum + (Math.log(mantissa) + (low2 + low10 + sumError));
+    }
+
+    /**
+     * Ensures a {@link BigInteger} value is strictly positive, without formatting it unless it is rejected
+     */
+    private static void checkValue(BigInteger value){
+        if(value.signum() <= 0) throw new IllegalArgumentException("value must be > 0: " + value);
+    }
+
+    /**
+     * Ensures a {@link BigDecimal} value is strictly positive, without formatting it unless it is rejected
+     */
+    private static void checkValue(BigDecimal value){
+        if(value.signum() <= 0) throw new IllegalArgumentException("value must be > 0: " + value);
+    }
+
+    /**
+     * Ensures a {@link BigInteger} quotient with a non-zero denominator is strictly positive
+     */
+    private static void checkQuotient(BigInteger valueNumerator, BigInteger valueDenominator){
+        if(valueNumerator.signum() != valueDenominator.signum()){
+            throw new IllegalArgumentException("value must be > 0: " + valueNumerator + " / " + valueDenominator);
+        }
+    }
+
+    /**
+     * Ensures a {@link BigDecimal} quotient with a non-zero denominator is strictly positive
+     */
+    private static void checkQuotient(BigDecimal valueNumerator, BigDecimal valueDenominator){
+        if(valueNumerator.signum() != valueDenominator.signum()){
+            throw new IllegalArgumentException("value must be > 0: " + valueNumerator + " / " + valueDenominator);
+        }
+    }
+
+    /**
+     * Ensures a {@code long} quotient with a non-zero denominator is strictly positive
+     */
+    private static void checkQuotient(long valueNumerator, long valueDenominator){
+        if(Long.signum(valueNumerator) != Long.signum(valueDenominator)){
+            throw new IllegalArgumentException("value must be > 0: " + valueNumerator + " / " + valueDenominator);
+        }
+    }
+
+    /**
+     * {@link BigInteger} counterpart of {@link #checkValues(double[], int, int, double[], int)}
+     */
+    static void checkValues(BigInteger[] values, int offset, int length, double[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(values[i].signum() <= 0) throw new IllegalArgumentException("values[" + i + "] must be > 0: " + values[i]);
+        }
+    }
+
+    /**
+     * {@link BigDecimal} counterpart of {@link #checkValues(double[], int, int, double[], int)}
+     */
+    static void checkValues(BigDecimal[] values, int offset, int length, double[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(values[i].signum() <= 0) throw new IllegalArgumentException("values[" + i + "] must be > 0: " + values[i]);
+        }
+    }
+
+    /**
+     * {@link BigInteger} counterpart of {@link #checkQuotients(double[], double[], int, int, double[], int)}
+     */
+    static void checkQuotients(BigInteger[] valueNumerators, BigInteger[] valueDenominators, int offset, int length,
+                               double[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, valueNumerators.length);
+        Objects.checkFromIndexSize(offset, length, valueDenominators.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(valueDenominators[i].signum() == 0) throw new IllegalArgumentException("valueDenominators[" + i + "] must not be zero");
+            if(valueNumerators[i].signum() != valueDenominators[i].signum()){
+                throw new IllegalArgumentException("quotient at index " + i + " must be > 0: "
+                        + valueNumerators[i] + " / " + valueDenominators[i]);
+            }
+        }
+    }
+
+    /**
+     * {@link BigDecimal} counterpart of {@link #checkQuotients(double[], double[], int, int, double[], int)}
+     */
+    static void checkQuotients(BigDecimal[] valueNumerators, BigDecimal[] valueDenominators, int offset, int length,
+                               double[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, valueNumerators.length);
+        Objects.checkFromIndexSize(offset, length, valueDenominators.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(valueDenominators[i].signum() == 0) throw new IllegalArgumentException("valueDenominators[" + i + "] must not be zero");
+            if(valueNumerators[i].signum() != valueDenominators[i].signum()){
+                throw new IllegalArgumentException("quotient at index " + i + " must be > 0: "
+                        + valueNumerators[i] + " / " + valueDenominators[i]);
+            }
+        }
+    }
+
+    /**
+     * {@code long} counterpart of {@link #checkQuotients(double[], double[], int, int, double[], int)}
+     */
+    static void checkQuotients(long[] valueNumerators, long[] valueDenominators, int offset, int length,
+                               double[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, valueNumerators.length);
+        Objects.checkFromIndexSize(offset, length, valueDenominators.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(valueDenominators[i] == 0) throw new IllegalArgumentException("valueDenominators[" + i + "] must not be zero");
+            if(Long.signum(valueNumerators[i]) != Long.signum(valueDenominators[i])){
+                throw new IllegalArgumentException("quotient at index " + i + " must be > 0: "
+                        + valueNumerators[i] + " / " + valueDenominators[i]);
+            }
+        }
+    }
+
     /**
      * Ensures the provided condition is {@code true}, otherwise throws {@link IllegalArgumentException}
      *
@@ -196,9 +1352,38 @@ public final class Logarithm {
      * @param message exception message if validation fails
      * @throws IllegalArgumentException if {@code shouldBeTrue} is false
      */
-    private static void checkArgument(boolean shouldBeTrue, String message){
+    static void checkArgument(boolean shouldBeTrue, String message){
         if(!shouldBeTrue) throw new IllegalArgumentException(message);
     }
+
+    /**
+     * Ensures the provided condition is {@code true}, otherwise throws {@link IllegalArgumentException}
+     * <p>
+     * The message is concatenated only on failure, so a passing check is a compare and never allocates.
+     *
+     * @param shouldBeTrue condition to validate
+     * @param message exception message if validation fails, followed by {@code value}
+     * @param value offending value appended to the message
+     * @throws IllegalArgumentException if {@code shouldBeTrue} is false
+     */
+    static void checkArgument(boolean shouldBeTrue, String message, double value){
+        if(!shouldBeTrue) throw new IllegalArgumentException(message + value);
+    }
+
+    /**
+     * {@code long} counterpart of {@link #checkArgument(boolean, String, double)}, for integer arguments
+     */
+    static void checkArgument(boolean shouldBeTrue, String message, long value){
+        if(!shouldBeTrue) throw new IllegalArgumentException(message + value);
+    }
+
+    /**
+     * Reference counterpart of {@link #checkArgument(boolean, String, double)}, for {@link BigInteger}s,
+     * {@link BigDecimal}s and other objects, whose {@code toString} is only called on failure
+     */
+    static void checkArgument(boolean shouldBeTrue, String message, Object value){
+        if(!shouldBeTrue) throw new IllegalArgumentException(message + value);
+    }
 }
 
 
@@ -0,0 +1,104 @@
+/**
+ *  Logarithm Engine
+ * <p>
+ * Common shape of the alternative natural-logarithm implementations of the toolkit.
+ * An engine only supplies {@link #ln(double)}; the six methods of {@link Logarithm}
+ * are derived from it with the same formulas and the same validation.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * The derived methods validate their arguments exactly like {@link Logarithm} and throw
+ * {@link IllegalArgumentException} if a precondition is violated. {@link #ln(double)} itself
+ * does not validate, and follows {@link Math#log} for special values.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * The accuracy of the derived methods follows from the accuracy of {@link #ln(double)}.
+ * Since
+ * <pre>
+ *     log<sub>base</sub>(value) = ln(value) / ln(base)
+ * </pre>
+ * the relative errors on both logarithms add up.
+ *
+ * @author owl
+ */
+public interface LogarithmEngine {
+
+    /**
+     * Computes the natural logarithm of {@code value}, without validation
+     *
+     * @param value the value to compute the logarithm for
+     *
+     * @return the natural logarithm of {@code value}; {@code NaN} if {@code value} &lt; 0 or is {@code NaN},
+     *         {@code -Infinity} if {@code value} = 0, {@code Infinity} if {@code value} is {@code Infinity}
+     */
+    double ln(double value);
+
+    /**
+     * Computes the logarithm of {@code value} with a specified {@code base}
+     *
+     * @see Logarithm#logInBase(double, double)
+     */
+    default double logInBase(double value, double base){
+        Logarithm.checkArgument(base > 0, "base must be > 0: ", base);
+        Logarithm.checkArgument(base != 1, "base must not be equal to 1");
+        Logarithm.checkArgument(value > 0, "value must be > 0: ", value);
+
+        return ln(value) / ln(base);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} to the power of {@code power} with base {@code base}
+     *
+     * @see Logarithm#logWithPoweredValue(double, double, double)
+     */
+    default double logWithPoweredValue(double value, double power, double base){
+        return power * logInBase(value, base);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} with the base to the power {@code power}
+     *
+     * @see Logarithm#logWithPoweredBase(double, double, double)
+     */
+    default double logWithPoweredBase(double value, double base, double power){
+        Logarithm.checkArgument(power != 1, "power must not be 1");
+        return (1/power) * logInBase(value, base);
+    }
+
+    /**
+     * Computes the logarithm of the quotient {@code valueNumerator / valueDenominator} with the base {@code base}
+     *
+     * @see Logarithm#logOfQuotient(double, double, double)
+     */
+    default double logOfQuotient(double valueNumerator, double valueDenominator, double base){
+        Logarithm.checkArgument(valueDenominator != 0, "valueDenominator must not be zero");
+        return logInBase(valueNumerator/valueDenominator, base);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} with the base defined as the quotient
+     * {@code baseNumerator / baseDenominator}
+     *
+     * @see Logarithm#logWithBaseQuotient(double, double, double)
+     */
+    default double logWithBaseQuotient(double value, double baseNumerator, double baseDenominator){
+        Logarithm.checkArgument(baseDenominator != 0, "baseDenominator is zero");
+        return logInBase(value, baseNumerator/baseDenominator);
+    }
+
+    /**
+     * Computes the logarithm of the quotient {@code valueNumerator / valueDenominator}
+     * with the base defined as the quotient {@code baseNumerator / baseDenominator}
+     *
+     * @see Logarithm#logOfQuotientAndBaseQuotient(double, double, double, double)
+     */
+    default double logOfQuotientAndBaseQuotient(double valueNumerator, double valueDenominator,
+                                                double baseNumerator, double baseDenominator){
+        Logarithm.checkArgument(valueDenominator != 0, "Illegal given valueDenominator value");
+        Logarithm.checkArgument(baseDenominator != 0, "baseDenominator must not be zero");
+        return logInBase(valueNumerator/valueDenominator, baseNumerator/baseDenominator);
+    }
+}
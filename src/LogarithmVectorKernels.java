@@ -0,0 +1,378 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ *  SIMD Logarithm Kernels
+ * <p>
+ * Unchecked bulk kernels built on the {@code jdk.incubator.vector} API, using the
+ * platform's preferred species. The main loop processes whole vectors and the tail
+ * is handled with a single masked iteration, so no scalar epilogue is needed.
+ * <p>
+ * This class references incubator types and must only be loaded once
+ * {@link VectorizedLogarithm} has confirmed the module is present.
+ *
+ * @author owl
+ */
+final class LogarithmVectorKernels {
+
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LogarithmVectorKernels(){}
+
+    /**
+     * Computes {@code destination[d + i] = ln(values[o + i]) * scale}
+     */
+    static void logScaled(double[] values, int offset, double scale,
+                          double[] destination, int destinationOffset, int length){
+        int step = DOUBLE_SPECIES.length();
+        int upperBound = DOUBLE_SPECIES.loopBound(length);
+        int i = 0;
+        for(; i < upperBound; i += step){
+            DoubleVector.fromArray(DOUBLE_SPECIES, values, offset + i)
+                    .lanewise(VectorOperators.LOG)
+                    .mul(scale)
+                    .intoArray(destination, destinationOffset + i);
+        }
+        if(i < length){
+            VectorMask<Double> tail = DOUBLE_SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(DOUBLE_SPECIES, values, offset + i, tail)
+                    .lanewise(VectorOperators.LOG)
+                    .mul(scale)
+                    .intoArray(destination, destinationOffset + i, tail);
+        }
+    }
+
+    /**
+     * Computes {@code destination[d + i] = ln(valueNumerators[o + i] / valueDenominators[o + i]) * scale}
+     */
+    static void logOfQuotientScaled(double[] valueNumerators, double[] valueDenominators, int offset, double scale,
+                                    double[] destination, int destinationOffset, int length){
+        int step = DOUBLE_SPECIES.length();
+        int upperBound = DOUBLE_SPECIES.loopBound(length);
+        int i = 0;
+        for(; i < upperBound; i += step){
+            DoubleVector denominators = DoubleVector.fromArray(DOUBLE_SPECIES, valueDenominators, offset + i);
+            DoubleVector.fromArray(DOUBLE_SPECIES, valueNumerators, offset + i)
+                    .div(denominators)
+                    .lanewise(VectorOperators.LOG)
+                    .mul(scale)
+                    .intoArray(destination, destinationOffset + i);
+        }
+        if(i < length){
+            VectorMask<Double> tail = DOUBLE_SPECIES.indexInRange(i, length);
+            DoubleVector denominators = DoubleVector.fromArray(DOUBLE_SPECIES, valueDenominators, offset + i, tail);
+            DoubleVector.fromArray(DOUBLE_SPECIES, valueNumerators, offset + i, tail)
+                    .div(denominators, tail)
+                    .lanewise(VectorOperators.LOG, tail)
+                    .mul(scale)
+                    .intoArray(destination, destinationOffset + i, tail);
+        }
+    }
+
+    /**
+     * Computes {@code destination[d + i] = ln(values[o + i]) * scale} in single precision
+     */
+    static void logScaled(float[] values, int offset, float scale,
+                          float[] destination, int destinationOffset, int length){
+        int step = FLOAT_SPECIES.length();
+        int upperBound = FLOAT_SPECIES.loopBound(length);
+        int i = 0;
+        for(; i < upperBound; i += step){
+            FloatVector.fromArray(FLOAT_SPECIES, values, offset + i)
+                    .lanewise(VectorOperators.LOG)
+                    .mul(scale)
+                    .intoArray(destination, destinationOffset + i);
+        }
+        if(i < length){
+            VectorMask<Float> tail = FLOAT_SPECIES.indexInRange(i, length);
+            FloatVector.fromArray(FLOAT_SPECIES, values, offset + i, tail)
+                    .lanewise(VectorOperators.LOG)
+                    .mul(scale)
+                    .intoArray(destination, destinationOffset + i, tail);
+        }
+    }
+
+    /**
+     * Computes {@code destination[d + i] = ln(valueNumerators[o + i] / valueDenominators[o + i]) * scale}
+     * in single precision
+     */
+    static void logOfQuotientScaled(float[] valueNumerators, float[] valueDenominators, int offset, float scale,
+                                    float[] destination, int destinationOffset, int length){
+        int step = FLOAT_SPECIES.length();
+        int upperBound = FLOAT_SPECIES.loopBound(length);
+        int i = 0;
+        for(; i < upperBound; i += step){
+            lnOfQuotient(FloatVector.fromArray(FLOAT_SPECIES, valueNumerators, offset + i),
+                    FloatVector.fromArray(FLOAT_SPECIES, valueDenominators, offset + i))
+                    .mul(scale)
+                    .intoArray(destination, destinationOffset + i);
+        }
+        if(i < length){
+            VectorMask<Float> tail = FLOAT_SPECIES.indexInRange(i, length);
+            lnOfQuotient(FloatVector.fromArray(FLOAT_SPECIES, valueNumerators, offset + i, tail),
+                    FloatVector.fromArray(FLOAT_SPECIES, valueDenominators, offset + i, tail))
+                    .mul(scale)
+                    .intoArray(destination, destinationOffset + i, tail);
+        }
+    }
+
+    /**
+     * Natural logarithm of {@code numerators / denominators} in single precision, corrected for the
+     * rounding of the quotient
+     * <p>
+     * Near 1 the rounding of {@code q = n / d} is as large as the logarithm itself, so the exact residual
+     * {@code r = n - q d}, one FMA, is added back as {@code ln(n / d) ≈ ln(q) + r / n}. Elsewhere the
+     * correction is below an ulp of the result, and is skipped so an infinite quotient stays infinite.
+     */
+    private static FloatVector lnOfQuotient(FloatVector numerators, FloatVector denominators){
+        FloatVector quotients = numerators.div(denominators);
+        VectorMask<Float> nearOne = quotients.compare(VectorOperators.GE, 0.5f).and(quotients.compare(VectorOperators.LE, 2f));
+        FloatVector corrections = quotients.neg().fma(denominators, numerators).div(numerators);
+        return quotients.lanewise(VectorOperators.LOG).add(corrections, nearOne);
+    }
+
+    /**
+     * Computes {@code ln(Σ e^(scale * values[o + i]))}, shifting by the maximum
+     */
+    static double lnSumExp(double[] values, int offset, double scale, int length){
+        double max = max(values, offset, scale, length);
+        if(!Double.isFinite(max)) return max;
+        return max + Math.log(shiftedSum(values, offset, scale, max, length));
+    }
+
+    /**
+     * Computes {@code max(scale * values[o + i])}, {@code NaN} if any element is {@code NaN}
+     */
+    static double max(double[] values, int offset, double scale, int length){
+        int step = DOUBLE_SPECIES.length();
+        int upperBound = DOUBLE_SPECIES.loopBound(length);
+        DoubleVector max = DoubleVector.broadcast(DOUBLE_SPECIES, Double.NEGATIVE_INFINITY);
+        int i = 0;
+        for(; i < upperBound; i += step){
+            max = max.max(DoubleVector.fromArray(DOUBLE_SPECIES, values, offset + i).mul(scale));
+        }
+        if(i < length){
+            VectorMask<Double> tail = DOUBLE_SPECIES.indexInRange(i, length);
+            max = max.lanewise(VectorOperators.MAX,
+                    DoubleVector.fromArray(DOUBLE_SPECIES, values, offset + i, tail).mul(scale), tail);
+        }
+        return max.reduceLanes(VectorOperators.MAX);
+    }
+
+    /**
+     * Computes {@code Σ e^(scale * values[o + i] - max)}
+     */
+    static double shiftedSum(double[] values, int offset, double scale, double max, int length){
+        int step = DOUBLE_SPECIES.length();
+        int upperBound = DOUBLE_SPECIES.loopBound(length);
+        DoubleVector sum = DoubleVector.zero(DOUBLE_SPECIES);
+        int i = 0;
+        for(; i < upperBound; i += step){
+            sum = sum.add(DoubleVector.fromArray(DOUBLE_SPECIES, values, offset + i)
+                    .mul(scale)
+                    .sub(max)
+                    .lanewise(VectorOperators.EXP));
+        }
+        if(i < length){
+            VectorMask<Double> tail = DOUBLE_SPECIES.indexInRange(i, length);
+            sum = sum.add(DoubleVector.fromArray(DOUBLE_SPECIES, values, offset + i, tail)
+                    .mul(scale)
+                    .sub(max)
+                    .lanewise(VectorOperators.EXP, tail), tail);
+        }
+        return sum.reduceLanes(VectorOperators.ADD);
+    }
+
+    /**
+     * Computes {@code destination[d + i] = values[o + i] - shift}
+     */
+    static void shift(double[] values, int offset, double shift, double[] destination, int destinationOffset, int length){
+        int step = DOUBLE_SPECIES.length();
+        int upperBound = DOUBLE_SPECIES.loopBound(length);
+        int i = 0;
+        for(; i < upperBound; i += step){
+            DoubleVector.fromArray(DOUBLE_SPECIES, values, offset + i)
+                    .sub(shift)
+                    .intoArray(destination, destinationOffset + i);
+        }
+        if(i < length){
+            VectorMask<Double> tail = DOUBLE_SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(DOUBLE_SPECIES, values, offset + i, tail)
+                    .sub(shift)
+                    .intoArray(destination, destinationOffset + i, tail);
+        }
+    }
+
+    /**
+     * Computes {@code destination[d + i] = logit(probabilities[o + i]) * scale}, with the branches of
+     * {@link Logit} evaluated on every lane and blended
+     */
+    static void logitScaled(double[] probabilities, int offset, double scale,
+                            double[] destination, int destinationOffset, int length){
+        int step = DOUBLE_SPECIES.length();
+        int upperBound = DOUBLE_SPECIES.loopBound(length);
+        int i = 0;
+        for(; i < upperBound; i += step){
+            logit(DoubleVector.fromArray(DOUBLE_SPECIES, probabilities, offset + i))
+                    .mul(scale)
+                    .intoArray(destination, destinationOffset + i);
+        }
+        if(i < length){
+            VectorMask<Double> tail = DOUBLE_SPECIES.indexInRange(i, length);
+            logit(DoubleVector.fromArray(DOUBLE_SPECIES, probabilities, offset + i, tail))
+                    .mul(scale)
+                    .intoArray(destination, destinationOffset + i, tail);
+        }
+    }
+
+    /**
+     * Computes {@code destination[d + i] = ln σ(values[o + i] * inputScale) * outputScale}
+     */
+    static void logSigmoidScaled(double[] values, int offset, double inputScale, double outputScale,
+                                 double[] destination, int destinationOffset, int length){
+        int step = DOUBLE_SPECIES.length();
+        int upperBound = DOUBLE_SPECIES.loopBound(length);
+        int i = 0;
+        for(; i < upperBound; i += step){
+            logSigmoid(DoubleVector.fromArray(DOUBLE_SPECIES, values, offset + i).mul(inputScale))
+                    .mul(outputScale)
+                    .intoArray(destination, destinationOffset + i);
+        }
+        if(i < length){
+            VectorMask<Double> tail = DOUBLE_SPECIES.indexInRange(i, length);
+            logSigmoid(DoubleVector.fromArray(DOUBLE_SPECIES, values, offset + i, tail).mul(inputScale))
+                    .mul(outputScale)
+                    .intoArray(destination, destinationOffset + i, tail);
+        }
+    }
+
+    /**
+     * Sets bit {@code k} of the bitset if {@code values[o + k]} ≤ 0 or is {@code NaN}, returns the number of bits set
+     */
+    static int invalidValues(double[] values, int offset, int length, long[] invalid){
+        return scan(Check.VALUE, values, values, offset, length, invalid);
+    }
+
+    /**
+     * Sets bit {@code k} of the bitset if {@code bases[o + k]} ≤ 0, = 1 or is {@code NaN}, returns the number of bits set
+     */
+    static int invalidBases(double[] bases, int offset, int length, long[] invalid){
+        return scan(Check.BASE, bases, bases, offset, length, invalid);
+    }
+
+    /**
+     * Sets bit {@code k} of the bitset if {@code powers[o + k]} = 1, returns the number of bits set
+     */
+    static int invalidPowers(double[] powers, int offset, int length, long[] invalid){
+        return scan(Check.POWER, powers, powers, offset, length, invalid);
+    }
+
+    /**
+     * Sets bit {@code k} of the bitset if {@code denominators[o + k]} = 0 or the quotient ≤ 0 or is {@code NaN},
+     * returns the number of bits set
+     */
+    static int invalidQuotients(double[] numerators, double[] denominators, int offset, int length, long[] invalid){
+        return scan(Check.QUOTIENT, numerators, denominators, offset, length, invalid);
+    }
+
+    /**
+     * Sets bit {@code k} of the bitset if {@code denominators[o + k]} = 0 or the quotient ≤ 0, = 1 or is {@code NaN},
+     * returns the number of bits set
+     */
+    static int invalidBaseQuotients(double[] numerators, double[] denominators, int offset, int length, long[] invalid){
+        return scan(Check.BASE_QUOTIENT, numerators, denominators, offset, length, invalid);
+    }
+
+    /**
+     * Preconditions checked by {@link #scan}
+     */
+    private enum Check {
+        VALUE, BASE, POWER, QUOTIENT, BASE_QUOTIENT
+    }
+
+    /**
+     * Writes the bitset 64 positions at a time, one {@code toLong()} per vector, and returns the number
+     * of bits set; every load is masked to the lanes left in the word, so a range needs no scalar tail
+     * <p>
+     * The precondition is selected by a switch inside the loop, and every vector is reduced to its bits
+     * before leaving its case: a vector never crosses a call nor merges with another, so the JIT never
+     * needs escape analysis to keep it in a register, whichever callers share this method.
+     */
+    private static int scan(Check check, double[] first, double[] second, int offset, int length, long[] invalid){
+        int step = DOUBLE_SPECIES.length();
+        int count = 0;
+        for(int word = 0, from = 0; from < length; word++, from += 64){
+            int size = Math.min(64, length - from);
+            long bits = 0;
+            for(int k = 0; k < size; k += step){
+                int i = offset + from + k;
+                VectorMask<Double> lanes = DOUBLE_SPECIES.indexInRange(k, size);
+                DoubleVector a = DoubleVector.fromArray(DOUBLE_SPECIES, first, i, lanes);
+                long lane = switch(check){
+                    case VALUE -> notPositive(a).and(lanes).toLong();
+                    case BASE -> notBase(a).and(lanes).toLong();
+                    case POWER -> a.eq(1).and(lanes).toLong();
+                    case QUOTIENT, BASE_QUOTIENT -> {
+                        DoubleVector b = DoubleVector.fromArray(DOUBLE_SPECIES, second, i, lanes);
+                        DoubleVector quotient = a.div(b);
+                        long notQuotient = check == Check.QUOTIENT ? notPositive(quotient).toLong() : notBase(quotient).toLong();
+                        yield (b.eq(0).toLong() | notQuotient) & lanes.toLong();
+                    }
+                };
+                bits |= lane << k;
+            }
+            count += store(invalid, word, bits);
+        }
+        return count;
+    }
+
+    /**
+     * Natural logit of each lane, on {@code s = min(p, 1 - p)} and negated above ½
+     */
+    private static DoubleVector logit(DoubleVector p){
+        DoubleVector s = p.min(p.neg().add(1));
+        DoubleVector complement = s.neg().add(1);
+        DoubleVector far = s.div(complement).lanewise(VectorOperators.LOG);
+        DoubleVector near = s.mul(2).sub(1).div(complement).lanewise(VectorOperators.LOG1P);
+        return near.blend(far, s.lt(0.25))
+                .lanewise(VectorOperators.NEG, p.compare(VectorOperators.GT, 0.5));
+    }
+
+    /**
+     * Natural log-sigmoid of each lane, {@code min(x, 0) - log1p(e^-|x|)}
+     */
+    private static DoubleVector logSigmoid(DoubleVector x){
+        return x.min(0).sub(x.abs().neg()
+                .lanewise(VectorOperators.EXP)
+                .lanewise(VectorOperators.LOG1P));
+    }
+
+    /**
+     * Lanes ≤ 0 or {@code NaN}: {@code NaN} fails every compare, so the complement of {@code > 0} catches it
+     */
+    private static VectorMask<Double> notPositive(DoubleVector v){
+        return v.compare(VectorOperators.GT, 0).not();
+    }
+
+    /**
+     * Lanes ≤ 0, = 1 or {@code NaN}
+     */
+    private static VectorMask<Double> notBase(DoubleVector v){
+        return notPositive(v).or(v.eq(1));
+    }
+
+    /**
+     * Stores a word of the bitset, if any, and returns its number of bits set
+     */
+    private static int store(long[] invalid, int word, long bits){
+        if(invalid != null) invalid[word] = bits;
+        return Long.bitCount(bits);
+    }
+}
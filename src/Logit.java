@@ -0,0 +1,404 @@
+import java.util.Objects;
+
+/**
+ *  Logit Utility Class
+ * <p>
+ * Fused logit, inverse logit, log-sigmoid and log-odds-ratio, as scalar functions and as bulk
+ * kernels over arrays, in any base.
+ * <pre>
+ *     logit(p)            = ln(p / (1 - p))
+ *     σ(x)                = 1 / (1 + e<sup>-x</sup>)
+ *     ln σ(x)             = -ln(1 + e<sup>-x</sup>)
+ *     logOddsRatio(p, q)  = logit(p) - logit(q)
+ * </pre>
+ * {@link Logarithm#logOfQuotient(double, double, double) Logarithm.logOfQuotient(p, 1 - p, base)}
+ * computes the logit too, but divides first: the quotient rounds and the logarithm of a quotient
+ * close to 1 loses every correct digit, so it is inaccurate for {@code p} close to ½, and for
+ * {@code p} close to 1 whenever {@code 1 - p} was itself rounded upstream.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * The logit is odd around ½, so it is evaluated on {@code s = min(p, 1 - p)}, where {@code 1 - p}
+ * is exact for {@code p ≥ ½}:
+ * <pre>
+ *     s &lt; ¼   :   ln(s / (1 - s))              the result is below -ln(3), the quotient's rounding is harmless
+ *     s ≥ ¼   :   log1p((2s - 1) / (1 - s))    2s - 1 is exact, no intermediate close to 1
+ * </pre>
+ * The log-odds-ratio is fused the same way: {@code p(1 - q) - q(1 - p) = p - q}, so that
+ * <pre>
+ *     logOddsRatio(p, q)  = log1p((p - q) / (q (1 - p)))
+ * </pre>
+ * which is accurate when {@code p} and {@code q} are close, exactly where the difference of two
+ * logits cancels. The log-sigmoid never exponentiates a positive number:
+ * {@code ln σ(x) = min(x, 0) - log1p(e<sup>-|x|</sup>)}.
+ * <p>
+ * The bulk kernels are branch-light loops over primitive arrays, and their SIMD counterparts are in
+ * {@link VectorizedLogarithm}. A base is applied as a single multiplication per element.
+ * <p>
+ * This class is <b>non-instantiable</b>.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * Probabilities must lie in {@code [0, 1]}: methods throw {@link IllegalArgumentException} otherwise,
+ * or for {@code NaN}, and bulk methods validate every element before writing anything. Log-odds are
+ * not validated, a {@code NaN} gives {@code NaN}.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * {@link #logit(double)} and {@link #logSigmoid(double)} are within a few ulps over their whole
+ * domain. {@code logit(0) = -Infinity} and {@code logit(1) = Infinity}; the log-odds-ratio of two
+ * equal certainties ({@code 0} and {@code 0}, or {@code 1} and {@code 1}) is {@code NaN}.
+ *
+ * @author owl
+ */
+public final class Logit {
+
+    /** Below this bound, the quotient {@code s / (1 - s)} is far enough from 1 to take its logarithm */
+    private static final double QUARTER = 0.25;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private Logit(){}
+
+    /**
+     * Computes the natural logit of {@code p}
+     *
+     * @param p the probability (must be in [0, 1])
+     *
+     * @return {@code ln(p / (1 - p))}
+     *
+     * @throws IllegalArgumentException if {@code p} is outside [0, 1] or {@code NaN}
+     */
+    public static double logit(double p){
+        checkProbability(p);
+        return lnLogit(p);
+    }
+
+    /**
+     * Computes the logit of {@code p} in {@code base}
+     *
+     * @param p the probability (must be in [0, 1])
+     * @param base the base of the logarithm
+     *
+     * @return {@code log_base(p / (1 - p))}
+     *
+     * @throws IllegalArgumentException if {@code p} is outside [0, 1] or {@code NaN}
+     */
+    public static double logit(double p, LogBase base){
+        checkProbability(p);
+        return lnLogit(p) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the inverse of the natural logit, the logistic sigmoid
+     *
+     * @param x the natural log-odds
+     *
+     * @return {@code 1 / (1 + e^-x)}
+     */
+    public static double inverseLogit(double x){
+        return sigmoid(x);
+    }
+
+    /**
+     * Computes the inverse of the logit in {@code base}
+     *
+     * @param x the log-odds in {@code base}
+     * @param base the base of {@code x}
+     *
+     * @return {@code 1 / (1 + base^-x)}
+     */
+    public static double inverseLogit(double x, LogBase base){
+        return sigmoid(x * base.lnBase());
+    }
+
+    /**
+     * Computes the natural logarithm of the logistic sigmoid
+     *
+     * @param x the natural log-odds
+     *
+     * @return {@code ln(1 / (1 + e^-x))}, never {@code -Infinity} for a finite {@code x}
+     */
+    public static double logSigmoid(double x){
+        return lnSigmoid(x);
+    }
+
+    /**
+     * Computes the logarithm in {@code base} of the inverse logit in {@code base}
+     *
+     * @param x the log-odds in {@code base}
+     * @param base the base of {@code x} and of the result
+     *
+     * @return {@code log_base(1 / (1 + base^-x))}
+     */
+    public static double logSigmoid(double x, LogBase base){
+        return lnSigmoid(x * base.lnBase()) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the natural log-odds-ratio of {@code p} against {@code q}
+     *
+     * @param p the first probability (must be in [0, 1])
+     * @param q the second probability (must be in [0, 1])
+     *
+     * @return {@code ln((p / (1 - p)) / (q / (1 - q)))}
+     *
+     * @throws IllegalArgumentException if a probability is outside [0, 1] or {@code NaN}
+     */
+    public static double logOddsRatio(double p, double q){
+        checkProbability(p);
+        checkProbability(q);
+        return lnOddsRatio(p, q);
+    }
+
+    /**
+     * Computes the log-odds-ratio of {@code p} against {@code q} in {@code base}
+     *
+     * @param p the first probability (must be in [0, 1])
+     * @param q the second probability (must be in [0, 1])
+     * @param base the base of the logarithm
+     *
+     * @return {@code log_base((p / (1 - p)) / (q / (1 - q)))}
+     *
+     * @throws IllegalArgumentException if a probability is outside [0, 1] or {@code NaN}
+     */
+    public static double logOddsRatio(double p, double q, LogBase base){
+        checkProbability(p);
+        checkProbability(q);
+        return lnOddsRatio(p, q) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the natural logit of a range of {@code probabilities} and stores it in {@code destination}
+     *
+     * @param probabilities the probabilities (each must be in [0, 1])
+     * @param offset index of the first element read from {@code probabilities}
+     * @param destination the array receiving the logits
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if a probability is outside [0, 1] or {@code NaN}
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    public static void logit(double[] probabilities, int offset, double[] destination, int destinationOffset, int length){
+        checkProbabilities(probabilities, offset, length, destination, destinationOffset);
+        logitScaled(probabilities, offset, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logit in {@code base} of a range of {@code probabilities} and stores it in {@code destination}
+     *
+     * @param base the base of the logarithm
+     *
+     * @see #logit(double[], int, double[], int, int)
+     */
+    public static void logit(double[] probabilities, int offset, double[] destination, int destinationOffset, int length,
+                             LogBase base){
+        checkProbabilities(probabilities, offset, length, destination, destinationOffset);
+        logitScaled(probabilities, offset, base.inverseLnBase(), destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the inverse of the natural logit of a range of {@code values} and stores it in {@code destination}
+     *
+     * @param values the natural log-odds
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the probabilities
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    public static void inverseLogit(double[] values, int offset, double[] destination, int destinationOffset, int length){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        sigmoidScaled(values, offset, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the inverse of the logit in {@code base} of a range of {@code values} and stores it in {@code destination}
+     *
+     * @param base the base of the log-odds
+     *
+     * @see #inverseLogit(double[], int, double[], int, int)
+     */
+    public static void inverseLogit(double[] values, int offset, double[] destination, int destinationOffset, int length,
+                                    LogBase base){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        sigmoidScaled(values, offset, base.lnBase(), destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the natural log-sigmoid of a range of {@code values} and stores it in {@code destination}
+     * <p>
+     * {@code destination} may be {@code values} itself, for an in-place transform.
+     *
+     * @param values the natural log-odds
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving {@code ln σ(values[i])}
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    public static void logSigmoid(double[] values, int offset, double[] destination, int destinationOffset, int length){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        logSigmoidScaled(values, offset, 1, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the log-sigmoid in {@code base} of a range of {@code values} and stores it in {@code destination}
+     *
+     * @param base the base of the log-odds and of the results
+     *
+     * @see #logSigmoid(double[], int, double[], int, int)
+     */
+    public static void logSigmoid(double[] values, int offset, double[] destination, int destinationOffset, int length,
+                                  LogBase base){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        logSigmoidScaled(values, offset, base.lnBase(), base.inverseLnBase(), destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the natural log-odds-ratios of two ranges of probabilities and stores them in {@code destination}
+     *
+     * @param p the first probabilities (each must be in [0, 1])
+     * @param q the second probabilities (each must be in [0, 1])
+     * @param offset index of the first element read from both {@code p} and {@code q}
+     * @param destination the array receiving {@code logit(p[i]) - logit(q[i])}
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if a probability is outside [0, 1] or {@code NaN}
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    public static void logOddsRatio(double[] p, double[] q, int offset, double[] destination, int destinationOffset,
+                                    int length){
+        checkProbabilities(p, offset, length, destination, destinationOffset);
+        checkProbabilities(q, offset, length, destination, destinationOffset);
+        oddsRatioScaled(p, q, offset, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the log-odds-ratios in {@code base} of two ranges of probabilities and stores them in {@code destination}
+     *
+     * @param base the base of the logarithm
+     *
+     * @see #logOddsRatio(double[], double[], int, double[], int, int)
+     */
+    public static void logOddsRatio(double[] p, double[] q, int offset, double[] destination, int destinationOffset,
+                                    int length, LogBase base){
+        checkProbabilities(p, offset, length, destination, destinationOffset);
+        checkProbabilities(q, offset, length, destination, destinationOffset);
+        oddsRatioScaled(p, q, offset, base.inverseLnBase(), destination, destinationOffset, length);
+    }
+
+    /**
+     * Unchecked kernel: natural logit of a probability
+     */
+    static double lnLogit(double p){
+        // s = min(p, 1 - p), exactly, since 1 - p is exact for p ≥ ½
+        double s = p <= 0.5 ? p : 1 - p;
+        double complement = 1 - s;
+        double ln = s < QUARTER ? Math.log(s / complement) : Math.log1p((2 * s - 1) / complement);
+        return p <= 0.5 ? ln : -ln;
+    }
+
+    /**
+     * Unchecked kernel: logistic sigmoid {@code 1 / (1 + e^-x)}, which never exponentiates a positive number
+     */
+    static double sigmoid(double x){
+        double e = Math.exp(-Math.abs(x));
+        return (x >= 0 ? 1 : e) / (1 + e);
+    }
+
+    /**
+     * Unchecked kernel: {@code ln σ(x) = min(x, 0) - log1p(e^-|x|)}
+     */
+    static double lnSigmoid(double x){
+        return Math.min(x, 0) - Math.log1p(Math.exp(-Math.abs(x)));
+    }
+
+    /**
+     * Unchecked kernel: natural log-odds-ratio of {@code p} against {@code q}
+     */
+    static double lnOddsRatio(double p, double q){
+        if(p < q) return -lnOddsRatio(q, p);
+        // t ≥ 0, so log1p never sees an argument close to -1
+        double t = (p - q) / (q * (1 - p));
+        if(t < Double.POSITIVE_INFINITY) return Math.log1p(t);
+        // the product underflowed or a probability is 0 or 1, the logits no longer cancel
+        return lnLogit(p) - lnLogit(q);
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = logit(probabilities[o + i]) * scale}
+     */
+    static void logitScaled(double[] probabilities, int offset, double scale,
+                            double[] destination, int destinationOffset, int length){
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = lnLogit(probabilities[offset + i]) * scale;
+        }
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = σ(values[o + i] * scale)}
+     */
+    static void sigmoidScaled(double[] values, int offset, double scale,
+                              double[] destination, int destinationOffset, int length){
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = sigmoid(values[offset + i] * scale);
+        }
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = ln σ(values[o + i] * inputScale) * outputScale}
+     */
+    static void logSigmoidScaled(double[] values, int offset, double inputScale, double outputScale,
+                                 double[] destination, int destinationOffset, int length){
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = lnSigmoid(values[offset + i] * inputScale) * outputScale;
+        }
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = logOddsRatio(p[o + i], q[o + i]) * scale}
+     */
+    static void oddsRatioScaled(double[] p, double[] q, int offset, double scale,
+                                double[] destination, int destinationOffset, int length){
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = lnOddsRatio(p[offset + i], q[offset + i]) * scale;
+        }
+    }
+
+    /**
+     * Validates the ranges of a bulk call and ensures every probability in range is in [0, 1]
+     *
+     * @throws IllegalArgumentException if a probability is outside [0, 1] or {@code NaN}
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     */
+    static void checkProbabilities(double[] probabilities, int offset, int length,
+                                   double[] destination, int destinationOffset){
+        Objects.checkFromIndexSize(offset, length, probabilities.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(!(probabilities[i] >= 0 && probabilities[i] <= 1)){
+                throw new IllegalArgumentException("probabilities[" + i + "] must be in [0, 1]: " + probabilities[i]);
+            }
+        }
+    }
+
+    /**
+     * Ensures a probability is in [0, 1]
+     */
+    private static void checkProbability(double p){
+        Logarithm.checkArgument(p >= 0 && p <= 1, "probability must be in [0, 1]: ", p);
+    }
+}
@@ -0,0 +1,172 @@
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ *  Memory-Mapped File Logarithm Utility Class
+ * <p>
+ * File-to-file logarithm transforms over binary files of IEEE 754 doubles. Both files are
+ * memory-mapped and processed window by window with the kernels of {@link SegmentLogarithm},
+ * so neither the input nor the output ever passes through the Java heap.
+ * <hr>
+ *
+ * <h3>⚙️ Windows</h3>
+ * <p>
+ * Files are mapped {@value #DEFAULT_WINDOW_SIZE} bytes at a time by default. Each window is
+ * mapped in its own {@link Arena} and unmapped as soon as it has been processed, so the
+ * resident set stays bounded by the window size however large the file is. Windows are
+ * {@code long}-sized and may exceed 2 GB.
+ * <p>
+ * The formulas available are those of {@link LogBase}: a plain base, a powered base
+ * ({@link LogBase#ofPower}) or a quotient base ({@link LogBase#ofQuotient}), optionally
+ * combined with a powered value.
+ * <p>
+ * On JDK 21 the FFM API is a preview feature, and requires {@code --enable-preview}.
+ * <p>
+ * This class is <b>non-instantiable</b>.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * The input size must be a multiple of 8 bytes. The output file is created, or truncated,
+ * to the size of the input; when both paths denote the same file, it is transformed in place.
+ * Every argument, the input size and every value are validated before the output is opened:
+ * a read-only pass over the mapped input precedes the first write, so an
+ * {@link IllegalArgumentException} leaves an existing output, or the input transformed in place,
+ * untouched. This costs one more read of the input, usually served by the page cache.
+ *
+ * @author owl
+ */
+public final class MappedLogarithm {
+
+    /** Default window size, in bytes */
+    public static final long DEFAULT_WINDOW_SIZE = 1L << 30;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private MappedLogarithm(){}
+
+    /**
+     * Writes the logarithm in {@code base} of every little-endian double of {@code input} to {@code output}
+     *
+     * @param input the file holding the values (each must be &gt; 0)
+     * @param output the file receiving the results
+     * @param base the pre-validated base of the logarithm
+     *
+     * @throws IOException if a file cannot be opened, resized or mapped
+     * @throws IllegalArgumentException if the input size is not a multiple of 8 or a value ≤ 0
+     *
+     * @see #logWithPoweredValue(Path, Path, double, LogBase, ByteOrder, long)
+     */
+    public static void logInBase(Path input, Path output, LogBase base) throws IOException {
+        logWithPoweredValue(input, output, 1, base, ByteOrder.LITTLE_ENDIAN, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Writes the logarithm in {@code base} of every double of {@code input} to {@code output}
+     *
+     * @see #logWithPoweredValue(Path, Path, double, LogBase, ByteOrder, long)
+     */
+    public static void logInBase(Path input, Path output, LogBase base, ByteOrder order, long windowSize) throws IOException {
+        logWithPoweredValue(input, output, 1, base, order, windowSize);
+    }
+
+    /**
+     * Writes {@code power} times the logarithm in {@code base} of every little-endian double of {@code input}
+     * to {@code output}
+     *
+     * @see #logWithPoweredValue(Path, Path, double, LogBase, ByteOrder, long)
+     */
+    public static void logWithPoweredValue(Path input, Path output, double power, LogBase base) throws IOException {
+        logWithPoweredValue(input, output, power, base, ByteOrder.LITTLE_ENDIAN, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Writes {@code power} times the logarithm in {@code base} of every double of {@code input} to {@code output}
+     * <p>
+     * Formula, for each element {@code i} of the input:
+     * <pre>
+     *     output[i] = power * log<sub>base</sub>(input[i])
+     * </pre>
+     *
+     * @param input the file holding the values (each must be &gt; 0)
+     * @param output the file receiving the results, created or truncated to the size of {@code input}
+     * @param power the multiplier applied to the logarithm
+     * @param base the pre-validated base of the logarithm
+     * @param order byte order of both files
+     * @param windowSize number of bytes mapped at a time (must be a positive multiple of 8)
+     *
+     * @throws IOException if a file cannot be opened, resized or mapped
+     * @throws IllegalArgumentException if the input size is not a multiple of 8,
+     *                                  {@code windowSize} is invalid, or a value ≤ 0
+     */
+    public static void logWithPoweredValue(Path input, Path output, double power, LogBase base,
+                                           ByteOrder order, long windowSize) throws IOException {
+        Logarithm.checkArgument(windowSize > 0 && windowSize % SegmentLogarithm.ELEMENT_SIZE == 0,
+                "windowSize must be a positive multiple of 8: ", windowSize);
+
+        long size = Files.size(input);
+        if(size % SegmentLogarithm.ELEMENT_SIZE != 0){
+            throw new IllegalArgumentException("size of " + input + " is not a multiple of 8: " + size);
+        }
+
+        if(Files.exists(output) && Files.isSameFile(input, output)){
+            try(FileChannel channel = FileChannel.open(input, StandardOpenOption.READ, StandardOpenOption.WRITE)){
+                validate(channel, input, size, order, windowSize);
+                transform(channel, channel, size, power, base, order, windowSize);
+            }
+            return;
+        }
+
+        try(FileChannel source = FileChannel.open(input, StandardOpenOption.READ)){
+            validate(source, input, size, order, windowSize);
+            try(FileChannel target = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)){
+                if(size > 0) target.write(ByteBuffer.allocate(1), size - 1);
+                transform(source, target, size, power, base, order, windowSize);
+            }
+        }
+    }
+
+    /**
+     * Maps the source window by window, read-only, and ensures every value is strictly positive
+     */
+    private static void validate(FileChannel source, Path input, long size, ByteOrder order, long windowSize) throws IOException {
+        for(long position = 0; position < size; position += windowSize){
+            long length = Math.min(windowSize, size - position);
+            try(Arena arena = Arena.ofConfined()){
+                MemorySegment values = source.map(FileChannel.MapMode.READ_ONLY, position, length, arena);
+                SegmentLogarithm.checkValues(values, 0, SegmentLogarithm.ELEMENT_SIZE,
+                        length / SegmentLogarithm.ELEMENT_SIZE, order);
+            } catch(IllegalArgumentException e){
+                throw new IllegalArgumentException(input + ", window at byte " + position + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Maps both channels window by window and runs the segment kernel on each window, once validated
+     */
+    private static void transform(FileChannel source, FileChannel target, long size, double power, LogBase base,
+                                  ByteOrder order, long windowSize) throws IOException {
+        boolean inPlace = source == target;
+
+        for(long position = 0; position < size; position += windowSize){
+            long length = Math.min(windowSize, size - position);
+            try(Arena arena = Arena.ofConfined()){
+                MemorySegment destination = target.map(FileChannel.MapMode.READ_WRITE, position, length, arena);
+                MemorySegment values = inPlace ? destination : source.map(FileChannel.MapMode.READ_ONLY, position, length, arena);
+                SegmentLogarithm.logWithPoweredValue(values, 0, SegmentLogarithm.ELEMENT_SIZE,
+                        destination, 0, SegmentLogarithm.ELEMENT_SIZE,
+                        length / SegmentLogarithm.ELEMENT_SIZE, order, power, base);
+            }
+        }
+    }
+}
@@ -0,0 +1,330 @@
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ *  Parallel Logarithm Utility Class
+ * <p>
+ * Fork/join counterpart of the bulk overloads of {@link Logarithm}. Arrays are split into
+ * cache-sized chunks which are processed on a {@link ForkJoinPool}, either the common pool
+ * or one supplied by the caller to keep the work isolated.
+ * <hr>
+ *
+ * <h3>⚙️ Chunking</h3>
+ * <p>
+ * The chunk size adapts to the input: it is the larger of {@value #MIN_CHUNK} elements
+ * (64 KiB of doubles per array, which stays resident in L2) and the length divided into
+ * {@value #CHUNKS_PER_THREAD} chunks per worker, so that idle workers can steal work.
+ * Inputs shorter than two chunks are processed on the calling thread.
+ * <p>
+ * This class is <b>non-instantiable</b>.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * The base is validated once on the calling thread. Values are then validated in a first
+ * parallel pass, and only once every chunk is valid are results written, so {@code destination}
+ * is left untouched if an argument is rejected. When several values are invalid, which one
+ * is reported is unspecified.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * Every chunk runs the sequential kernels of {@link Logarithm}, so results are bit-for-bit
+ * identical to the sequential bulk overloads regardless of the pool or the chunking.
+ *
+ * @author owl
+ */
+public final class ParallelLogarithm {
+
+    /** Smallest chunk handed to a worker, in elements */
+    static final int MIN_CHUNK = 8192;
+
+    /** Number of chunks created per worker thread for large inputs */
+    static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ParallelLogarithm(){}
+
+    /**
+     * Computes the logarithm of each element of {@code values} with a specified {@code base}
+     * on the common pool
+     *
+     * @see #logInBase(double[], double, int, double[], int, int, ForkJoinPool)
+     */
+    public static void logInBase(double[] values, double base,
+                                 int offset, double[] destination, int destinationOffset, int length){
+        logInBase(values, base, offset, destination, destinationOffset, length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with a specified {@code base}
+     * on the given pool
+     *
+     * @param values the values to compute the logarithm for (each must be &gt; 0)
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     * @param pool the pool running the chunks
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0, {@code base} = 1, or any value ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see Logarithm#logInBase(double[], double, int, double[], int, int)
+     */
+    public static void logInBase(double[] values, double base,
+                                 int offset, double[] destination, int destinationOffset, int length,
+                                 ForkJoinPool pool){
+        double lnBase = Logarithm.lnOfBase(base);
+        checkRanges(values.length, offset, destination.length, destinationOffset, length);
+        run(pool, length,
+                (from, count) -> Logarithm.checkValues(values, offset + from, count, destination, destinationOffset + from),
+                (from, count) -> Logarithm.logScaled(values, offset + from, lnBase, 1,
+                        destination, destinationOffset + from, count));
+    }
+
+    /**
+     * Computes {@code power} times the logarithm of each element of {@code values} with base {@code base}
+     * on the common pool
+     *
+     * @see Logarithm#logWithPoweredValue(double[], double, double, int, double[], int, int)
+     */
+    public static void logWithPoweredValue(double[] values, double power, double base,
+                                           int offset, double[] destination, int destinationOffset, int length){
+        logWithPoweredValue(values, power, base, offset, destination, destinationOffset, length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes {@code power} times the logarithm of each element of {@code values} with base {@code base}
+     * on the given pool
+     *
+     * @see Logarithm#logWithPoweredValue(double[], double, double, int, double[], int, int)
+     */
+    public static void logWithPoweredValue(double[] values, double power, double base,
+                                           int offset, double[] destination, int destinationOffset, int length,
+                                           ForkJoinPool pool){
+        double lnBase = Logarithm.lnOfBase(base);
+        checkRanges(values.length, offset, destination.length, destinationOffset, length);
+        run(pool, length,
+                (from, count) -> Logarithm.checkValues(values, offset + from, count, destination, destinationOffset + from),
+                (from, count) -> Logarithm.logScaled(values, offset + from, lnBase, power,
+                        destination, destinationOffset + from, count));
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with the base to the power {@code power}
+     * on the common pool
+     *
+     * @see Logarithm#logWithPoweredBase(double[], double, double, int, double[], int, int)
+     */
+    public static void logWithPoweredBase(double[] values, double base, double power,
+                                          int offset, double[] destination, int destinationOffset, int length){
+        logWithPoweredBase(values, base, power, offset, destination, destinationOffset, length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with the base to the power {@code power}
+     * on the given pool
+     *
+     * @see Logarithm#logWithPoweredBase(double[], double, double, int, double[], int, int)
+     */
+    public static void logWithPoweredBase(double[] values, double base, double power,
+                                          int offset, double[] destination, int destinationOffset, int length,
+                                          ForkJoinPool pool){
+        Logarithm.checkArgument(power != 1, "power must not be 1");
+        double lnBase = Logarithm.lnOfBase(base);
+        double factor = 1/power;
+        checkRanges(values.length, offset, destination.length, destinationOffset, length);
+        run(pool, length,
+                (from, count) -> Logarithm.checkValues(values, offset + from, count, destination, destinationOffset + from),
+                (from, count) -> Logarithm.logScaled(values, offset + from, lnBase, factor,
+                        destination, destinationOffset + from, count));
+    }
+
+    /**
+     * Computes the logarithm of each quotient {@code valueNumerators[i] / valueDenominators[i]} with base {@code base}
+     * on the common pool
+     *
+     * @see Logarithm#logOfQuotient(double[], double[], double, int, double[], int, int)
+     */
+    public static void logOfQuotient(double[] valueNumerators, double[] valueDenominators, double base,
+                                     int offset, double[] destination, int destinationOffset, int length){
+        logOfQuotient(valueNumerators, valueDenominators, base, offset, destination, destinationOffset, length,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the logarithm of each quotient {@code valueNumerators[i] / valueDenominators[i]} with base {@code base}
+     * on the given pool
+     *
+     * @see Logarithm#logOfQuotient(double[], double[], double, int, double[], int, int)
+     */
+    public static void logOfQuotient(double[] valueNumerators, double[] valueDenominators, double base,
+                                     int offset, double[] destination, int destinationOffset, int length,
+                                     ForkJoinPool pool){
+        double lnBase = Logarithm.lnOfBase(base);
+        Objects.checkFromIndexSize(offset, length, valueDenominators.length);
+        checkRanges(valueNumerators.length, offset, destination.length, destinationOffset, length);
+        run(pool, length,
+                (from, count) -> Logarithm.checkQuotients(valueNumerators, valueDenominators, offset + from, count,
+                        destination, destinationOffset + from),
+                (from, count) -> Logarithm.logOfQuotientScaled(valueNumerators, valueDenominators, offset + from,
+                        lnBase, 1, destination, destinationOffset + from, count));
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with the base
+     * {@code baseNumerator / baseDenominator} on the common pool
+     *
+     * @see Logarithm#logWithBaseQuotient(double[], double, double, int, double[], int, int)
+     */
+    public static void logWithBaseQuotient(double[] values, double baseNumerator, double baseDenominator,
+                                           int offset, double[] destination, int destinationOffset, int length){
+        logWithBaseQuotient(values, baseNumerator, baseDenominator, offset, destination, destinationOffset, length,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with the base
+     * {@code baseNumerator / baseDenominator} on the given pool
+     *
+     * @see Logarithm#logWithBaseQuotient(double[], double, double, int, double[], int, int)
+     */
+    public static void logWithBaseQuotient(double[] values, double baseNumerator, double baseDenominator,
+                                           int offset, double[] destination, int destinationOffset, int length,
+                                           ForkJoinPool pool){
+        double lnBase = Logarithm.lnOfBaseQuotient(baseNumerator, baseDenominator);
+        checkRanges(values.length, offset, destination.length, destinationOffset, length);
+        run(pool, length,
+                (from, count) -> Logarithm.checkValues(values, offset + from, count, destination, destinationOffset + from),
+                (from, count) -> Logarithm.logScaled(values, offset + from, lnBase, 1,
+                        destination, destinationOffset + from, count));
+    }
+
+    /**
+     * Computes the logarithm of each quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base {@code baseNumerator / baseDenominator} on the common pool
+     *
+     * @see Logarithm#logOfQuotientAndBaseQuotient(double[], double[], double, double, int, double[], int, int)
+     */
+    public static void logOfQuotientAndBaseQuotient(double[] valueNumerators, double[] valueDenominators,
+                                                    double baseNumerator, double baseDenominator,
+                                                    int offset, double[] destination, int destinationOffset, int length){
+        logOfQuotientAndBaseQuotient(valueNumerators, valueDenominators, baseNumerator, baseDenominator,
+                offset, destination, destinationOffset, length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the logarithm of each quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base {@code baseNumerator / baseDenominator} on the given pool
+     *
+     * @see Logarithm#logOfQuotientAndBaseQuotient(double[], double[], double, double, int, double[], int, int)
+     */
+    public static void logOfQuotientAndBaseQuotient(double[] valueNumerators, double[] valueDenominators,
+                                                    double baseNumerator, double baseDenominator,
+                                                    int offset, double[] destination, int destinationOffset, int length,
+                                                    ForkJoinPool pool){
+        double lnBase = Logarithm.lnOfBaseQuotient(baseNumerator, baseDenominator);
+        Objects.checkFromIndexSize(offset, length, valueDenominators.length);
+        checkRanges(valueNumerators.length, offset, destination.length, destinationOffset, length);
+        run(pool, length,
+                (from, count) -> Logarithm.checkQuotients(valueNumerators, valueDenominators, offset + from, count,
+                        destination, destinationOffset + from),
+                (from, count) -> Logarithm.logOfQuotientScaled(valueNumerators, valueDenominators, offset + from,
+                        lnBase, 1, destination, destinationOffset + from, count));
+    }
+
+    /**
+     * Computes the chunk size used for an input of {@code length} elements on {@code pool}
+     *
+     * @param length number of elements to process
+     * @param pool the pool running the chunks
+     *
+     * @return the number of elements handed to a single task
+     */
+    static int chunkSize(int length, ForkJoinPool pool){
+        return chunkSize(length, pool, MIN_CHUNK);
+    }
+
+    /**
+     * Computes the chunk size used for an input of {@code length} units on {@code pool}, with at least
+     * {@code minChunk} units per task
+     */
+    static int chunkSize(int length, ForkJoinPool pool, int minChunk){
+        int chunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        return Math.max(minChunk, (length + chunks - 1) / chunks);
+    }
+
+    /**
+     * Runs the validation pass, then the compute pass, over {@code [0, length)}
+     */
+    private static void run(ForkJoinPool pool, int length, RangeAction validation, RangeAction kernel){
+        run(pool, length, MIN_CHUNK, validation, kernel);
+    }
+
+    /**
+     * Runs the validation pass, then the compute pass, over {@code [0, length)} in chunks of at least
+     * {@code minChunk} units, for callers whose units are larger than a single element
+     */
+    static void run(ForkJoinPool pool, int length, int minChunk, RangeAction validation, RangeAction kernel){
+        Objects.requireNonNull(pool, "pool");
+        int chunk = chunkSize(length, pool, minChunk);
+        if(length < 2 * chunk){
+            validation.apply(0, length);
+            kernel.apply(0, length);
+            return;
+        }
+        pool.invoke(new ChunkTask(validation, 0, length, chunk));
+        pool.invoke(new ChunkTask(kernel, 0, length, chunk));
+    }
+
+    /**
+     * Validates the array ranges up front, on the calling thread
+     */
+    private static void checkRanges(int valuesLength, int offset, int destinationLength, int destinationOffset, int length){
+        Objects.checkFromIndexSize(offset, length, valuesLength);
+        Objects.checkFromIndexSize(destinationOffset, length, destinationLength);
+    }
+
+    /**
+     * Work on the range {@code [from, from + count)}, relative to the call's offsets
+     */
+    @FunctionalInterface
+    interface RangeAction {
+        void apply(int from, int count);
+    }
+
+    /**
+     * Splits its range in halves until it fits in a chunk, then applies the action
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient RangeAction action;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        ChunkTask(RangeAction action, int from, int to, int chunk){
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute(){
+            if(to - from <= chunk){
+                action.apply(from, to - from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(action, from, middle, chunk), new ChunkTask(action, middle, to, chunk));
+        }
+    }
+}
@@ -0,0 +1,874 @@
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleConsumer;
+
+/**
+ *  Relative-Error Quantile Sketch
+ * <p>
+ * Mergeable quantile sketch with a relative accuracy guarantee, after DDSketch (Masson, Rim and Lee,
+ * VLDB 2019). Every quantile it returns is within a factor {@code 1 ± α} of the exact quantile of the
+ * recorded values, whatever their distribution, so that p99 latencies of microseconds and of minutes
+ * are both reported with, say, 1 % error.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * A non-zero value {@code x} is counted in the bucket of index
+ * <pre>
+ *     i = ⌈log<sub>γ</sub>(|x|)⌉       with   γ = (1 + α) / (1 - α)
+ * </pre>
+ * which is {@link Logarithm#logWithBaseQuotient(double, double, double)
+ * Logarithm.logWithBaseQuotient(|x|, 1 + α, 1 - α)} rounded up. Bucket {@code i} covers
+ * {@code (γ<sup>i-1</sup>, γ<sup>i</sup>]}, and its representative {@code 2γ<sup>i</sup> / (1 + γ)} is within
+ * {@code α} of every value it covers. Negative values are counted by magnitude in a second set of
+ * buckets, and values whose magnitude is below {@link Double#MIN_NORMAL}, zero included, in a third.
+ * <p>
+ * The indices are computed by a {@link LogIndexMapping}. The factories taking only an accuracy use
+ * {@link LogIndexMapping.Interpolation#EXACT}; the ones taking a mapping accept the interpolated
+ * modes, which keep the same guarantee without calling {@link Math#log} per value, at the cost of
+ * slightly more buckets.
+ * <hr>
+ *
+ * <h3>⚙️ Stores</h3>
+ * <ul style="margin-left: 15px;">
+ *   <li>📌 {@link #dense(double)} : a contiguous array of counts, grown on demand; the fastest,
+ *   its size is the number of buckets between the smallest and the largest value</li>
+ *   <li>📌 {@link #sparse(double)} : a hash table of the non-empty buckets only, for values spread
+ *   over many orders of magnitude with gaps</li>
+ *   <li>📌 {@link #collapsing(double, int)} : a dense store bounded to {@code maxBuckets}; when the
+ *   range overflows, the lowest buckets are merged, so the high quantiles keep their guarantee</li>
+ *   <li>📌 {@link #concurrent(double)} : pages of atomic counters, allocated on demand with a
+ *   compare-and-set, for lock-free recording from any number of threads; a striped total keeps
+ *   {@link #count()} and {@link #quantile(double)} from scanning the pages</li>
+ * </ul>
+ * Only the concurrent sketch is thread-safe. Its queries and serialization read a weakly consistent
+ * view: values recorded meanwhile may or may not be included.
+ * <hr>
+ *
+ * <h3>⚙️ Merging and Serialization</h3>
+ * <p>
+ * Two sketches of the same relative accuracy merge exactly, bucket by bucket, whatever their stores.
+ * {@link #toByteArray()} writes the non-empty buckets as variable-length, delta-encoded integers, a few
+ * bytes per bucket, and {@link #fromByteArray(byte[])} reads them back, so sketches recorded on many
+ * nodes can be shipped and merged centrally.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * Methods throw {@link IllegalArgumentException} for an accuracy outside {@code [1e-6, 1)}, a
+ * collapsing bound below 2, an infinite or {@code NaN} value, a negative count, a quantile outside
+ * {@code [0, 1]}, a merge of sketches of different mappings, or malformed serialized bytes. Bulk
+ * recording validates every value before counting any.
+ *
+ * @author owl
+ */
+public final class QuantileSketch implements DoubleConsumer {
+
+    /** Version of the serialized form, written first */
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final LogIndexMapping.Interpolation[] INTERPOLATIONS = LogIndexMapping.Interpolation.values();
+
+    /** Values of a chunk of a bulk insert, whose indices are computed in one pass */
+    private static final int BULK_CHUNK = 256;
+
+    private final LogIndexMapping mapping;
+    private final Kind kind;
+    private final int maxBuckets;
+
+    private final Store negative;
+    private final Store zero;
+    private final Store positive;
+
+    /**
+     * Private constructor, use the static factories
+     */
+    private QuantileSketch(LogIndexMapping mapping, Kind kind, int maxBuckets){
+        this.mapping = mapping;
+        this.kind = kind;
+        this.maxBuckets = maxBuckets;
+        this.negative = kind.newStore(mapping.minIndex(), mapping.maxIndex(), maxBuckets);
+        this.zero = kind.newStore(0, 0, maxBuckets);
+        this.positive = kind.newStore(mapping.minIndex(), mapping.maxIndex(), maxBuckets);
+    }
+
+    /**
+     * Creates an empty sketch backed by dense stores
+     *
+     * @param relativeAccuracy the relative accuracy α of the quantiles (must be in [1e-6, 1))
+     *
+     * @return a new, non thread-safe sketch
+     *
+     * @throws IllegalArgumentException if {@code relativeAccuracy} is outside [1e-6, 1)
+     */
+    public static QuantileSketch dense(double relativeAccuracy){
+        return dense(LogIndexMapping.of(relativeAccuracy, LogIndexMapping.Interpolation.EXACT));
+    }
+
+    /**
+     * Creates an empty sketch backed by dense stores, bucketing with {@code mapping}
+     *
+     * @param mapping the index mapping, which sets the relative accuracy
+     *
+     * @return a new, non thread-safe sketch
+     *
+     * @see #dense(double)
+     */
+    public static QuantileSketch dense(LogIndexMapping mapping){
+        return new QuantileSketch(Objects.requireNonNull(mapping, "mapping"), Kind.DENSE, 0);
+    }
+
+    /**
+     * Creates an empty sketch backed by sparse stores
+     *
+     * @param relativeAccuracy the relative accuracy α of the quantiles (must be in [1e-6, 1))
+     *
+     * @return a new, non thread-safe sketch
+     *
+     * @throws IllegalArgumentException if {@code relativeAccuracy} is outside [1e-6, 1)
+     */
+    public static QuantileSketch sparse(double relativeAccuracy){
+        return sparse(LogIndexMapping.of(relativeAccuracy, LogIndexMapping.Interpolation.EXACT));
+    }
+
+    /**
+     * Creates an empty sketch backed by sparse stores, bucketing with {@code mapping}
+     *
+     * @param mapping the index mapping, which sets the relative accuracy
+     *
+     * @return a new, non thread-safe sketch
+     *
+     * @see #sparse(double)
+     */
+    public static QuantileSketch sparse(LogIndexMapping mapping){
+        return new QuantileSketch(Objects.requireNonNull(mapping, "mapping"), Kind.SPARSE, 0);
+    }
+
+    /**
+     * Creates an empty sketch backed by dense stores of at most {@code maxBuckets} buckets each
+     *
+     * @param relativeAccuracy the relative accuracy α of the quantiles (must be in [1e-6, 1))
+     * @param maxBuckets the maximum number of buckets per sign (must be ≥ 2)
+     *
+     * @return a new, non thread-safe sketch whose lowest quantiles may lose their guarantee
+     *
+     * @throws IllegalArgumentException if {@code relativeAccuracy} is outside [1e-6, 1) or {@code maxBuckets} &lt; 2
+     */
+    public static QuantileSketch collapsing(double relativeAccuracy, int maxBuckets){
+        return collapsing(LogIndexMapping.of(relativeAccuracy, LogIndexMapping.Interpolation.EXACT), maxBuckets);
+    }
+
+    /**
+     * Creates an empty sketch backed by dense stores of at most {@code maxBuckets} buckets each,
+     * bucketing with {@code mapping}
+     *
+     * @param mapping the index mapping, which sets the relative accuracy
+     * @param maxBuckets the maximum number of buckets per sign (must be ≥ 2)
+     *
+     * @return a new, non thread-safe sketch whose lowest quantiles may lose their guarantee
+     *
+     * @throws IllegalArgumentException if {@code maxBuckets} &lt; 2
+     *
+     * @see #collapsing(double, int)
+     */
+    public static QuantileSketch collapsing(LogIndexMapping mapping, int maxBuckets){
+        Objects.requireNonNull(mapping, "mapping");
+        Logarithm.checkArgument(maxBuckets >= 2, "maxBuckets must be >= 2: ", maxBuckets);
+        return new QuantileSketch(mapping, Kind.COLLAPSING, maxBuckets);
+    }
+
+    /**
+     * Creates an empty sketch recording lock-free from any number of threads
+     *
+     * @param relativeAccuracy the relative accuracy α of the quantiles (must be in [1e-6, 1))
+     *
+     * @return a new, thread-safe sketch
+     *
+     * @throws IllegalArgumentException if {@code relativeAccuracy} is outside [1e-6, 1)
+     */
+    public static QuantileSketch concurrent(double relativeAccuracy){
+        return concurrent(LogIndexMapping.of(relativeAccuracy, LogIndexMapping.Interpolation.EXACT));
+    }
+
+    /**
+     * Creates an empty sketch backed by concurrent stores, bucketing with {@code mapping}
+     *
+     * @param mapping the index mapping, which sets the relative accuracy
+     *
+     * @return a new thread-safe sketch
+     *
+     * @see #concurrent(double)
+     */
+    public static QuantileSketch concurrent(LogIndexMapping mapping){
+        return new QuantileSketch(Objects.requireNonNull(mapping, "mapping"), Kind.CONCURRENT, 0);
+    }
+
+    /**
+     * Returns the relative accuracy of this sketch
+     *
+     * @return α, the bound on the relative error of every quantile
+     */
+    public double relativeAccuracy(){
+        return mapping.relativeAccuracy();
+    }
+
+    /**
+     * Returns the index mapping of this sketch
+     *
+     * @return the mapping from values to buckets
+     */
+    public LogIndexMapping mapping(){
+        return mapping;
+    }
+
+    /**
+     * Records {@code value} once
+     *
+     * @param value the value (must be finite)
+     *
+     * @throws IllegalArgumentException if {@code value} is infinite or {@code NaN}
+     */
+    @Override
+    public void accept(double value){
+        if(!Double.isFinite(value)) throw new IllegalArgumentException("value must be finite: " + value);
+        record(value, 1);
+    }
+
+    /**
+     * Records {@code value} {@code count} times
+     *
+     * @param value the value (must be finite)
+     * @param count the number of occurrences (must be ≥ 0)
+     *
+     * @throws IllegalArgumentException if {@code value} is infinite or {@code NaN}, or {@code count} &lt; 0
+     */
+    public void accept(double value, long count){
+        if(!Double.isFinite(value)) throw new IllegalArgumentException("value must be finite: " + value);
+        if(count < 0) throw new IllegalArgumentException("count must be >= 0: " + count);
+        if(count > 0) record(value, count);
+    }
+
+    /**
+     * Records a range of {@code values}
+     *
+     * @param values the values (each must be finite)
+     * @param offset index of the first element read from {@code values}
+     * @param length number of elements to record
+     *
+     * @throws IllegalArgumentException if a value is infinite or {@code NaN}; nothing is recorded then
+     * @throws IndexOutOfBoundsException if the range falls outside {@code values}
+     */
+    public void accept(double[] values, int offset, int length){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        for(int i = offset, end = offset + length; i < end; i++){
+            if(!Double.isFinite(values[i])) throw new IllegalArgumentException("values[" + i + "] must be finite: " + values[i]);
+        }
+        int[] indices = new int[Math.min(length, BULK_CHUNK)];
+        for(int from = offset, end = offset + length; from < end; from += BULK_CHUNK){
+            int count = Math.min(BULK_CHUNK, end - from);
+            mapping.indicesOfMagnitudes(values, from, indices, 0, count);
+            for(int i = 0; i < count; i++){
+                double value = values[from + i];
+                if(Math.abs(value) < Double.MIN_NORMAL){
+                    zero.add(0, 1);
+                } else if(value > 0){
+                    positive.add(indices[i], 1);
+                } else {
+                    negative.add(indices[i], 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the counts of {@code other} to this sketch
+     * <p>
+     * Merging a concurrent sketch is thread-safe, and so is merging into one.
+     *
+     * @param other a sketch of the same mapping, of any store
+     *
+     * @return this sketch
+     *
+     * @throws IllegalArgumentException if the mappings differ
+     */
+    public QuantileSketch merge(QuantileSketch other){
+        Logarithm.checkArgument(other.mapping.equals(mapping), "sketches must share the same mapping");
+        other.negative.forEach(negative::visitAdd, false);
+        other.zero.forEach(zero::visitAdd, false);
+        other.positive.forEach(positive::visitAdd, false);
+        return this;
+    }
+
+    /**
+     * Returns the number of recorded values
+     *
+     * @return the total count
+     */
+    public long count(){
+        return negative.total() + zero.total() + positive.total();
+    }
+
+    /**
+     * Tells whether nothing was recorded
+     *
+     * @return {@code true} if {@link #count()} = 0
+     */
+    public boolean isEmpty(){
+        return count() == 0;
+    }
+
+    /**
+     * Estimates the {@code q}-quantile of the recorded values
+     *
+     * @param q the quantile (must be in [0, 1]), 0.5 for the median
+     *
+     * @return a value within a factor {@code 1 ± α} of the exact quantile, {@code NaN} if the sketch is empty
+     *
+     * @throws IllegalArgumentException if {@code q} is outside [0, 1] or {@code NaN}
+     */
+    public double quantile(double q){
+        Logarithm.checkArgument(q >= 0 && q <= 1, "q must be in [0, 1]: ", q);
+        long negativeCount = negative.total();
+        long zeroCount = zero.total();
+        long count = negativeCount + zeroCount + positive.total();
+        if(count == 0) return Double.NaN;
+
+        double rank = q * (count - 1);
+        if(rank < negativeCount) return -mapping.value(negative.indexAtRank(rank, true));
+        if(rank < negativeCount + zeroCount) return 0;
+        return mapping.value(positive.indexAtRank(rank - negativeCount - zeroCount, false));
+    }
+
+    /**
+     * Serializes the buckets of this sketch
+     *
+     * @return a compact binary form, read back by {@link #fromByteArray(byte[])}
+     */
+    public byte[] toByteArray(){
+        Writer writer = new Writer();
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeByte((byte) kind.ordinal());
+        writer.writeByte((byte) mapping.interpolation().ordinal());
+        writer.writeLong(Double.doubleToRawLongBits(mapping.relativeAccuracy()));
+        writer.writeVarLong(maxBuckets);
+        negative.writeTo(writer);
+        zero.writeTo(writer);
+        positive.writeTo(writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Deserializes a sketch written by {@link #toByteArray()}
+     *
+     * @param bytes the serialized form
+     *
+     * @return a new sketch with the same relative accuracy, store and counts
+     *
+     * @throws IllegalArgumentException if {@code bytes} is not a serialized sketch
+     */
+    public static QuantileSketch fromByteArray(byte[] bytes){
+        Reader reader = new Reader(bytes);
+        Logarithm.checkArgument(reader.readByte() == FORMAT_VERSION, "unsupported sketch format");
+        int kind = reader.readByte();
+        Logarithm.checkArgument(kind >= 0 && kind < Kind.VALUES.length, "unknown sketch store: ", kind);
+        int interpolation = reader.readByte();
+        Logarithm.checkArgument(interpolation >= 0 && interpolation < INTERPOLATIONS.length,
+                "unknown sketch interpolation: ", interpolation);
+        LogIndexMapping mapping = LogIndexMapping.of(Double.longBitsToDouble(reader.readLong()), INTERPOLATIONS[interpolation]);
+        long maxBuckets = reader.readVarLong();
+        Logarithm.checkArgument(maxBuckets <= Integer.MAX_VALUE, "malformed sketch bytes");
+        QuantileSketch sketch = Kind.VALUES[kind] == Kind.COLLAPSING
+                ? collapsing(mapping, (int) maxBuckets)
+                : new QuantileSketch(mapping, Kind.VALUES[kind], 0);
+        sketch.negative.readFrom(reader, mapping.minIndex(), mapping.maxIndex());
+        sketch.zero.readFrom(reader, 0, 0);
+        sketch.positive.readFrom(reader, mapping.minIndex(), mapping.maxIndex());
+        Logarithm.checkArgument(reader.isAtEnd(), "malformed sketch bytes");
+        return sketch;
+    }
+
+    @Override
+    public String toString(){
+        return "QuantileSketch[relativeAccuracy=" + mapping.relativeAccuracy() + ", interpolation="
+                + mapping.interpolation() + ", store=" + kind + ", count=" + count() + "]";
+    }
+
+    /**
+     * Counts a finite value
+     */
+    private void record(double value, long count){
+        double magnitude = Math.abs(value);
+        if(magnitude < Double.MIN_NORMAL){
+            zero.add(0, count);
+        } else if(value > 0){
+            positive.add(mapping.indexOfMagnitude(magnitude), count);
+        } else {
+            negative.add(mapping.indexOfMagnitude(magnitude), count);
+        }
+    }
+
+    /**
+     * Store variants, in serialized order
+     */
+    private enum Kind {
+
+        DENSE, SPARSE, COLLAPSING, CONCURRENT;
+
+        private static final Kind[] VALUES = values();
+
+        /**
+         * Creates an empty store for indices in {@code [minIndex, maxIndex]}
+         */
+        Store newStore(int minIndex, int maxIndex, int maxBuckets){
+            return switch(this){
+                case DENSE -> new DenseStore();
+                case SPARSE -> new SparseStore();
+                case COLLAPSING -> new CollapsingStore(maxBuckets);
+                case CONCURRENT -> new ConcurrentStore(minIndex, maxIndex);
+            };
+        }
+    }
+
+    /**
+     * Visits the non-empty buckets of a store
+     */
+    @FunctionalInterface
+    private interface BucketVisitor {
+
+        /**
+         * Visits the bucket {@code index} holding {@code count} &gt; 0 values
+         *
+         * @return {@code false} to stop the traversal
+         */
+        boolean visit(int index, long count);
+    }
+
+    /**
+     * Counts per bucket index, for one sign
+     */
+    private abstract static class Store {
+
+        /**
+         * Adds {@code count} &gt; 0 to bucket {@code index}
+         */
+        abstract void add(int index, long count);
+
+        /**
+         * Returns the sum of all counts
+         */
+        abstract long total();
+
+        /**
+         * Visits the non-empty buckets by increasing index, or decreasing if {@code descending}
+         */
+        abstract void forEach(BucketVisitor visitor, boolean descending);
+
+        /**
+         * {@link #add(int, long)} as a visitor that never stops, for merges
+         */
+        final boolean visitAdd(int index, long count){
+            add(index, count);
+            return true;
+        }
+
+        /**
+         * Returns the index of the first bucket whose cumulative count exceeds {@code rank}
+         */
+        final int indexAtRank(double rank, boolean descending){
+            long[] cumulative = {0};
+            int[] found = {0};
+            forEach((index, count) -> {
+                found[0] = index;
+                cumulative[0] += count;
+                return cumulative[0] <= rank;
+            }, descending);
+            return found[0];
+        }
+
+        /**
+         * Writes the non-empty buckets as (count, zigzag index delta) pairs, terminated by a zero count
+         */
+        final void writeTo(Writer writer){
+            int[] previous = {0};
+            forEach((index, count) -> {
+                writer.writeVarLong(count);
+                int delta = index - previous[0];
+                writer.writeVarLong((delta << 1) ^ (delta >> 31));
+                previous[0] = index;
+                return true;
+            }, false);
+            writer.writeVarLong(0);
+        }
+
+        /**
+         * Reads buckets written by {@link #writeTo(Writer)}, rejecting indices outside {@code [minIndex, maxIndex]}
+         */
+        final void readFrom(Reader reader, int minIndex, int maxIndex){
+            int index = 0;
+            for(long count = reader.readVarLong(); count != 0; count = reader.readVarLong()){
+                long zigzag = reader.readVarLong();
+                long next = index + ((zigzag >>> 1) ^ -(zigzag & 1));
+                Logarithm.checkArgument(count > 0 && next >= minIndex && next <= maxIndex, "malformed sketch bytes");
+                index = (int) next;
+                add(index, count);
+            }
+        }
+    }
+
+    /**
+     * Contiguous counts from {@code minIndex} to {@code maxIndex}, in an array re-centered when it grows
+     */
+    private static class DenseStore extends Store {
+
+        long[] counts = new long[0];
+
+        /** Index of {@code counts[0]} */
+        int offset;
+
+        int minIndex;
+        int maxIndex;
+        long total;
+
+        @Override
+        void add(int index, long count){
+            if(total == 0){
+                ensureRange(index, index);
+                minIndex = index;
+                maxIndex = index;
+            } else if(index < minIndex){
+                ensureRange(index, maxIndex);
+                minIndex = index;
+            } else if(index > maxIndex){
+                ensureRange(minIndex, index);
+                maxIndex = index;
+            }
+            counts[index - offset] += count;
+            total += count;
+        }
+
+        @Override
+        long total(){
+            return total;
+        }
+
+        @Override
+        void forEach(BucketVisitor visitor, boolean descending){
+            if(total == 0) return;
+            for(int k = 0, n = maxIndex - minIndex; k <= n; k++){
+                int index = descending ? maxIndex - k : minIndex + k;
+                long count = counts[index - offset];
+                if(count != 0 && !visitor.visit(index, count)) return;
+            }
+        }
+
+        /**
+         * Returns the largest array this store may allocate
+         */
+        int maxLength(){
+            return Integer.MAX_VALUE - 8;
+        }
+
+        /**
+         * Grows the array, if needed, so that it covers {@code [low, high]}, keeping the counts of
+         * {@code [minIndex, maxIndex]} that still fall inside
+         */
+        final void ensureRange(int low, int high){
+            if(low >= offset && high < offset + counts.length) return;
+            long needed = (long) high - low + 1;
+            if(needed > maxLength()) throw new OutOfMemoryError("Required array length too large: " + needed);
+            int length = (int) Math.min(Math.max(needed + (needed >> 1), 16), maxLength());
+            int newOffset = (int) (low - (length - needed) / 2);
+            long[] grown = new long[length];
+            if(total != 0){
+                int from = Math.max(minIndex, newOffset);
+                int to = Math.min(maxIndex, newOffset + length - 1);
+                if(from <= to) System.arraycopy(counts, from - offset, grown, from - newOffset, to - from + 1);
+            }
+            counts = grown;
+            offset = newOffset;
+        }
+    }
+
+    /**
+     * Dense store bounded to {@code maxBuckets}, merging the lowest buckets on overflow
+     */
+    private static final class CollapsingStore extends DenseStore {
+
+        private final int maxBuckets;
+
+        CollapsingStore(int maxBuckets){
+            this.maxBuckets = maxBuckets;
+        }
+
+        @Override
+        void add(int index, long count){
+            if(total != 0){
+                if(index < minIndex && maxIndex - index >= maxBuckets){
+                    index = maxIndex - maxBuckets + 1;
+                } else if(index > maxIndex && index - minIndex >= maxBuckets){
+                    collapse(index);
+                }
+            }
+            super.add(index, count);
+        }
+
+        @Override
+        int maxLength(){
+            return maxBuckets;
+        }
+
+        /**
+         * Merges every bucket below {@code high - maxBuckets + 1} into that bucket, so that {@code high} fits
+         */
+        private void collapse(int high){
+            int low = high - maxBuckets + 1;
+            long collapsed = 0;
+            for(int index = minIndex, end = Math.min(maxIndex, low - 1); index <= end; index++){
+                collapsed += counts[index - offset];
+                counts[index - offset] = 0;
+            }
+            ensureRange(low, high);
+            minIndex = low;
+            maxIndex = Math.max(maxIndex, low);
+            counts[low - offset] += collapsed;
+        }
+    }
+
+    /**
+     * Open-addressing hash table of the non-empty buckets, sorted on traversal
+     */
+    private static final class SparseStore extends Store {
+
+        private int[] indices = new int[16];
+
+        /** Zero marks an empty slot, since stored counts are &gt; 0 */
+        private long[] counts = new long[16];
+
+        private int size;
+        private long total;
+
+        @Override
+        void add(int index, long count){
+            int slot = slot(index);
+            if(counts[slot] == 0){
+                indices[slot] = index;
+                if(++size > indices.length >> 1){
+                    counts[slot] = count;
+                    total += count;
+                    rehash();
+                    return;
+                }
+            }
+            counts[slot] += count;
+            total += count;
+        }
+
+        @Override
+        long total(){
+            return total;
+        }
+
+        @Override
+        void forEach(BucketVisitor visitor, boolean descending){
+            int[] sorted = new int[size];
+            for(int slot = 0, k = 0; slot < counts.length; slot++){
+                if(counts[slot] != 0) sorted[k++] = indices[slot];
+            }
+            Arrays.sort(sorted);
+            for(int k = 0; k < size; k++){
+                int index = sorted[descending ? size - 1 - k : k];
+                if(!visitor.visit(index, counts[slot(index)])) return;
+            }
+        }
+
+        /**
+         * Returns the slot holding {@code index}, or the empty slot where it belongs
+         */
+        private int slot(int index){
+            int mask = indices.length - 1;
+            int hash = index * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while(counts[slot] != 0 && indices[slot] != index){
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Doubles the table
+         */
+        private void rehash(){
+            int[] oldIndices = indices;
+            long[] oldCounts = counts;
+            indices = new int[oldIndices.length * 2];
+            counts = new long[oldCounts.length * 2];
+            for(int slot = 0; slot < oldCounts.length; slot++){
+                if(oldCounts[slot] != 0){
+                    int target = slot(oldIndices[slot]);
+                    indices[target] = oldIndices[slot];
+                    counts[target] = oldCounts[slot];
+                }
+            }
+        }
+    }
+
+    /**
+     * Atomic counters in pages of {@link #PAGE_SIZE} buckets, themselves held by directories of
+     * {@link #DIRECTORY_SIZE} pages, both allocated on first use with a compare-and-set
+     * <p>
+     * Only the root, one slot per directory, spans the whole index range: about 2 700 slots at
+     * α = 1e-6, a handful at usual accuracies. The total is kept apart in a {@link LongAdder}, so that
+     * counting never scans the pages.
+     */
+    private static final class ConcurrentStore extends Store {
+
+        private static final int PAGE_BITS = 8;
+        private static final int PAGE_SIZE = 1 << PAGE_BITS;
+        private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+        private static final int DIRECTORY_BITS = 10;
+        private static final int DIRECTORY_SIZE = 1 << DIRECTORY_BITS;
+        private static final int DIRECTORY_MASK = DIRECTORY_SIZE - 1;
+
+        private final int minIndex;
+        private final AtomicReferenceArray<AtomicReferenceArray<AtomicLongArray>> directories;
+        private final LongAdder total = new LongAdder();
+
+        ConcurrentStore(int minIndex, int maxIndex){
+            this.minIndex = minIndex;
+            this.directories = new AtomicReferenceArray<>(((maxIndex - minIndex) >>> (PAGE_BITS + DIRECTORY_BITS)) + 1);
+        }
+
+        @Override
+        void add(int index, long count){
+            int position = index - minIndex;
+            int pageNumber = position >>> PAGE_BITS;
+            AtomicReferenceArray<AtomicLongArray> directory = directories.get(pageNumber >>> DIRECTORY_BITS);
+            if(directory == null) directory = allocate(pageNumber >>> DIRECTORY_BITS);
+            AtomicLongArray page = directory.get(pageNumber & DIRECTORY_MASK);
+            if(page == null) page = allocate(directory, pageNumber & DIRECTORY_MASK);
+            page.getAndAdd(position & PAGE_MASK, count);
+            total.add(count);
+        }
+
+        @Override
+        long total(){
+            return total.sum();
+        }
+
+        @Override
+        void forEach(BucketVisitor visitor, boolean descending){
+            int directoryCount = directories.length();
+            for(int d = 0; d < directoryCount; d++){
+                int directoryIndex = descending ? directoryCount - 1 - d : d;
+                AtomicReferenceArray<AtomicLongArray> directory = directories.get(directoryIndex);
+                if(directory == null) continue;
+                for(int p = 0; p < DIRECTORY_SIZE; p++){
+                    int pageIndex = descending ? DIRECTORY_MASK - p : p;
+                    AtomicLongArray page = directory.get(pageIndex);
+                    if(page == null) continue;
+                    int first = minIndex + (((directoryIndex << DIRECTORY_BITS) + pageIndex) << PAGE_BITS);
+                    for(int k = 0; k < PAGE_SIZE; k++){
+                        int position = descending ? PAGE_MASK - k : k;
+                        long count = page.get(position);
+                        if(count != 0 && !visitor.visit(first + position, count)) return;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Installs directory {@code directoryIndex}, or returns the one another thread installed first
+         */
+        private AtomicReferenceArray<AtomicLongArray> allocate(int directoryIndex){
+            AtomicReferenceArray<AtomicLongArray> directory = new AtomicReferenceArray<>(DIRECTORY_SIZE);
+            return directories.compareAndSet(directoryIndex, null, directory) ? directory : directories.get(directoryIndex);
+        }
+
+        /**
+         * Installs page {@code pageIndex} of {@code directory}, or returns the one another thread installed first
+         */
+        private static AtomicLongArray allocate(AtomicReferenceArray<AtomicLongArray> directory, int pageIndex){
+            AtomicLongArray page = new AtomicLongArray(PAGE_SIZE);
+            return directory.compareAndSet(pageIndex, null, page) ? page : directory.get(pageIndex);
+        }
+    }
+
+    /**
+     * Growable byte buffer of the serialized form
+     */
+    private static final class Writer {
+
+        private byte[] bytes = new byte[64];
+        private int size;
+
+        void writeByte(byte value){
+            if(size == bytes.length) bytes = Arrays.copyOf(bytes, size * 2);
+            bytes[size++] = value;
+        }
+
+        void writeLong(long value){
+            for(int shift = 56; shift >= 0; shift -= 8){
+                writeByte((byte) (value >>> shift));
+            }
+        }
+
+        /**
+         * Writes {@code value} ≥ 0 in 7-bit groups, low first, the high bit flagging a continuation
+         */
+        void writeVarLong(long value){
+            while((value & ~0x7FL) != 0){
+                writeByte((byte) (value | 0x80));
+                value >>>= 7;
+            }
+            writeByte((byte) value);
+        }
+
+        byte[] toByteArray(){
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    /**
+     * Bounds-checked reader of the serialized form
+     */
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes){
+            this.bytes = bytes;
+        }
+
+        byte readByte(){
+            Logarithm.checkArgument(position < bytes.length, "truncated sketch bytes");
+            return bytes[position++];
+        }
+
+        long readLong(){
+            long value = 0;
+            for(int k = 0; k < 8; k++){
+                value = value << 8 | (readByte() & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong(){
+            long value = 0;
+            for(int shift = 0; shift < 64; shift += 7){
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if(b >= 0) return value;
+            }
+            throw new IllegalArgumentException("malformed sketch bytes");
+        }
+
+        boolean isAtEnd(){
+            return position == bytes.length;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ *  Memory Segment Logarithm Utility Class
+ * <p>
+ * Bulk logarithms reading from and writing to FFM {@link MemorySegment}s, typically
+ * off-heap memory shared with native code or other components, without copying
+ * anything into the Java heap.
+ * <hr>
+ *
+ * <h3>⚙️ Layout</h3>
+ * <p>
+ * Elements are IEEE 754 doubles in a caller-supplied {@link ByteOrder}. Each segment is read
+ * or written from its own offset with its own stride, both expressed in <b>bytes</b>, so
+ * interleaved records and unaligned data are supported.
+ * <p>
+ * On JDK 21 the FFM API is a preview feature, and requires {@code --enable-preview}.
+ * <p>
+ * This class is <b>non-instantiable</b>.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * The base is validated once when the {@link LogBase} is created, and ranges are checked
+ * before any element is read. Values are validated as they are read, in a single pass, so
+ * elements preceding an invalid value may already have been written when the
+ * {@link IllegalArgumentException} is thrown.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * Results are computed with the same expression as the bulk overloads of {@link Logarithm},
+ * {@code ln(value) / ln(base)}.
+ *
+ * @author owl
+ */
+public final class SegmentLogarithm {
+
+    /** Size in bytes of a double element */
+    static final long ELEMENT_SIZE = Double.BYTES;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private SegmentLogarithm(){}
+
+    /**
+     * Computes the logarithm of {@code count} elements of {@code values} in {@code base}
+     * <p>
+     * Formula, for each {@code i} in {@code [0, count)}:
+     * <pre>
+     *     destination @ (destinationOffset + i * destinationStride) = log<sub>base</sub>(values @ (offset + i * stride))
+     * </pre>
+     *
+     * @param values the segment holding the values (each must be &gt; 0)
+     * @param offset byte offset of the first value
+     * @param stride distance between two consecutive values, in bytes (must be ≥ 8)
+     * @param destination the segment receiving the results
+     * @param destinationOffset byte offset of the first result
+     * @param destinationStride distance between two consecutive results, in bytes (must be ≥ 8)
+     * @param count number of elements to process
+     * @param order byte order of both segments
+     * @param base the pre-validated base of the logarithm
+     *
+     * @throws IllegalArgumentException if a value ≤ 0 or a stride &lt; 8
+     * @throws IndexOutOfBoundsException if a range falls outside its segment
+     * @throws UnsupportedOperationException if {@code destination} is read-only
+     * @throws IllegalStateException if a segment is not alive or is accessed from the wrong thread
+     */
+    public static void logInBase(MemorySegment values, long offset, long stride,
+                                 MemorySegment destination, long destinationOffset, long destinationStride,
+                                 long count, ByteOrder order, LogBase base){
+        logWithPoweredValue(values, offset, stride, destination, destinationOffset, destinationStride, count, order, 1, base);
+    }
+
+    /**
+     * Computes {@code power} times the logarithm of {@code count} elements of {@code values} in {@code base}
+     *
+     * @param power the multiplier applied to the logarithm
+     *
+     * @see #logInBase(MemorySegment, long, long, MemorySegment, long, long, long, ByteOrder, LogBase)
+     */
+    public static void logWithPoweredValue(MemorySegment values, long offset, long stride,
+                                           MemorySegment destination, long destinationOffset, long destinationStride,
+                                           long count, ByteOrder order, double power, LogBase base){
+        checkRange(values, offset, stride, count);
+        checkRange(destination, destinationOffset, destinationStride, count);
+        ValueLayout.OfDouble layout = layout(order);
+        double lnBase = base.lnBase();
+
+        for(long i = 0; i < count; i++){
+            long position = offset + i * stride;
+            double value = values.get(layout, position);
+            if(!(value > 0)) throw invalidValue(position, value);
+            destination.set(layout, destinationOffset + i * destinationStride, power * (Math.log(value) / lnBase));
+        }
+    }
+
+    /**
+     * Computes the logarithm of {@code count} quotients {@code valueNumerators[i] / valueDenominators[i]} in {@code base}
+     * <p>
+     * Numerators and denominators share the same offset and stride.
+     *
+     * @param valueNumerators the segment holding the numerators
+     * @param valueDenominators the segment holding the denominators (each must not be 0)
+     *
+     * @throws IllegalArgumentException if a denominator = 0, a quotient ≤ 0 or a stride &lt; 8
+     *
+     * @see #logInBase(MemorySegment, long, long, MemorySegment, long, long, long, ByteOrder, LogBase)
+     */
+    public static void logOfQuotient(MemorySegment valueNumerators, MemorySegment valueDenominators, long offset, long stride,
+                                     MemorySegment destination, long destinationOffset, long destinationStride,
+                                     long count, ByteOrder order, LogBase base){
+        checkRange(valueNumerators, offset, stride, count);
+        checkRange(valueDenominators, offset, stride, count);
+        checkRange(destination, destinationOffset, destinationStride, count);
+        ValueLayout.OfDouble layout = layout(order);
+        double lnBase = base.lnBase();
+
+        for(long i = 0; i < count; i++){
+            long position = offset + i * stride;
+            double denominator = valueDenominators.get(layout, position);
+            if(denominator == 0) throw new IllegalArgumentException("denominator at byte offset " + position + " must not be zero");
+            double quotient = valueNumerators.get(layout, position) / denominator;
+            if(!(quotient > 0)) throw invalidValue(position, quotient);
+            destination.set(layout, destinationOffset + i * destinationStride, Math.log(quotient) / lnBase);
+        }
+    }
+
+    /**
+     * Ensures {@code count} doubles spaced by {@code stride} bytes from {@code offset} are strictly positive,
+     * without writing anything
+     *
+     * @throws IllegalArgumentException if a value ≤ 0 or {@code stride} &lt; 8
+     * @throws IndexOutOfBoundsException if the strided range falls outside the segment
+     */
+    static void checkValues(MemorySegment values, long offset, long stride, long count, ByteOrder order){
+        checkRange(values, offset, stride, count);
+        ValueLayout.OfDouble layout = layout(order);
+        for(long i = 0; i < count; i++){
+            long position = offset + i * stride;
+            double value = values.get(layout, position);
+            if(!(value > 0)) throw invalidValue(position, value);
+        }
+    }
+
+    /**
+     * Returns the unaligned double layout in the given byte order
+     */
+    static ValueLayout.OfDouble layout(ByteOrder order){
+        return ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(Objects.requireNonNull(order, "order"));
+    }
+
+    /**
+     * Ensures {@code count} doubles spaced by {@code stride} bytes from {@code offset} fit in the segment
+     *
+     * @throws IllegalArgumentException if {@code stride} &lt; 8
+     * @throws IndexOutOfBoundsException if the strided range falls outside the segment
+     */
+    static void checkRange(MemorySegment segment, long offset, long stride, long count){
+        Logarithm.checkArgument(stride >= ELEMENT_SIZE, "stride must be >= " + ELEMENT_SIZE + ": ", stride);
+        long span = count == 0 ? 0 : Math.addExact(Math.multiplyExact(count - 1, stride), ELEMENT_SIZE);
+        Objects.checkFromIndexSize(offset, span, segment.byteSize());
+    }
+
+    /**
+     * Builds the exception reporting an invalid value at byte offset {@code position}
+     */
+    private static IllegalArgumentException invalidValue(long position, double value){
+        return new IllegalArgumentException("value at byte offset " + position + " must be > 0: " + value);
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ *  Table-Driven Logarithm Engine
+ * <p>
+ * Natural logarithm backed by a lookup table indexed with the top mantissa bits, refined by
+ * a short polynomial. The table size is configurable, trading cache residency against the
+ * degree of the polynomial; the default 256-entry table takes 4 KiB and stays in L1.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * The value is split branch-free into {@code 2<sup>e</sup> * z} with {@code z ∈ [√½, √2)},
+ * and the top {@code tableBits} bits of the reduced mantissa select a table entry holding
+ * {@code 1/c} and {@code ln(c)}, where {@code c} is the center of the subinterval of {@code z}:
+ * <pre>
+ *     r = z * (1/c) - 1                      (single fused multiply-add)
+ *     ln(value) = e * ln(2) + ln(c) + log1p(r)
+ * </pre>
+ * The entry containing 1 and its two neighbors use {@code c = 1} exactly, so that {@code ln(c)} and
+ * {@code log1p(r)} never cancel out and the relative error stays small near {@code value = 1}.
+ * Since {@code |r| ≤ 2<sup>1-tableBits</sup>}, {@code log1p(r)} only needs a short Taylor polynomial,
+ * whose degree is chosen so that its truncation error stays below 2<sup>-56</sup>.
+ * <p>
+ * Instances are immutable and thread-safe.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * {@link #ln(double)} stays within 2 ulps of {@link StrictMath#log} for every table size; the
+ * error is dominated by the rounding of the table entries and of the final additions.
+ *
+ * @author owl
+ */
+public final class TableLogarithm implements LogarithmEngine {
+
+    /** Smallest supported number of table bits */
+    public static final int MIN_TABLE_BITS = 4;
+
+    /** Largest supported number of table bits */
+    public static final int MAX_TABLE_BITS = 16;
+
+    /** The default engine: 256 entries, 4 KiB */
+    public static final TableLogarithm DEFAULT = of(8);
+
+    private static final double LN_2 = 0.6931471805599453;
+
+    /** Bits of √½, subtracting them splits the bits into an exponent and a mantissa in [√½, √2) */
+    private static final long SQRT_HALF_BITS = 0x3FE6A09E667F3BCDL;
+
+    private static final long EXPONENT_MASK = 0xFFF0000000000000L;
+
+    /** 2<sup>54</sup>, scales subnormals into the normal range */
+    private static final double TWO_54 = 0x1.0p54;
+
+    private final int tableBits;
+    private final int indexShift;
+    private final int indexMask;
+
+    /** Interleaved {@code 1/c} and {@code ln(c)}, so both land in the same cache line */
+    private final double[] table;
+
+    /** Taylor coefficients of {@code log1p(r) / r}, highest degree first */
+    private final double[] coefficients;
+
+    /**
+     * Private constructor, use {@link #of(int)}
+     */
+    private TableLogarithm(int tableBits){
+        this.tableBits = tableBits;
+        this.indexShift = 52 - tableBits;
+        this.indexMask = (1 << tableBits) - 1;
+        this.table = buildTable(tableBits);
+        this.coefficients = buildCoefficients(tableBits);
+    }
+
+    /**
+     * Creates an engine with a table of {@code 2^tableBits} entries
+     * <p>
+     * Each entry takes 16 bytes: 8 bits take 4 KiB, 10 bits take 16 KiB, 12 bits take 64 KiB.
+     *
+     * @param tableBits number of mantissa bits used as table index
+     *                  (between {@value #MIN_TABLE_BITS} and {@value #MAX_TABLE_BITS})
+     *
+     * @return a new engine
+     *
+     * @throws IllegalArgumentException if {@code tableBits} is out of range
+     */
+    public static TableLogarithm of(int tableBits){
+        Logarithm.checkArgument(tableBits >= MIN_TABLE_BITS && tableBits <= MAX_TABLE_BITS,
+                "tableBits must be in [" + MIN_TABLE_BITS + ", " + MAX_TABLE_BITS + "]: ", tableBits);
+        return new TableLogarithm(tableBits);
+    }
+
+    /**
+     * Returns the number of mantissa bits used as table index
+     *
+     * @return the table bits
+     */
+    public int tableBits(){
+        return tableBits;
+    }
+
+    /**
+     * Returns the memory footprint of the table
+     *
+     * @return the size of the table, in bytes
+     */
+    public int tableSizeInBytes(){
+        return table.length * Double.BYTES;
+    }
+
+    /**
+     * Returns the degree of the polynomial refining the table value
+     *
+     * @return the polynomial degree
+     */
+    public int polynomialDegree(){
+        return coefficients.length;
+    }
+
+    @Override
+    public double ln(double value){
+        int exponent = 0;
+        if(!(value >= Double.MIN_NORMAL)){
+            if(!(value > 0)) return Math.log(value);
+            value *= TWO_54;
+            exponent = -54;
+        }
+        if(value == Double.POSITIVE_INFINITY) return value;
+
+        long bits = Double.doubleToRawLongBits(value);
+        long shifted = bits - SQRT_HALF_BITS;
+        exponent += (int) (shifted >> 52);
+        int index = ((int) (shifted >>> indexShift) & indexMask) << 1;
+        double z = Double.longBitsToDouble(bits - (shifted & EXPONENT_MASK));
+
+        double r = Math.fma(z, table[index], -1);
+        double[] c = coefficients;
+        double polynomial = c[0];
+        for(int i = 1; i < c.length; i++){
+            polynomial = polynomial * r + c[i];
+        }
+
+        return exponent * LN_2 + table[index + 1] + r * polynomial;
+    }
+
+    /**
+     * Builds the interleaved {@code 1/c}, {@code ln(c)} table
+     */
+    private static double[] buildTable(int tableBits){
+        int size = 1 << tableBits;
+        int shift = 52 - tableBits;
+        int one = (int) ((Double.doubleToRawLongBits(1.0) - SQRT_HALF_BITS) >>> shift);
+        double[] table = new double[2 * size];
+        for(int i = 0; i < size; i++){
+            double low = Double.longBitsToDouble(SQRT_HALF_BITS + ((long) i << shift));
+            double high = Double.longBitsToDouble(SQRT_HALF_BITS + ((long) (i + 1) << shift));
+            double inverseCenter = Math.abs(i - one) <= 1 ? 1 : 2 / (low + high);
+            table[2 * i] = inverseCenter;
+            table[2 * i + 1] = -Math.log(inverseCenter);
+        }
+        return table;
+    }
+
+    /**
+     * Builds the Taylor coefficients of {@code log1p(r) / r = 1 - r/2 + r²/3 - ...}, highest degree first,
+     * with enough terms for {@code |r| ≤ 2^(1 - tableBits)}
+     */
+    private static double[] buildCoefficients(int tableBits){
+        int terms = (56 + tableBits - 2) / (tableBits - 1);
+        double[] coefficients = new double[terms];
+        for(int n = 1; n <= terms; n++){
+            coefficients[terms - n] = (n % 2 == 1 ? 1.0 : -1.0) / n;
+        }
+        return coefficients;
+    }
+}
@@ -0,0 +1,535 @@
+import java.util.Objects;
+
+/**
+ *  Tolerant Logarithm Engine
+ * <p>
+ * The six methods of {@link Logarithm}, scalar and bulk, under a configurable {@link ErrorPolicy}.
+ * {@link Logarithm} throws on the first value ≤ 0, which aborts a whole batch for one dirty
+ * element; this engine instead returns {@code NaN}, clamps, or skips the element and reports it,
+ * without ever building an exception:
+ * <pre>
+ *     ValidationReport report = new ValidationReport();
+ *     TolerantLogarithm.of(ErrorPolicy.SKIP_AND_REPORT)
+ *             .logInBase(column, 10, 0, logs, 0, column.length, report);
+ *     for(int k : report.invalidPositions()) ...
+ * </pre>
+ * The policy is chosen once per engine; {@link #of(ErrorPolicy)} returns shared instances,
+ * so choosing it per call costs nothing either.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * A bulk call validates the ranges, then records the invalid positions in the bitset of a
+ * {@link ValidationReport} with the branch-free pass of {@link BatchValidation}. A clean column
+ * goes straight to the unchecked kernel of {@link Logarithm}; otherwise the kernel runs over each
+ * run of valid values between two invalid positions, and every invalid position is patched or
+ * skipped according to the policy. A dirty column thus only costs a kernel restart per invalid value.
+ * <p>
+ * Without a report, a count-only pass sends a clean column straight to the kernel, and a dirty one is
+ * walked in windows of {@value #WINDOW} positions through a per-thread scratch bitset, so that neither
+ * allocates.
+ * <p>
+ * Instances are immutable and thread-safe; the reports passed to them are not.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * Under {@link ErrorPolicy#THROW} the methods throw {@link IllegalArgumentException} exactly like
+ * {@link Logarithm}. Whatever the policy, an invalid base, base quotient or power throws, as
+ * described in {@link ErrorPolicy}, and a range outside its array throws
+ * {@link IndexOutOfBoundsException} before anything is written.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * Valid values give the same results as the engine's own methods; with {@link #of(ErrorPolicy)},
+ * they are bit-for-bit those of {@link Logarithm}.
+ *
+ * @author owl
+ */
+public final class TolerantLogarithm implements LogarithmEngine {
+
+    /** The engine of {@link Logarithm}, recognized to run its unchecked kernels */
+    private static final LogarithmEngine MATH_LOG = Math::log;
+
+    private static final TolerantLogarithm[] SHARED = new TolerantLogarithm[ErrorPolicy.values().length];
+
+    /** Positions walked at a time through {@link #SCRATCH} when the caller passes no report: 512 bytes of bitset */
+    private static final int WINDOW = 4096;
+
+    /** Per-thread bitset locating the invalid values of a dirty range when the caller passes no report */
+    private static final ThreadLocal<ValidationReport> SCRATCH = ThreadLocal.withInitial(ValidationReport::new);
+
+    static {
+        for(ErrorPolicy policy : ErrorPolicy.values()){
+            SHARED[policy.ordinal()] = new TolerantLogarithm(MATH_LOG, policy);
+        }
+    }
+
+    private final LogarithmEngine engine;
+    private final ErrorPolicy policy;
+
+    /**
+     * Private constructor, use the static factories
+     */
+    private TolerantLogarithm(LogarithmEngine engine, ErrorPolicy policy){
+        this.engine = engine;
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the shared engine computing natural logarithms with {@link Math#log} under {@code policy}
+     *
+     * @param policy what to do with an invalid value
+     *
+     * @return the engine for {@code policy}
+     */
+    public static TolerantLogarithm of(ErrorPolicy policy){
+        return SHARED[policy.ordinal()];
+    }
+
+    /**
+     * Creates an engine computing natural logarithms with {@code engine} under {@code policy}
+     *
+     * @param engine the engine computing the natural logarithms, unwrapped if it is itself tolerant
+     * @param policy what to do with an invalid value
+     *
+     * @return a new engine
+     */
+    public static TolerantLogarithm of(LogarithmEngine engine, ErrorPolicy policy){
+        Objects.requireNonNull(policy, "policy");
+        if(engine instanceof TolerantLogarithm tolerant) engine = tolerant.engine;
+        return new TolerantLogarithm(Objects.requireNonNull(engine, "engine"), policy);
+    }
+
+    /**
+     * Returns what this engine does with an invalid value
+     *
+     * @return the error policy
+     */
+    public ErrorPolicy policy(){
+        return policy;
+    }
+
+    @Override
+    public double ln(double value){
+        return engine.ln(value);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} with a specified {@code base}, applying the policy
+     * to {@code value}
+     *
+     * @see Logarithm#logInBase(double, double)
+     */
+    @Override
+    public double logInBase(double value, double base){
+        Logarithm.checkArgument(base > 0, "base must be > 0: ", base);
+        Logarithm.checkArgument(base != 1, "base must not be equal to 1");
+
+        return ln(admit(value)) / ln(base);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} to the power of {@code power} with base {@code base},
+     * applying the policy to {@code value}
+     *
+     * @see Logarithm#logWithPoweredValue(double, double, double)
+     */
+    @Override
+    public double logWithPoweredValue(double value, double power, double base){
+        return power * logInBase(value, base);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} with the base to the power {@code power},
+     * applying the policy to {@code value}
+     *
+     * @see Logarithm#logWithPoweredBase(double, double, double)
+     */
+    @Override
+    public double logWithPoweredBase(double value, double base, double power){
+        Logarithm.checkArgument(power != 1, "power must not be 1");
+        return (1/power) * logInBase(value, base);
+    }
+
+    /**
+     * Computes the logarithm of the quotient {@code valueNumerator / valueDenominator} with the base
+     * {@code base}, applying the policy to the quotient
+     *
+     * @see Logarithm#logOfQuotient(double, double, double)
+     */
+    @Override
+    public double logOfQuotient(double valueNumerator, double valueDenominator, double base){
+        return logInBase(admit(valueNumerator, valueDenominator, "valueDenominator must not be zero"), base);
+    }
+
+    /**
+     * Computes the logarithm of {@code value} with the base defined as the quotient
+     * {@code baseNumerator / baseDenominator}, applying the policy to {@code value}
+     *
+     * @see Logarithm#logWithBaseQuotient(double, double, double)
+     */
+    @Override
+    public double logWithBaseQuotient(double value, double baseNumerator, double baseDenominator){
+        Logarithm.checkArgument(baseDenominator != 0, "baseDenominator is zero");
+        return logInBase(value, baseNumerator/baseDenominator);
+    }
+
+    /**
+     * Computes the logarithm of the quotient {@code valueNumerator / valueDenominator}
+     * with the base defined as the quotient {@code baseNumerator / baseDenominator},
+     * applying the policy to the value quotient
+     *
+     * @see Logarithm#logOfQuotientAndBaseQuotient(double, double, double, double)
+     */
+    @Override
+    public double logOfQuotientAndBaseQuotient(double valueNumerator, double valueDenominator,
+                                               double baseNumerator, double baseDenominator){
+        double value = admit(valueNumerator, valueDenominator, "Illegal given valueDenominator value");
+        Logarithm.checkArgument(baseDenominator != 0, "baseDenominator must not be zero");
+        return logInBase(value, baseNumerator/baseDenominator);
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with a specified {@code base}
+     * and stores the results in {@code destination}, applying the policy to each value
+     *
+     * @param values the values to compute the logarithm for
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     * @param report the report receiving the invalid positions, or {@code null} to discard them
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0 or {@code base} = 1, or under
+     *                                  {@link ErrorPolicy#THROW} if any value ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see Logarithm#logInBase(double[], double, int, double[], int, int)
+     */
+    public void logInBase(double[] values, double base,
+                          int offset, double[] destination, int destinationOffset, int length,
+                          ValidationReport report){
+        double lnBase = lnBase(base);
+        logScaled(values, offset, lnBase, 1, destination, destinationOffset, length, report);
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} to the power of {@code power}
+     * with base {@code base} and stores the results in {@code destination}, applying the policy
+     * to each value
+     *
+     * @param values the values inside the logarithm
+     * @param power the multiplier applied to the logarithm
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     * @param report the report receiving the invalid positions, or {@code null} to discard them
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0 or {@code base} = 1, or under
+     *                                  {@link ErrorPolicy#THROW} if any value ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see Logarithm#logWithPoweredValue(double[], double, double, int, double[], int, int)
+     */
+    public void logWithPoweredValue(double[] values, double power, double base,
+                                    int offset, double[] destination, int destinationOffset, int length,
+                                    ValidationReport report){
+        double lnBase = lnBase(base);
+        logScaled(values, offset, lnBase, power, destination, destinationOffset, length, report);
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with the base to the power
+     * {@code power} and stores the results in {@code destination}, applying the policy to each value
+     *
+     * @param values the values inside the logarithm
+     * @param base the base of the logarithm before exponentiation (must be &gt; 0 and ≠ 1)
+     * @param power the exponent applied to the base (must not be 1)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     * @param report the report receiving the invalid positions, or {@code null} to discard them
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0, {@code base} = 1 or {@code power} = 1,
+     *                                  or under {@link ErrorPolicy#THROW} if any value ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see Logarithm#logWithPoweredBase(double[], double, double, int, double[], int, int)
+     */
+    public void logWithPoweredBase(double[] values, double base, double power,
+                                   int offset, double[] destination, int destinationOffset, int length,
+                                   ValidationReport report){
+        Logarithm.checkArgument(power != 1, "power must not be 1");
+        double lnBase = lnBase(base);
+        logScaled(values, offset, lnBase, 1/power, destination, destinationOffset, length, report);
+    }
+
+    /**
+     * Computes the logarithm of each quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base {@code base} and stores the results in {@code destination}, applying the
+     * policy to each quotient
+     *
+     * @param valueNumerators numerators of the value quotients
+     * @param valueDenominators denominators of the value quotients
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     * @param offset index of the first element read from both source arrays
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     * @param report the report receiving the invalid positions, or {@code null} to discard them
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0 or {@code base} = 1, or under
+     *                                  {@link ErrorPolicy#THROW} if any denominator = 0 or quotient ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see Logarithm#logOfQuotient(double[], double[], double, int, double[], int, int)
+     */
+    public void logOfQuotient(double[] valueNumerators, double[] valueDenominators, double base,
+                              int offset, double[] destination, int destinationOffset, int length,
+                              ValidationReport report){
+        double lnBase = lnBase(base);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, lnBase,
+                destination, destinationOffset, length, report);
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with the base defined as the
+     * quotient {@code baseNumerator / baseDenominator} and stores the results in {@code destination},
+     * applying the policy to each value
+     *
+     * @param values the values inside the logarithm
+     * @param baseNumerator numerator of the base quotient
+     * @param baseDenominator denominator of the base quotient (must not be 0)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     * @param report the report receiving the invalid positions, or {@code null} to discard them
+     *
+     * @throws IllegalArgumentException if {@code baseDenominator} = 0 or the resulting base is invalid,
+     *                                  or under {@link ErrorPolicy#THROW} if any value ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see Logarithm#logWithBaseQuotient(double[], double, double, int, double[], int, int)
+     */
+    public void logWithBaseQuotient(double[] values, double baseNumerator, double baseDenominator,
+                                    int offset, double[] destination, int destinationOffset, int length,
+                                    ValidationReport report){
+        double lnBase = lnBase(baseNumerator, baseDenominator);
+        logScaled(values, offset, lnBase, 1, destination, destinationOffset, length, report);
+    }
+
+    /**
+     * Computes the logarithm of each quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base defined as the quotient {@code baseNumerator / baseDenominator} and stores the
+     * results in {@code destination}, applying the policy to each value quotient
+     *
+     * @param valueNumerators numerators of the value quotients
+     * @param valueDenominators denominators of the value quotients
+     * @param baseNumerator numerator of the base quotient
+     * @param baseDenominator denominator of the base quotient (must not be 0)
+     * @param offset index of the first element read from both source arrays
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     * @param report the report receiving the invalid positions, or {@code null} to discard them
+     *
+     * @throws IllegalArgumentException if {@code baseDenominator} = 0 or the resulting base is invalid,
+     *                                  or under {@link ErrorPolicy#THROW} if any value denominator = 0
+     *                                  or quotient ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see Logarithm#logOfQuotientAndBaseQuotient(double[], double[], double, double, int, double[], int, int)
+     */
+    public void logOfQuotientAndBaseQuotient(double[] valueNumerators, double[] valueDenominators,
+                                             double baseNumerator, double baseDenominator,
+                                             int offset, double[] destination, int destinationOffset, int length,
+                                             ValidationReport report){
+        double lnBase = lnBase(baseNumerator, baseDenominator);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, lnBase,
+                destination, destinationOffset, length, report);
+    }
+
+    @Override
+    public String toString(){
+        return "TolerantLogarithm[" + policy + (engine == MATH_LOG ? "" : ", " + engine) + "]";
+    }
+
+    /**
+     * Returns the value to take the logarithm of in place of {@code value}, {@code NaN} if there is none
+     *
+     * @throws IllegalArgumentException under {@link ErrorPolicy#THROW} if {@code value} ≤ 0
+     */
+    private double admit(double value){
+        if(value > 0) return value;
+        return switch(policy){
+            case THROW -> throw new IllegalArgumentException("value must be > 0: " + value);
+            case CLAMP_TO_MIN_POSITIVE -> Math.max(value, Double.MIN_VALUE);
+            case RETURN_NAN, SKIP_AND_REPORT -> Double.NaN;
+        };
+    }
+
+    /**
+     * Returns the quotient {@code numerator / denominator}, {@code NaN} for a zero denominator
+     *
+     * @throws IllegalArgumentException under {@link ErrorPolicy#THROW} if {@code denominator} = 0
+     */
+    private double admit(double numerator, double denominator, String message){
+        if(denominator != 0) return numerator / denominator;
+        if(policy == ErrorPolicy.THROW) throw new IllegalArgumentException(message);
+        return Double.NaN;
+    }
+
+    /**
+     * Validates {@code base} and returns its natural logarithm under this engine
+     */
+    private double lnBase(double base){
+        Logarithm.checkArgument(base > 0, "base must be > 0: ", base);
+        Logarithm.checkArgument(base != 1, "base must not be equal to 1");
+        return ln(base);
+    }
+
+    /**
+     * Validates the base quotient and returns its natural logarithm under this engine
+     */
+    private double lnBase(double baseNumerator, double baseDenominator){
+        Logarithm.checkArgument(baseDenominator != 0, "baseDenominator must not be zero");
+        return lnBase(baseNumerator/baseDenominator);
+    }
+
+    /**
+     * Bulk {@code factor * log(values)} under the policy, see the class documentation
+     */
+    private void logScaled(double[] values, int offset, double lnBase, double factor,
+                           double[] destination, int destinationOffset, int length, ValidationReport report){
+        if(policy == ErrorPolicy.THROW){
+            Logarithm.checkValues(values, offset, length, destination, destinationOffset);
+            kernel(values, offset, lnBase, factor, destination, destinationOffset, length);
+            if(report != null) report.reset(length);
+            return;
+        }
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        if(report != null){
+            report.record(BatchValidation.invalidValues(values, offset, length, report.words(length)));
+            patch(values, offset, lnBase, factor, destination, destinationOffset, length, report);
+            return;
+        }
+        if(BatchValidation.invalidValues(values, offset, length, null) == 0){
+            kernel(values, offset, lnBase, factor, destination, destinationOffset, length);
+            return;
+        }
+        ValidationReport scratch = SCRATCH.get();
+        for(int from = 0; from < length; from += WINDOW){
+            int window = Math.min(WINDOW, length - from);
+            scratch.record(BatchValidation.invalidValues(values, offset + from, window, scratch.words(window)));
+            patch(values, offset + from, lnBase, factor, destination, destinationOffset + from, window, scratch);
+        }
+    }
+
+    /**
+     * Runs the kernel over the valid runs of a range whose invalid positions are in {@code invalid},
+     * and patches or skips each invalid position according to the policy
+     */
+    private void patch(double[] values, int offset, double lnBase, double factor,
+                       double[] destination, int destinationOffset, int length, ValidationReport invalid){
+        int from = 0;
+        for(int k = invalid.next(0); k >= 0; k = invalid.next(k + 1)){
+            kernel(values, offset + from, lnBase, factor, destination, destinationOffset + from, k - from);
+            if(policy != ErrorPolicy.SKIP_AND_REPORT){
+                destination[destinationOffset + k] = factor * (ln(admit(values[offset + k])) / lnBase);
+            }
+            from = k + 1;
+        }
+        kernel(values, offset + from, lnBase, factor, destination, destinationOffset + from, length - from);
+    }
+
+    /**
+     * Bulk {@code log(valueNumerators / valueDenominators)} under the policy, see the class documentation
+     */
+    private void logOfQuotientScaled(double[] valueNumerators, double[] valueDenominators, int offset, double lnBase,
+                                     double[] destination, int destinationOffset, int length, ValidationReport report){
+        if(policy == ErrorPolicy.THROW){
+            Logarithm.checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+            kernel(valueNumerators, valueDenominators, offset, lnBase, destination, destinationOffset, length);
+            if(report != null) report.reset(length);
+            return;
+        }
+        Objects.checkFromIndexSize(offset, length, valueNumerators.length);
+        Objects.checkFromIndexSize(offset, length, valueDenominators.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        if(report != null){
+            report.record(BatchValidation.invalidQuotients(valueNumerators, valueDenominators, offset, length,
+                    report.words(length)));
+            patch(valueNumerators, valueDenominators, offset, lnBase, destination, destinationOffset, length, report);
+            return;
+        }
+        if(BatchValidation.invalidQuotients(valueNumerators, valueDenominators, offset, length, null) == 0){
+            kernel(valueNumerators, valueDenominators, offset, lnBase, destination, destinationOffset, length);
+            return;
+        }
+        ValidationReport scratch = SCRATCH.get();
+        for(int from = 0; from < length; from += WINDOW){
+            int window = Math.min(WINDOW, length - from);
+            scratch.record(BatchValidation.invalidQuotients(valueNumerators, valueDenominators, offset + from, window,
+                    scratch.words(window)));
+            patch(valueNumerators, valueDenominators, offset + from, lnBase,
+                    destination, destinationOffset + from, window, scratch);
+        }
+    }
+
+    /**
+     * Runs the quotient kernel over the valid runs of a range whose invalid positions are in
+     * {@code invalid}, and patches or skips each invalid position according to the policy
+     */
+    private void patch(double[] valueNumerators, double[] valueDenominators, int offset, double lnBase,
+                       double[] destination, int destinationOffset, int length, ValidationReport invalid){
+        int from = 0;
+        for(int k = invalid.next(0); k >= 0; k = invalid.next(k + 1)){
+            kernel(valueNumerators, valueDenominators, offset + from, lnBase,
+                    destination, destinationOffset + from, k - from);
+            if(policy != ErrorPolicy.SKIP_AND_REPORT){
+                double quotient = admit(valueNumerators[offset + k], valueDenominators[offset + k], null);
+                destination[destinationOffset + k] = ln(admit(quotient)) / lnBase;
+            }
+            from = k + 1;
+        }
+        kernel(valueNumerators, valueDenominators, offset + from, lnBase,
+                destination, destinationOffset + from, length - from);
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = factor * (ln(values[o + i]) / lnBase)}
+     */
+    private void kernel(double[] values, int offset, double lnBase, double factor,
+                        double[] destination, int destinationOffset, int length){
+        if(engine == MATH_LOG){
+            Logarithm.logScaled(values, offset, lnBase, factor, destination, destinationOffset, length);
+            return;
+        }
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = factor * (engine.ln(values[offset + i]) / lnBase);
+        }
+    }
+
+    /**
+     * Unchecked kernel: {@code destination[d + i] = ln(valueNumerators[o + i] / valueDenominators[o + i]) / lnBase}
+     */
+    private void kernel(double[] valueNumerators, double[] valueDenominators, int offset, double lnBase,
+                        double[] destination, int destinationOffset, int length){
+        if(engine == MATH_LOG){
+            Logarithm.logOfQuotientScaled(valueNumerators, valueDenominators, offset, lnBase, 1,
+                    destination, destinationOffset, length);
+            return;
+        }
+        for(int i = 0; i < length; i++){
+            destination[destinationOffset + i] = engine.ln(valueNumerators[offset + i] / valueDenominators[offset + i]) / lnBase;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ *  Validation Report
+ * <p>
+ * Positions of the invalid values met by the last bulk call of a {@link TolerantLogarithm}.
+ * Positions are relative to the processed range: position {@code k} stands for
+ * {@code values[offset + k]} and {@code destination[destinationOffset + k]}.
+ * <hr>
+ *
+ * <h3>⚙️ Storage</h3>
+ * <p>
+ * The positions are kept as a bitset, one bit per processed element, so a report over a million
+ * values takes 128 KiB however dirty they are, and iterating over the invalid positions skips
+ * 64 clean values per word. A report is reset by every call it is passed to, and reuses its words
+ * when they are large enough, so a single report can serve a whole batch job without allocating.
+ * <p>
+ * Instances are <b>not</b> thread-safe.
+ *
+ * @author owl
+ */
+public final class ValidationReport {
+
+    private static final long[] NO_WORDS = {};
+
+    private long[] words = NO_WORDS;
+    private int length;
+    private int invalidCount;
+
+    /**
+     * Creates an empty report, covering no position
+     */
+    public ValidationReport(){}
+
+    /**
+     * Returns the number of positions checked by the last call
+     *
+     * @return the length of the processed range
+     */
+    public int length(){
+        return length;
+    }
+
+    /**
+     * Returns the number of invalid values met by the last call
+     *
+     * @return the number of invalid positions
+     */
+    public int invalidCount(){
+        return invalidCount;
+    }
+
+    /**
+     * Tells whether every value checked by the last call was valid
+     *
+     * @return {@code true} if no position is invalid
+     */
+    public boolean isClean(){
+        return invalidCount == 0;
+    }
+
+    /**
+     * Tells whether the value at {@code position} was invalid
+     *
+     * @param position the position, relative to the processed range
+     *
+     * @return {@code true} if the value was invalid
+     *
+     * @throws IndexOutOfBoundsException if {@code position} is outside {@code [0, length())}
+     */
+    public boolean isInvalid(int position){
+        Objects.checkIndex(position, length);
+        return (words[position >>> 6] & (1L << position)) != 0;
+    }
+
+    /**
+     * Returns the first invalid position at or after {@code fromPosition}
+     *
+     * @param fromPosition the position to start from (must be ≥ 0)
+     *
+     * @return the next invalid position, -1 if there is none
+     *
+     * @throws IndexOutOfBoundsException if {@code fromPosition} &lt; 0
+     */
+    public int nextInvalid(int fromPosition){
+        if(fromPosition < 0) throw new IndexOutOfBoundsException("fromPosition must be >= 0: " + fromPosition);
+        return next(fromPosition);
+    }
+
+    /**
+     * Returns every invalid position, in increasing order
+     *
+     * @return a new array of {@link #invalidCount()} positions
+     */
+    public int[] invalidPositions(){
+        int[] positions = new int[invalidCount];
+        for(int i = 0, position = next(0); position >= 0; position = next(position + 1)){
+            positions[i++] = position;
+        }
+        return positions;
+    }
+
+    /**
+     * Empties this report, which then covers no position
+     */
+    public void clear(){
+        reset(0);
+    }
+
+    @Override
+    public String toString(){
+        return "ValidationReport[" + invalidCount + " invalid of " + length + "]";
+    }
+
+    /**
+     * Empties this report and makes it cover {@code length} positions, all valid
+     */
+    void reset(int length){
+        Arrays.fill(words(length), 0, (length + 63) >>> 6, 0);
+        this.invalidCount = 0;
+    }
+
+    /**
+     * Makes this report cover {@code length} positions and returns its words, which the caller fills
+     * with a {@link BatchValidation} bitset before calling {@link #record(int)}
+     */
+    long[] words(int length){
+        int wordCount = (length + 63) >>> 6;
+        if(words.length < wordCount) words = new long[wordCount];
+        this.length = length;
+        return words;
+    }
+
+    /**
+     * Records the number of invalid positions of the bitset just written to {@link #words(int)}
+     */
+    void record(int invalidCount){
+        this.invalidCount = invalidCount;
+    }
+
+    /**
+     * Unchecked {@link #nextInvalid(int)}
+     */
+    int next(int fromPosition){
+        if(fromPosition >= length) return -1;
+        int wordIndex = fromPosition >>> 6;
+        int wordCount = (length + 63) >>> 6;
+        long word = words[wordIndex] & (-1L << fromPosition);
+        while(word == 0){
+            if(++wordIndex == wordCount) return -1;
+            word = words[wordIndex];
+        }
+        return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+    }
+}
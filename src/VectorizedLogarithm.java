@@ -0,0 +1,402 @@
+import java.util.Objects;
+
+/**
+ *  Vectorized Logarithm Utility Class
+ * <p>
+ * SIMD counterpart of the bulk overloads of {@link Logarithm} and of the bulk kernels of
+ * {@link LogSumExp} and {@link Logit}, built on the {@code jdk.incubator.vector} API. Whole arrays are
+ * processed with the platform's preferred vector species ({@code DoubleVector} or
+ * {@code FloatVector}) and a masked final iteration for the tail.
+ * <hr>
+ *
+ * <h3>⚙️ Availability</h3>
+ * <p>
+ * The incubator module is optional. It is enabled with
+ * <pre>
+ *     --add-modules jdk.incubator.vector
+ * </pre>
+ * on both the compiler and the launcher command lines. When the module is not present at
+ * runtime, every method falls back to a scalar loop with the same semantics;
+ * {@link #isVectorized()} reports which path is in use.
+ * <p>
+ * This class is <b>non-instantiable</b>.
+ * <hr>
+ *
+ * <h3> Validation</h3>
+ * <p>
+ * Arguments are validated exactly like the bulk overloads of {@link Logarithm}: the base
+ * once per call, then every element before anything is written to the destination.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * The vector {@code LOG} operation is not required to be bit-for-bit identical to
+ * {@link Math#log}, and the base is applied as a multiplication by {@code 1 / ln(base)}.
+ * Results are therefore within a few ulps of {@link Logarithm}, but not identical to it.
+ *
+ * @author owl
+ */
+public final class VectorizedLogarithm {
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private VectorizedLogarithm(){}
+
+    /**
+     * Tells whether the SIMD kernels are in use
+     *
+     * @return {@code true} if {@code jdk.incubator.vector} is available, {@code false} if the scalar fallback is used
+     */
+    public static boolean isVectorized(){
+        return VECTORIZED;
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with a specified {@code base}
+     *
+     * @param values the values to compute the logarithm for (each must be &gt; 0)
+     * @param base the base of the logarithm (must be &gt; 0 and ≠ 1)
+     * @param offset index of the first element read from {@code values}
+     * @param destination the array receiving the results
+     * @param destinationOffset index of the first element written to {@code destination}
+     * @param length number of elements to process
+     *
+     * @throws IllegalArgumentException if {@code base} ≤ 0, {@code base} = 1, or any value ≤ 0
+     * @throws IndexOutOfBoundsException if a range falls outside its array
+     *
+     * @see Logarithm#logInBase(double[], double, int, double[], int, int)
+     */
+    public static void logInBase(double[] values, double base,
+                                 int offset, double[] destination, int destinationOffset, int length){
+        LogBase logBase = LogBase.of(base);
+        Logarithm.checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, logBase, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes {@code power} times the logarithm of each element of {@code values} with base {@code base}
+     *
+     * @see Logarithm#logWithPoweredValue(double[], double, double, int, double[], int, int)
+     */
+    public static void logWithPoweredValue(double[] values, double power, double base,
+                                           int offset, double[] destination, int destinationOffset, int length){
+        LogBase logBase = LogBase.of(base);
+        Logarithm.checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, logBase, power, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with the base to the power {@code power}
+     *
+     * @see Logarithm#logWithPoweredBase(double[], double, double, int, double[], int, int)
+     */
+    public static void logWithPoweredBase(double[] values, double base, double power,
+                                          int offset, double[] destination, int destinationOffset, int length){
+        Logarithm.checkArgument(power != 1, "power must not be 1");
+        LogBase logBase = LogBase.of(base);
+        Logarithm.checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, logBase, 1/power, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each quotient {@code valueNumerators[i] / valueDenominators[i]} with base {@code base}
+     *
+     * @see Logarithm#logOfQuotient(double[], double[], double, int, double[], int, int)
+     */
+    public static void logOfQuotient(double[] valueNumerators, double[] valueDenominators, double base,
+                                     int offset, double[] destination, int destinationOffset, int length){
+        LogBase logBase = LogBase.of(base);
+        Logarithm.checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, logBase, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each element of {@code values} with the base
+     * {@code baseNumerator / baseDenominator}
+     *
+     * @see Logarithm#logWithBaseQuotient(double[], double, double, int, double[], int, int)
+     */
+    public static void logWithBaseQuotient(double[] values, double baseNumerator, double baseDenominator,
+                                           int offset, double[] destination, int destinationOffset, int length){
+        LogBase logBase = LogBase.ofQuotient(baseNumerator, baseDenominator);
+        Logarithm.checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, logBase, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logarithm of each quotient {@code valueNumerators[i] / valueDenominators[i]}
+     * with the base {@code baseNumerator / baseDenominator}
+     *
+     * @see Logarithm#logOfQuotientAndBaseQuotient(double[], double[], double, double, int, double[], int, int)
+     */
+    public static void logOfQuotientAndBaseQuotient(double[] valueNumerators, double[] valueDenominators,
+                                                    double baseNumerator, double baseDenominator,
+                                                    int offset, double[] destination, int destinationOffset, int length){
+        LogBase logBase = LogBase.ofQuotient(baseNumerator, baseDenominator);
+        Logarithm.checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, logBase, destination, destinationOffset, length);
+    }
+
+    /**
+     * Single precision counterpart of {@link #logInBase(double[], double, int, double[], int, int)}
+     * <p>
+     * The base and its logarithm are handled in double precision, only the per-element work is done in {@code float}.
+     */
+    public static void logInBase(float[] values, double base,
+                                 int offset, float[] destination, int destinationOffset, int length){
+        LogBase logBase = LogBase.of(base);
+        Logarithm.checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, (float) logBase.inverseLnBase(), destination, destinationOffset, length);
+    }
+
+    /**
+     * Single precision counterpart of {@link #logWithPoweredValue(double[], double, double, int, double[], int, int)}
+     */
+    public static void logWithPoweredValue(float[] values, double power, double base,
+                                           int offset, float[] destination, int destinationOffset, int length){
+        LogBase logBase = LogBase.of(base);
+        Logarithm.checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, (float) (power * logBase.inverseLnBase()), destination, destinationOffset, length);
+    }
+
+    /**
+     * Single precision counterpart of {@link #logWithPoweredBase(double[], double, double, int, double[], int, int)}
+     */
+    public static void logWithPoweredBase(float[] values, double base, double power,
+                                          int offset, float[] destination, int destinationOffset, int length){
+        Logarithm.checkArgument(power != 1, "power must not be 1");
+        LogBase logBase = LogBase.of(base);
+        Logarithm.checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, (float) (logBase.inverseLnBase() / power), destination, destinationOffset, length);
+    }
+
+    /**
+     * Single precision counterpart of {@link #logOfQuotient(double[], double[], double, int, double[], int, int)}
+     */
+    public static void logOfQuotient(float[] valueNumerators, float[] valueDenominators, double base,
+                                     int offset, float[] destination, int destinationOffset, int length){
+        LogBase logBase = LogBase.of(base);
+        Logarithm.checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, (float) logBase.inverseLnBase(),
+                destination, destinationOffset, length);
+    }
+
+    /**
+     * Single precision counterpart of {@link #logWithBaseQuotient(double[], double, double, int, double[], int, int)}
+     */
+    public static void logWithBaseQuotient(float[] values, double baseNumerator, double baseDenominator,
+                                           int offset, float[] destination, int destinationOffset, int length){
+        LogBase logBase = LogBase.ofQuotient(baseNumerator, baseDenominator);
+        Logarithm.checkValues(values, offset, length, destination, destinationOffset);
+        logScaled(values, offset, (float) logBase.inverseLnBase(), destination, destinationOffset, length);
+    }
+
+    /**
+     * Single precision counterpart of
+     * {@link #logOfQuotientAndBaseQuotient(double[], double[], double, double, int, double[], int, int)}
+     */
+    public static void logOfQuotientAndBaseQuotient(float[] valueNumerators, float[] valueDenominators,
+                                                    double baseNumerator, double baseDenominator,
+                                                    int offset, float[] destination, int destinationOffset, int length){
+        LogBase logBase = LogBase.ofQuotient(baseNumerator, baseDenominator);
+        Logarithm.checkQuotients(valueNumerators, valueDenominators, offset, length, destination, destinationOffset);
+        logOfQuotientScaled(valueNumerators, valueDenominators, offset, (float) logBase.inverseLnBase(),
+                destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the natural log-sum-exp of a range of {@code values}
+     *
+     * @see LogSumExp#logSumExp(double[], int, int)
+     */
+    public static double logSumExp(double[] values, int offset, int length){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        return lnSumExp(values, offset, 1, length);
+    }
+
+    /**
+     * Computes the log-sum-exp in {@code base} of a range of {@code values}
+     *
+     * @see LogSumExp#logSumExp(double[], int, int, LogBase)
+     */
+    public static double logSumExp(double[] values, int offset, int length, LogBase base){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        return lnSumExp(values, offset, base.lnBase(), length) * base.inverseLnBase();
+    }
+
+    /**
+     * Computes the natural log-softmax of a range of {@code values} and stores it in {@code destination}
+     *
+     * @see LogSumExp#logSoftmax(double[], int, double[], int, int)
+     */
+    public static void logSoftmax(double[] values, int offset, double[] destination, int destinationOffset, int length){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        shift(values, offset, lnSumExp(values, offset, 1, length), destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the log-softmax in {@code base} of a range of {@code values} and stores it in {@code destination}
+     *
+     * @see LogSumExp#logSoftmax(double[], int, double[], int, int, LogBase)
+     */
+    public static void logSoftmax(double[] values, int offset, double[] destination, int destinationOffset, int length,
+                                  LogBase base){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        double logSumExp = lnSumExp(values, offset, base.lnBase(), length) * base.inverseLnBase();
+        shift(values, offset, logSumExp, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the natural logit of a range of {@code probabilities} and stores it in {@code destination}
+     *
+     * @see Logit#logit(double[], int, double[], int, int)
+     */
+    public static void logit(double[] probabilities, int offset, double[] destination, int destinationOffset, int length){
+        Logit.checkProbabilities(probabilities, offset, length, destination, destinationOffset);
+        logitScaled(probabilities, offset, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the logit in {@code base} of a range of {@code probabilities} and stores it in {@code destination}
+     *
+     * @see Logit#logit(double[], int, double[], int, int, LogBase)
+     */
+    public static void logit(double[] probabilities, int offset, double[] destination, int destinationOffset, int length,
+                             LogBase base){
+        Logit.checkProbabilities(probabilities, offset, length, destination, destinationOffset);
+        logitScaled(probabilities, offset, base.inverseLnBase(), destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the natural log-sigmoid of a range of {@code values} and stores it in {@code destination}
+     *
+     * @see Logit#logSigmoid(double[], int, double[], int, int)
+     */
+    public static void logSigmoid(double[] values, int offset, double[] destination, int destinationOffset, int length){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        logSigmoidScaled(values, offset, 1, 1, destination, destinationOffset, length);
+    }
+
+    /**
+     * Computes the log-sigmoid in {@code base} of a range of {@code values} and stores it in {@code destination}
+     *
+     * @see Logit#logSigmoid(double[], int, double[], int, int, LogBase)
+     */
+    public static void logSigmoid(double[] values, int offset, double[] destination, int destinationOffset, int length,
+                                  LogBase base){
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+        logSigmoidScaled(values, offset, base.lnBase(), base.inverseLnBase(), destination, destinationOffset, length);
+    }
+
+    /**
+     * Dispatches to the SIMD kernel, or to the scalar kernel of {@link Logarithm} when vectors are unavailable
+     */
+    private static void logScaled(double[] values, int offset, LogBase logBase, double factor,
+                                  double[] destination, int destinationOffset, int length){
+        if(VECTORIZED){
+            LogarithmVectorKernels.logScaled(values, offset, factor * logBase.inverseLnBase(),
+                    destination, destinationOffset, length);
+        } else {
+            Logarithm.logScaled(values, offset, logBase.lnBase(), factor, destination, destinationOffset, length);
+        }
+    }
+
+    /**
+     * Dispatches to the SIMD kernel, or to the scalar kernel of {@link Logarithm} when vectors are unavailable
+     */
+    private static void logOfQuotientScaled(double[] valueNumerators, double[] valueDenominators, int offset,
+                                            LogBase logBase, double[] destination, int destinationOffset, int length){
+        if(VECTORIZED){
+            LogarithmVectorKernels.logOfQuotientScaled(valueNumerators, valueDenominators, offset,
+                    logBase.inverseLnBase(), destination, destinationOffset, length);
+        } else {
+            Logarithm.logOfQuotientScaled(valueNumerators, valueDenominators, offset, logBase.lnBase(), 1,
+                    destination, destinationOffset, length);
+        }
+    }
+
+    /**
+     * Dispatches to the SIMD kernel, or to a scalar loop when vectors are unavailable
+     */
+    private static void logScaled(float[] values, int offset, float scale,
+                                  float[] destination, int destinationOffset, int length){
+        if(VECTORIZED){
+            LogarithmVectorKernels.logScaled(values, offset, scale, destination, destinationOffset, length);
+        } else {
+            for(int i = 0; i < length; i++){
+                destination[destinationOffset + i] = (float) Math.log(values[offset + i]) * scale;
+            }
+        }
+    }
+
+    /**
+     * Dispatches to the SIMD kernel, or to a scalar loop when vectors are unavailable
+     */
+    private static void logOfQuotientScaled(float[] valueNumerators, float[] valueDenominators, int offset, float scale,
+                                            float[] destination, int destinationOffset, int length){
+        if(VECTORIZED){
+            LogarithmVectorKernels.logOfQuotientScaled(valueNumerators, valueDenominators, offset, scale,
+                    destination, destinationOffset, length);
+        } else {
+            for(int i = 0; i < length; i++){
+                destination[destinationOffset + i] =
+                        (float) Math.log((double) valueNumerators[offset + i] / valueDenominators[offset + i]) * scale;
+            }
+        }
+    }
+
+    /**
+     * Dispatches to the SIMD kernel, or to the scalar kernel of {@link LogSumExp} when vectors are unavailable
+     */
+    private static double lnSumExp(double[] values, int offset, double scale, int length){
+        if(VECTORIZED){
+            return LogarithmVectorKernels.lnSumExp(values, offset, scale, length);
+        } else {
+            return LogSumExp.lnSumExp(values, offset, scale, length);
+        }
+    }
+
+    /**
+     * Dispatches to the SIMD kernel, or to the scalar kernel of {@link LogSumExp} when vectors are unavailable
+     */
+    private static void shift(double[] values, int offset, double shift,
+                              double[] destination, int destinationOffset, int length){
+        if(VECTORIZED){
+            LogarithmVectorKernels.shift(values, offset, shift, destination, destinationOffset, length);
+        } else {
+            LogSumExp.shift(values, offset, shift, destination, destinationOffset, length);
+        }
+    }
+
+    /**
+     * Dispatches to the SIMD kernel, or to the scalar kernel of {@link Logit} when vectors are unavailable
+     */
+    private static void logitScaled(double[] probabilities, int offset, double scale,
+                                    double[] destination, int destinationOffset, int length){
+        if(VECTORIZED){
+            LogarithmVectorKernels.logitScaled(probabilities, offset, scale, destination, destinationOffset, length);
+        } else {
+            Logit.logitScaled(probabilities, offset, scale, destination, destinationOffset, length);
+        }
+    }
+
+    /**
+     * Dispatches to the SIMD kernel, or to the scalar kernel of {@link Logit} when vectors are unavailable
+     */
+    private static void logSigmoidScaled(double[] values, int offset, double inputScale, double outputScale,
+                                         double[] destination, int destinationOffset, int length){
+        if(VECTORIZED){
+            LogarithmVectorKernels.logSigmoidScaled(values, offset, inputScale, outputScale,
+                    destination, destinationOffset, length);
+        } else {
+            Logit.logSigmoidScaled(values, offset, inputScale, outputScale, destination, destinationOffset, length);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ *  Test Suite
+ * <p>
+ * Runs every test class of the tree and fails at the first broken assertion. The allocation tests
+ * are only meaningful with escape analysis disabled, so the suite is meant to be run as:
+ * <pre>
+ *     java -XX:-DoEscapeAnalysis --add-modules jdk.incubator.vector AllTests
+ * </pre>
+ * Without {@code jdk.incubator.vector}, the vectorized engines are checked through their scalar fallbacks.
+ *
+ * @author owl
+ */
+public final class AllTests {
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private AllTests(){}
+
+    /**
+     * Runs the suite
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        LogarithmTest.main(args);
+        VectorizedLogarithmTest.main(args);
+        FastLogarithmTest.main(args);
+        TableLogarithmTest.main(args);
+        ParallelLogarithmTest.main(args);
+        SegmentLogarithmTest.main(args);
+        BufferLogarithmTest.main(args);
+        MappedLogarithmTest.main(args);
+        LogStreamsTest.main(args);
+        BatchValidationTest.main(args);
+        BigDecimalLogarithmTest.main(args);
+        DoubleDoubleLogarithmTest.main(args);
+        CorrectlyRoundedLogarithmTest.main(args);
+        LogBaseTest.main(args);
+        IntegerLogarithmTest.main(args);
+        LogNumberTest.main(args);
+        LogIndexMappingTest.main(args);
+        QuantileSketchTest.main(args);
+        LogSumExpTest.main(args);
+        EntropyTest.main(args);
+        TolerantLogarithmTest.main(args);
+        LogitTest.main(args);
+        AllocationTest.main(args);
+        System.out.println("all tests passed");
+    }
+}
@@ -0,0 +1,124 @@
+import java.lang.management.ManagementFactory;
+
+/**
+ *  Allocation Tests
+ * <p>
+ * Checks the allocation guarantee of {@link Logarithm}: every method taking {@code double} or
+ * {@code long} arguments, scalar and bulk alike, must not allocate on valid arguments. The test is
+ * only meaningful with escape analysis disabled, so that an allocation the JIT would otherwise
+ * scalar-replace still shows, as {@link AllTests} is meant to be run.
+ * <hr>
+ *
+ * <h3>⚙️ Algorithm</h3>
+ * <p>
+ * Each method is first called enough times to be compiled, then the bytes allocated by the current
+ * thread, as reported by {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}, are
+ * read around a fixed number of calls. A single allocated object per call would amount to megabytes,
+ * so a method passes if the whole measured loop allocates less than {@link #TOLERANCE} bytes, which
+ * absorbs the bookkeeping of the measurement itself.
+ *
+ * @author owl
+ */
+final class AllocationTest {
+
+    /** Calls made before measuring, enough for the JIT to compile the method under test */
+    private static final int WARMUP_CALLS = 200_000;
+
+    /** Calls measured per method */
+    private static final int MEASURED_CALLS = 100_000;
+
+    /** Bytes the measured loop may allocate, far below one object per call */
+    private static final long TOLERANCE = 1024;
+
+    /** Length of the arrays passed to the bulk methods */
+    private static final int LENGTH = 64;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final double[] VALUES = new double[LENGTH];
+    private static final double[] DENOMINATORS = new double[LENGTH];
+    private static final long[] LONG_NUMERATORS = new long[LENGTH];
+    private static final long[] LONG_DENOMINATORS = new long[LENGTH];
+    private static final double[] DESTINATION = new double[LENGTH];
+
+    /** Keeps the results alive, so the calls cannot be eliminated */
+    private static double sink;
+
+    /**
+     * A call of the method under test, {@code i} varying its arguments
+     */
+    @FunctionalInterface
+    interface Call {
+        void run(int i);
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private AllocationTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        for(int i = 0; i < LENGTH; i++){
+            VALUES[i] = 1.5 + i;
+            DENOMINATORS[i] = 7 + i;
+            LONG_NUMERATORS[i] = 3L * i + 1;
+            LONG_DENOMINATORS[i] = 5L * i + 2;
+        }
+        scalarMethodsDoNotAllocate();
+        bulkMethodsDoNotAllocate();
+    }
+
+    private static void scalarMethodsDoNotAllocate(){
+        assertNoAllocation("logInBase(double, double)", i -> sink += Logarithm.logInBase(1.5 + i, 3));
+        assertNoAllocation("logWithPoweredValue(double, double, double)", i -> sink += Logarithm.logWithPoweredValue(1.5 + i, 2.5, 3));
+        assertNoAllocation("logWithPoweredBase(double, double, double)", i -> sink += Logarithm.logWithPoweredBase(1.5 + i, 3, 2.5));
+        assertNoAllocation("logOfQuotient(double, double, double)", i -> sink += Logarithm.logOfQuotient(1.5 + i, 7, 3));
+        assertNoAllocation("logWithBaseQuotient(double, double, double)", i -> sink += Logarithm.logWithBaseQuotient(1.5 + i, 7, 3));
+        assertNoAllocation("logOfQuotientAndBaseQuotient(double, double, double, double)",
+                i -> sink += Logarithm.logOfQuotientAndBaseQuotient(1.5 + i, 7, 5, 3));
+        assertNoAllocation("logOfQuotient(long, long, double)", i -> sink += Logarithm.logOfQuotient(i + 1L, 7L, 3));
+        assertNoAllocation("logWithBaseQuotient(double, long, long)", i -> sink += Logarithm.logWithBaseQuotient(1.5 + i, 7L, 3L));
+        assertNoAllocation("logOfQuotientAndBaseQuotient(long, long, long, long)",
+                i -> sink += Logarithm.logOfQuotientAndBaseQuotient(i + 1L, 7L, 5L, 3L));
+    }
+
+    private static void bulkMethodsDoNotAllocate(){
+        assertNoAllocation("logInBase(double[], ...)", i -> Logarithm.logInBase(VALUES, 3, 0, DESTINATION, 0, LENGTH));
+        assertNoAllocation("logWithPoweredValue(double[], ...)",
+                i -> Logarithm.logWithPoweredValue(VALUES, 2.5, 3, 0, DESTINATION, 0, LENGTH));
+        assertNoAllocation("logWithPoweredBase(double[], ...)",
+                i -> Logarithm.logWithPoweredBase(VALUES, 3, 2.5, 0, DESTINATION, 0, LENGTH));
+        assertNoAllocation("logOfQuotient(double[], double[], ...)",
+                i -> Logarithm.logOfQuotient(VALUES, DENOMINATORS, 3, 0, DESTINATION, 0, LENGTH));
+        assertNoAllocation("logWithBaseQuotient(double[], double, double, ...)",
+                i -> Logarithm.logWithBaseQuotient(VALUES, 7, 3, 0, DESTINATION, 0, LENGTH));
+        assertNoAllocation("logOfQuotientAndBaseQuotient(double[], double[], ...)",
+                i -> Logarithm.logOfQuotientAndBaseQuotient(VALUES, DENOMINATORS, 7, 3, 0, DESTINATION, 0, LENGTH));
+        assertNoAllocation("logOfQuotient(long[], long[], ...)",
+                i -> Logarithm.logOfQuotient(LONG_NUMERATORS, LONG_DENOMINATORS, 3, 0, DESTINATION, 0, LENGTH));
+        assertNoAllocation("logWithBaseQuotient(double[], long, long, ...)",
+                i -> Logarithm.logWithBaseQuotient(VALUES, 7L, 3L, 0, DESTINATION, 0, LENGTH));
+        assertNoAllocation("logOfQuotientAndBaseQuotient(long[], long[], ...)",
+                i -> Logarithm.logOfQuotientAndBaseQuotient(LONG_NUMERATORS, LONG_DENOMINATORS, 7L, 3L, 0, DESTINATION, 0, LENGTH));
+        sink += DESTINATION[LENGTH - 1];
+    }
+
+    /**
+     * Measures the bytes allocated by {@code call} and fails above {@link #TOLERANCE}
+     */
+    static void assertNoAllocation(String name, Call call){
+        for(int i = 0; i < WARMUP_CALLS; i++) call.run(i);
+        long thread = Thread.currentThread().threadId();
+        long before = THREADS.getThreadAllocatedBytes(thread);
+        for(int i = 0; i < MEASURED_CALLS; i++) call.run(i);
+        long allocated = THREADS.getThreadAllocatedBytes(thread) - before;
+        TestSupport.assertTrue(allocated < TOLERANCE,
+                name + " allocates " + (double) allocated / MEASURED_CALLS + " bytes per call");
+    }
+}
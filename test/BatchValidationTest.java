@@ -0,0 +1,120 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ *  BatchValidation Tests
+ * <p>
+ * Fuzzes the bitsets of {@link BatchValidation} against a naive check of each element, over ranges
+ * of every length around the 64-position words and the vector width, at arbitrary offsets. With
+ * {@code jdk.incubator.vector}, the vector kernels are checked as well as the public methods.
+ *
+ * @author owl
+ */
+final class BatchValidationTest {
+
+    /** Elements the invalid entries are drawn from, valid ones included */
+    private static final double[] SPECIAL = {0, -0.0, -1, 1, 2, 0.5, Double.NaN, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY, Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE};
+
+    /** Left in the words of the bitset outside the range */
+    private static final long UNTOUCHED = 0x5A5A5A5A5A5A5A5AL;
+
+    /**
+     * A bulk validation under test
+     */
+    @FunctionalInterface
+    private interface Validation {
+        int invalid(double[] first, double[] second, int offset, int length, long[] invalid);
+    }
+
+    /**
+     * The naive check of one element, or of one quotient
+     */
+    @FunctionalInterface
+    private interface Naive {
+        boolean invalid(double first, double second);
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private BatchValidationTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        Naive value = (x, unused) -> !(x > 0);
+        Naive base = (x, unused) -> !(x > 0) || x == 1;
+        Naive power = (x, unused) -> x == 1;
+        Naive quotient = (n, d) -> d == 0 || !(n / d > 0);
+        Naive baseQuotient = (n, d) -> d == 0 || !(n / d > 0) || n / d == 1;
+        fuzz("invalidValues", (a, b, o, l, w) -> BatchValidation.invalidValues(a, o, l, w), value);
+        fuzz("invalidBases", (a, b, o, l, w) -> BatchValidation.invalidBases(a, o, l, w), base);
+        fuzz("invalidPowers", (a, b, o, l, w) -> BatchValidation.invalidPowers(a, o, l, w), power);
+        fuzz("invalidQuotients", BatchValidation::invalidQuotients, quotient);
+        fuzz("invalidBaseQuotients", BatchValidation::invalidBaseQuotients, baseQuotient);
+        if(VectorizedLogarithm.isVectorized()){
+            fuzz("vector invalidValues", (a, b, o, l, w) -> LogarithmVectorKernels.invalidValues(a, o, l, w), value);
+            fuzz("vector invalidBases", (a, b, o, l, w) -> LogarithmVectorKernels.invalidBases(a, o, l, w), base);
+            fuzz("vector invalidPowers", (a, b, o, l, w) -> LogarithmVectorKernels.invalidPowers(a, o, l, w), power);
+            fuzz("vector invalidQuotients", LogarithmVectorKernels::invalidQuotients, quotient);
+            fuzz("vector invalidBaseQuotients", LogarithmVectorKernels::invalidBaseQuotients, baseQuotient);
+        }
+        rejectsBadRanges();
+    }
+
+    private static void fuzz(String name, Validation validation, Naive naive){
+        SplittableRandom random = new SplittableRandom(17);
+        for(int length = 0; length <= 300; length++){
+            for(int trial = 0; trial < 4; trial++){
+                int offset = random.nextInt(9);
+                double[] first = elements(random, offset + length);
+                double[] second = elements(random, offset + length);
+                long[] words = new long[BatchValidation.wordCount(length) + 2];
+                Arrays.fill(words, UNTOUCHED);
+                int count = validation.invalid(first, second, offset, length, words);
+                int expected = 0;
+                for(int k = 0; k < length; k++){
+                    boolean invalid = naive.invalid(first[offset + k], second[offset + k]);
+                    if(invalid) expected++;
+                    TestSupport.assertTrue(((words[k >>> 6] >>> k) & 1) == (invalid ? 1 : 0),
+                            name + ": bit " + k + " of " + length + " for " + first[offset + k] + ", " + second[offset + k]);
+                }
+                TestSupport.assertEquals(expected, count, name + ": count of " + length);
+                for(int word = BatchValidation.wordCount(length); word < words.length; word++){
+                    TestSupport.assertEquals(UNTOUCHED, words[word], name + ": word " + word + " beyond " + length);
+                }
+                if((length & 63) != 0){
+                    TestSupport.assertEquals(0, words[length >>> 6] >>> (length & 63), name + ": bits past " + length);
+                }
+                TestSupport.assertEquals(expected, validation.invalid(first, second, offset, length, null),
+                        name + ": count only of " + length);
+            }
+        }
+    }
+
+    /**
+     * Mostly ordinary positive values, with special ones at random, densely enough that most words mix both
+     */
+    private static double[] elements(SplittableRandom random, int length){
+        double[] elements = new double[length];
+        for(int i = 0; i < length; i++){
+            elements[i] = random.nextInt(4) == 0 ? SPECIAL[random.nextInt(SPECIAL.length)] : random.nextDouble(0.1, 10);
+        }
+        return elements;
+    }
+
+    private static void rejectsBadRanges(){
+        double[] values = new double[100];
+        TestSupport.assertThrows(IndexOutOfBoundsException.class,
+                () -> BatchValidation.invalidValues(values, 50, 51, null), "range past the end");
+        TestSupport.assertThrows(IndexOutOfBoundsException.class,
+                () -> BatchValidation.invalidValues(values, 0, 100, new long[1]), "bitset too short");
+        TestSupport.assertThrows(IndexOutOfBoundsException.class,
+                () -> BatchValidation.invalidQuotients(values, new double[10], 0, 100, null), "short denominators");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> BatchValidation.wordCount(-1), "negative length");
+    }
+}
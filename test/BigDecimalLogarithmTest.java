@@ -0,0 +1,139 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+/**
+ *  BigDecimalLogarithm Tests
+ * <p>
+ * Checks that {@link BigDecimalLogarithm} is accurate to one unit in the last place at the requested
+ * precision: against published digits of {@code ln(2)} and {@code ln(10)}, against the plain
+ * {@code log1p} series close to 1, and against its own result at a much higher precision elsewhere.
+ * The cached constants must serve lower precisions after a higher one, and quotients must never be
+ * rounded before their logarithm is taken.
+ *
+ * @author owl
+ */
+final class BigDecimalLogarithmTest {
+
+    /** ln(2) to 60 decimal places */
+    private static final BigDecimal LN_2 = new BigDecimal("0.693147180559945309417232121458176568075500134360255254120680");
+
+    /** ln(10) to 60 decimal places */
+    private static final BigDecimal LN_10 = new BigDecimal("2.302585092994045684017991454684364207601101488628772976033328");
+
+    /** Digits added to a precision to compute its reference */
+    private static final int REFERENCE_DIGITS = 30;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private BigDecimalLogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        cachedConstantsServeLowerPrecisions();
+        matchesSeriesNearOne();
+        matchesHigherPrecision();
+        quotientsAreNotRounded();
+        roundsWithTheRoundingModeOfTheContext();
+        rejectsInvalidArguments();
+    }
+
+    private static void cachedConstantsServeLowerPrecisions(){
+        // the first call caches both constants at 200 digits, the later ones round them down
+        BigDecimalLogarithm.ln(new BigDecimal("1e-300"), new MathContext(200));
+        for(int digits : new int[]{10, 16, 34, 50}){
+            MathContext mc = new MathContext(digits);
+            assertWithinUlp(LN_2, BigDecimalLogarithm.ln(BigDecimal.valueOf(2), mc), "ln(2) to " + digits + " digits");
+            assertWithinUlp(LN_10, BigDecimalLogarithm.ln(BigDecimal.TEN, mc), "ln(10) to " + digits + " digits");
+            assertWithinUlp(LN_2.multiply(BigDecimal.valueOf(-3)).subtract(LN_10.multiply(BigDecimal.valueOf(7))),
+                    BigDecimalLogarithm.ln(new BigDecimal("0.125e-7"), mc), "ln(2^-3 * 10^-7) to " + digits + " digits");
+        }
+    }
+
+    private static void matchesSeriesNearOne(){
+        SplittableRandom random = new SplittableRandom(20);
+        for(int i = 0; i < 200; i++){
+            BigDecimal h = new BigDecimal(random.nextDouble(-1, 1)).scaleByPowerOfTen(-3 - random.nextInt(60));
+            for(int digits : new int[]{16, 50, 120}){
+                MathContext mc = new MathContext(digits);
+                assertWithinUlp(log1p(h, digits + REFERENCE_DIGITS), BigDecimalLogarithm.ln(BigDecimal.ONE.add(h), mc),
+                        "ln(1 + " + h + ") to " + digits + " digits");
+            }
+        }
+    }
+
+    private static void matchesHigherPrecision(){
+        SplittableRandom random = new SplittableRandom(21);
+        for(int i = 0; i < 300; i++){
+            BigDecimal value = new BigDecimal(random.nextDouble(0.1, 10)).scaleByPowerOfTen(random.nextInt(-400, 400))
+                    .round(new MathContext(1 + random.nextInt(80)));
+            for(int digits : new int[]{16, 50, 200}){
+                BigDecimal reference = BigDecimalLogarithm.ln(value, new MathContext(digits + REFERENCE_DIGITS));
+                assertWithinUlp(reference, BigDecimalLogarithm.ln(value, new MathContext(digits)),
+                        "ln(" + value + ") to " + digits + " digits");
+            }
+        }
+    }
+
+    private static void quotientsAreNotRounded(){
+        MathContext mc = new MathContext(40);
+        BigDecimal numerator = new BigDecimal("100000000000000000000000000000000000000000000000001");
+        BigDecimal denominator = new BigDecimal("100000000000000000000000000000000000000000000000000");
+        // numerator / denominator - 1 is 1e-50, lost to any division rounded to 40 digits
+        MathContext wide = new MathContext(40 + REFERENCE_DIGITS);
+        BigDecimal exact = log1p(new BigDecimal("1e-50"), wide.getPrecision()).divide(LN_10, wide);
+        assertWithinUlp(exact, BigDecimalLogarithm.logOfQuotient(numerator, denominator, BigDecimal.TEN, mc), "log10(1 + 1e-50)");
+        BigDecimal third = BigDecimalLogarithm.logWithBaseQuotient(BigDecimal.valueOf(3), BigDecimal.ONE, BigDecimal.valueOf(3), mc);
+        TestSupport.assertTrue(third.compareTo(BigDecimal.ONE.negate()) == 0, "log in base 1/3 of 3: " + third);
+        BigDecimal seven = BigDecimalLogarithm.logOfQuotientAndBaseQuotient(BigDecimal.valueOf(343), BigDecimal.valueOf(27),
+                BigDecimal.valueOf(7), BigDecimal.valueOf(3), mc);
+        assertWithinUlp(BigDecimal.valueOf(3), seven, "log in base 7/3 of 343/27");
+    }
+
+    private static void roundsWithTheRoundingModeOfTheContext(){
+        BigDecimal down = BigDecimalLogarithm.ln(BigDecimal.valueOf(2), new MathContext(20, RoundingMode.DOWN));
+        BigDecimal up = BigDecimalLogarithm.ln(BigDecimal.valueOf(2), new MathContext(20, RoundingMode.UP));
+        TestSupport.assertTrue(down.equals(LN_2.round(new MathContext(20, RoundingMode.DOWN))), "ln(2) rounded down: " + down);
+        TestSupport.assertTrue(up.equals(LN_2.round(new MathContext(20, RoundingMode.UP))), "ln(2) rounded up: " + up);
+    }
+
+    private static void rejectsInvalidArguments(){
+        MathContext mc = new MathContext(20);
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> BigDecimalLogarithm.ln(BigDecimal.TEN, MathContext.UNLIMITED), "unlimited precision");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> BigDecimalLogarithm.ln(BigDecimal.ZERO, mc), "ln(0)");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> BigDecimalLogarithm.logInBase(BigDecimal.TEN, BigDecimal.ONE, mc), "base 1");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> BigDecimalLogarithm.logOfQuotient(BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.TEN, mc), "zero denominator");
+    }
+
+    /**
+     * {@code ln(1 + h)} from the plain series {@code h - h²/2 + h³/3 - ...}, for {@code |h| ≤ 10^-3}
+     */
+    private static BigDecimal log1p(BigDecimal h, int digits){
+        MathContext mc = new MathContext(digits + 5);
+        BigDecimal sum = BigDecimal.ZERO, power = h;
+        BigDecimal threshold = h.abs().movePointLeft(digits + 5);
+        for(int n = 1; power.abs().compareTo(threshold) > 0; n++){
+            sum = sum.add(power.divide(BigDecimal.valueOf(n), mc), mc);
+            power = power.multiply(h, mc).negate();
+        }
+        return sum;
+    }
+
+    /**
+     * Fails unless {@code actual} is within one unit in its last place of the more precise {@code exact}
+     */
+    private static void assertWithinUlp(BigDecimal exact, BigDecimal actual, String message){
+        BigDecimal error = exact.subtract(actual).abs();
+        TestSupport.assertTrue(error.compareTo(actual.ulp()) <= 0,
+                message + ": expected " + exact + " within one ulp but was " + actual);
+    }
+}
@@ -0,0 +1,116 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.SplittableRandom;
+
+/**
+ *  BufferLogarithm Tests
+ * <p>
+ * Checks that {@link BufferLogarithm} is bit-for-bit identical to the bulk overloads of
+ * {@link Logarithm} on heap buffers and on direct buffers of both byte orders, reading one column of
+ * a row-major table and writing another, that single precision results are the double ones rounded
+ * once, and that buffer positions are never moved.
+ *
+ * @author owl
+ */
+final class BufferLogarithmTest {
+
+    /** Rows of the table */
+    private static final int COUNT = 1000;
+
+    /** Columns of the table, which is also the stride of a column: value, denominator and result */
+    private static final int COLUMNS = 3;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private BufferLogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        for(ByteOrder order : new ByteOrder[]{ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}){
+            doublesMatchArrays(ByteBuffer.allocateDirect(COUNT * COLUMNS * Double.BYTES).order(order).asDoubleBuffer(), order.toString());
+            floatsAreRoundedOnce(ByteBuffer.allocateDirect(COUNT * COLUMNS * Float.BYTES).order(order).asFloatBuffer(), order.toString());
+        }
+        doublesMatchArrays(DoubleBuffer.allocate(COUNT * COLUMNS), "heap");
+        floatsAreRoundedOnce(FloatBuffer.allocate(COUNT * COLUMNS), "heap");
+        rejectsInvalidArguments();
+    }
+
+    private static void doublesMatchArrays(DoubleBuffer table, String name){
+        SplittableRandom random = new SplittableRandom(6);
+        double[] values = new double[COUNT], denominators = new double[COUNT], expected = new double[COUNT];
+        for(int i = 0; i < COUNT; i++){
+            // values whose quotients neither overflow nor underflow
+            values[i] = Math.exp(random.nextDouble(-350, 350));
+            denominators[i] = Math.exp(random.nextDouble(-350, 350));
+            table.put(i * COLUMNS, values[i]).put(i * COLUMNS + 1, denominators[i]);
+        }
+        table.position(5);
+        BufferLogarithm.logInBase(table, 0, COLUMNS, table, 2, COLUMNS, COUNT, LogBase.TEN);
+        Logarithm.logInBase(values, 10, 0, expected, 0, COUNT);
+        for(int i = 0; i < COUNT; i++) TestSupport.assertEquals(expected[i], table.get(i * COLUMNS + 2), name + ": logInBase at " + i);
+        BufferLogarithm.logWithPoweredValue(table, 0, COLUMNS, table, 2, COLUMNS, COUNT, 3, LogBase.TWO);
+        Logarithm.logWithPoweredValue(values, 3, 2, 0, expected, 0, COUNT);
+        for(int i = 0; i < COUNT; i++){
+            TestSupport.assertEquals(expected[i], table.get(i * COLUMNS + 2), name + ": logWithPoweredValue at " + i);
+        }
+        BufferLogarithm.logOfQuotient(table, table.duplicate().position(1).slice(), 0, COLUMNS, table, 2, COLUMNS, COUNT, LogBase.E);
+        Logarithm.logOfQuotient(values, denominators, Math.E, 0, expected, 0, COUNT);
+        for(int i = 0; i < COUNT; i++){
+            TestSupport.assertEquals(expected[i], table.get(i * COLUMNS + 2), name + ": logOfQuotient at " + i);
+            TestSupport.assertEquals(values[i], table.get(i * COLUMNS), name + ": value " + i + " overwritten");
+        }
+        TestSupport.assertEquals(5, table.position(), name + ": position moved");
+    }
+
+    private static void floatsAreRoundedOnce(FloatBuffer table, String name){
+        SplittableRandom random = new SplittableRandom(7);
+        float[] values = new float[COUNT], denominators = new float[COUNT];
+        for(int i = 0; i < COUNT; i++){
+            values[i] = Float.intBitsToFloat(random.nextInt(1, Float.floatToRawIntBits(Float.MAX_VALUE) + 1));
+            denominators[i] = Float.intBitsToFloat(random.nextInt(1, Float.floatToRawIntBits(Float.MAX_VALUE) + 1));
+            table.put(i * COLUMNS, values[i]).put(i * COLUMNS + 1, denominators[i]);
+        }
+        BufferLogarithm.logInBase(table, 0, COLUMNS, table, 2, COLUMNS, COUNT, LogBase.TEN);
+        for(int i = 0; i < COUNT; i++){
+            TestSupport.assertEquals((float) Logarithm.logInBase(values[i], 10), table.get(i * COLUMNS + 2), name + ": float logInBase at " + i);
+        }
+        BufferLogarithm.logWithPoweredValue(table, 0, COLUMNS, table, 2, COLUMNS, COUNT, 3, LogBase.TWO);
+        for(int i = 0; i < COUNT; i++){
+            TestSupport.assertEquals((float) Logarithm.logWithPoweredValue(values[i], 3, 2), table.get(i * COLUMNS + 2),
+                    name + ": float logWithPoweredValue at " + i);
+        }
+        // quotients of floats in double precision, so none underflows nor overflows
+        BufferLogarithm.logOfQuotient(table, table.duplicate().position(1).slice(), 0, COLUMNS, table, 2, COLUMNS, COUNT, LogBase.E);
+        for(int i = 0; i < COUNT; i++){
+            TestSupport.assertEquals((float) Logarithm.logOfQuotient((double) values[i], denominators[i], Math.E),
+                    table.get(i * COLUMNS + 2), name + ": float logOfQuotient at " + i);
+        }
+    }
+
+    private static void rejectsInvalidArguments(){
+        DoubleBuffer values = DoubleBuffer.wrap(new double[]{1, 2, 3, 4}), destination = DoubleBuffer.allocate(4);
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> BufferLogarithm.logInBase(values, 0, 0, destination, 0, 1, 4, LogBase.TEN), "stride 0");
+        TestSupport.assertThrows(IndexOutOfBoundsException.class,
+                () -> BufferLogarithm.logInBase(values, 0, 2, destination, 0, 1, 3, LogBase.TEN), "range past the values");
+        TestSupport.assertThrows(IndexOutOfBoundsException.class,
+                () -> BufferLogarithm.logInBase(values, 0, 1, destination.limit(3), 0, 1, 4, LogBase.TEN), "range past the limit");
+        TestSupport.assertThrows(ReadOnlyBufferException.class,
+                () -> BufferLogarithm.logInBase(values, 0, 1, DoubleBuffer.allocate(4).asReadOnlyBuffer(), 0, 1, 4, LogBase.TEN),
+                "read-only destination");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> BufferLogarithm.logOfQuotient(values, DoubleBuffer.wrap(new double[]{1, 0, 1, 1}), 0, 1,
+                        DoubleBuffer.allocate(4), 0, 1, 4, LogBase.TEN), "denominator 0");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> BufferLogarithm.logInBase(FloatBuffer.wrap(new float[]{1, -2}), 0, 1, FloatBuffer.allocate(2), 0, 1, 2, LogBase.TEN),
+                "float value -2");
+    }
+}
@@ -0,0 +1,64 @@
+import java.util.SplittableRandom;
+
+/**
+ *  CorrectlyRoundedLogarithm Tests
+ * <p>
+ * Checks that {@link CorrectlyRoundedLogarithm} returns the {@code double} nearest to the exact
+ * logarithm, as rounded from a {@link BigDecimalLogarithm} reference, over random doubles of every
+ * binade, subnormals included, and close to 1 where the result is tiny. The sample is large enough
+ * to send a few hundred values down the slow path. Special values must follow {@link Math#log}.
+ *
+ * @author owl
+ */
+final class CorrectlyRoundedLogarithmTest {
+
+    /** The engine under test */
+    private static final CorrectlyRoundedLogarithm ENGINE = CorrectlyRoundedLogarithm.INSTANCE;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private CorrectlyRoundedLogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        roundsCorrectly();
+        answersSpecialValuesLikeMathLog();
+        derivesTheOtherMethodsFromLn();
+    }
+
+    private static void roundsCorrectly(){
+        SplittableRandom random = new SplittableRandom(15);
+        for(int i = 0; i < 60_000; i++){
+            double value = switch(i % 3){
+                case 0 -> Double.longBitsToDouble(random.nextLong(1, Double.doubleToRawLongBits(Double.MAX_VALUE) + 1));
+                case 1 -> 1 + random.nextDouble(-0x1p-6, 0x1p-6) * Math.scalb(1.0, -random.nextInt(50));
+                default -> random.nextInt(1, 1 << 20) * Math.scalb(1.0, random.nextInt(-60, 60));
+            };
+            if(value == 1) continue;
+            // BigDecimal.doubleValue rounds to nearest, and 40 digits leave no double rounding in practice
+            TestSupport.assertEquals(TestSupport.ln(value).doubleValue(), ENGINE.ln(value), "ln(" + value + ")");
+        }
+    }
+
+    private static void answersSpecialValuesLikeMathLog(){
+        for(double value : new double[]{0, -0.0, -1, Double.NEGATIVE_INFINITY, Double.NaN, Double.POSITIVE_INFINITY,
+                -Double.MIN_VALUE}){
+            TestSupport.assertEquals(Math.log(value), ENGINE.ln(value), "ln(" + value + ")");
+        }
+        TestSupport.assertEquals(0, ENGINE.ln(1), "ln(1)");
+        TestSupport.assertEquals(TestSupport.ln(Double.MIN_VALUE).doubleValue(), ENGINE.ln(Double.MIN_VALUE), "ln(MIN_VALUE)");
+        TestSupport.assertEquals(TestSupport.ln(Double.MAX_VALUE).doubleValue(), ENGINE.ln(Double.MAX_VALUE), "ln(MAX_VALUE)");
+    }
+
+    private static void derivesTheOtherMethodsFromLn(){
+        TestSupport.assertEquals(ENGINE.ln(1000) / ENGINE.ln(10), ENGINE.logInBase(1000, 10), "logInBase(1000, 10)");
+        TestSupport.assertEquals(ENGINE.ln(7.0 / 3) / ENGINE.ln(2), ENGINE.logOfQuotient(7, 3, 2), "logOfQuotient(7, 3, 2)");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> ENGINE.logInBase(10, 1), "base 1");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> ENGINE.logInBase(-1, 10), "value -1");
+    }
+}
@@ -0,0 +1,104 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.SplittableRandom;
+
+/**
+ *  DoubleDoubleLogarithm Tests
+ * <p>
+ * Checks the relative error bound of {@link DoubleDoubleLogarithm} against {@link BigDecimalLogarithm}:
+ * for values of every binade, subnormals included, for values and quotients close to 1, and for
+ * quotients of huge or tiny operands, where the exact difference and sum must not overflow nor fall
+ * into the subnormals. Ill-conditioned bases given as quotients must keep about 30 digits.
+ *
+ * @author owl
+ */
+final class DoubleDoubleLogarithmTest {
+
+    /** Relative error allowed on a natural logarithm, of a value or of a quotient */
+    private static final double LN_ERROR = 0x1.0p-101;
+
+    /** Relative error allowed on a logarithm in another base: two logarithms and one division */
+    private static final double BASE_ERROR = 0x1.0p-100;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private DoubleDoubleLogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        logarithmsOfValuesAreAccurate();
+        logarithmsOfQuotientsAreAccurate();
+        illConditionedBasesKeepTheirDigits();
+        rejectsInvalidArguments();
+    }
+
+    private static void logarithmsOfValuesAreAccurate(){
+        SplittableRandom random = new SplittableRandom(14);
+        for(int i = 0; i < 20_000; i++){
+            double value = Double.longBitsToDouble(random.nextLong(1, Double.doubleToRawLongBits(Double.MAX_VALUE) + 1));
+            double nearOne = 1 + random.nextDouble(-0x1p-7, 0x1p-7) * Math.scalb(1.0, -random.nextInt(45));
+            for(double x : new double[]{value, nearOne}){
+                if(x == 1) continue;
+                assertRelativeError(TestSupport.ln(x), DoubleDoubleLogarithm.ln(x), LN_ERROR, "ln(" + x + ")");
+            }
+        }
+        TestSupport.assertEquals(0, DoubleDoubleLogarithm.ln(1).high(), "ln(1)");
+        TestSupport.assertEquals(0, DoubleDoubleLogarithm.ln(1).low(), "ln(1) low");
+    }
+
+    private static void logarithmsOfQuotientsAreAccurate(){
+        SplittableRandom random = new SplittableRandom(15);
+        for(int i = 0; i < 20_000; i++){
+            double denominator = Math.exp(random.nextDouble(-744, 709));
+            double numerator = denominator * (1 + random.nextDouble(-0.5, 0.5) * Math.scalb(1.0, -random.nextInt(50)));
+            checkQuotient(numerator, denominator);
+        }
+        double[][] extremes = {{Double.MAX_VALUE, 1e308}, {Double.MAX_VALUE, Math.nextDown(Double.MAX_VALUE)},
+                {Double.MIN_VALUE * 3, Double.MIN_VALUE * 2}, {0x1.0000000000001p-1000, 0x1p-1000}, {Double.MAX_VALUE, Double.MIN_VALUE},
+                {-3, -2}};
+        for(double[] quotient : extremes) checkQuotient(quotient[0], quotient[1]);
+    }
+
+    private static void checkQuotient(double numerator, double denominator){
+        if(numerator == denominator || numerator == 0 || Double.isInfinite(numerator)) return;
+        BigDecimal exact = BigDecimalLogarithm.lnOfQuotient(new BigDecimal(Math.abs(numerator)), new BigDecimal(Math.abs(denominator)), 40);
+        assertRelativeError(exact, DoubleDoubleLogarithm.lnOfQuotientUnchecked(numerator, denominator), LN_ERROR,
+                "ln(" + numerator + " / " + denominator + ")");
+    }
+
+    private static void illConditionedBasesKeepTheirDigits(){
+        SplittableRandom random = new SplittableRandom(16);
+        for(int i = 0; i < 2_000; i++){
+            double value = Math.exp(random.nextDouble(-700, 700));
+            double baseDenominator = random.nextInt(1, 10_000_000);
+            double baseNumerator = baseDenominator + (random.nextBoolean() ? 1 : -1);
+            BigDecimal exact = TestSupport.ln(value).divide(BigDecimalLogarithm.lnOfQuotient(new BigDecimal(baseNumerator),
+                    new BigDecimal(baseDenominator), 40), TestSupport.REFERENCE);
+            assertRelativeError(exact, DoubleDoubleLogarithm.logWithBaseQuotient(value, baseNumerator, baseDenominator), BASE_ERROR,
+                    "log(" + value + ") in base " + baseNumerator + " / " + baseDenominator);
+        }
+    }
+
+    private static void rejectsInvalidArguments(){
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> DoubleDoubleLogarithm.ln(0), "ln(0)");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> DoubleDoubleLogarithm.logInBase(2, 1), "base 1");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> DoubleDoubleLogarithm.logWithBaseQuotient(2, 3, -3), "base 3 / -3");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> DoubleDoubleLogarithm.logOfQuotient(-1, 2, 10), "value -1 / 2");
+    }
+
+    /**
+     * Fails unless {@code actual} is within a relative {@code error} of {@code exact}
+     */
+    private static void assertRelativeError(BigDecimal exact, DoubleDouble actual, double error, String message){
+        double relative = actual.toBigDecimal().subtract(exact).abs().divide(exact.abs(), MathContext.DECIMAL64).doubleValue();
+        TestSupport.assertTrue(relative <= error, message + ": expected " + exact.round(TestSupport.REFERENCE) + " but was "
+                + actual + ", relative error " + relative);
+    }
+}
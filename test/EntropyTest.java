@@ -0,0 +1,263 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.SplittableRandom;
+
+/**
+ *  Entropy Tests
+ * <p>
+ * Checks the four measures against {@link BigDecimal} references computed from the exact weights,
+ * on random distributions and on the inputs that cancel out with the naive formulas: skewed
+ * histograms, and nearly identical distributions whose totals differ in scale.
+ *
+ * @author owl
+ */
+final class EntropyTest {
+
+    /** Relative error allowed on every measure, a few dozen ulps */
+    private static final double RELATIVE_ERROR = 1e-14;
+
+    /** Precision of the references, enough for divergences of {@code 10^-20} between weights near 1 */
+    private static final MathContext EXACT = new MathContext(80);
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private EntropyTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        matchesReferencesOnRandomDistributions();
+        keepsSkewedEntropies();
+        keepsTinyDivergencesAtAnyScale();
+        agreesAcrossElementTypesAndBatches();
+        handlesZeroBins();
+        rejectsInvalidWeights();
+    }
+
+    private static void matchesReferencesOnRandomDistributions(){
+        SplittableRandom random = new SplittableRandom(19);
+        for(int run = 0; run < 200; run++){
+            int bins = 1 + random.nextInt(40);
+            double[] p = new double[bins];
+            double[] q = new double[bins];
+            double scale = Math.scalb(1.0, random.nextInt(-600, 600));
+            for(int i = 0; i < bins; i++){
+                p[i] = random.nextDouble() * scale;
+                q[i] = random.nextDouble();
+            }
+            assertMeasures(p, q, "random " + run);
+        }
+    }
+
+    private static void keepsSkewedEntropies(){
+        assertMeasures(new double[]{1e16, 1}, new double[]{1, 1e16}, "[1e16, 1]");
+        assertMeasures(new double[]{1e300, 1e-300, 5}, new double[]{1, 2, 3}, "[1e300, 1e-300, 5]");
+        assertRelative(reference(Measure.ENTROPY, new double[]{0x1p50, 1}, new double[]{0x1p50, 1}),
+                Entropy.entropy(new long[]{1L << 50, 1}, 0, 2, LogBase.E), "long {2^50, 1}");
+    }
+
+    private static void keepsTinyDivergencesAtAnyScale(){
+        double[] half = {0.5, 0.5};
+        assertMeasures(new double[]{5e9 + 1, 5e9 - 1}, half, "[5e9 + 1, 5e9 - 1]");
+        assertClose(2e-20, Entropy.klDivergence(new double[]{5e9 + 1, 5e9 - 1}, half, 0, 2, LogBase.E), "KL of 2e-20");
+        assertClose(2e-20, Entropy.klDivergence(new long[]{5_000_000_001L, 4_999_999_999L}, new long[]{1, 1}, 0, 2, LogBase.E),
+                "long KL of 2e-20");
+        double[] huge = {1e300 * (1 + 2e-7), 1e300 * (1 - 2e-7)};
+        assertMeasures(huge, half, "1e300-scaled");
+        assertClose(2e-14, Entropy.klDivergence(huge, half, 0, 2, LogBase.E), "1e300-scaled KL");
+        assertMeasures(new double[]{1e-300 * (1 + 1e-9), 1e-300 * (1 - 1e-9)}, new double[]{1e300, 1e300}, "1e-300-scaled");
+    }
+
+    private static void agreesAcrossElementTypesAndBatches(){
+        long[] pl = {3, 0, 17, 1L << 40, 5};
+        long[] ql = {1, 4, 9, 1L << 41, 2};
+        int[] pi = {3, 0, 17, 1 << 30, 5};
+        int[] qi = {1, 4, 9, 1 << 29, 2};
+        float[] pf = {0.25f, 0, 1e-20f, 3e30f, 7};
+        float[] qf = {1, 2, 3, 4e30f, 5};
+        for(Measure measure : Measure.values()){
+            TestSupport.assertEquals(measure.of(widen(pl), widen(ql)), measure.of(pl, ql), measure + " long");
+            TestSupport.assertEquals(measure.of(widen(pi), widen(qi)), measure.of(pi, qi), measure + " int");
+            TestSupport.assertEquals(measure.of(widen(pf), widen(qf)), measure.of(pf, qf), measure + " float");
+        }
+
+        SplittableRandom random = new SplittableRandom(7);
+        int bins = 33;
+        int count = 500;
+        double[] p = new double[1 + bins * count];
+        double[] q = new double[p.length];
+        for(int i = 0; i < p.length; i++){
+            p[i] = random.nextDouble();
+            q[i] = random.nextDouble();
+        }
+        double[] batch = new double[count + 2];
+        Entropy.klDivergences(p, q, 1, bins, count, LogBase.TWO, batch, 2);
+        for(int h = 0; h < count; h++){
+            TestSupport.assertEquals(Entropy.klDivergence(p, q, 1 + h * bins, bins, LogBase.TWO), batch[2 + h], "batch " + h);
+        }
+        Entropy.entropies(p, 1, bins, count, LogBase.TWO, batch, 2);
+        TestSupport.assertEquals(Entropy.entropy(p, 1 + 7 * bins, bins, LogBase.TWO), batch[9], "entropies");
+    }
+
+    private static void handlesZeroBins(){
+        double[] p = {1, 0, 3};
+        double[] q = {0, 2, 2};
+        TestSupport.assertEquals(Double.POSITIVE_INFINITY, Entropy.klDivergence(p, q, 0, 3, LogBase.E), "KL with q = 0");
+        TestSupport.assertEquals(Double.POSITIVE_INFINITY, Entropy.crossEntropy(p, q, 0, 3, LogBase.E), "H(p, q) with q = 0");
+        TestSupport.assertEquals(1, Entropy.jensenShannon(new double[]{1, 0}, new double[]{0, 1}, 0, 2, LogBase.TWO),
+                "disjoint JS in bits");
+        TestSupport.assertEquals(0, Entropy.klDivergence(q, q, 0, 3, LogBase.E), "KL(q || q)");
+        assertMeasures(new double[]{0, 2, 2}, new double[]{1, 1, 3}, "zero p bin");
+    }
+
+    private static void rejectsInvalidWeights(){
+        double[] valid = {1, 2};
+        for(double invalid : new double[]{-1, Double.NaN, Double.POSITIVE_INFINITY}){
+            double[] p = {1, invalid};
+            TestSupport.assertThrows(IllegalArgumentException.class, () -> Entropy.entropy(p, 0, 2, LogBase.E), "p " + invalid);
+            TestSupport.assertThrows(IllegalArgumentException.class, () -> Entropy.klDivergence(valid, p, 0, 2, LogBase.E), "q " + invalid);
+        }
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> Entropy.jensenShannon(new double[]{0, 0}, valid, 0, 2, LogBase.E), "zero total");
+        double[] destination = {42, 42};
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> Entropy.entropies(new double[]{1, 1, 1, -1}, 0, 2, 2, LogBase.E, destination, 0), "batch");
+        TestSupport.assertEquals(42, destination[0], "batch left untouched");
+    }
+
+    /**
+     * Checks every measure of {@code p} and {@code q} against its reference
+     */
+    private static void assertMeasures(double[] p, double[] q, String message){
+        for(Measure measure : Measure.values()){
+            assertRelative(reference(measure, p, q), measure.of(p, q), message + " " + measure);
+        }
+    }
+
+    private static void assertRelative(BigDecimal expected, double actual, String message){
+        double exact = expected.doubleValue();
+        TestSupport.assertClose(exact, actual, RELATIVE_ERROR * Math.abs(exact) + Double.MIN_NORMAL, message);
+    }
+
+    private static void assertClose(double expected, double actual, String message){
+        TestSupport.assertClose(expected, actual, 1e-6 * expected, message);
+    }
+
+    /**
+     * Natural {@code measure} of {@code p} and {@code q}, from the exact weights
+     * <p>
+     * Every logarithm is taken as {@code ln(1 + r)} of an exact difference, so that ratios within
+     * {@code 10^-300} of 1 keep their precision.
+     */
+    private static BigDecimal reference(Measure measure, double[] p, double[] q){
+        BigDecimal pTotal = BigDecimal.ZERO;
+        BigDecimal qTotal = BigDecimal.ZERO;
+        for(int i = 0; i < p.length; i++){
+            pTotal = pTotal.add(new BigDecimal(p[i]));
+            qTotal = qTotal.add(new BigDecimal(q[i]));
+        }
+        BigDecimal sum = BigDecimal.ZERO;
+        for(int i = 0; i < p.length; i++){
+            BigDecimal u = new BigDecimal(p[i]);
+            BigDecimal v = new BigDecimal(q[i]);
+            // p̂ and q̂ over the common denominator P Q
+            BigDecimal a = u.multiply(qTotal);
+            BigDecimal b = v.multiply(pTotal);
+            BigDecimal weight = u.divide(pTotal, EXACT);
+            sum = sum.add(switch(measure){
+                case ENTROPY -> u.signum() == 0 ? BigDecimal.ZERO : weight.multiply(lnOfQuotient(pTotal, u));
+                case CROSS_ENTROPY -> u.signum() == 0 ? BigDecimal.ZERO : weight.multiply(lnOfQuotient(qTotal, v));
+                case KL_DIVERGENCE -> u.signum() == 0 ? BigDecimal.ZERO : weight.multiply(lnOfQuotient(a, b));
+                case JENSEN_SHANNON -> {
+                    BigDecimal twiceMixture = a.add(b);
+                    BigDecimal term = BigDecimal.ZERO;
+                    if(u.signum() > 0) term = term.add(weight.multiply(lnOfQuotient(a.add(a), twiceMixture)));
+                    if(v.signum() > 0) term = term.add(v.divide(qTotal, EXACT).multiply(lnOfQuotient(b.add(b), twiceMixture)));
+                    yield term.divide(BigDecimal.TWO, EXACT);
+                }
+            }, EXACT);
+        }
+        return sum;
+    }
+
+    /**
+     * {@code ln(x / y)}, as {@code ln(1 + r)} of the exact {@code r = (x - y) / y} near 1
+     */
+    private static BigDecimal lnOfQuotient(BigDecimal x, BigDecimal y){
+        BigDecimal r = x.subtract(y).divide(y, EXACT);
+        if(r.abs().compareTo(new BigDecimal("0.5")) > 0) return ln(x).subtract(ln(y));
+        if(r.abs().compareTo(new BigDecimal("1e-30")) < 0){
+            return r.subtract(r.multiply(r).divide(BigDecimal.TWO, EXACT)).add(r.pow(3).divide(BigDecimal.valueOf(3), EXACT));
+        }
+        return ln(BigDecimal.ONE.add(r));
+    }
+
+    private static BigDecimal ln(BigDecimal value){
+        return BigDecimalLogarithm.ln(value, EXACT);
+    }
+
+    private static double[] widen(long[] values){
+        double[] widened = new double[values.length];
+        for(int i = 0; i < values.length; i++) widened[i] = values[i];
+        return widened;
+    }
+
+    private static double[] widen(int[] values){
+        double[] widened = new double[values.length];
+        for(int i = 0; i < values.length; i++) widened[i] = values[i];
+        return widened;
+    }
+
+    private static double[] widen(float[] values){
+        double[] widened = new double[values.length];
+        for(int i = 0; i < values.length; i++) widened[i] = values[i];
+        return widened;
+    }
+
+    /**
+     * The measures under test, in natural logarithms
+     */
+    private enum Measure {
+        ENTROPY, CROSS_ENTROPY, KL_DIVERGENCE, JENSEN_SHANNON;
+
+        double of(double[] p, double[] q){
+            return switch(this){
+                case ENTROPY -> Entropy.entropy(p, 0, p.length, LogBase.E);
+                case CROSS_ENTROPY -> Entropy.crossEntropy(p, q, 0, p.length, LogBase.E);
+                case KL_DIVERGENCE -> Entropy.klDivergence(p, q, 0, p.length, LogBase.E);
+                case JENSEN_SHANNON -> Entropy.jensenShannon(p, q, 0, p.length, LogBase.E);
+            };
+        }
+
+        double of(float[] p, float[] q){
+            return switch(this){
+                case ENTROPY -> Entropy.entropy(p, 0, p.length, LogBase.E);
+                case CROSS_ENTROPY -> Entropy.crossEntropy(p, q, 0, p.length, LogBase.E);
+                case KL_DIVERGENCE -> Entropy.klDivergence(p, q, 0, p.length, LogBase.E);
+                case JENSEN_SHANNON -> Entropy.jensenShannon(p, q, 0, p.length, LogBase.E);
+            };
+        }
+
+        double of(long[] p, long[] q){
+            return switch(this){
+                case ENTROPY -> Entropy.entropy(p, 0, p.length, LogBase.E);
+                case CROSS_ENTROPY -> Entropy.crossEntropy(p, q, 0, p.length, LogBase.E);
+                case KL_DIVERGENCE -> Entropy.klDivergence(p, q, 0, p.length, LogBase.E);
+                case JENSEN_SHANNON -> Entropy.jensenShannon(p, q, 0, p.length, LogBase.E);
+            };
+        }
+
+        double of(int[] p, int[] q){
+            return switch(this){
+                case ENTROPY -> Entropy.entropy(p, 0, p.length, LogBase.E);
+                case CROSS_ENTROPY -> Entropy.crossEntropy(p, q, 0, p.length, LogBase.E);
+                case KL_DIVERGENCE -> Entropy.klDivergence(p, q, 0, p.length, LogBase.E);
+                case JENSEN_SHANNON -> Entropy.jensenShannon(p, q, 0, p.length, LogBase.E);
+            };
+        }
+    }
+}
@@ -0,0 +1,55 @@
+import java.util.SplittableRandom;
+
+/**
+ *  FastLogarithm Tests
+ * <p>
+ * Checks the error table of {@link FastLogarithm} over random doubles of every binade, subnormals
+ * included, and close to 1, where only the relative bound is demanding, and that the special values
+ * are answered like {@link Math#log}.
+ *
+ * @author owl
+ */
+final class FastLogarithmTest {
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private FastLogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        for(FastLogarithm tier : FastLogarithm.values()){
+            staysWithinDocumentedBounds(tier);
+            answersSpecialValuesLikeMathLog(tier);
+        }
+    }
+
+    private static void staysWithinDocumentedBounds(FastLogarithm tier){
+        SplittableRandom random = new SplittableRandom(13);
+        for(int i = 0; i < 300_000; i++){
+            double value = switch(i % 3){
+                case 0 -> Double.longBitsToDouble(random.nextLong(1, Double.doubleToRawLongBits(Double.MAX_VALUE) + 1));
+                case 1 -> 1 + random.nextDouble(-0x1p-10, 0x1p-10) * Math.scalb(1.0, -random.nextInt(40));
+                default -> Math.exp(random.nextDouble(-3, 3));
+            };
+            if(value == 1) continue;
+            // Math.log is within 1 ulp, far below the bounds of the approximate tiers
+            double exact = Math.log(value);
+            double error = Math.abs(tier.ln(value) - exact);
+            TestSupport.assertTrue(error <= tier.maxAbsoluteError(), tier + ": absolute error " + error + " at " + value);
+            TestSupport.assertTrue(error <= tier.maxRelativeError() * Math.abs(exact),
+                    tier + ": relative error " + error / Math.abs(exact) + " at " + value);
+        }
+    }
+
+    private static void answersSpecialValuesLikeMathLog(FastLogarithm tier){
+        for(double value : new double[]{0, -0.0, -1, Double.NEGATIVE_INFINITY, Double.NaN, Double.POSITIVE_INFINITY}){
+            TestSupport.assertEquals(Math.log(value), tier.ln(value), tier + ": ln(" + value + ")");
+        }
+        TestSupport.assertEquals(0, tier.ln(1), tier + ": ln(1)");
+    }
+}
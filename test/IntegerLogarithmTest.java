@@ -0,0 +1,260 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+/**
+ *  IntegerLogarithm Tests
+ * <p>
+ * Checks the floor and ceiling logarithms of {@link IntegerLogarithm} against the bit length and the
+ * decimal digit count of the value, around every power of 2 and 10 where an off-by-one would show,
+ * for {@code int}, {@code long} and {@link BigInteger}, and that the bulk overloads match the scalar ones.
+ * <p>
+ * The logarithms of {@code double} values in arbitrary bases are checked at exact powers of the base
+ * and their neighbours, where a rounded {@code ln(value) / ln(base)} is off by one, against an exact
+ * rational comparison with the power of the base.
+ *
+ * @author owl
+ */
+final class IntegerLogarithmTest {
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private IntegerLogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        integerLogarithmsAreExact();
+        bulkMatchesScalar();
+        rejectsNonPositiveIntegers();
+        logarithmsInBaseAreExactAtPowers();
+        logarithmsInBaseAreExactAtRandom();
+        bulkInBaseMatchesScalar();
+        rejectsInvalidBases();
+    }
+
+    private static void integerLogarithmsAreExact(){
+        for(BigInteger value : samples()){
+            check(value);
+            check(value.add(BigInteger.ONE));
+            if(value.compareTo(BigInteger.ONE) > 0) check(value.subtract(BigInteger.ONE));
+        }
+        SplittableRandom random = new SplittableRandom(10);
+        for(int i = 0; i < 100_000; i++){
+            check(BigInteger.valueOf(1 + (random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63))));
+        }
+    }
+
+    /**
+     * Every power of 2 and of 10 up to {@code 2^200}, and the largest {@code int} and {@code long}
+     */
+    private static BigInteger[] samples(){
+        BigInteger[] samples = new BigInteger[263];
+        for(int k = 0; k <= 200; k++) samples[k] = BigInteger.ONE.shiftLeft(k);
+        for(int k = 0; k <= 59; k++) samples[201 + k] = BigInteger.TEN.pow(k);
+        samples[261] = BigInteger.valueOf(Integer.MAX_VALUE);
+        samples[262] = BigInteger.valueOf(Long.MAX_VALUE);
+        return samples;
+    }
+
+    /**
+     * Compares every overload that can hold {@code value} with the exact results
+     */
+    private static void check(BigInteger value){
+        int floor2 = value.bitLength() - 1;
+        int ceil2 = value.bitCount() == 1 ? floor2 : floor2 + 1;
+        int floor10 = value.toString().length() - 1;
+        int ceil10 = BigInteger.TEN.pow(floor10).equals(value) ? floor10 : floor10 + 1;
+        TestSupport.assertEquals(floor2, IntegerLogarithm.floorLog2(value), "floorLog2(" + value + ")");
+        TestSupport.assertEquals(ceil2, IntegerLogarithm.ceilLog2(value), "ceilLog2(" + value + ")");
+        TestSupport.assertEquals(floor10, IntegerLogarithm.floorLog10(value), "floorLog10(" + value + ")");
+        TestSupport.assertEquals(ceil10, IntegerLogarithm.ceilLog10(value), "ceilLog10(" + value + ")");
+        if(value.bitLength() < Long.SIZE){
+            long l = value.longValue();
+            TestSupport.assertEquals(floor2, IntegerLogarithm.floorLog2(l), "floorLog2(" + l + "L)");
+            TestSupport.assertEquals(ceil2, IntegerLogarithm.ceilLog2(l), "ceilLog2(" + l + "L)");
+            TestSupport.assertEquals(floor10, IntegerLogarithm.floorLog10(l), "floorLog10(" + l + "L)");
+            TestSupport.assertEquals(ceil10, IntegerLogarithm.ceilLog10(l), "ceilLog10(" + l + "L)");
+        }
+        if(value.bitLength() < Integer.SIZE){
+            int n = value.intValue();
+            TestSupport.assertEquals(floor2, IntegerLogarithm.floorLog2(n), "floorLog2(" + n + ")");
+            TestSupport.assertEquals(ceil2, IntegerLogarithm.ceilLog2(n), "ceilLog2(" + n + ")");
+            TestSupport.assertEquals(floor10, IntegerLogarithm.floorLog10(n), "floorLog10(" + n + ")");
+            TestSupport.assertEquals(ceil10, IntegerLogarithm.ceilLog10(n), "ceilLog10(" + n + ")");
+        }
+    }
+
+    private static void bulkMatchesScalar(){
+        SplittableRandom random = new SplittableRandom(11);
+        int length = 1000;
+        int[] ints = new int[length + 1];
+        long[] longs = new long[length + 1];
+        BigInteger[] bigs = new BigInteger[length + 1];
+        for(int i = 0; i <= length; i++){
+            ints[i] = 1 + (random.nextInt(Integer.MAX_VALUE) >>> random.nextInt(31));
+            longs[i] = 1 + (random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63));
+            bigs[i] = BigInteger.valueOf(longs[i]).shiftLeft(random.nextInt(100));
+        }
+        int[] results = new int[length + 2];
+        IntegerLogarithm.floorLog10(ints, 1, results, 2, length);
+        for(int i = 0; i < length; i++) assertResult(IntegerLogarithm.floorLog10(ints[1 + i]), results, i, "int floorLog10");
+        IntegerLogarithm.ceilLog2(ints, 1, results, 2, length);
+        for(int i = 0; i < length; i++) assertResult(IntegerLogarithm.ceilLog2(ints[1 + i]), results, i, "int ceilLog2");
+        IntegerLogarithm.ceilLog10(longs, 1, results, 2, length);
+        for(int i = 0; i < length; i++) assertResult(IntegerLogarithm.ceilLog10(longs[1 + i]), results, i, "long ceilLog10");
+        IntegerLogarithm.floorLog2(longs, 1, results, 2, length);
+        for(int i = 0; i < length; i++) assertResult(IntegerLogarithm.floorLog2(longs[1 + i]), results, i, "long floorLog2");
+        IntegerLogarithm.floorLog10(bigs, 1, results, 2, length);
+        for(int i = 0; i < length; i++) assertResult(IntegerLogarithm.floorLog10(bigs[1 + i]), results, i, "BigInteger floorLog10");
+        IntegerLogarithm.ceilLog10(bigs, 1, results, 2, length);
+        for(int i = 0; i < length; i++) assertResult(IntegerLogarithm.ceilLog10(bigs[1 + i]), results, i, "BigInteger ceilLog10");
+    }
+
+    /**
+     * Fails unless the bulk result of element {@code i}, written from index 2, is {@code expected}
+     */
+    private static void assertResult(int expected, int[] results, int i, String name){
+        TestSupport.assertEquals(expected, results[2 + i], name + " at " + i);
+    }
+
+    private static void rejectsNonPositiveIntegers(){
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> IntegerLogarithm.floorLog2(0), "floorLog2(0)");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> IntegerLogarithm.ceilLog10(-1L), "ceilLog10(-1L)");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> IntegerLogarithm.floorLog10(BigInteger.ZERO), "floorLog10(0)");
+        int[] results = {7, 7};
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> IntegerLogarithm.floorLog10(new int[]{10, 0}, 0, results, 0, 2), "bulk with a zero");
+        TestSupport.assertEquals(7, results[0], "bulk result written before validation");
+    }
+
+    private static void logarithmsInBaseAreExactAtPowers(){
+        for(double base : new double[]{2, 3, 10, 0.5, 0.1, 1.5, 7, 0.75}){
+            BigDecimal exactBase = new BigDecimal(base);
+            for(int k = -40; k <= 40; k++){
+                BigDecimal power = k >= 0 ? exactBase.pow(k) : BigDecimal.ONE.divide(exactBase.pow(-k), TestSupport.REFERENCE);
+                double value = power.doubleValue();
+                if(value == 0 || Double.isInfinite(value)) continue;
+                for(double neighbour : new double[]{Math.nextDown(value), value, Math.nextUp(value)}){
+                    checkInBase(neighbour, base);
+                }
+            }
+        }
+        for(double[] quotient : new double[][]{{1, 3}, {3, 1}, {2, 3}, {22, 7}, {10, 1}, {-4, -2}}){
+            BigDecimal numerator = new BigDecimal(Math.abs(quotient[0])), denominator = new BigDecimal(Math.abs(quotient[1]));
+            for(int k = 0; k <= 30; k++){
+                for(BigDecimal power : new BigDecimal[]{numerator.pow(k), denominator.pow(k)}){
+                    double value = power.doubleValue();
+                    for(double neighbour : new double[]{Math.nextDown(value), value, Math.nextUp(value)}){
+                        checkWithBaseQuotient(neighbour, quotient[0], quotient[1]);
+                    }
+                }
+            }
+        }
+        TestSupport.assertEquals(3, IntegerLogarithm.floorLogInBase(1000, 10), "floorLogInBase(1000, 10)");
+        TestSupport.assertEquals(-1, IntegerLogarithm.ceilLogWithBaseQuotient(3, 1, 3), "ceilLogWithBaseQuotient(3, 1, 3)");
+    }
+
+    private static void logarithmsInBaseAreExactAtRandom(){
+        SplittableRandom random = new SplittableRandom(12);
+        for(int i = 0; i < 2_000; i++){
+            double value = Math.exp(random.nextDouble(-700, 700));
+            double base = Math.exp(random.nextDouble(-5, 5));
+            if(base == 1) continue;
+            checkInBase(value, base);
+            checkWithBaseQuotient(value, random.nextDouble(1, 100), random.nextDouble(1, 100));
+        }
+    }
+
+    private static void checkInBase(double value, double base){
+        String name = "(" + value + ", " + base + ")";
+        TestSupport.assertEquals(floor(value, base, 1), IntegerLogarithm.floorLogInBase(value, base), "floorLogInBase" + name);
+        TestSupport.assertEquals(-floor(value, 1, base), IntegerLogarithm.ceilLogInBase(value, base), "ceilLogInBase" + name);
+    }
+
+    private static void checkWithBaseQuotient(double value, double numerator, double denominator){
+        if(Math.abs(numerator) == Math.abs(denominator)) return;
+        String name = "(" + value + ", " + numerator + ", " + denominator + ")";
+        double n = Math.abs(numerator), d = Math.abs(denominator);
+        TestSupport.assertEquals(floor(value, n, d), IntegerLogarithm.floorLogWithBaseQuotient(value, numerator, denominator),
+                "floorLogWithBaseQuotient" + name);
+        TestSupport.assertEquals(-floor(value, d, n), IntegerLogarithm.ceilLogWithBaseQuotient(value, numerator, denominator),
+                "ceilLogWithBaseQuotient" + name);
+    }
+
+    /**
+     * Exact {@code ⌊log(value)⌋} in base {@code numerator / denominator}: the floor of a 40-digit estimate,
+     * corrected by exact comparisons when the estimate is close to an integer
+     */
+    private static long floor(double value, double numerator, double denominator){
+        BigDecimal estimate = BigDecimalLogarithm.ln(new BigDecimal(value), TestSupport.REFERENCE)
+                .divide(BigDecimalLogarithm.lnOfQuotient(new BigDecimal(numerator), new BigDecimal(denominator), 40),
+                        TestSupport.REFERENCE);
+        long k = estimate.setScale(0, RoundingMode.FLOOR).longValueExact();
+        BigDecimal fraction = estimate.subtract(BigDecimal.valueOf(k));
+        if(fraction.compareTo(new BigDecimal("1e-25")) > 0 && fraction.compareTo(new BigDecimal("0.9999999999999999999999999")) < 0){
+            return k;
+        }
+        while(!atMost(k, value, numerator, denominator)) k--;
+        while(atMost(k + 1, value, numerator, denominator)) k++;
+        return k;
+    }
+
+    /**
+     * Whether {@code k ≤ log(value)} in base {@code numerator / denominator}, from the exact sign of
+     * {@code value - (numerator / denominator)^k}
+     */
+    private static boolean atMost(long k, double value, double numerator, double denominator){
+        BigDecimal v = new BigDecimal(value), n = new BigDecimal(numerator), d = new BigDecimal(denominator);
+        int power = Math.toIntExact(Math.abs(k));
+        int sign = k >= 0 ? v.multiply(d.pow(power)).compareTo(n.pow(power)) : v.multiply(n.pow(power)).compareTo(d.pow(power));
+        return numerator > denominator ? sign >= 0 : sign <= 0;
+    }
+
+    private static void bulkInBaseMatchesScalar(){
+        SplittableRandom random = new SplittableRandom(13);
+        int length = 500;
+        double[] values = new double[length + 1];
+        for(int i = 0; i <= length; i++){
+            values[i] = random.nextBoolean() ? Math.pow(3, random.nextInt(-30, 30)) : Math.exp(random.nextDouble(-50, 50));
+        }
+        long[] results = new long[length + 2];
+        IntegerLogarithm.floorLogInBase(values, 3, 1, results, 2, length);
+        for(int i = 0; i < length; i++){
+            TestSupport.assertEquals(IntegerLogarithm.floorLogInBase(values[1 + i], 3), results[2 + i], "floorLogInBase at " + i);
+        }
+        IntegerLogarithm.ceilLogInBase(values, 3, 1, results, 2, length);
+        for(int i = 0; i < length; i++){
+            TestSupport.assertEquals(IntegerLogarithm.ceilLogInBase(values[1 + i], 3), results[2 + i], "ceilLogInBase at " + i);
+        }
+        IntegerLogarithm.floorLogWithBaseQuotient(values, 1, 3, 1, results, 2, length);
+        for(int i = 0; i < length; i++){
+            TestSupport.assertEquals(IntegerLogarithm.floorLogWithBaseQuotient(values[1 + i], 1, 3), results[2 + i],
+                    "floorLogWithBaseQuotient at " + i);
+        }
+        IntegerLogarithm.ceilLogWithBaseQuotient(values, 1, 3, 1, results, 2, length);
+        for(int i = 0; i < length; i++){
+            TestSupport.assertEquals(IntegerLogarithm.ceilLogWithBaseQuotient(values[1 + i], 1, 3), results[2 + i],
+                    "ceilLogWithBaseQuotient at " + i);
+        }
+    }
+
+    private static void rejectsInvalidBases(){
+        for(double base : new double[]{0, -2, 1, Double.NaN, Double.POSITIVE_INFINITY}){
+            TestSupport.assertThrows(IllegalArgumentException.class, () -> IntegerLogarithm.floorLogInBase(10, base),
+                    "floorLogInBase(10, " + base + ")");
+        }
+        for(double value : new double[]{0, -1, Double.NaN, Double.POSITIVE_INFINITY}){
+            TestSupport.assertThrows(IllegalArgumentException.class, () -> IntegerLogarithm.ceilLogInBase(value, 2),
+                    "ceilLogInBase(" + value + ", 2)");
+        }
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> IntegerLogarithm.floorLogWithBaseQuotient(10, 3, 3), "base 3 / 3");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> IntegerLogarithm.floorLogWithBaseQuotient(10, -3, 2), "base -3 / 2");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> IntegerLogarithm.ceilLogWithBaseQuotient(10, 3, 0), "base 3 / 0");
+    }
+}
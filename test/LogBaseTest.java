@@ -0,0 +1,58 @@
+import java.util.SplittableRandom;
+
+/**
+ *  LogBase Tests
+ * <p>
+ * Checks that a {@link LogBase} validates like {@link Logarithm}, caches {@code ln(base)}, and stays
+ * within one ulp of the static methods despite multiplying by the cached reciprocal.
+ *
+ * @author owl
+ */
+final class LogBaseTest {
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LogBaseTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        cachesLnOfBase();
+        staysWithinOneUlpOfLogarithm();
+        rejectsInvalidBases();
+    }
+
+    private static void cachesLnOfBase(){
+        TestSupport.assertEquals(Math.log(2), LogBase.TWO.lnBase(), "ln(2)");
+        TestSupport.assertEquals(1 / Math.log(10), LogBase.TEN.inverseLnBase(), "1 / ln(10)");
+        TestSupport.assertEquals(2.5 * Math.log(3), LogBase.ofPower(3, 2.5).lnBase(), "2.5 ln(3)");
+        TestSupport.assertEquals(Math.log(7.0 / 3), LogBase.ofQuotient(7, 3).lnBase(), "ln(7/3)");
+        TestSupport.assertEquals(1, LogBase.E.log(Math.E), "log_e(e)");
+    }
+
+    private static void staysWithinOneUlpOfLogarithm(){
+        SplittableRandom random = new SplittableRandom(1);
+        for(int i = 0; i < 10_000; i++){
+            double base = Math.exp(random.nextDouble(-20, 20));
+            double value = Math.exp(random.nextDouble(-700, 700));
+            if(base == 1) continue;
+            double expected = Logarithm.logInBase(value, base);
+            double actual = LogBase.of(base).log(value);
+            TestSupport.assertTrue(Math.abs(actual - expected) <= Math.ulp(expected),
+                    "log_" + base + "(" + value + "): " + actual + " vs " + expected);
+        }
+    }
+
+    private static void rejectsInvalidBases(){
+        for(double base : new double[]{0, -1, 1, Double.NaN, Double.NEGATIVE_INFINITY}){
+            TestSupport.assertThrows(IllegalArgumentException.class, () -> LogBase.of(base), "LogBase.of(" + base + ")");
+        }
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> LogBase.ofQuotient(1, 0), "zero denominator");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> LogBase.ofQuotient(3, 3), "quotient equal to 1");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> LogBase.TWO.log(0), "value 0");
+    }
+}
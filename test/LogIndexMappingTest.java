@@ -0,0 +1,113 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ *  LogIndexMapping Tests
+ * <p>
+ * Checks the relative accuracy guarantee of {@link LogIndexMapping} bucket by bucket, for every
+ * interpolation and for accuracies down to the finest one: each value falls between the bounds of its
+ * bucket, and the representative of the bucket is within a factor {@code 1 ± α} of it. The
+ * approximations of the logarithm must only cost the documented number of extra buckets.
+ *
+ * @author owl
+ */
+final class LogIndexMappingTest {
+
+    /** Relative accuracies checked, down to the finest one supported */
+    private static final double[] ALPHAS = {0.5, 0.05, 0.01, 1e-4, 1e-6};
+
+    /** Slack on α and on the bounds for the rounding of {@link Math#exp} and of the harmonic mean */
+    private static final double ROUNDING = 1e-12;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LogIndexMappingTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        for(double alpha : ALPHAS){
+            for(LogIndexMapping.Interpolation interpolation : LogIndexMapping.Interpolation.values()){
+                bucketsHoldTheirValues(LogIndexMapping.of(alpha, interpolation));
+            }
+        }
+        approximationsCostFewBuckets();
+        bulkMatchesScalar();
+        rejectsInvalidArguments();
+    }
+
+    private static void bucketsHoldTheirValues(LogIndexMapping mapping){
+        SplittableRandom random = new SplittableRandom(22);
+        double alpha = mapping.relativeAccuracy();
+        for(int i = 0; i < 20_000; i++){
+            double value = switch(i % 3){
+                case 0 -> Double.longBitsToDouble(random.nextLong(Double.doubleToRawLongBits(Double.MIN_NORMAL),
+                        Double.doubleToRawLongBits(Double.MAX_VALUE) + 1));
+                case 1 -> Math.exp(random.nextDouble(-10, 10));
+                default -> Math.scalb(1.0, random.nextInt(-1022, 1024));
+            };
+            int index = mapping.index(value);
+            String name = mapping + ": " + value + " in bucket " + index;
+            TestSupport.assertTrue(index >= mapping.minIndex() && index <= mapping.maxIndex(), name + " out of range");
+            TestSupport.assertTrue(mapping.lowerBound(index) < value * (1 + ROUNDING), name + " below " + mapping.lowerBound(index));
+            TestSupport.assertTrue(value < mapping.upperBound(index) * (1 + ROUNDING), name + " above " + mapping.upperBound(index));
+            double representative = mapping.value(index);
+            TestSupport.assertTrue(Math.abs(representative - value) <= (alpha + ROUNDING) * value,
+                    name + " represented by " + representative);
+        }
+        TestSupport.assertEquals(mapping.minIndex(), mapping.index(Double.MIN_NORMAL), mapping + ": MIN_NORMAL");
+        TestSupport.assertEquals(mapping.maxIndex(), mapping.index(Double.MAX_VALUE), mapping + ": MAX_VALUE");
+        TestSupport.assertTrue(mapping.value(mapping.maxIndex()) <= Double.MAX_VALUE, mapping + ": finite representative");
+    }
+
+    private static void approximationsCostFewBuckets(){
+        for(double alpha : ALPHAS){
+            double exact = buckets(LogIndexMapping.of(alpha, LogIndexMapping.Interpolation.EXACT));
+            double linear = buckets(LogIndexMapping.of(alpha, LogIndexMapping.Interpolation.LINEAR)) / exact;
+            double cubic = buckets(LogIndexMapping.of(alpha, LogIndexMapping.Interpolation.CUBIC)) / exact;
+            // 1 / ln 2 and 0.7 / ln 2, up to the rounding of the number of buckets at α = 0.5
+            TestSupport.assertClose(1 / Math.log(2), linear, 0.01, "α = " + alpha + ": linear buckets");
+            TestSupport.assertClose(0.7 / Math.log(2), cubic, 0.01, "α = " + alpha + ": cubic buckets");
+        }
+    }
+
+    private static void bulkMatchesScalar(){
+        SplittableRandom random = new SplittableRandom(23);
+        double[] values = new double[1001];
+        for(int i = 0; i < values.length; i++) values[i] = Math.exp(random.nextDouble(-700, 700));
+        for(LogIndexMapping.Interpolation interpolation : LogIndexMapping.Interpolation.values()){
+            LogIndexMapping mapping = LogIndexMapping.of(0.01, interpolation);
+            int[] indices = new int[1002];
+            mapping.index(values, 1, indices, 2, 1000);
+            for(int i = 0; i < 1000; i++){
+                TestSupport.assertEquals(mapping.index(values[1 + i]), indices[2 + i], mapping + ": bulk index " + i);
+            }
+        }
+    }
+
+    private static void rejectsInvalidArguments(){
+        LogIndexMapping mapping = LogIndexMapping.of(0.01, LogIndexMapping.Interpolation.EXACT);
+        for(double alpha : new double[]{0, 1e-7, 1, Double.NaN}){
+            TestSupport.assertThrows(IllegalArgumentException.class, () -> LogIndexMapping.of(alpha, LogIndexMapping.Interpolation.EXACT),
+                    "α = " + alpha);
+        }
+        for(double value : new double[]{0, Double.MIN_VALUE, -1, Double.POSITIVE_INFINITY, Double.NaN}){
+            TestSupport.assertThrows(IllegalArgumentException.class, () -> mapping.index(value), "index(" + value + ")");
+        }
+        int[] indices = new int[3];
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> mapping.index(new double[]{1, 2, 0}, 0, indices, 0, 3),
+                "bulk index of 0");
+        TestSupport.assertTrue(Arrays.equals(new int[3], indices), "bulk index wrote before validating");
+    }
+
+    /**
+     * Number of buckets of {@code mapping}
+     */
+    private static double buckets(LogIndexMapping mapping){
+        return (double) mapping.maxIndex() - mapping.minIndex() + 1;
+    }
+}
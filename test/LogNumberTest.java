@@ -0,0 +1,81 @@
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+/**
+ *  LogNumber Tests
+ * <p>
+ * Checks that {@link LogNumber} and {@link LogNumberArray} compute sums and differences within a few
+ * ulps of their logarithms, throw {@link ArithmeticException} on a product, quotient or power whose
+ * logarithm overflows, and leave an array untouched when one of its elements would overflow.
+ *
+ * @author owl
+ */
+final class LogNumberTest {
+
+    /** Error allowed on the logarithm of a sum or difference, from {@code exp}, {@code log1p} and the final addition */
+    private static final double SUM_ULPS = 4;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LogNumberTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        sumsAndDifferencesAreAccurate();
+        overflowingResultsThrow();
+        overflowingArraysAreUntouched();
+        underflowingResultsAreZero();
+    }
+
+    private static void sumsAndDifferencesAreAccurate(){
+        SplittableRandom random = new SplittableRandom(7);
+        for(int i = 0; i < 10_000; i++){
+            // |ln(a)| ≥ 2 keeps the results away from 0, where the error of the stored ln(a) would dominate
+            double a = Math.exp(random.nextDouble(2, 700) * (random.nextBoolean() ? 1 : -1));
+            double b = a * random.nextDouble(0.001, 1);
+            LogNumber x = LogNumber.of(a), y = LogNumber.of(b);
+            BigDecimal exactA = new BigDecimal(a), exactB = new BigDecimal(b);
+            TestSupport.assertUlps(BigDecimalLogarithm.ln(exactA.add(exactB), TestSupport.REFERENCE), x.add(y).ln(),
+                    SUM_ULPS, a + " + " + b);
+            if(b <= 0.5 * a){
+                TestSupport.assertUlps(BigDecimalLogarithm.ln(exactA.subtract(exactB), TestSupport.REFERENCE),
+                        x.subtract(y).ln(), SUM_ULPS, a + " - " + b);
+            }
+        }
+    }
+
+    private static void overflowingResultsThrow(){
+        LogNumber huge = LogNumber.ofLn(1e308);
+        LogNumber tiny = LogNumber.ofLn(-1e308);
+        TestSupport.assertThrows(ArithmeticException.class, () -> huge.multiply(huge), "huge * huge");
+        TestSupport.assertThrows(ArithmeticException.class, () -> huge.divide(tiny), "huge / tiny");
+        TestSupport.assertThrows(ArithmeticException.class, () -> huge.pow(2), "huge ^ 2");
+        TestSupport.assertThrows(ArithmeticException.class, () -> tiny.pow(-2), "tiny ^ -2");
+        TestSupport.assertEquals(2e307, LogNumber.ofLn(1e307).multiply(LogNumber.ofLn(1e307)).ln(), "1e307 + 1e307");
+    }
+
+    private static void overflowingArraysAreUntouched(){
+        double[] lns = {1, 1e308, -2};
+        LogNumberArray array = LogNumberArray.ofLns(lns);
+        LogNumberArray factors = LogNumberArray.ofLns(new double[]{1, 1e308, 1});
+        TestSupport.assertThrows(ArithmeticException.class, () -> array.multiply(factors), "multiply");
+        TestSupport.assertThrows(ArithmeticException.class, () -> array.divide(LogNumberArray.ofLns(new double[]{1, -1e308, 1})), "divide");
+        TestSupport.assertThrows(ArithmeticException.class, () -> array.pow(2), "pow");
+        TestSupport.assertThrows(ArithmeticException.class, () -> array.multiply(1, LogNumber.ofLn(1e308)), "multiply at index");
+        TestSupport.assertThrows(ArithmeticException.class, () -> LogNumberArray.ofLns(new double[]{1e308, 1e308}).product(), "product");
+        for(int i = 0; i < lns.length; i++) TestSupport.assertEquals(lns[i], array.ln(i), "ln at index " + i);
+        array.multiply(new double[]{Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE});
+        TestSupport.assertEquals(1e308, array.ln(1), "1e308 + ln(MAX_VALUE)");
+    }
+
+    private static void underflowingResultsAreZero(){
+        LogNumber tiny = LogNumber.ofLn(-1e308);
+        TestSupport.assertEquals(Double.NEGATIVE_INFINITY, tiny.multiply(tiny).ln(), "tiny * tiny");
+        TestSupport.assertEquals(0, tiny.multiply(tiny).doubleValue(), "tiny * tiny");
+    }
+}
@@ -0,0 +1,145 @@
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+
+/**
+ *  LogStreams Tests
+ * <p>
+ * Checks that array-backed streams of {@link LogStreams} are bit-for-bit identical to the bulk kernel
+ * of {@link Logarithm}, sequential or parallel, and split on chunk boundaries, that the compensated sum
+ * of logarithms stays within a few ulps of the exact sum however the terms cancel, and that the
+ * collectors agree with the terminal operations. Invalid values surface from the terminal operation.
+ *
+ * @author owl
+ */
+final class LogStreamsTest {
+
+    /** Error allowed on a compensated sum, in ulps of the sum, on top of the second order term */
+    private static final double SUM_ULPS = 2;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LogStreamsTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        arrayStreamsMatchTheBulkKernel();
+        arrayStreamsSplitOnChunks();
+        sumsOfLogsAreCompensated();
+        collectorsMatchTerminalOperations();
+        handlesEmptyAndInvalidStreams();
+    }
+
+    private static void arrayStreamsMatchTheBulkKernel(){
+        SplittableRandom random = new SplittableRandom(7);
+        int length = 10 * LogStreams.CHUNK + 3;
+        double[] values = new double[length + 1], expected = new double[length];
+        for(int i = 0; i <= length; i++){
+            values[i] = Double.longBitsToDouble(random.nextLong(1, Double.doubleToRawLongBits(Double.MAX_VALUE) + 1));
+        }
+        Logarithm.logInBase(values, 10, 1, expected, 0, length);
+        assertIdentical(expected, LogStreams.logInBase(values, 1, length, LogBase.TEN).toArray(), "sequential");
+        assertIdentical(expected, LogStreams.logInBase(values, 1, length, LogBase.TEN).parallel().toArray(), "parallel");
+        double[] oneByOne = new double[length];
+        Spliterator.OfDouble spliterator = LogStreams.logInBase(values, 1, length, LogBase.TEN).spliterator();
+        for(int i = 0; i < length; i++){
+            int index = i;
+            TestSupport.assertTrue(spliterator.tryAdvance((double value) -> oneByOne[index] = value), "tryAdvance at " + i);
+        }
+        TestSupport.assertTrue(!spliterator.tryAdvance((double value) -> {}), "tryAdvance past the end");
+        assertIdentical(expected, oneByOne, "tryAdvance");
+        assertIdentical(Arrays.stream(values, 1, length + 1).map(LogBase.TEN::log).toArray(),
+                LogStreams.logInBase(Arrays.stream(values, 1, length + 1), LogBase.TEN).toArray(), "mapped DoubleStream");
+    }
+
+    private static void arrayStreamsSplitOnChunks(){
+        double[] values = new double[7 * LogStreams.CHUNK + 5];
+        Arrays.fill(values, 2);
+        Spliterator.OfDouble suffix = LogStreams.logInBase(values, LogBase.TWO).spliterator();
+        TestSupport.assertEquals(values.length, suffix.estimateSize(), "size");
+        TestSupport.assertTrue(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED), "characteristics");
+        Spliterator.OfDouble prefix = suffix.trySplit();
+        TestSupport.assertEquals(3 * LogStreams.CHUNK, prefix.estimateSize(), "prefix size");
+        TestSupport.assertEquals(values.length - 3 * LogStreams.CHUNK, suffix.estimateSize(), "suffix size");
+        TestSupport.assertTrue(prefix.trySplit() != null, "prefix of 3 chunks splits");
+        Spliterator.OfDouble small = LogStreams.logInBase(values, 0, LogStreams.CHUNK + 5, LogBase.TWO).spliterator();
+        TestSupport.assertTrue(small.trySplit() == null, "less than two chunks do not split");
+    }
+
+    private static void sumsOfLogsAreCompensated(){
+        SplittableRandom random = new SplittableRandom(8);
+        for(int trial = 0; trial < 20; trial++){
+            double[] values = new double[100_000];
+            BigDecimal exact = BigDecimal.ZERO;
+            double magnitudes = 0;
+            for(int i = 0; i < values.length; i++){
+                // terms of both signs that cancel out, spread over several orders of magnitude
+                values[i] = Math.exp(random.nextDouble(-1, 1) * Math.scalb(1.0, random.nextInt(-20, 9)));
+                double ln = Math.log(values[i]);
+                exact = exact.add(new BigDecimal(ln));
+                magnitudes += Math.abs(ln);
+            }
+            double sum = exact.doubleValue();
+            double tolerance = SUM_ULPS * Math.ulp(sum) + values.length * 0x1p-106 * magnitudes;
+            TestSupport.assertClose(sum, LogStreams.sumOfLogs(Arrays.stream(values), LogBase.E), tolerance, "trial " + trial);
+            TestSupport.assertClose(sum, LogStreams.sumOfLogs(Arrays.stream(values).parallel(), LogBase.E), tolerance,
+                    "parallel trial " + trial);
+        }
+        TestSupport.assertClose(10, LogStreams.sumOfLogs(DoubleStream.of(2, 4, 8, 16), LogBase.TWO), 2 * Math.ulp(10.0), "log2(2·4·8·16)");
+        TestSupport.assertClose(4, LogStreams.geometricMean(DoubleStream.of(1, 2, 8, 16)), 2 * Math.ulp(4.0), "geometric mean");
+        TestSupport.assertClose(1e300, LogStreams.geometricMean(DoubleStream.of(1e300, 1e300, 1e300)), 1e288, "geometric mean of 1e300");
+    }
+
+    private static void collectorsMatchTerminalOperations(){
+        SplittableRandom random = new SplittableRandom(9);
+        List<Double> values = random.doubles(5_000, 1e-10, 1e10).boxed().collect(Collectors.toList());
+        DoubleStream stream = values.stream().mapToDouble(Double::doubleValue);
+        TestSupport.assertEquals(LogStreams.sumOfLogs(stream, LogBase.TEN), values.stream().collect(LogStreams.summingLogs(Double::doubleValue,
+                LogBase.TEN)), "summingLogs");
+        TestSupport.assertEquals(LogStreams.geometricMean(values.stream().mapToDouble(Double::doubleValue)),
+                values.stream().collect(LogStreams.geometricMean(Double::doubleValue)), "geometricMean");
+        LogSumExp accumulator = new LogSumExp();
+        values.forEach(value -> accumulator.accept(Math.log(value)));
+        TestSupport.assertEquals(accumulator.result(), LogStreams.logSumExp(values.stream().mapToDouble(Math::log)), "logSumExp");
+        TestSupport.assertEquals(accumulator.result(), values.stream().collect(LogStreams.logSumExp(Math::log)), "logSumExp collector");
+        double sum = values.stream().mapToDouble(Double::doubleValue).sum();
+        TestSupport.assertClose(Math.log(sum), LogStreams.logSumExp(values.parallelStream().mapToDouble(Math::log)), 4 * Math.ulp(Math.log(sum)),
+                "parallel logSumExp");
+    }
+
+    private static void handlesEmptyAndInvalidStreams(){
+        TestSupport.assertEquals(0, LogStreams.sumOfLogs(DoubleStream.empty(), LogBase.TEN), "empty sumOfLogs");
+        TestSupport.assertEquals(Double.NaN, LogStreams.geometricMean(DoubleStream.empty()), "empty geometricMean");
+        TestSupport.assertEquals(Double.NEGATIVE_INFINITY, LogStreams.logSumExp(DoubleStream.empty()), "empty logSumExp");
+        TestSupport.assertEquals(0, LogStreams.logInBase(new double[0], LogBase.TEN).count(), "empty array stream");
+        double[] values = new double[3 * LogStreams.CHUNK];
+        Arrays.fill(values, 1);
+        values[values.length - 1] = 0;
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> LogStreams.logInBase(values, LogBase.TEN).sum(), "array value 0");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> LogStreams.logInBase(DoubleStream.of(values), LogBase.TEN).sum(), "stream value 0");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> LogStreams.sumOfLogs(DoubleStream.of(values), LogBase.TEN),
+                "sumOfLogs value 0");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> List.of(1.0, -1.0).stream().collect(LogStreams.geometricMean(Double::doubleValue)), "geometricMean value -1");
+        TestSupport.assertThrows(IndexOutOfBoundsException.class, () -> LogStreams.logInBase(values, 1, values.length, LogBase.TEN),
+                "range past the values");
+    }
+
+    /**
+     * Fails unless both arrays have the same length and the same bits
+     */
+    private static void assertIdentical(double[] expected, double[] actual, String message){
+        TestSupport.assertTrue(Arrays.equals(expected, actual), message + ": expected " + expected.length + " logarithms, got "
+                + actual.length + (expected.length == actual.length ? " that differ" : ""));
+    }
+}
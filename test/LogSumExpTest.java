@@ -0,0 +1,158 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.SplittableRandom;
+
+/**
+ *  LogSumExp Tests
+ * <p>
+ * Checks {@link LogSumExp} and its SIMD counterparts in {@link VectorizedLogarithm} against an exact
+ * {@link BigDecimal} sum of exponentials: within a few ulps of the result plus the rounding of the
+ * shifted sum, for exponents far beyond the range of {@link Math#exp}, in the natural base and in
+ * others. The streaming accumulator must agree with the bulk kernel however the exponents are split,
+ * and a log-softmax must exponentiate to a distribution.
+ *
+ * @author owl
+ */
+final class LogSumExpTest {
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LogSumExpTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        bulkKernelsAreAccurate();
+        accumulatorMatchesBulk();
+        logSoftmaxIsADistribution();
+        handlesSpecialValues();
+    }
+
+    private static void bulkKernelsAreAccurate(){
+        SplittableRandom random = new SplittableRandom(18);
+        for(int trial = 0; trial < 200; trial++){
+            double[] values = exponents(random, trial);
+            int length = values.length - 1;
+            BigDecimal exact = lnSumExp(values, 1, 1);
+            String name = "trial " + trial;
+            assertClose(exact, LogSumExp.logSumExp(values, 1, length), length, name);
+            assertClose(exact, VectorizedLogarithm.logSumExp(values, 1, length), length, "vectorized " + name);
+            BigDecimal exactInBase2 = lnSumExp(values, 1, Math.log(2)).divide(TestSupport.ln(2), TestSupport.REFERENCE);
+            assertClose(exactInBase2, LogSumExp.logSumExp(values, 1, length, LogBase.TWO), length, "base 2, " + name);
+            assertClose(exactInBase2, VectorizedLogarithm.logSumExp(values, 1, length, LogBase.TWO), length,
+                    "vectorized base 2, " + name);
+        }
+    }
+
+    private static void accumulatorMatchesBulk(){
+        SplittableRandom random = new SplittableRandom(19);
+        for(int trial = 0; trial < 100; trial++){
+            double[] values = exponents(random, trial);
+            int length = values.length - 1;
+            int split = random.nextInt(length + 1);
+            BigDecimal exact = lnSumExp(values, 1, 1);
+            LogSumExp oneByOne = new LogSumExp();
+            for(int i = 1; i <= length; i++) oneByOne.accept(values[i]);
+            assertClose(exact, oneByOne.result(), length, "one by one, trial " + trial);
+            LogSumExp left = new LogSumExp(), right = new LogSumExp();
+            left.accept(values, 1, split);
+            for(int i = 1 + split; i <= length; i++) right.accept(values[i]);
+            assertClose(exact, left.combine(right).result(), length, "combined, trial " + trial);
+        }
+        LogSumExp base10 = new LogSumExp(LogBase.TEN);
+        base10.accept(new double[]{1, 1, Math.log10(8)}, 0, 3);
+        TestSupport.assertClose(Math.log10(28), base10.result(), 2 * Math.ulp(Math.log10(28)), "log10(10 + 10 + 8)");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> new LogSumExp().combine(new LogSumExp(LogBase.TWO)),
+                "combining different bases");
+    }
+
+    private static void logSoftmaxIsADistribution(){
+        SplittableRandom random = new SplittableRandom(20);
+        for(int trial = 0; trial < 300; trial++){
+            double[] values = exponents(random, trial);
+            int length = values.length - 1;
+            double[] destination = new double[length];
+            LogSumExp.logSoftmax(values, 1, destination, 0, length);
+            assertDistribution(destination, values, "trial " + trial);
+            VectorizedLogarithm.logSoftmax(values, 1, destination, 0, length);
+            assertDistribution(destination, values, "vectorized trial " + trial);
+            double[] inPlace = values.clone();
+            LogSumExp.logSoftmax(inPlace, 1, inPlace, 1, length, LogBase.TWO);
+            for(int i = 0; i < length; i++) destination[i] = inPlace[1 + i] * Math.log(2);
+            assertDistribution(destination, values, "in place, base 2, trial " + trial);
+        }
+    }
+
+    private static void handlesSpecialValues(){
+        double[] empty = {};
+        double inf = Double.POSITIVE_INFINITY;
+        TestSupport.assertEquals(Double.NEGATIVE_INFINITY, LogSumExp.logSumExp(empty, 0, 0), "empty");
+        TestSupport.assertEquals(Double.NEGATIVE_INFINITY, new LogSumExp().result(), "empty accumulator");
+        TestSupport.assertEquals(Double.NEGATIVE_INFINITY, LogSumExp.logSumExp(new double[]{-inf, -inf}, 0, 2), "all -Infinity");
+        TestSupport.assertEquals(Double.NaN, LogSumExp.logSumExp(new double[]{1, Double.NaN, 2}, 0, 3), "NaN");
+        TestSupport.assertEquals(inf, LogSumExp.logSumExp(new double[]{1, inf}, 0, 2), "Infinity");
+        LogSumExp accumulator = new LogSumExp();
+        accumulator.accept(1);
+        accumulator.accept(Double.NaN);
+        accumulator.accept(2);
+        TestSupport.assertEquals(Double.NaN, accumulator.result(), "NaN accumulated");
+        TestSupport.assertEquals(1e308 + Math.log(2), LogSumExp.logSumExp(new double[]{1e308, 1e308}, 0, 2), "no overflow");
+    }
+
+    /**
+     * Up to 200 exponents after an unused first element, spread by 0.1 to 300 around 0, ±1000 or 10^6
+     */
+    private static double[] exponents(SplittableRandom random, int trial){
+        double spread = new double[]{0.1, 1, 10, 300}[trial % 4];
+        double center = new double[]{0, 1000, -1000, 1e6}[(trial / 4) % 4];
+        double[] values = new double[2 + random.nextInt(200)];
+        values[0] = Double.NaN;
+        for(int i = 1; i < values.length; i++) values[i] = center + spread * random.nextGaussian();
+        return values;
+    }
+
+    /**
+     * Exact {@code ln(Σ e^(scale * values[i]))} from index {@code offset} on, each product by {@code scale}
+     * rounded like the kernels do
+     */
+    private static BigDecimal lnSumExp(double[] values, int offset, double scale){
+        double max = Double.NEGATIVE_INFINITY;
+        for(int i = offset; i < values.length; i++) max = Math.max(max, scale * values[i]);
+        BigDecimal sum = BigDecimal.ZERO;
+        for(int i = offset; i < values.length; i++){
+            BigDecimal shifted = new BigDecimal(scale * values[i]).subtract(new BigDecimal(max));
+            // below e^-120, a term is lost in a sum that includes e^0
+            if(shifted.compareTo(BigDecimal.valueOf(-120)) >= 0) sum = sum.add(TestSupport.exp(shifted), TestSupport.REFERENCE);
+        }
+        return new BigDecimal(max).add(BigDecimalLogarithm.ln(sum, TestSupport.REFERENCE));
+    }
+
+    /**
+     * Fails unless {@code actual} is within 2 ulps of {@code exact}, plus the rounding of a sum of {@code length} terms
+     */
+    private static void assertClose(BigDecimal exact, double actual, int length, String message){
+        double tolerance = 2 * Math.ulp(exact.doubleValue()) + length * 0x1p-53;
+        double error = new BigDecimal(actual).subtract(exact).abs().doubleValue();
+        TestSupport.assertTrue(error <= tolerance, message + ": expected " + exact.round(MathContext.DECIMAL64)
+                + " but was " + actual + ", error " + error);
+    }
+
+    /**
+     * Fails unless the exponentials of the natural {@code logs} sum to 1 and none is above 0, up to the
+     * rounding of each log-probability {@code x - LSE(x)} at the magnitude of the exponents {@code values}
+     */
+    private static void assertDistribution(double[] logs, double[] values, String message){
+        double magnitude = 0, sum = 0;
+        for(int i = 1; i < values.length; i++) magnitude = Math.max(magnitude, Math.abs(values[i]));
+        double rounding = 2 * Math.ulp(magnitude);
+        for(double log : logs){
+            TestSupport.assertTrue(log <= rounding, message + ": positive log-probability " + log);
+            sum += Math.exp(log);
+        }
+        TestSupport.assertClose(1, sum, rounding + logs.length * 0x1p-52, message + ": sum of probabilities");
+    }
+}
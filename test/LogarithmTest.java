@@ -0,0 +1,188 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+
+/**
+ *  Logarithm Tests
+ * <p>
+ * Checks the precision claims of {@link Logarithm} against {@link BigDecimalLogarithm}: the
+ * logarithm of a {@link BigInteger} or {@link BigDecimal} quotient close to 1 is computed from the
+ * exact difference and stays within a couple of ulps, however many digits the operands carry. The
+ * logarithm of a {@code long} quotient stays within about one ulp, for counters of any size and for
+ * counters that differ only in their last digits. Every bulk overload must match its scalar counterpart
+ * bit for bit, and reject an invalid element before writing anything.
+ *
+ * @author owl
+ */
+final class LogarithmTest {
+
+    /** Error allowed on {@code ln(n / d)}: the relative difference and {@link Math#log1p(double)} each round once */
+    private static final double QUOTIENT_ULPS = 2;
+
+    /** Error allowed on {@code ln(n / d)} for {@code long} counters, divided in double-double */
+    private static final double LONG_QUOTIENT_ULPS = 1.5;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        bigDecimalQuotientsNearOne();
+        bigIntegerQuotientsNearOne();
+        longQuotients();
+        bulkMatchesScalar();
+        bulkValidatesBeforeWriting();
+    }
+
+    private static void bigDecimalQuotientsNearOne(){
+        SplittableRandom random = new SplittableRandom(5);
+        for(int i = 0; i < 20_000; i++){
+            BigDecimal denominator = new BigDecimal(digits(random, 1 + random.nextInt(40)), random.nextInt(-20, 20));
+            BigDecimal numerator = denominator.multiply(new BigDecimal(1 + relativeDifference(random)));
+            if(numerator.signum() <= 0 || numerator.compareTo(denominator) == 0) continue;
+            BigDecimal exact = BigDecimalLogarithm.lnOfQuotient(numerator, denominator, 40);
+            TestSupport.assertUlps(exact, Logarithm.lnOfQuotient(numerator, denominator), QUOTIENT_ULPS,
+                    "ln(" + numerator + " / " + denominator + ")");
+        }
+    }
+
+    private static void bigIntegerQuotientsNearOne(){
+        SplittableRandom random = new SplittableRandom(6);
+        for(int i = 0; i < 20_000; i++){
+            BigInteger denominator = digits(random, 1 + random.nextInt(60));
+            BigInteger numerator = new BigDecimal(denominator).multiply(new BigDecimal(1 + relativeDifference(random)))
+                    .toBigInteger();
+            if(numerator.signum() <= 0 || numerator.equals(denominator)) continue;
+            BigDecimal exact = BigDecimalLogarithm.lnOfQuotient(new BigDecimal(numerator), new BigDecimal(denominator), 40);
+            TestSupport.assertUlps(exact, Logarithm.lnOfQuotient(numerator, denominator), QUOTIENT_ULPS,
+                    "ln(" + numerator + " / " + denominator + ")");
+        }
+    }
+
+    private static void longQuotients(){
+        SplittableRandom random = new SplittableRandom(8);
+        for(int i = 0; i < 60_000; i++){
+            long denominator = 1 + (random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63));
+            long numerator = switch(i % 3){
+                case 0 -> 1 + (random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63));
+                case 1 -> Math.max(1, denominator + random.nextLong(-1_000_000, 1_000_000));
+                default -> Math.max(1, (long) (denominator * random.nextDouble(0.5, 2)));
+            };
+            checkLongQuotient(numerator, denominator);
+            checkLongQuotient(-numerator, -denominator);
+        }
+        checkLongQuotient(809256783553956718L, 1322126710241885321L);
+        checkLongQuotient(Long.MAX_VALUE, Long.MAX_VALUE - 1);
+        checkLongQuotient(Long.MIN_VALUE, Long.MIN_VALUE + 1);
+        checkLongQuotient(Long.MIN_VALUE, -1);
+        checkLongQuotient(1, Long.MAX_VALUE);
+        TestSupport.assertTrue(Logarithm.lnOfQuotient(Long.MIN_VALUE, Long.MIN_VALUE) == 0, "ln(MIN_VALUE / MIN_VALUE)");
+    }
+
+    private static void checkLongQuotient(long numerator, long denominator){
+        BigDecimal exact = BigDecimalLogarithm.lnOfQuotient(BigDecimal.valueOf(numerator).abs(),
+                BigDecimal.valueOf(denominator).abs(), 40);
+        if(exact.signum() == 0) return;
+        TestSupport.assertUlps(exact, Logarithm.lnOfQuotient(numerator, denominator), LONG_QUOTIENT_ULPS,
+                "ln(" + numerator + " / " + denominator + ")");
+    }
+
+    private static void bulkMatchesScalar(){
+        SplittableRandom random = new SplittableRandom(2);
+        int length = 1000;
+        double[] values = new double[length + 1], numerators = new double[length + 1], denominators = new double[length + 1];
+        long[] longNumerators = new long[length + 1], longDenominators = new long[length + 1];
+        BigInteger[] bigNumerators = new BigInteger[length + 1], bigDenominators = new BigInteger[length + 1];
+        for(int i = 0; i <= length; i++){
+            values[i] = Double.longBitsToDouble(random.nextLong(1, Double.doubleToRawLongBits(Double.MAX_VALUE) + 1));
+            // quotients that neither overflow nor underflow
+            numerators[i] = Math.exp(random.nextDouble(-350, 350));
+            denominators[i] = Math.exp(random.nextDouble(-350, 350));
+            longNumerators[i] = 1 + (random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63));
+            longDenominators[i] = 1 + (random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63));
+            bigNumerators[i] = digits(random, 1 + random.nextInt(400));
+            bigDenominators[i] = digits(random, 1 + random.nextInt(400));
+        }
+        double[] destination = new double[length + 2];
+        Logarithm.logInBase(values, 10, 1, destination, 2, length);
+        for(int i = 1; i <= length; i++) assertResult(Logarithm.logInBase(values[i], 10), destination, i, "logInBase");
+        Logarithm.logWithPoweredValue(values, 3, 2, 1, destination, 2, length);
+        for(int i = 1; i <= length; i++){
+            assertResult(Logarithm.logWithPoweredValue(values[i], 3, 2), destination, i, "logWithPoweredValue");
+        }
+        Logarithm.logWithPoweredBase(values, 2, 0.5, 1, destination, 2, length);
+        for(int i = 1; i <= length; i++){
+            assertResult(Logarithm.logWithPoweredBase(values[i], 2, 0.5), destination, i, "logWithPoweredBase");
+        }
+        Logarithm.logOfQuotient(numerators, denominators, Math.E, 1, destination, 2, length);
+        for(int i = 1; i <= length; i++){
+            assertResult(Logarithm.logOfQuotient(numerators[i], denominators[i], Math.E), destination, i, "logOfQuotient");
+        }
+        Logarithm.logWithBaseQuotient(values, 1000.0, 999.0, 1, destination, 2, length);
+        for(int i = 1; i <= length; i++){
+            assertResult(Logarithm.logWithBaseQuotient(values[i], 1000.0, 999.0), destination, i, "logWithBaseQuotient");
+        }
+        Logarithm.logWithBaseQuotient(values, 1000L, 999L, 1, destination, 2, length);
+        for(int i = 1; i <= length; i++){
+            assertResult(Logarithm.logWithBaseQuotient(values[i], 1000L, 999L), destination, i, "long logWithBaseQuotient");
+        }
+        Logarithm.logOfQuotientAndBaseQuotient(numerators, denominators, 1, 3, 1, destination, 2, length);
+        for(int i = 1; i <= length; i++){
+            assertResult(Logarithm.logOfQuotientAndBaseQuotient(numerators[i], denominators[i], 1, 3), destination, i,
+                    "logOfQuotientAndBaseQuotient");
+        }
+        Logarithm.logOfQuotient(longNumerators, longDenominators, 2, 1, destination, 2, length);
+        for(int i = 1; i <= length; i++){
+            assertResult(Logarithm.logOfQuotient(longNumerators[i], longDenominators[i], 2), destination, i, "long logOfQuotient");
+        }
+        Logarithm.logOfQuotient(bigNumerators, bigDenominators, 2, 1, destination, 2, length);
+        for(int i = 1; i <= length; i++){
+            assertResult(Logarithm.logOfQuotient(bigNumerators[i], bigDenominators[i], 2), destination, i, "BigInteger logOfQuotient");
+        }
+    }
+
+    private static void bulkValidatesBeforeWriting(){
+        double[] destination = new double[3];
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> Logarithm.logInBase(new double[]{1, 2, 0}, 10, 0, destination, 0, 3),
+                "value 0");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> Logarithm.logInBase(new double[]{1, 2, 3}, 1, 0, destination, 0, 3),
+                "base 1");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> Logarithm.logOfQuotient(new double[]{1, 2, -3}, new double[]{1, 2, 3}, 10, 0, destination, 0, 3), "value -3 / 3");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> Logarithm.logOfQuotient(new long[]{1, 2, 3}, new long[]{1, 2, 0}, 10, 0, destination, 0, 3), "value 3 / 0");
+        TestSupport.assertThrows(IndexOutOfBoundsException.class, () -> Logarithm.logInBase(new double[]{1, 2, 3}, 10, 1, destination, 0, 3),
+                "range past the values");
+        for(int i = 0; i < destination.length; i++) TestSupport.assertEquals(0, destination[i], "destination[" + i + "] written");
+    }
+
+    /**
+     * Fails unless the bulk result of the {@code i}-th input, read from index 1 and written from index 2, is {@code expected}
+     */
+    private static void assertResult(double expected, double[] destination, int i, String name){
+        TestSupport.assertEquals(expected, destination[1 + i], name + " at " + i);
+    }
+
+    /**
+     * Random positive integer of {@code digits} decimal digits
+     */
+    private static BigInteger digits(SplittableRandom random, int digits){
+        StringBuilder builder = new StringBuilder().append(1 + random.nextInt(9));
+        for(int i = 1; i < digits; i++) builder.append(random.nextInt(10));
+        return new BigInteger(builder.toString());
+    }
+
+    /**
+     * Relative difference of a quotient on the near-one path, from 0.35 down to {@code 10^-30}
+     */
+    private static double relativeDifference(SplittableRandom random){
+        double magnitude = Math.pow(10, random.nextDouble(-30, Math.log10(0.35)));
+        return random.nextBoolean() ? magnitude : -magnitude;
+    }
+}
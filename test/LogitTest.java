@@ -0,0 +1,129 @@
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+/**
+ *  Logit Tests
+ * <p>
+ * Checks {@link Logit} against {@link BigDecimalLogarithm} references over the whole domain: the logit
+ * of probabilities close to 0, to ½ and to 1, the log-sigmoid of log-odds of every magnitude, and the
+ * log-odds-ratio of close probabilities, where a difference of two logits would cancel. The bulk
+ * kernels and their SIMD counterparts must agree with the scalar functions.
+ *
+ * @author owl
+ */
+final class LogitTest {
+
+    /** Error allowed on the logit, the log-sigmoid and the log-odds-ratio */
+    private static final double MAX_ULPS = 3;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LogitTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        logitIsAccurate();
+        logSigmoidIsAccurate();
+        logOddsRatioIsAccurate();
+        bulkMatchesScalar();
+        handlesCertainties();
+    }
+
+    private static void logitIsAccurate(){
+        SplittableRandom random = new SplittableRandom(20);
+        for(int i = 0; i < 30_000; i++){
+            double p = probability(random, i);
+            if(p == 0.5) continue;
+            BigDecimal exact = BigDecimalLogarithm.lnOfQuotient(new BigDecimal(p), BigDecimal.ONE.subtract(new BigDecimal(p)), 40);
+            TestSupport.assertUlps(exact, Logit.logit(p), MAX_ULPS, "logit(" + p + ")");
+        }
+        TestSupport.assertEquals(0, Logit.logit(0.5), "logit(0.5)");
+    }
+
+    private static void logSigmoidIsAccurate(){
+        SplittableRandom random = new SplittableRandom(21);
+        for(int i = 0; i < 3_000; i++){
+            double x = random.nextDouble(-800, 800) * Math.scalb(1.0, -random.nextInt(40));
+            // 1 + e^-x is exact, so its logarithm keeps every digit of a tiny e^-x
+            BigDecimal exact = BigDecimalLogarithm.ln(BigDecimal.ONE.add(TestSupport.exp(new BigDecimal(-x))), TestSupport.REFERENCE)
+                    .negate();
+            TestSupport.assertUlps(exact, Logit.logSigmoid(x), MAX_ULPS, "logSigmoid(" + x + ")");
+        }
+    }
+
+    private static void logOddsRatioIsAccurate(){
+        SplittableRandom random = new SplittableRandom(22);
+        for(int i = 0; i < 30_000; i++){
+            double p = probability(random, i);
+            double q = random.nextBoolean() ? probability(random, i + 1) : p * (1 + random.nextDouble(-1, 1) * Math.scalb(1.0, -random.nextInt(50)));
+            if(p == 0 || !(q > 0 && q < 1) || q == p) continue;
+            BigDecimal exactP = new BigDecimal(p), exactQ = new BigDecimal(q);
+            BigDecimal exact = BigDecimalLogarithm.lnOfQuotient(exactP.multiply(BigDecimal.ONE.subtract(exactQ)),
+                    exactQ.multiply(BigDecimal.ONE.subtract(exactP)), 40);
+            TestSupport.assertUlps(exact, Logit.logOddsRatio(p, q), MAX_ULPS, "logOddsRatio(" + p + ", " + q + ")");
+        }
+    }
+
+    private static void bulkMatchesScalar(){
+        SplittableRandom random = new SplittableRandom(23);
+        int length = 1000;
+        double[] p = new double[length + 1], q = new double[length + 1], x = new double[length + 1];
+        for(int i = 0; i <= length; i++){
+            p[i] = probability(random, i);
+            q[i] = probability(random, i + 1);
+            x[i] = random.nextDouble(-50, 50);
+        }
+        double[] destination = new double[length + 2];
+        Logit.logit(p, 1, destination, 2, length);
+        for(int i = 0; i < length; i++) assertResult(Logit.logit(p[1 + i]), destination, i, 0, "logit");
+        Logit.logit(p, 1, destination, 2, length, LogBase.TWO);
+        for(int i = 0; i < length; i++) assertResult(Logit.logit(p[1 + i], LogBase.TWO), destination, i, 0, "logit in base 2");
+        Logit.inverseLogit(x, 1, destination, 2, length);
+        for(int i = 0; i < length; i++) assertResult(Logit.inverseLogit(x[1 + i]), destination, i, 0, "inverseLogit");
+        Logit.logSigmoid(x, 1, destination, 2, length);
+        for(int i = 0; i < length; i++) assertResult(Logit.logSigmoid(x[1 + i]), destination, i, 0, "logSigmoid");
+        Logit.logOddsRatio(p, q, 1, destination, 2, length);
+        for(int i = 0; i < length; i++) assertResult(Logit.logOddsRatio(p[1 + i], q[1 + i]), destination, i, 0, "logOddsRatio");
+        if(VectorizedLogarithm.isVectorized()){
+            VectorizedLogarithm.logit(p, 1, destination, 2, length);
+            for(int i = 0; i < length; i++) assertResult(Logit.logit(p[1 + i]), destination, i, MAX_ULPS, "vectorized logit");
+        }
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> Logit.logit(new double[]{0.5, 1.5}, 0, destination, 0, 2),
+                "probability 1.5");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> Logit.logit(Double.NaN), "probability NaN");
+    }
+
+    private static void handlesCertainties(){
+        TestSupport.assertEquals(Double.NEGATIVE_INFINITY, Logit.logit(0), "logit(0)");
+        TestSupport.assertEquals(Double.POSITIVE_INFINITY, Logit.logit(1), "logit(1)");
+        TestSupport.assertEquals(Double.NaN, Logit.logOddsRatio(1, 1), "logOddsRatio(1, 1)");
+        TestSupport.assertEquals(Double.NaN, Logit.logOddsRatio(0, 0), "logOddsRatio(0, 0)");
+        TestSupport.assertEquals(0, Logit.inverseLogit(Double.NEGATIVE_INFINITY), "inverseLogit(-Infinity)");
+        TestSupport.assertEquals(Double.NaN, Logit.logSigmoid(Double.NaN), "logSigmoid(NaN)");
+        TestSupport.assertEquals(0, Logit.logSigmoid(1000), "logSigmoid(1000)");
+        TestSupport.assertEquals(-1000, Logit.logSigmoid(-1000), "logSigmoid(-1000)");
+    }
+
+    /**
+     * Uniform probabilities, probabilities down to the subnormals, and probabilities up to {@code 1 - 2^-54}
+     */
+    private static double probability(SplittableRandom random, int i){
+        return switch(i % 3){
+            case 0 -> random.nextDouble();
+            case 1 -> Math.scalb(random.nextDouble(0.5, 1), -random.nextInt(1070));
+            default -> 1 - Math.scalb(random.nextDouble(0.5, 1), -random.nextInt(54));
+        };
+    }
+
+    /**
+     * Fails unless the bulk result of element {@code i}, written from index 2, is within {@code maxUlps} of {@code expected}
+     */
+    private static void assertResult(double expected, double[] destination, int i, double maxUlps, String name){
+        TestSupport.assertClose(expected, destination[2 + i], maxUlps * Math.ulp(expected), name + " at " + i);
+    }
+}
@@ -0,0 +1,141 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ *  MappedLogarithm Tests
+ * <p>
+ * Checks that {@link MappedLogarithm} writes the same bits as the bulk overloads of {@link Logarithm},
+ * in both byte orders, with windows that do not divide the file, in place, and over an existing larger
+ * output, and that an invalid value in the last window leaves the output, or the input transformed in
+ * place, untouched.
+ *
+ * @author owl
+ */
+final class MappedLogarithmTest {
+
+    /** Doubles per file */
+    private static final int COUNT = 10_000;
+
+    /** Window size that leaves a partial window at the end of the file */
+    private static final long WINDOW_SIZE = 37 * Double.BYTES;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private MappedLogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        try {
+            Path directory = Files.createTempDirectory("mapped-logarithm");
+            try {
+                for(ByteOrder order : new ByteOrder[]{ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}){
+                    matchesArrays(directory, order);
+                }
+                rejectsInvalidInputsBeforeWriting(directory);
+            } finally {
+                try(var files = Files.list(directory)){
+                    for(Path file : (Iterable<Path>) files::iterator) Files.delete(file);
+                }
+                Files.delete(directory);
+            }
+        } catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void matchesArrays(Path directory, ByteOrder order) throws IOException {
+        SplittableRandom random = new SplittableRandom(6);
+        double[] values = new double[COUNT], expected = new double[COUNT];
+        for(int i = 0; i < COUNT; i++){
+            values[i] = Double.longBitsToDouble(random.nextLong(1, Double.doubleToRawLongBits(Double.MAX_VALUE) + 1));
+        }
+        Path input = directory.resolve("input"), output = directory.resolve("output");
+        write(input, values, order);
+        // an existing output larger than the input is truncated
+        write(output, new double[2 * COUNT], order);
+
+        MappedLogarithm.logInBase(input, output, LogBase.TEN, order, WINDOW_SIZE);
+        Logarithm.logInBase(values, 10, 0, expected, 0, COUNT);
+        assertIdentical(expected, read(output, order), order + ": logInBase");
+
+        MappedLogarithm.logWithPoweredValue(input, output, 3, LogBase.ofQuotient(1000, 999), order, WINDOW_SIZE);
+        Logarithm.logWithPoweredValue(values, 3, 1000.0 / 999, 0, expected, 0, COUNT);
+        assertIdentical(expected, read(output, order), order + ": logWithPoweredValue in base 1000 / 999");
+
+        if(order == ByteOrder.LITTLE_ENDIAN){
+            MappedLogarithm.logInBase(input, output, LogBase.TWO);
+            Logarithm.logInBase(values, 2, 0, expected, 0, COUNT);
+            assertIdentical(expected, read(output, order), "default window: logInBase");
+        }
+
+        MappedLogarithm.logInBase(input, input, LogBase.E, order, WINDOW_SIZE);
+        Logarithm.logInBase(values, Math.E, 0, expected, 0, COUNT);
+        assertIdentical(expected, read(input, order), order + ": in place");
+    }
+
+    private static void rejectsInvalidInputsBeforeWriting(Path directory) throws IOException {
+        Path input = directory.resolve("invalid"), output = directory.resolve("untouched");
+        double[] values = new double[COUNT], previous = {1, 2, 3};
+        for(int i = 0; i < COUNT; i++) values[i] = 1.5 + i;
+        values[COUNT - 1] = -1;
+        write(input, values, ByteOrder.LITTLE_ENDIAN);
+        write(output, previous, ByteOrder.LITTLE_ENDIAN);
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> transform(input, output, WINDOW_SIZE), "value -1");
+        assertIdentical(previous, read(output, ByteOrder.LITTLE_ENDIAN), "output after value -1");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> transform(input, input, WINDOW_SIZE), "value -1 in place");
+        assertIdentical(values, read(input, ByteOrder.LITTLE_ENDIAN), "input after value -1 in place");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> transform(input, output, 12), "window of 12 bytes");
+
+        Files.write(input, new byte[12]);
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> transform(input, output, WINDOW_SIZE), "size 12");
+        assertIdentical(previous, read(output, ByteOrder.LITTLE_ENDIAN), "output after size 12");
+
+        Files.write(input, new byte[0]);
+        MappedLogarithm.logInBase(input, output, LogBase.TEN);
+        TestSupport.assertEquals(0, Files.size(output), "output of an empty input");
+    }
+
+    /**
+     * Runs {@link MappedLogarithm#logInBase(Path, Path, LogBase, ByteOrder, long)}, rethrowing an
+     * {@link IOException} unchecked so the call fits {@link TestSupport#assertThrows}
+     */
+    private static void transform(Path input, Path output, long windowSize){
+        try {
+            MappedLogarithm.logInBase(input, output, LogBase.TEN, ByteOrder.LITTLE_ENDIAN, windowSize);
+        } catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(Path file, double[] values, ByteOrder order) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Double.BYTES).order(order);
+        bytes.asDoubleBuffer().put(values);
+        Files.write(file, bytes.array());
+    }
+
+    private static double[] read(Path file, ByteOrder order) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(order);
+        double[] values = new double[bytes.capacity() / Double.BYTES];
+        bytes.asDoubleBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * Fails unless both arrays have the same length and the same bits
+     */
+    private static void assertIdentical(double[] expected, double[] actual, String message){
+        TestSupport.assertTrue(Arrays.equals(expected, actual), message + ": expected " + expected.length + " results, got "
+                + actual.length + (expected.length == actual.length ? " that differ" : ""));
+    }
+}
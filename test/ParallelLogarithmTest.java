@@ -0,0 +1,98 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ *  ParallelLogarithm Tests
+ * <p>
+ * Checks that {@link ParallelLogarithm} is bit-for-bit identical to the sequential bulk overloads of
+ * {@link Logarithm} for every method, on the common pool and on pools of one or several workers, for
+ * inputs processed on the calling thread and inputs split into many chunks. An invalid value in any
+ * chunk must be rejected before a single result is written.
+ *
+ * @author owl
+ */
+final class ParallelLogarithmTest {
+
+    /** Elements per call: many chunks of unequal sizes, at offsets that do not line up with them */
+    private static final int LENGTH = 20 * ParallelLogarithm.MIN_CHUNK + 7;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ParallelLogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        ForkJoinPool single = new ForkJoinPool(1), several = new ForkJoinPool(3);
+        try {
+            for(ForkJoinPool pool : new ForkJoinPool[]{ForkJoinPool.commonPool(), single, several}){
+                matchesSequential(pool, LENGTH);
+                matchesSequential(pool, ParallelLogarithm.MIN_CHUNK + 1);
+            }
+            validatesEveryChunkBeforeWriting(several);
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    private static void matchesSequential(ForkJoinPool pool, int length){
+        SplittableRandom random = new SplittableRandom(4);
+        double[] values = new double[length + 1], numerators = new double[length + 1], denominators = new double[length + 1];
+        for(int i = 0; i <= length; i++){
+            values[i] = Double.longBitsToDouble(random.nextLong(1, Double.doubleToRawLongBits(Double.MAX_VALUE) + 1));
+            numerators[i] = Math.exp(random.nextDouble(-350, 350));
+            denominators[i] = Math.exp(random.nextDouble(-350, 350));
+        }
+        String name = pool + ", " + length + " elements: ";
+        double[] expected = new double[length + 2], actual = new double[length + 2];
+        Logarithm.logInBase(values, 10, 1, expected, 2, length);
+        ParallelLogarithm.logInBase(values, 10, 1, actual, 2, length, pool);
+        assertIdentical(expected, actual, name + "logInBase");
+        Logarithm.logWithPoweredValue(values, 3, 2, 1, expected, 2, length);
+        ParallelLogarithm.logWithPoweredValue(values, 3, 2, 1, actual, 2, length, pool);
+        assertIdentical(expected, actual, name + "logWithPoweredValue");
+        Logarithm.logWithPoweredBase(values, 2, 0.5, 1, expected, 2, length);
+        ParallelLogarithm.logWithPoweredBase(values, 2, 0.5, 1, actual, 2, length, pool);
+        assertIdentical(expected, actual, name + "logWithPoweredBase");
+        Logarithm.logOfQuotient(numerators, denominators, Math.E, 1, expected, 2, length);
+        ParallelLogarithm.logOfQuotient(numerators, denominators, Math.E, 1, actual, 2, length, pool);
+        assertIdentical(expected, actual, name + "logOfQuotient");
+        Logarithm.logWithBaseQuotient(values, 1000.0, 999.0, 1, expected, 2, length);
+        ParallelLogarithm.logWithBaseQuotient(values, 1000.0, 999.0, 1, actual, 2, length, pool);
+        assertIdentical(expected, actual, name + "logWithBaseQuotient");
+        Logarithm.logOfQuotientAndBaseQuotient(numerators, denominators, 1.0, 3.0, 1, expected, 2, length);
+        ParallelLogarithm.logOfQuotientAndBaseQuotient(numerators, denominators, 1.0, 3.0, 1, actual, 2, length, pool);
+        assertIdentical(expected, actual, name + "logOfQuotientAndBaseQuotient");
+    }
+
+    private static void validatesEveryChunkBeforeWriting(ForkJoinPool pool){
+        double[] values = new double[LENGTH], denominators = new double[LENGTH], destination = new double[LENGTH];
+        for(int i = 0; i < LENGTH; i++) values[i] = denominators[i] = 1.5 + i;
+        for(int invalid : new int[]{0, LENGTH / 2, LENGTH - 1}){
+            double[] dirty = values.clone();
+            dirty[invalid] = -1;
+            TestSupport.assertThrows(IllegalArgumentException.class,
+                    () -> ParallelLogarithm.logInBase(dirty, 10, 0, destination, 0, LENGTH, pool), "value -1 at " + invalid);
+            TestSupport.assertThrows(IllegalArgumentException.class,
+                    () -> ParallelLogarithm.logOfQuotient(values, dirty, 10, 0, destination, 0, LENGTH, pool),
+                    "denominator -1 at " + invalid);
+        }
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> ParallelLogarithm.logInBase(values, 1, 0, destination, 0, LENGTH, pool), "base 1");
+        TestSupport.assertThrows(IndexOutOfBoundsException.class,
+                () -> ParallelLogarithm.logInBase(values, 10, 1, destination, 0, LENGTH, pool), "range past the values");
+        for(int i = 0; i < LENGTH; i++) TestSupport.assertEquals(0, destination[i], "destination[" + i + "] written");
+    }
+
+    /**
+     * Fails unless every element of {@code actual} has the bits of the same element of {@code expected}
+     */
+    private static void assertIdentical(double[] expected, double[] actual, String message){
+        for(int i = 0; i < expected.length; i++) TestSupport.assertEquals(expected[i], actual[i], message + " at " + i);
+    }
+}
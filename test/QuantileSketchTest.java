@@ -0,0 +1,185 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ *  QuantileSketch Tests
+ * <p>
+ * Checks the relative accuracy guarantee of {@link QuantileSketch} against the exact quantiles of the
+ * recorded values, for every store and interpolation, that serialization and merging preserve every
+ * bucket, and that the concurrent store counts exactly under contention and stays cheap at the finest
+ * accuracy.
+ *
+ * @author owl
+ */
+final class QuantileSketchTest {
+
+    /** Values recorded per sketch */
+    private static final int COUNT = 20_000;
+
+    /** Quantiles checked per sketch */
+    private static final double[] QUANTILES = {0, 0.001, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+
+    /** Slack on α for the rounding of the representative value of a bucket */
+    private static final double ROUNDING = 1e-12;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private QuantileSketchTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        double[] values = values(new SplittableRandom(11));
+        quantilesAreWithinRelativeAccuracy(values);
+        collapsingKeepsHighQuantiles(values);
+        serializationRoundTrips(values);
+        rejectsMalformedBytes(values);
+        concurrentRecordingCountsExactly();
+        concurrentStoreHandlesFinestAccuracy();
+    }
+
+    /**
+     * Values spread over many orders of magnitude, of both signs, with a few zeros and subnormals
+     */
+    private static double[] values(SplittableRandom random){
+        double[] values = new double[COUNT];
+        for(int i = 0; i < COUNT; i++){
+            int kind = random.nextInt(100);
+            double magnitude = Math.exp(random.nextDouble(-60, 60));
+            values[i] = kind == 0 ? 0 : kind == 1 ? Double.MIN_VALUE * random.nextInt(1000) : kind < 30 ? -magnitude : magnitude;
+        }
+        return values;
+    }
+
+    private static void quantilesAreWithinRelativeAccuracy(double[] values){
+        for(double alpha : new double[]{0.05, 0.01, 1e-4}){
+            for(LogIndexMapping.Interpolation interpolation : LogIndexMapping.Interpolation.values()){
+                LogIndexMapping mapping = LogIndexMapping.of(alpha, interpolation);
+                check(QuantileSketch.dense(mapping), values, mapping + ", dense");
+                check(QuantileSketch.sparse(mapping), values, mapping + ", sparse");
+                check(QuantileSketch.collapsing(mapping, Integer.MAX_VALUE), values, mapping + ", collapsing");
+                check(QuantileSketch.concurrent(mapping), values, mapping + ", concurrent");
+            }
+        }
+    }
+
+    /**
+     * Records {@code values} one by one into {@code sketch}, and in bulk into a copy, then checks every quantile
+     */
+    private static void check(QuantileSketch sketch, double[] values, String name){
+        QuantileSketch bulk = QuantileSketch.fromByteArray(sketch.toByteArray());
+        for(double value : values) sketch.accept(value);
+        bulk.accept(values, 0, values.length);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        TestSupport.assertEquals(values.length, sketch.count(), name + ": count");
+        for(double q : QUANTILES){
+            double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            assertWithinAccuracy(exact, sketch.quantile(q), sketch.relativeAccuracy(), name + ": quantile " + q);
+            TestSupport.assertEquals(sketch.quantile(q), bulk.quantile(q), name + ": bulk quantile " + q);
+        }
+    }
+
+    private static void collapsingKeepsHighQuantiles(double[] values){
+        QuantileSketch sketch = QuantileSketch.collapsing(0.01, 2000);
+        for(double value : values) sketch.accept(Math.abs(value));
+        double[] sorted = values.clone();
+        for(int i = 0; i < sorted.length; i++) sorted[i] = Math.abs(sorted[i]);
+        Arrays.sort(sorted);
+        for(double q : new double[]{0.9, 0.99, 1}){
+            double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            assertWithinAccuracy(exact, sketch.quantile(q), 0.01, "collapsing quantile " + q);
+        }
+    }
+
+    private static void serializationRoundTrips(double[] values){
+        for(LogIndexMapping.Interpolation interpolation : LogIndexMapping.Interpolation.values()){
+            LogIndexMapping mapping = LogIndexMapping.of(0.01, interpolation);
+            QuantileSketch reference = QuantileSketch.dense(mapping);
+            reference.accept(values, 0, values.length);
+            for(QuantileSketch sketch : new QuantileSketch[]{QuantileSketch.dense(mapping), QuantileSketch.sparse(mapping),
+                    QuantileSketch.collapsing(mapping, 100_000), QuantileSketch.concurrent(mapping)}){
+                sketch.accept(values, 0, values.length);
+                byte[] bytes = sketch.toByteArray();
+                QuantileSketch copy = QuantileSketch.fromByteArray(bytes);
+                TestSupport.assertTrue(Arrays.equals(bytes, copy.toByteArray()), sketch + ": bytes after a round trip");
+                TestSupport.assertTrue(sketch.toString().equals(copy.toString()), copy + ": description after a round trip");
+                TestSupport.assertTrue(copy.mapping().equals(mapping), sketch + ": mapping after a round trip");
+                for(double q : QUANTILES){
+                    TestSupport.assertEquals(reference.quantile(q), copy.quantile(q), sketch + ": quantile " + q);
+                }
+                QuantileSketch merged = QuantileSketch.sparse(mapping).merge(copy).merge(sketch);
+                TestSupport.assertEquals(2L * values.length, merged.count(), sketch + ": merged count");
+                TestSupport.assertEquals(reference.quantile(0.5), merged.quantile(0.5), sketch + ": merged median");
+            }
+        }
+        byte[] empty = QuantileSketch.dense(0.01).toByteArray();
+        TestSupport.assertTrue(QuantileSketch.fromByteArray(empty).isEmpty(), "empty round trip");
+    }
+
+    private static void rejectsMalformedBytes(double[] values){
+        QuantileSketch sketch = QuantileSketch.dense(0.01);
+        sketch.accept(values, 0, values.length);
+        byte[] bytes = sketch.toByteArray();
+        byte[] version = bytes.clone();
+        version[0]++;
+        byte[] store = bytes.clone();
+        store[1] = 9;
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromByteArray(version), "version");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromByteArray(store), "store");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> QuantileSketch.fromByteArray(Arrays.copyOf(bytes, bytes.length - 1)), "truncated");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> QuantileSketch.fromByteArray(Arrays.copyOf(bytes, bytes.length + 1)), "trailing byte");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromByteArray(new byte[0]), "empty");
+    }
+
+    private static void concurrentRecordingCountsExactly(){
+        QuantileSketch sketch = QuantileSketch.concurrent(0.01);
+        QuantileSketch reference = QuantileSketch.dense(0.01);
+        Thread[] workers = new Thread[4];
+        for(int t = 0; t < workers.length; t++){
+            double[] values = values(new SplittableRandom(100 + t));
+            reference.accept(values, 0, values.length);
+            workers[t] = new Thread(() -> {
+                for(double value : values) sketch.accept(value);
+            });
+        }
+        for(Thread worker : workers) worker.start();
+        for(Thread worker : workers){
+            try{
+                worker.join();
+            }catch(InterruptedException e){
+                throw new AssertionError(e);
+            }
+        }
+        TestSupport.assertEquals((long) workers.length * COUNT, sketch.count(), "concurrent count");
+        for(double q : QUANTILES){
+            TestSupport.assertEquals(reference.quantile(q), sketch.quantile(q), "concurrent quantile " + q);
+        }
+    }
+
+    private static void concurrentStoreHandlesFinestAccuracy(){
+        QuantileSketch sketch = QuantileSketch.concurrent(1e-6);
+        TestSupport.assertTrue(sketch.isEmpty(), "empty");
+        TestSupport.assertTrue(Double.isNaN(sketch.quantile(0.5)), "empty quantile");
+        double[] values = {-Double.MAX_VALUE, -1, Double.MIN_NORMAL, 1, Double.MAX_VALUE};
+        for(double value : values) sketch.accept(value);
+        for(int i = 0; i < values.length; i++){
+            assertWithinAccuracy(values[i], sketch.quantile(i / 4.0), 1e-6, "quantile " + i / 4.0);
+        }
+    }
+
+    /**
+     * Fails unless {@code actual} is within a factor {@code 1 ± α} of {@code exact}, or 0 for a subnormal {@code exact}
+     */
+    private static void assertWithinAccuracy(double exact, double actual, double alpha, String message){
+        double tolerance = Math.abs(exact) < Double.MIN_NORMAL ? Math.abs(exact) : (alpha + ROUNDING) * Math.abs(exact);
+        TestSupport.assertTrue(Math.abs(actual - exact) <= tolerance,
+                message + ": expected " + exact + " within " + alpha + " but was " + actual);
+    }
+}
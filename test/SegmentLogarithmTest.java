@@ -0,0 +1,136 @@
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.SplittableRandom;
+
+/**
+ *  SegmentLogarithm Tests
+ * <p>
+ * Checks that {@link SegmentLogarithm} is bit-for-bit identical to the bulk overloads of
+ * {@link Logarithm}, reading and writing off-heap and heap segments in both byte orders, at unaligned
+ * offsets and with strides that interleave several records, and that it rejects invalid strides,
+ * ranges and values without touching memory outside the described elements.
+ *
+ * @author owl
+ */
+final class SegmentLogarithmTest {
+
+    /** Elements per call */
+    private static final int COUNT = 1000;
+
+    /** Byte stride of the values: each one is followed by two other doubles and 5 bytes of padding */
+    private static final long STRIDE = 3 * SegmentLogarithm.ELEMENT_SIZE + 5;
+
+    /** Byte offset of the first value, deliberately unaligned */
+    private static final long OFFSET = 3;
+
+    /** Marker left in every byte that is not an element */
+    private static final byte UNTOUCHED = 0x5A;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private SegmentLogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        try(Arena arena = Arena.ofConfined()){
+            for(ByteOrder order : new ByteOrder[]{ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}){
+                matchesArrays(arena, order);
+                matchesArrays(null, order);
+            }
+            rejectsInvalidArguments(arena);
+        }
+    }
+
+    private static void matchesArrays(Arena arena, ByteOrder order){
+        SplittableRandom random = new SplittableRandom(5);
+        double[] values = new double[COUNT], numerators = new double[COUNT], denominators = new double[COUNT];
+        for(int i = 0; i < COUNT; i++){
+            values[i] = Double.longBitsToDouble(random.nextLong(1, Double.doubleToRawLongBits(Double.MAX_VALUE) + 1));
+            // quotients that neither overflow nor underflow
+            numerators[i] = Math.exp(random.nextDouble(-350, 350));
+            denominators[i] = Math.exp(random.nextDouble(-350, 350));
+        }
+        ValueLayout.OfDouble layout = SegmentLogarithm.layout(order);
+        MemorySegment valueSegment = segment(arena), numeratorSegment = segment(arena), denominatorSegment = segment(arena);
+        for(int i = 0; i < COUNT; i++){
+            valueSegment.set(layout, OFFSET + i * STRIDE, values[i]);
+            numeratorSegment.set(layout, OFFSET + i * STRIDE, numerators[i]);
+            denominatorSegment.set(layout, OFFSET + i * STRIDE, denominators[i]);
+        }
+        double[] expected = new double[COUNT];
+        String name = (arena == null ? "heap, " : "native, ") + order + ": ";
+
+        // results packed contiguously from byte 1
+        MemorySegment destination = segment(arena);
+        SegmentLogarithm.logInBase(valueSegment, OFFSET, STRIDE, destination, 1, SegmentLogarithm.ELEMENT_SIZE, COUNT, order,
+                LogBase.TEN);
+        Logarithm.logInBase(values, 10, 0, expected, 0, COUNT);
+        assertResults(expected, destination, 1, SegmentLogarithm.ELEMENT_SIZE, layout, name + "logInBase");
+
+        destination = segment(arena);
+        SegmentLogarithm.logWithPoweredValue(valueSegment, OFFSET, STRIDE, destination, OFFSET + 8, STRIDE, COUNT, order, 3,
+                LogBase.TWO);
+        Logarithm.logWithPoweredValue(values, 3, 2, 0, expected, 0, COUNT);
+        assertResults(expected, destination, OFFSET + 8, STRIDE, layout, name + "logWithPoweredValue");
+
+        destination = segment(arena);
+        SegmentLogarithm.logOfQuotient(numeratorSegment, denominatorSegment, OFFSET, STRIDE, destination, OFFSET, STRIDE, COUNT, order,
+                LogBase.E);
+        Logarithm.logOfQuotient(numerators, denominators, Math.E, 0, expected, 0, COUNT);
+        assertResults(expected, destination, OFFSET, STRIDE, layout, name + "logOfQuotient");
+    }
+
+    private static void rejectsInvalidArguments(Arena arena){
+        MemorySegment values = segment(arena), destination = segment(arena);
+        ValueLayout.OfDouble layout = SegmentLogarithm.layout(ByteOrder.nativeOrder());
+        for(int i = 0; i < COUNT; i++) values.set(layout, OFFSET + i * STRIDE, 1.5 + i);
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> SegmentLogarithm.logInBase(values, OFFSET, 7,
+                destination, OFFSET, STRIDE, COUNT, ByteOrder.nativeOrder(), LogBase.TEN), "stride 7");
+        TestSupport.assertThrows(IndexOutOfBoundsException.class, () -> SegmentLogarithm.logInBase(values, OFFSET + 2 * STRIDE, STRIDE,
+                destination, OFFSET, STRIDE, COUNT, ByteOrder.nativeOrder(), LogBase.TEN), "range past the values");
+        TestSupport.assertThrows(IndexOutOfBoundsException.class, () -> SegmentLogarithm.logInBase(values, OFFSET, STRIDE,
+                destination, OFFSET, STRIDE + 1, COUNT, ByteOrder.nativeOrder(), LogBase.TEN), "range past the destination");
+        TestSupport.assertThrows(UnsupportedOperationException.class, () -> SegmentLogarithm.logInBase(values, OFFSET, STRIDE,
+                destination.asReadOnly(), OFFSET, STRIDE, COUNT, ByteOrder.nativeOrder(), LogBase.TEN), "read-only destination");
+        for(long k = 0; k < destination.byteSize(); k++){
+            TestSupport.assertEquals(UNTOUCHED, destination.get(ValueLayout.JAVA_BYTE, k), "destination byte " + k + " written");
+        }
+        values.set(layout, OFFSET + (COUNT - 1) * STRIDE, 0);
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> SegmentLogarithm.logInBase(values, OFFSET, STRIDE,
+                destination, OFFSET, STRIDE, COUNT, ByteOrder.nativeOrder(), LogBase.TEN), "value 0");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> SegmentLogarithm.checkValues(values, OFFSET, STRIDE, COUNT,
+                ByteOrder.nativeOrder()), "checkValues with value 0");
+    }
+
+    /**
+     * A segment large enough for {@link #COUNT} strided elements, off-heap in {@code arena} or on the heap
+     * if {@code arena} is null, filled with {@link #UNTOUCHED}
+     */
+    private static MemorySegment segment(Arena arena){
+        long size = OFFSET + COUNT * STRIDE + 8;
+        MemorySegment segment = arena == null ? MemorySegment.ofArray(new byte[(int) size]) : arena.allocate(size);
+        return segment.fill(UNTOUCHED);
+    }
+
+    /**
+     * Fails unless the results are bit-for-bit {@code expected} and every other byte is still {@link #UNTOUCHED}
+     */
+    private static void assertResults(double[] expected, MemorySegment destination, long offset, long stride,
+                                      ValueLayout.OfDouble layout, String message){
+        for(int i = 0; i < COUNT; i++){
+            TestSupport.assertEquals(expected[i], destination.get(layout, offset + i * stride), message + " at " + i);
+        }
+        for(long k = 0; k < destination.byteSize(); k++){
+            long relative = k - offset;
+            boolean element = relative >= 0 && relative / stride < COUNT && relative % stride < SegmentLogarithm.ELEMENT_SIZE;
+            if(!element) TestSupport.assertEquals(UNTOUCHED, destination.get(ValueLayout.JAVA_BYTE, k), message + ": byte " + k);
+        }
+    }
+}
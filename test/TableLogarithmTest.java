@@ -0,0 +1,72 @@
+import java.util.SplittableRandom;
+
+/**
+ *  TableLogarithm Tests
+ * <p>
+ * Checks that {@link TableLogarithm} stays within 2 ulps of {@link StrictMath#log} for every table
+ * size, over random doubles of every binade, subnormals included, and close to 1, where the entries
+ * around 1 must not cancel out, and that larger tables trade memory for a shorter polynomial.
+ *
+ * @author owl
+ */
+final class TableLogarithmTest {
+
+    /** Error allowed against {@link StrictMath#log} */
+    private static final double MAX_ULPS = 2;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private TableLogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        for(int tableBits = TableLogarithm.MIN_TABLE_BITS; tableBits <= TableLogarithm.MAX_TABLE_BITS; tableBits++){
+            staysWithinTwoUlpsOfStrictMath(TableLogarithm.of(tableBits));
+        }
+        tradesMemoryForDegree();
+        answersSpecialValuesLikeMathLog();
+        rejectsUnsupportedSizes();
+    }
+
+    private static void staysWithinTwoUlpsOfStrictMath(TableLogarithm engine){
+        SplittableRandom random = new SplittableRandom(9);
+        for(int i = 0; i < 30_000; i++){
+            double value = switch(i % 3){
+                case 0 -> Double.longBitsToDouble(random.nextLong(1, Double.doubleToRawLongBits(Double.MAX_VALUE) + 1));
+                case 1 -> 1 + random.nextDouble(-0x1p-3, 0x1p-3) * Math.scalb(1.0, -random.nextInt(50));
+                default -> Math.exp(random.nextDouble(-3, 3));
+            };
+            if(value == 1) continue;
+            double expected = StrictMath.log(value);
+            double actual = engine.ln(value);
+            TestSupport.assertTrue(Math.abs(actual - expected) <= MAX_ULPS * Math.ulp(expected),
+                    engine.tableBits() + " bits: ln(" + value + ") = " + actual + " vs " + expected);
+        }
+    }
+
+    private static void tradesMemoryForDegree(){
+        for(int tableBits = TableLogarithm.MIN_TABLE_BITS; tableBits < TableLogarithm.MAX_TABLE_BITS; tableBits++){
+            TableLogarithm smaller = TableLogarithm.of(tableBits), larger = TableLogarithm.of(tableBits + 1);
+            TestSupport.assertTrue(larger.tableSizeInBytes() == 2 * smaller.tableSizeInBytes(), tableBits + " bits: table size");
+            TestSupport.assertTrue(larger.polynomialDegree() <= smaller.polynomialDegree(), tableBits + " bits: polynomial degree");
+        }
+        TestSupport.assertEquals(4096, TableLogarithm.DEFAULT.tableSizeInBytes(), "default table size");
+    }
+
+    private static void answersSpecialValuesLikeMathLog(){
+        for(double value : new double[]{0, -0.0, -1, Double.NEGATIVE_INFINITY, Double.NaN, Double.POSITIVE_INFINITY}){
+            TestSupport.assertEquals(Math.log(value), TableLogarithm.DEFAULT.ln(value), "ln(" + value + ")");
+        }
+        TestSupport.assertEquals(0, TableLogarithm.DEFAULT.ln(1), "ln(1)");
+    }
+
+    private static void rejectsUnsupportedSizes(){
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> TableLogarithm.of(TableLogarithm.MIN_TABLE_BITS - 1), "too small");
+        TestSupport.assertThrows(IllegalArgumentException.class, () -> TableLogarithm.of(TableLogarithm.MAX_TABLE_BITS + 1), "too large");
+    }
+}
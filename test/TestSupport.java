@@ -0,0 +1,126 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ *  Test Support
+ * <p>
+ * Assertions shared by the test classes. Each test class is a program whose {@code main} runs its
+ * checks and throws {@link AssertionError} at the first failure, and {@link AllTests} runs them all,
+ * so the suite needs nothing beyond the JDK.
+ * <p>
+ * This class is <b>non-instantiable</b>.
+ * <hr>
+ *
+ * <h3> Numerical Precision</h3>
+ * <p>
+ * Error bounds are checked against {@link BigDecimalLogarithm} references computed to
+ * {@link #REFERENCE} digits, far beyond the precision of a {@code double}, and are expressed in
+ * ulps of the exact result.
+ *
+ * @author owl
+ */
+final class TestSupport {
+
+    /** Precision of the reference results */
+    static final MathContext REFERENCE = new MathContext(40);
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private TestSupport(){}
+
+    /**
+     * Fails with {@code message} unless {@code condition} holds
+     */
+    static void assertTrue(boolean condition, String message){
+        if(!condition) throw new AssertionError(message);
+    }
+
+    /**
+     * Fails unless {@code actual} = {@code expected}
+     */
+    static void assertEquals(long expected, long actual, String message){
+        if(expected != actual) throw new AssertionError(message + ": expected " + expected + " but was " + actual);
+    }
+
+    /**
+     * Fails unless {@code actual} is bit-for-bit {@code expected}, {@code NaN} matching {@code NaN}
+     */
+    static void assertEquals(double expected, double actual, String message){
+        if(Double.compare(expected, actual) != 0){
+            throw new AssertionError(message + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    /**
+     * Fails unless {@code actual} is within {@code tolerance} of {@code expected}
+     */
+    static void assertClose(double expected, double actual, double tolerance, String message){
+        if(!(Math.abs(actual - expected) <= tolerance)){
+            throw new AssertionError(message + ": expected " + expected + " ± " + tolerance + " but was " + actual);
+        }
+    }
+
+    /**
+     * Fails unless {@code actual} is within {@code maxUlps} ulps of the exact result {@code exact}
+     */
+    static void assertUlps(BigDecimal exact, double actual, double maxUlps, String message){
+        double ulps = ulps(exact, actual);
+        if(!(ulps <= maxUlps)){
+            throw new AssertionError(message + ": expected " + exact.round(MathContext.DECIMAL64) + " within "
+                    + maxUlps + " ulps but was " + actual + " (" + ulps + " ulps)");
+        }
+    }
+
+    /**
+     * Fails unless {@code call} throws an exception of type {@code type}
+     */
+    static void assertThrows(Class<? extends Throwable> type, Runnable call, String message){
+        try{
+            call.run();
+        }catch(Throwable e){
+            if(type.isInstance(e)) return;
+            throw new AssertionError(message + ": expected " + type.getSimpleName() + " but got " + e, e);
+        }
+        throw new AssertionError(message + ": expected " + type.getSimpleName());
+    }
+
+    /**
+     * Error of {@code actual} in ulps of the exact result {@code exact}
+     */
+    static double ulps(BigDecimal exact, double actual){
+        double rounded = exact.doubleValue();
+        if(!Double.isFinite(actual)) return Double.POSITIVE_INFINITY;
+        return new BigDecimal(actual).subtract(exact).abs().doubleValue() / Math.ulp(rounded);
+    }
+
+    /**
+     * Reference natural logarithm of {@code value}, exact to {@link #REFERENCE} digits
+     */
+    static BigDecimal ln(double value){
+        return BigDecimalLogarithm.ln(new BigDecimal(value), REFERENCE);
+    }
+
+    /**
+     * Reference logarithm of {@code value} in base {@code base}, exact to {@link #REFERENCE} digits
+     */
+    static BigDecimal log(double value, double base){
+        return ln(value).divide(ln(base), REFERENCE);
+    }
+
+    /**
+     * Reference exponential of {@code y}, exact to {@link #REFERENCE} digits, from the Taylor series
+     * of {@code e^(|y| / 2^12)} squared twelve times
+     */
+    static BigDecimal exp(BigDecimal y){
+        MathContext working = new MathContext(REFERENCE.getPrecision() + 10);
+        BigDecimal z = y.abs().divide(BigDecimal.valueOf(4096), working);
+        BigDecimal sum = BigDecimal.ONE, term = BigDecimal.ONE;
+        for(int n = 1; term.compareTo(BigDecimal.ONE.movePointLeft(working.getPrecision())) > 0; n++){
+            term = term.multiply(z, working).divide(BigDecimal.valueOf(n), working);
+            sum = sum.add(term, working);
+        }
+        for(int k = 0; k < 12; k++) sum = sum.multiply(sum, working);
+        return (y.signum() < 0 ? BigDecimal.ONE.divide(sum, working) : sum).round(REFERENCE);
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ *  TolerantLogarithm Tests
+ * <p>
+ * Checks that each {@link ErrorPolicy} patches, clamps or skips exactly the invalid values of a bulk
+ * call, that the positions reported match a naive scan, that the same results come out with or
+ * without a report, and that a call without a report does not allocate, dirty column included.
+ *
+ * @author owl
+ */
+final class TolerantLogarithmTest {
+
+    /** Long enough to span several windows of the per-thread scratch bitset */
+    private static final int LENGTH = 10_000;
+
+    /** Left in the destination wherever nothing is written */
+    private static final double UNTOUCHED = 12345;
+
+    /** Keeps the results alive, so the calls cannot be eliminated */
+    private static double sink;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private TolerantLogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        double[] values = dirtyColumn(new SplittableRandom(3));
+        double[] denominators = dirtyColumn(new SplittableRandom(4));
+        appliesPolicies(values);
+        appliesPoliciesToQuotients(values, denominators);
+        throwsUnderThrowPolicy(values);
+        doesNotAllocateWithoutReport(values, denominators);
+    }
+
+    /**
+     * Positive values with invalid ones scattered at random, on both sides of each window boundary and at the ends
+     */
+    private static double[] dirtyColumn(SplittableRandom random){
+        double[] values = new double[LENGTH];
+        double[] invalid = {0, -0.0, -3, Double.NaN, Double.NEGATIVE_INFINITY};
+        for(int i = 0; i < LENGTH; i++){
+            values[i] = random.nextInt(50) == 0 ? invalid[random.nextInt(invalid.length)] : Math.exp(random.nextDouble(-50, 50));
+        }
+        for(int i : new int[]{0, 4095, 4096, 8191, LENGTH - 1}) values[i] = -1;
+        return values;
+    }
+
+    private static void appliesPolicies(double[] values){
+        for(ErrorPolicy policy : new ErrorPolicy[]{ErrorPolicy.RETURN_NAN, ErrorPolicy.CLAMP_TO_MIN_POSITIVE, ErrorPolicy.SKIP_AND_REPORT}){
+            TolerantLogarithm engine = TolerantLogarithm.of(policy);
+            ValidationReport report = new ValidationReport();
+            double[] reported = filled(LENGTH);
+            double[] unreported = filled(LENGTH);
+            engine.logInBase(values, 10, 0, reported, 0, LENGTH, report);
+            engine.logInBase(values, 10, 0, unreported, 0, LENGTH, null);
+            int invalidCount = 0;
+            for(int i = 0; i < LENGTH; i++){
+                boolean invalid = !(values[i] > 0);
+                if(invalid) invalidCount++;
+                TestSupport.assertTrue(report.isInvalid(i) == invalid, policy + ": position " + i + " reported " + !invalid);
+                double expected = !invalid ? Logarithm.logInBase(values[i], 10)
+                        : policy == ErrorPolicy.SKIP_AND_REPORT ? UNTOUCHED : engine.logInBase(values[i], 10);
+                TestSupport.assertEquals(expected, reported[i], policy + ": log(" + values[i] + ") with a report");
+                TestSupport.assertEquals(expected, unreported[i], policy + ": log(" + values[i] + ") without a report");
+            }
+            TestSupport.assertEquals(invalidCount, report.invalidCount(), policy + ": invalid count");
+        }
+    }
+
+    private static void appliesPoliciesToQuotients(double[] numerators, double[] denominators){
+        for(ErrorPolicy policy : new ErrorPolicy[]{ErrorPolicy.RETURN_NAN, ErrorPolicy.CLAMP_TO_MIN_POSITIVE, ErrorPolicy.SKIP_AND_REPORT}){
+            TolerantLogarithm engine = TolerantLogarithm.of(policy);
+            ValidationReport report = new ValidationReport();
+            double[] reported = filled(LENGTH);
+            double[] unreported = filled(LENGTH);
+            engine.logOfQuotient(numerators, denominators, 2, 0, reported, 0, LENGTH, report);
+            engine.logOfQuotient(numerators, denominators, 2, 0, unreported, 0, LENGTH, null);
+            for(int i = 0; i < LENGTH; i++){
+                double quotient = numerators[i] / denominators[i];
+                boolean invalid = denominators[i] == 0 || !(quotient > 0);
+                TestSupport.assertTrue(report.isInvalid(i) == invalid, policy + ": quotient " + i + " reported " + !invalid);
+                double expected = !invalid ? Logarithm.logOfQuotient(numerators[i], denominators[i], 2)
+                        : policy == ErrorPolicy.SKIP_AND_REPORT ? UNTOUCHED : engine.logOfQuotient(numerators[i], denominators[i], 2);
+                TestSupport.assertEquals(expected, reported[i], policy + ": quotient " + i + " with a report");
+                TestSupport.assertEquals(expected, unreported[i], policy + ": quotient " + i + " without a report");
+            }
+        }
+    }
+
+    private static void throwsUnderThrowPolicy(double[] values){
+        double[] destination = filled(LENGTH);
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> TolerantLogarithm.of(ErrorPolicy.THROW).logInBase(values, 10, 0, destination, 0, LENGTH, null), "THROW");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> TolerantLogarithm.of(ErrorPolicy.RETURN_NAN).logInBase(values, 1, 0, destination, 0, LENGTH, null), "base 1");
+    }
+
+    private static void doesNotAllocateWithoutReport(double[] values, double[] denominators){
+        int length = 256;
+        double[] clean = new double[length];
+        for(int i = 0; i < length; i++) clean[i] = 1.5 + i;
+        double[] destination = new double[length];
+        TolerantLogarithm engine = TolerantLogarithm.of(ErrorPolicy.RETURN_NAN);
+        AllocationTest.assertNoAllocation("logInBase(double[], ...) without report, clean",
+                i -> engine.logInBase(clean, 10, 0, destination, 0, length, null));
+        AllocationTest.assertNoAllocation("logInBase(double[], ...) without report, dirty",
+                i -> engine.logInBase(values, 10, i & 1023, destination, 0, length, null));
+        AllocationTest.assertNoAllocation("logOfQuotient(double[], double[], ...) without report, dirty",
+                i -> engine.logOfQuotient(values, denominators, 10, i & 1023, destination, 0, length, null));
+        sink += destination[length - 1];
+    }
+
+    private static double[] filled(int length){
+        double[] array = new double[length];
+        Arrays.fill(array, UNTOUCHED);
+        return array;
+    }
+}
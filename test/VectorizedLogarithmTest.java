@@ -0,0 +1,160 @@
+import java.util.SplittableRandom;
+
+/**
+ *  VectorizedLogarithm Tests
+ * <p>
+ * Checks that the SIMD kernels of {@link VectorizedLogarithm}, or their scalar fallback, stay within a
+ * few ulps of {@link Logarithm} for every method, in double and in single precision, over values of
+ * every binade and quotients close to 1, with lengths that leave a partial vector at the end. Arguments
+ * must be validated like the bulk overloads of {@link Logarithm}.
+ *
+ * @author owl
+ */
+final class VectorizedLogarithmTest {
+
+    /** Error allowed against {@link Logarithm}, rounded to {@code float} in single precision */
+    private static final double MAX_ULPS = 3;
+
+    /** Elements per call: a whole number of vectors of any shape, plus a partial one */
+    private static final int LENGTH = 1027;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private VectorizedLogarithmTest(){}
+
+    /**
+     * Runs the tests
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args){
+        doublesAreCloseToLogarithm();
+        floatsAreCloseToLogarithm();
+        validatesLikeLogarithm();
+    }
+
+    private static void doublesAreCloseToLogarithm(){
+        SplittableRandom random = new SplittableRandom(3);
+        double[] values = new double[LENGTH + 1], numerators = new double[LENGTH + 1], denominators = new double[LENGTH + 1];
+        for(int i = 0; i <= LENGTH; i++){
+            values[i] = switch(i % 3){
+                case 0 -> Double.longBitsToDouble(random.nextLong(1, Double.doubleToRawLongBits(Double.MAX_VALUE) + 1));
+                case 1 -> 1 + random.nextDouble(-0x1p-3, 0x1p-3) * Math.scalb(1.0, -random.nextInt(50));
+                default -> Math.exp(random.nextDouble(-3, 3));
+            };
+            numerators[i] = Math.exp(random.nextDouble(-350, 350));
+            denominators[i] = i % 2 == 0 ? Math.exp(random.nextDouble(-350, 350)) : numerators[i] * random.nextDouble(0.5, 2);
+        }
+        double[] destination = new double[LENGTH + 2];
+        for(double base : new double[]{Math.E, 2, 10, 0.5}){
+            VectorizedLogarithm.logInBase(values, base, 1, destination, 2, LENGTH);
+            for(int i = 1; i <= LENGTH; i++) assertResult(Logarithm.logInBase(values[i], base), destination, i, "logInBase");
+            VectorizedLogarithm.logWithPoweredValue(values, 3, base, 1, destination, 2, LENGTH);
+            for(int i = 1; i <= LENGTH; i++){
+                assertResult(Logarithm.logWithPoweredValue(values[i], 3, base), destination, i, "logWithPoweredValue");
+            }
+            VectorizedLogarithm.logWithPoweredBase(values, base, 3, 1, destination, 2, LENGTH);
+            for(int i = 1; i <= LENGTH; i++){
+                assertResult(Logarithm.logWithPoweredBase(values[i], base, 3), destination, i, "logWithPoweredBase");
+            }
+            VectorizedLogarithm.logOfQuotient(numerators, denominators, base, 1, destination, 2, LENGTH);
+            for(int i = 1; i <= LENGTH; i++){
+                assertResult(Logarithm.logOfQuotient(numerators[i], denominators[i], base), destination, i, "logOfQuotient");
+            }
+        }
+        VectorizedLogarithm.logWithBaseQuotient(values, 1000.0, 999.0, 1, destination, 2, LENGTH);
+        for(int i = 1; i <= LENGTH; i++){
+            assertResult(Logarithm.logWithBaseQuotient(values[i], 1000.0, 999.0), destination, i, "logWithBaseQuotient");
+        }
+        VectorizedLogarithm.logOfQuotientAndBaseQuotient(numerators, denominators, 1, 3, 1, destination, 2, LENGTH);
+        for(int i = 1; i <= LENGTH; i++){
+            assertResult(Logarithm.logOfQuotientAndBaseQuotient(numerators[i], denominators[i], 1, 3), destination, i,
+                    "logOfQuotientAndBaseQuotient");
+        }
+    }
+
+    private static void floatsAreCloseToLogarithm(){
+        SplittableRandom random = new SplittableRandom(4);
+        float[] values = new float[LENGTH + 1], numerators = new float[LENGTH + 1], denominators = new float[LENGTH + 1];
+        for(int i = 0; i <= LENGTH; i++){
+            values[i] = switch(i % 3){
+                case 0 -> Float.intBitsToFloat(random.nextInt(1, Float.floatToRawIntBits(Float.MAX_VALUE) + 1));
+                case 1 -> (float) (1 + random.nextDouble(-0x1p-3, 0x1p-3) * Math.scalb(1.0, -random.nextInt(22)));
+                default -> (float) Math.exp(random.nextDouble(-3, 3));
+            };
+            numerators[i] = (float) Math.exp(random.nextDouble(-40, 40));
+            // quotients close to 1, where rounding the quotient to float would lose the result
+            denominators[i] = i % 2 == 0 ? (float) Math.exp(random.nextDouble(-40, 40))
+                    : (float) (numerators[i] * (1 + random.nextDouble(-1, 1) * Math.scalb(1.0, -random.nextInt(22))));
+            if(values[i] == 1) values[i] = 2;
+            if(numerators[i] == denominators[i]) denominators[i] = 2 * numerators[i];
+        }
+        float[] destination = new float[LENGTH + 2];
+        for(double base : new double[]{Math.E, 2, 10, 0.5}){
+            VectorizedLogarithm.logInBase(values, base, 1, destination, 2, LENGTH);
+            for(int i = 1; i <= LENGTH; i++) assertResult(Logarithm.logInBase(values[i], base), destination, i, "float logInBase");
+            VectorizedLogarithm.logWithPoweredValue(values, 3, base, 1, destination, 2, LENGTH);
+            for(int i = 1; i <= LENGTH; i++){
+                assertResult(Logarithm.logWithPoweredValue(values[i], 3, base), destination, i, "float logWithPoweredValue");
+            }
+            VectorizedLogarithm.logWithPoweredBase(values, base, 3, 1, destination, 2, LENGTH);
+            for(int i = 1; i <= LENGTH; i++){
+                assertResult(Logarithm.logWithPoweredBase(values[i], base, 3), destination, i, "float logWithPoweredBase");
+            }
+            VectorizedLogarithm.logOfQuotient(numerators, denominators, base, 1, destination, 2, LENGTH);
+            for(int i = 1; i <= LENGTH; i++){
+                assertResult(Logarithm.logOfQuotient((double) numerators[i], denominators[i], base), destination, i,
+                        "float logOfQuotient");
+            }
+        }
+        VectorizedLogarithm.logWithBaseQuotient(values, 1000.0, 999.0, 1, destination, 2, LENGTH);
+        for(int i = 1; i <= LENGTH; i++){
+            assertResult(Logarithm.logWithBaseQuotient(values[i], 1000.0, 999.0), destination, i, "float logWithBaseQuotient");
+        }
+        VectorizedLogarithm.logOfQuotientAndBaseQuotient(numerators, denominators, 1, 3, 1, destination, 2, LENGTH);
+        for(int i = 1; i <= LENGTH; i++){
+            assertResult(Logarithm.logOfQuotientAndBaseQuotient((double) numerators[i], denominators[i], 1, 3), destination, i,
+                    "float logOfQuotientAndBaseQuotient");
+        }
+    }
+
+    private static void validatesLikeLogarithm(){
+        double[] destination = new double[3];
+        float[] floatDestination = new float[3];
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> VectorizedLogarithm.logInBase(new double[]{1, 2, 0}, 10, 0, destination, 0, 3), "value 0");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> VectorizedLogarithm.logInBase(new double[]{1, 2, 3}, 1, 0, destination, 0, 3), "base 1");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> VectorizedLogarithm.logWithPoweredBase(new double[]{1, 2, 3}, 10, 1, 0, destination, 0, 3), "power 1");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> VectorizedLogarithm.logInBase(new float[]{1, Float.NaN, 3}, 10, 0, floatDestination, 0, 3), "float NaN");
+        TestSupport.assertThrows(IllegalArgumentException.class,
+                () -> VectorizedLogarithm.logOfQuotient(new float[]{1, 2, 3}, new float[]{1, -2, 3}, 10, 0, floatDestination, 0, 3),
+                "float value 2 / -2");
+        TestSupport.assertThrows(IndexOutOfBoundsException.class,
+                () -> VectorizedLogarithm.logInBase(new double[]{1, 2, 3}, 10, 0, destination, 1, 3), "range past the destination");
+        for(int i = 0; i < destination.length; i++){
+            TestSupport.assertEquals(0, destination[i], "destination[" + i + "] written");
+            TestSupport.assertEquals(0, floatDestination[i], "float destination[" + i + "] written");
+        }
+    }
+
+    /**
+     * Fails unless the bulk result of the {@code i}-th input, read from index 1 and written from index 2,
+     * is within {@link #MAX_ULPS} of {@code expected}
+     */
+    private static void assertResult(double expected, double[] destination, int i, String name){
+        TestSupport.assertClose(expected, destination[1 + i], MAX_ULPS * Math.ulp(expected), name + " at " + i);
+    }
+
+    /**
+     * Fails unless the bulk result of the {@code i}-th input, read from index 1 and written from index 2,
+     * is within {@link #MAX_ULPS} of {@code expected} rounded to {@code float}
+     */
+    private static void assertResult(double expected, float[] destination, int i, String name){
+        float rounded = (float) expected;
+        TestSupport.assertClose(rounded, destination[1 + i], MAX_ULPS * Math.ulp(rounded), name + " at " + i);
+    }
+}